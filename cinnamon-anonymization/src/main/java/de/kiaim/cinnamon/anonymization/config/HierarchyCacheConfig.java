@@ -0,0 +1,21 @@
+package de.kiaim.cinnamon.anonymization.config;
+
+import org.bihmi.jal.anon.util.HierarchyCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HierarchyCacheConfig {
+
+    /**
+     * Cache for the generalization hierarchies shared by all anonymizations of this application.
+     *
+     * @param maximumSize The maximum size in bytes, 0 disables the cache.
+     * @return The cache.
+     */
+    @Bean
+    public HierarchyCache hierarchyCache(@Value("${cinnamon.anonymization.hierarchy-cache-size}") long maximumSize) {
+        return new HierarchyCache(maximumSize);
+    }
+}
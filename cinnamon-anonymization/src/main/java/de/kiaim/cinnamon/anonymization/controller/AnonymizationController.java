@@ -1,7 +1,9 @@
 package de.kiaim.cinnamon.anonymization.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kiaim.cinnamon.anonymization.exception.AnonymizationRejectedException;
 import de.kiaim.cinnamon.anonymization.model.AnonymizationRequest;
+import de.kiaim.cinnamon.anonymization.service.AnonymizationMetrics;
 import de.kiaim.cinnamon.anonymization.service.AnonymizationService;
 import de.kiaim.cinnamon.anonymization.service.ReportService;
 import de.kiaim.cinnamon.model.configuration.anonymization.frontend.FrontendAnonConfigWrapper;
@@ -10,7 +12,10 @@ import de.kiaim.cinnamon.model.configuration.anonymization.frontend.FrontendMode
 import de.kiaim.cinnamon.model.data.DataSet;
 import de.kiaim.cinnamon.model.dto.ExternalProcessResponse;
 import de.kiaim.cinnamon.model.dto.ModuleReportContent;
+import de.kiaim.cinnamon.model.serialization.DataSetBinaryCodec;
 import de.kiaim.cinnamon.model.serialization.mapper.JsonMapper;
+import de.kiaim.cinnamon.model.spring.CustomMediaType;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -45,14 +50,19 @@ public class AnonymizationController {
 
     private final AnonymizationService anonymizationService;
     private final ReportService reportService;
+    private final AnonymizationMetrics anonymizationMetrics;
 
     private final Map<String, Future<DataSet>> tasks = new ConcurrentHashMap<>();
     private final ObjectMapper jsonMapper;
+    private final DataSetBinaryCodec dataSetBinaryCodec = new DataSetBinaryCodec();
 
-    public AnonymizationController(final AnonymizationService anonymizationService, final ReportService reportService) {
+    public AnonymizationController(final AnonymizationService anonymizationService, final ReportService reportService,
+                                   final AnonymizationMetrics anonymizationMetrics) {
         this.anonymizationService = anonymizationService;
 	    this.reportService = reportService;
+	    this.anonymizationMetrics = anonymizationMetrics;
 	    this.jsonMapper = JsonMapper.jsonMapper();
+	    anonymizationMetrics.registerTasks(tasks);
     }
 
     @Operation(summary = "Creates a new anonymization task.",
@@ -61,13 +71,14 @@ public class AnonymizationController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "202", description = "Task accepted for processing.", content = @Content),
             @ApiResponse(responseCode = "409", description = "Task with the given process ID already exists.", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Too many tasks are queued, retry after the duration given in the Retry-After header.", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error.", content = @Content)
     })
     @PostMapping(value = "/", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<ExternalProcessResponse> createAnonymizationTaskWithCallbackResult(
             @RequestParam("session_key") @Parameter(description = "The process ID for the anonymization task.", required = true) String session_key,
             @RequestPart("data") @io.swagger.v3.oas.annotations.parameters.RequestBody(
-                    description = "The dataset to be anonymized.",
+                    description = "The dataset to be anonymized, either as JSON or in the binary data set format (" + CustomMediaType.APPLICATION_X_CINNAMON_DATA_SET_VALUE + ").",
                     content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE, schema = @Schema(implementation = DataSet.class)),
                     required = true) MultipartFile data,
             @RequestPart("anonymizationConfig") @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -80,25 +91,37 @@ public class AnonymizationController {
             System.out.println("Request in controller.");
             System.out.println("Process ID: " + session_key);
 
-            DataSet dataset = jsonMapper.readValue(data.getInputStream(), DataSet.class);
-
-            if (tasks.containsKey(session_key)) {
-                Future<DataSet> existingTask = tasks.get(session_key);
-                existingTask.cancel(true);
-                System.out.println("Replaced old task with session_key: " + session_key);
-            }
+            Timer.Sample deserialization = Timer.start(anonymizationMetrics.getRegistry());
+            // The result is sent in the same format as the dataset was received
+            boolean binary = CustomMediaType.isCinnamonDataSet(data.getContentType());
+            DataSet dataset = binary
+                    ? dataSetBinaryCodec.read(data.getInputStream())
+                    : jsonMapper.readValue(data.getInputStream(), DataSet.class);
+            deserialization.stop(anonymizationMetrics.phaseTimer(AnonymizationMetrics.PHASE_DESERIALIZATION));
 
             // Create AnonymizationRequest object from request
             AnonymizationRequest request = new AnonymizationRequest(session_key, dataset, anonymizationConfig.getAnonymization(), callback);
+            request.setBinaryResult(binary);
 
             // Run anonymization service asynchronously
+            // The old task is only canceled after the new one has been admitted, so a rejection keeps it running
             Future<DataSet> future = anonymizationService.anonymizeDataWithCallbackResult(request);
 
-            tasks.put(session_key, future);
+            Future<DataSet> existingTask = tasks.put(session_key, future);
+            if (existingTask != null) {
+                existingTask.cancel(true);
+                System.out.println("Replaced old task with session_key: " + session_key);
+            }
             ExternalProcessResponse response = new ExternalProcessResponse();
             response.setMessage("Anonymization process " + session_key + " has been accepted.");
             return ResponseEntity.status(HttpStatus.ACCEPTED).body(response
                     );
+        } catch (AnonymizationRejectedException e) {
+            ExternalProcessResponse response = new ExternalProcessResponse();
+            response.setMessage(e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                 .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                                 .body(response);
         } catch (Exception e) {
             ExternalProcessResponse response = new ExternalProcessResponse();
             response.setMessage("An error occurred: " + e.getMessage());
@@ -0,0 +1,29 @@
+package de.kiaim.cinnamon.anonymization.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown if an anonymization cannot be admitted because all slots are occupied
+ * or the estimated memory of the admitted jobs would exceed the configured limit.
+ */
+@Getter
+public class AnonymizationRejectedException extends AnonymizationException {
+
+	/**
+	 * Duration after which the client should retry the request.
+	 */
+	private final Duration retryAfter;
+
+	/**
+	 * Creates a new rejected exception.
+	 *
+	 * @param message    Human-readable error message.
+	 * @param retryAfter Duration after which the client should retry the request.
+	 */
+	public AnonymizationRejectedException(final String message, final Duration retryAfter) {
+		super("ANON_4_1_1", message);
+		this.retryAfter = retryAfter;
+	}
+}
@@ -8,12 +8,14 @@ import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
 import de.kiaim.cinnamon.model.data.Data;
 import de.kiaim.cinnamon.model.data.DataRow;
 import de.kiaim.cinnamon.model.data.DataSet;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 
 /**
  * Class with methods to build the merge dataset method in DatasetTransformation
  * */
+@Slf4j
 public class MergeDataSets {
 
     /**
@@ -60,13 +62,12 @@ public class MergeDataSets {
 
         // Generate merged indexes list
         List<Data> mergedIndexes = indexesList(leftIndexes, rightIndexes, how);
-        Map<Data, List<Data>> tempStorage = new HashMap<>();
+        Map<Data, Data[]> tempStorage = new HashMap<>((int) (mergedIndexes.size() / 0.75f) + 1);
 
-        // Initialise the structure with empty lists for all mergedIndexes
+        // Initialise the structure with empty rows for all mergedIndexes
         for (Data index : mergedIndexes) {
             // initialize row for all the columns but the new index
-            List<Data> emptyRow = new ArrayList<>(Collections.nCopies(newConfig.getConfigurations().size()-1, null));
-            tempStorage.put(index, emptyRow);
+            tempStorage.put(index, new Data[newConfig.getConfigurations().size() - 1]);
         }
 
         // Fill tempStorage with DataSets values
@@ -94,14 +95,12 @@ public class MergeDataSets {
      *                                   is out of bounds for the data rows in the dataSet.
      */
     public static void validateIsIndexColumn(DataSet dataSet, ColumnConfiguration columnConfiguration){
-        List<Data> indexes = new ArrayList<>();
+        int columnIndex = columnConfiguration.getIndex();
+        Set<Data> indexes = new HashSet<>((int) (dataSet.getDataRows().size() / 0.75f) + 1);
         for (DataRow row : dataSet.getDataRows()) {
-            int columnIndex = columnConfiguration.getIndex();
             Data rowIndex = row.getData().get(columnIndex);
-            if (indexes.contains(rowIndex)) {
+            if (!indexes.add(rowIndex)) {
                 throw new IllegalArgumentException("Column " + columnConfiguration.getName() + " contains duplicates : not an index.");
-            } else {
-                indexes.add(rowIndex);
             }
         }
     }
@@ -227,7 +226,7 @@ public class MergeDataSets {
      * @param indexColumnName Name of the index column
      */
     public static Set<Data> extractIndexes(DataSet dataSet, String indexColumnName) {
-        Set<Data> indexes = new HashSet<>();
+        Set<Data> indexes = new HashSet<>((int) (dataSet.getDataRows().size() / 0.75f) + 1);
         int indexColumnIndex = dataSet.getDataConfiguration().getColumnConfigurationByColumnName(indexColumnName).getIndex();
         for (DataRow row : dataSet.getDataRows()) {
             Data indexData = row.getData().get(indexColumnIndex);
@@ -244,75 +243,77 @@ public class MergeDataSets {
      * @param dataSet The DataSet from which data rows are sourced.
      * @param indexColumnName The name of the column used as an index to identify corresponding rows
      *                        across different data configurations.
-     * @param storage A map linking index Data objects to lists of Data, representing merged rows.
+     * @param storage A map linking index Data objects to arrays of Data, representing merged rows.
      *                This map is used to accumulate and update rows during the merging process.
      * @param newConfig The new data configuration that defines how the rows should be structured
      *                  in the merged dataset. This configuration dictates the structure and mapping
      *                  of data columns from the original dataset configurations.
      */
-    public static void fillMergedDataSet(DataSet dataSet, String indexColumnName, Map<Data, List<Data>> storage, DataConfiguration newConfig) {
+    public static void fillMergedDataSet(DataSet dataSet, String indexColumnName, Map<Data, Data[]> storage, DataConfiguration newConfig) {
         int indexColumnIndex = Objects.requireNonNull(dataSet.getDataConfiguration().getColumnConfigurationByColumnName(indexColumnName)).getIndex();
+        int[][] columnMapping = getColumnMapping(dataSet.getDataConfiguration(), indexColumnName, newConfig, newConfig.getConfigurations().size() - 1);
         for (DataRow row : dataSet.getDataRows()) {
-            Data indexData = row.getData().get(indexColumnIndex);
+            List<Data> rowData = row.getData();
             // if key in storage fill with dataset values matching new configuration with datasetConfiguration
-            if (storage.containsKey(indexData)) {
-                List<Data> mergedRowData = storage.get(indexData);
-
-                updateRowData(mergedRowData, row, dataSet.getDataConfiguration(), indexColumnName, newConfig);
+            Data[] mergedRowData = storage.get(rowData.get(indexColumnIndex));
+            if (mergedRowData != null) {
+                for (int[] mapping : columnMapping) {
+                    // Ensure that the index is within the bounds of the row's data
+                    if (mapping[0] < rowData.size()) {
+                        mergedRowData[mapping[1]] = rowData.get(mapping[0]);
+                    }
+                }
             }
         }
     }
 
     /**
-     * Updates the row data for a merged dataset, ensuring that each data point from the original
-     * dataset's row is correctly placed according to the new configuration.
+     * Resolves once per dataset where each column of the original dataset is placed in the merged row,
+     * so the columns do not have to be looked up by name for every row.
      *
-     * @param mergedRowData The list of Data objects representing the merged row, to be updated.
-     * @param row The current DataRow from the original dataset being processed.
      * @param datasetConfig The original dataset's configuration, used to find corresponding columns.
      * @param indexColumnName The name of the index column, which is skipped during the update.
      * @param newConfig The new data configuration that provides the structure and mapping for the merged row.
+     * @param mergedRowSize The number of columns in the merged row without the index column.
+     * @return Pairs of the column index in the original dataset and the column index in the merged row.
      */
-    private static void updateRowData(List<Data> mergedRowData, DataRow row, DataConfiguration datasetConfig, String indexColumnName, DataConfiguration newConfig) {
+    private static int[][] getColumnMapping(DataConfiguration datasetConfig, String indexColumnName, DataConfiguration newConfig, int mergedRowSize) {
+        List<int[]> columnMapping = new ArrayList<>();
         for (ColumnConfiguration mergedColumnConfig : newConfig.getConfigurations()) {
             // Skip the index column
             if (!Objects.equals(mergedColumnConfig.getName(), indexColumnName)) {
                 ColumnConfiguration matchingColumn = datasetConfig.getColumnConfigurationByColumnName(mergedColumnConfig.getName());
                 if (matchingColumn != null) {
-                    int matchingColumnIndex = matchingColumn.getIndex();
-
-                    // Ensure that the index is within the bounds of the row's data
-                    if (matchingColumnIndex < row.getData().size()) {
-                        int mergedIndex = mergedColumnConfig.getIndex() - 1; // Adjust for missing index column
-                        // Ensure that the adjusted index is within bounds of mergedRowData
-                        if (mergedIndex >= 0 && mergedIndex < mergedRowData.size()) {
-                            mergedRowData.set(mergedIndex, row.getData().get(matchingColumnIndex));
-                        } else {
-                            // Handle or log the situation where the index is out of bounds
-                            System.out.println("Index out of bounds: " + mergedIndex);
-                        }
+                    int mergedIndex = mergedColumnConfig.getIndex() - 1; // Adjust for missing index column
+                    // Ensure that the adjusted index is within bounds of mergedRowData
+                    if (mergedIndex >= 0 && mergedIndex < mergedRowSize) {
+                        columnMapping.add(new int[]{matchingColumn.getIndex(), mergedIndex});
+                    } else {
+                        log.warn("Skipping column '{}' because its index {} is out of bounds of the merged row!",
+                                 mergedColumnConfig.getName(), mergedIndex);
                     }
                 }
             }
         }
+        return columnMapping.toArray(new int[0][]);
     }
 
     /**
      * Creates a merged DataSet from a storage map that contains index keys and corresponding list of Data objects.
      * Each entry in the storage map represents a DataRow in the merged DataSet, with the List<Data> as the row data.
      *
-     * @param storage A Map with keys of type Data representing the indexes and values of type List<Data> representing
+     * @param storage A Map with keys of type Data representing the indexes and values of type Data[] representing
      *                the row data for each index.
      * @param newConfig The new DataConfiguration that describes the column structure and other configurations for
      *                  the new DataSet.
      * @return A DataSet containing the merged data, structured according to the new DataConfiguration.
      */
-    public static DataSet createMergedDataSet(Map<Data, List<Data>> storage, DataConfiguration newConfig) {
-        List<DataRow> rows = new ArrayList<>();
-        for (Map.Entry<Data, List<Data>> entry : storage.entrySet()) {
-            List<Data> rowData = new ArrayList<>();
+    public static DataSet createMergedDataSet(Map<Data, Data[]> storage, DataConfiguration newConfig) {
+        List<DataRow> rows = new ArrayList<>(storage.size());
+        for (Map.Entry<Data, Data[]> entry : storage.entrySet()) {
+            List<Data> rowData = new ArrayList<>(entry.getValue().length + 1);
             rowData.add(entry.getKey());  // Add key as index value
-            rowData.addAll(entry.getValue());  // Add other values
+            Collections.addAll(rowData, entry.getValue());  // Add other values
             rows.add(new DataRow(rowData));  // Create new DataRow
         }
         return new DataSet(rows, newConfig);
@@ -4,7 +4,7 @@ import de.kiaim.cinnamon.model.configuration.anonymization.frontend.FrontendAnon
 import de.kiaim.cinnamon.model.data.DataSet;
 import lombok.*;
 
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Getter
 @Setter
 @EqualsAndHashCode
@@ -14,4 +14,9 @@ public class AnonymizationRequest {
     private final DataSet data;
     private final FrontendAnonConfig anonymizationConfig;
     private final String callback;
+
+    /**
+     * If the anonymized dataset is sent to the callback in the binary data set format instead of JSON.
+     */
+    private boolean binaryResult = false;
 }
@@ -0,0 +1,202 @@
+package de.kiaim.cinnamon.anonymization.service;
+
+import de.kiaim.cinnamon.anonymization.exception.AnonymizationRejectedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated executor for the CPU and memory intensive ARX anonymizations.
+ * Runs at most one job per thread and keeps further jobs in a bounded admission queue.
+ * Additionally, the memory of the admitted jobs is limited by the estimated number of cells (rows × attributes).
+ * Jobs exceeding either limit are rejected with an {@link AnonymizationRejectedException}.
+ */
+@Component
+@Slf4j
+public class AnonymizationExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Maximum number of cells of all admitted jobs.
+     */
+    private final long maxCells;
+
+    /**
+     * Duration after which rejected clients should retry.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Number of cells of the currently admitted jobs.
+     */
+    private long admittedCells = 0;
+
+    /**
+     * Number of currently admitted jobs.
+     */
+    private int admittedJobs = 0;
+
+    /**
+     * Creates a new executor.
+     *
+     * @param threads           Number of jobs running in parallel. 0 uses the number of available processors.
+     * @param queueCapacity     Number of jobs waiting for a free thread.
+     * @param maxCells          Maximum number of cells of all admitted jobs.
+     *                          A single job is always admitted if no other job is admitted.
+     * @param retryAfterSeconds Seconds after which rejected clients should retry.
+     */
+    public AnonymizationExecutor(@Value("${cinnamon.anonymization.executor.threads}") final int threads,
+                                 @Value("${cinnamon.anonymization.executor.queue-capacity}") final int queueCapacity,
+                                 @Value("${cinnamon.anonymization.executor.max-cells}") final long maxCells,
+                                 @Value("${cinnamon.anonymization.executor.retry-after}") final long retryAfterSeconds) {
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                                               createThreadFactory(),
+                                               new ThreadPoolExecutor.AbortPolicy());
+        this.maxCells = maxCells;
+        this.retryAfter = Duration.ofSeconds(retryAfterSeconds);
+    }
+
+    /**
+     * Submits the given job.
+     * Cancelling the returned future interrupts the job.
+     * The cells of a queued job are released immediately, the cells of a running job when it has ended,
+     * because ARX does not react to interrupts and keeps using the memory.
+     *
+     * @param estimatedCells Estimated number of cells processed by the job.
+     * @param job            The job to be executed.
+     * @param <T>            Type of the result.
+     * @return Future completed with the result of the job.
+     * @throws AnonymizationRejectedException If the job could not be admitted.
+     */
+    public <T> CompletableFuture<T> submit(final long estimatedCells, final Callable<T> job)
+            throws AnonymizationRejectedException {
+        if (!admit(estimatedCells)) {
+            throw new AnonymizationRejectedException(
+                    "The data set is too large to be anonymized at the moment. Please try again later.", retryAfter);
+        }
+
+        // Claimed by the first of the job starting and the job being cancelled before it started.
+        // The cells are released by whoever claimed it, so a running job keeps its cells until it actually ends.
+        final AtomicBoolean claimed = new AtomicBoolean(false);
+        final Callable<T> admittedJob = () -> {
+            if (!claimed.compareAndSet(false, true)) {
+                throw new CancellationException();
+            }
+            try {
+                return job.call();
+            } finally {
+                release(estimatedCells);
+            }
+        };
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final FutureTask<T> task = new FutureTask<>(admittedJob) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    result.cancel(false);
+                    return;
+                }
+
+                try {
+                    result.complete(get());
+                } catch (final ExecutionException e) {
+                    result.completeExceptionally(e.getCause());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            release(estimatedCells);
+            throw new AnonymizationRejectedException(
+                    "Too many anonymizations are queued at the moment. Please try again later.", retryAfter);
+        }
+
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+                if (claimed.compareAndSet(false, true)) {
+                    executor.remove(task);
+                    release(estimatedCells);
+                }
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Returns the number of jobs currently running.
+     *
+     * @return The number of running jobs.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns the number of jobs waiting for a free thread.
+     *
+     * @return The number of queued jobs.
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Interrupts all running jobs and discards the queued jobs.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private synchronized boolean admit(final long cells) {
+        if (admittedJobs > 0 && admittedCells + cells > maxCells) {
+            log.info("Rejected anonymization with {} cells, {} cells of {} are admitted.",
+                     cells, admittedCells, maxCells);
+            return false;
+        }
+
+        admittedCells += cells;
+        admittedJobs++;
+        return true;
+    }
+
+    private synchronized void release(final long cells) {
+        admittedCells -= cells;
+        admittedJobs--;
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "AnonService-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
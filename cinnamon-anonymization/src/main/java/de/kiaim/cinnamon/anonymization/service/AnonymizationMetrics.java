@@ -0,0 +1,99 @@
+package de.kiaim.cinnamon.anonymization.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.bihmi.jal.anon.Anonymizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Metrics of the anonymization jobs, exported via the actuator.
+ * The phases inside JAL are recorded by the {@link Anonymizer} with the same registry.
+ */
+@Component
+public class AnonymizationMetrics {
+
+    public static final String PHASE_DESERIALIZATION = "deserialization";
+    public static final String PHASE_CONVERSION = "conversion";
+    public static final String PHASE_RESULT_CONVERSION = "result_conversion";
+    public static final String PHASE_CALLBACK = "callback";
+
+    @Getter
+    private final MeterRegistry registry;
+
+    private final DistributionSummary datasetRows;
+    private final DistributionSummary datasetCells;
+    private final DistributionSummary callbackBytes;
+
+    public AnonymizationMetrics(final MeterRegistry registry, final AnonymizationExecutor anonymizationExecutor) {
+        this.registry = registry;
+
+        this.datasetRows = DistributionSummary.builder("cinnamon.anonymization.dataset.rows")
+                                              .description("Number of rows of the anonymized datasets")
+                                              .publishPercentileHistogram()
+                                              .register(registry);
+        this.datasetCells = DistributionSummary.builder("cinnamon.anonymization.dataset.cells")
+                                               .description("Number of rows multiplied by the configured attributes")
+                                               .publishPercentileHistogram()
+                                               .register(registry);
+        this.callbackBytes = DistributionSummary.builder("cinnamon.anonymization.callback.size")
+                                                .description("Size of the anonymized datasets sent to the callback")
+                                                .baseUnit("bytes")
+                                                .publishPercentileHistogram()
+                                                .register(registry);
+
+        Gauge.builder("cinnamon.anonymization.jobs.active", anonymizationExecutor,
+                      AnonymizationExecutor::getActiveCount)
+             .description("Number of running anonymizations")
+             .register(registry);
+        Gauge.builder("cinnamon.anonymization.jobs.queued", anonymizationExecutor,
+                      AnonymizationExecutor::getQueueSize)
+             .description("Number of anonymizations waiting for a free thread")
+             .register(registry);
+    }
+
+    /**
+     * Registers a gauge for the number of tasks tracked by the controller.
+     *
+     * @param tasks The tasks.
+     */
+    public void registerTasks(final Map<String, ?> tasks) {
+        Gauge.builder("cinnamon.anonymization.tasks", tasks, Map::size)
+             .description("Number of anonymization tasks whose results have not been retrieved")
+             .register(registry);
+    }
+
+    /**
+     * Returns the timer for the given phase.
+     *
+     * @param phase Name of the phase.
+     * @return The timer.
+     */
+    public Timer phaseTimer(final String phase) {
+        return Anonymizer.phaseTimer(registry, phase);
+    }
+
+    /**
+     * Records the size of a dataset to be anonymized.
+     *
+     * @param rows  Number of rows.
+     * @param cells Number of rows multiplied by the configured attributes.
+     */
+    public void recordDataset(final long rows, final long cells) {
+        datasetRows.record(rows);
+        datasetCells.record(cells);
+    }
+
+    /**
+     * Records the size of the anonymized dataset sent to the callback.
+     *
+     * @param bytes Number of bytes sent.
+     */
+    public void recordCallbackSize(final long bytes) {
+        callbackBytes.record(bytes);
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.kiaim.cinnamon.anonymization.config.AnonymizationConfig;
 import de.kiaim.cinnamon.anonymization.converter.FrontendAnonConfigConverter;
 import de.kiaim.cinnamon.anonymization.exception.AnonymizationException;
+import de.kiaim.cinnamon.anonymization.exception.AnonymizationRejectedException;
 import de.kiaim.cinnamon.anonymization.exception.UnexpectedAnonymizationException;
 import de.kiaim.cinnamon.anonymization.model.AnonymizationRequest;
 import de.kiaim.cinnamon.anonymization.processor.AnonymizedDatasetProcessor;
@@ -11,23 +12,39 @@ import de.kiaim.cinnamon.anonymization.processor.DataSetProcessor;
 import de.kiaim.cinnamon.model.configuration.anonymization.frontend.FrontendAnonConfig;
 import de.kiaim.cinnamon.model.data.DataSet;
 import de.kiaim.cinnamon.model.dto.ErrorRequest;
+import de.kiaim.cinnamon.model.serialization.DataSetBinaryCodec;
 import de.kiaim.cinnamon.model.serialization.mapper.JsonMapper;
+import de.kiaim.cinnamon.model.spring.CustomMediaType;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.bihmi.jal.anon.Anonymizer;
+import org.bihmi.jal.anon.JALConfig;
 import org.bihmi.jal.anon.exception.NoOptimumFoundException;
+import org.bihmi.jal.anon.util.HierarchyCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @Slf4j
@@ -50,11 +67,59 @@ public class AnonymizationService {
     @Autowired
     private DataSetProcessor dataSetProcessor;
 
+    @Autowired
+    private AnonymizationExecutor anonymizationExecutor;
+
+    @Autowired
+    private AnonymizationMetrics anonymizationMetrics;
+
+    /**
+     * If the quality statistics are retrieved after the anonymization.
+     * Requires an additional pass over the anonymized data.
+     */
+    @Value("${cinnamon.anonymization.quality-statistics}")
+    private boolean qualityStatistics;
+
+    /**
+     * Cache for the hierarchies shared between anonymization runs.
+     */
+    @Autowired
+    private HierarchyCache hierarchyCache;
+
+    /**
+     * If the anonymized dataset sent to the callback is gzip-compressed.
+     */
+    @Value("${cinnamon.anonymization.callback.gzip}")
+    private boolean callbackGzip;
+
+    /**
+     * Size of the chunks the anonymized dataset is sent in.
+     */
+    static final int CALLBACK_CHUNK_SIZE = 64 * 1024;
+
     private final WebClient webClient;
 
+    /**
+     * Bounded scheduler serializing the anonymized datasets sent to the callbacks,
+     * so slow callback servers neither block the anonymization threads nor the shared reactor schedulers.
+     */
+    private final Scheduler callbackScheduler;
+
     @Autowired
-    public AnonymizationService(WebClient.Builder webClientBuilder) {
+    public AnonymizationService(WebClient.Builder webClientBuilder,
+                                @Value("${cinnamon.anonymization.callback.threads}") int callbackThreads,
+                                @Value("${cinnamon.anonymization.callback.queue-capacity}") int callbackQueueCapacity) {
         this.webClient = webClientBuilder.build();
+        this.callbackScheduler = Schedulers.newBoundedElastic(callbackThreads, callbackQueueCapacity,
+                                                              "anonymization-callback");
+    }
+
+    /**
+     * Disposes the callback scheduler, datasets that are still serialized are not sent.
+     */
+    @PreDestroy
+    public void shutdown() {
+        callbackScheduler.dispose();
     }
 
     /**
@@ -64,35 +129,41 @@ public class AnonymizationService {
      * @param frontendAnonConfig The KI-AIM anonymization configuration.
      * @param processId The process ID for the anonymization process.
      * @return A CompletableFuture containing the anonymized dataset.
-     * @throws Exception If an error occurs during the anonymization process.
+     * @throws AnonymizationRejectedException If the anonymization could not be admitted.
      */
-    @Async("taskExecutor")
     public CompletableFuture<DataSet> anonymizeData(DataSet dataSet,
                                                     FrontendAnonConfig frontendAnonConfig,
-                                                    String processId) throws Exception {
+                                                    String processId) throws AnonymizationRejectedException {
+        return anonymizationExecutor.submit(estimateCells(dataSet, frontendAnonConfig), () -> {
+            // Check that at least one attribute configuration as been defined by the user.
+            FrontendAnonConfigValidation.validateAttributeConfiguration(frontendAnonConfig);
 
-        // Check that at least one attribute configuration as been defined by the user.
-        FrontendAnonConfigValidation.validateAttributeConfiguration(frontendAnonConfig);
+            // Check compatibility between DataSet and FrontendAnonConfig
+            CompatibilityAssurance.checkDataSetAndFrontendConfigCompatibility(dataSet, frontendAnonConfig);
 
-        // Check compatibility between DataSet and FrontendAnonConfig
-        CompatibilityAssurance.checkDataSetAndFrontendConfigCompatibility(dataSet, frontendAnonConfig);
+            log.info("Start anon.");
+            anonymizationMetrics.recordDataset(dataSet.getDataRows().size(), estimateCells(dataSet, frontendAnonConfig));
+            Timer.Sample conversion = Timer.start(anonymizationMetrics.getRegistry());
+            // Convert FrontendAnonymizationConfig to AnonymizationConfig usable by JAL
+            AnonymizationConfig anonymizationConfigConverted = FrontendAnonConfigConverter.convertToJALConfig(frontendAnonConfig, dataSet);
 
-        log.info("Start anon.");
-        // Convert FrontendAnonymizationConfig to AnonymizationConfig usable by JAL
-        AnonymizationConfig anonymizationConfigConverted = FrontendAnonConfigConverter.convertToJALConfig(frontendAnonConfig, dataSet);
+            // Convert KI-AIM DataSet object to String[][] usable by JAL
+            String[][] jalData = dataSetProcessor.convertDatasetToStringArray(dataSet);
+            conversion.stop(anonymizationMetrics.phaseTimer(AnonymizationMetrics.PHASE_CONVERSION));
 
-        // Convert KI-AIM DataSet object to String[][] usable by JAL
-        String[][] jalData = dataSetProcessor.convertDatasetToStringArray(dataSet);
+            log.info("Jal data generated, start anonymize.");
 
-        log.info("Jal data generated, start anonymize.");
+            JALConfig jalConfig = anonymizationConfigConverted.toJalConfig(processId);
+            jalConfig.setQualityStatistics(qualityStatistics);
+            Anonymizer anonymizer = new Anonymizer(jalData, jalConfig, anonymizationMetrics.getRegistry(), hierarchyCache);
+            anonymizer.anonymize();
 
-        Anonymizer anonymizer = new Anonymizer(jalData, anonymizationConfigConverted.toJalConfig(processId));
-        anonymizer.anonymize();
-
-        DataSet result = AnonymizedDatasetProcessor.convertToDataSet(anonymizer.AnonymizedData(), dataSet.getDataConfiguration());
-        log.info(result.toString());
-        log.info("Anon finished.");
-        return CompletableFuture.completedFuture(result);
+            Timer.Sample resultConversion = Timer.start(anonymizationMetrics.getRegistry());
+            DataSet result = AnonymizedDatasetProcessor.convertToDataSet(anonymizer.AnonymizedData(), dataSet.getDataConfiguration());
+            resultConversion.stop(anonymizationMetrics.phaseTimer(AnonymizationMetrics.PHASE_RESULT_CONVERSION));
+            log.info("Anon finished with {} rows.", result.getDataRows().size());
+            return result;
+        });
     }
 
     /**
@@ -102,29 +173,38 @@ public class AnonymizationService {
      *
      * @param request The anonymization request containing the dataset, configuration, and callback URL.
      * @return A CompletableFuture containing the anonymized dataset.
+     * @throws AnonymizationRejectedException If the anonymization could not be admitted.
      */
-    @Async("taskExecutor")
-    public CompletableFuture<DataSet> anonymizeDataWithCallbackResult(AnonymizationRequest request) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<DataSet> anonymizeDataWithCallbackResult(AnonymizationRequest request)
+            throws AnonymizationRejectedException {
+        long estimatedCells = estimateCells(request.getData(), request.getAnonymizationConfig());
+        return anonymizationExecutor.submit(estimatedCells, () -> {
             try {
                 log.info("Start anon.");
                 FrontendAnonConfigValidation.validateAttributeConfiguration(request.getAnonymizationConfig());
                 FrontendAnonConfigValidation.validateOneAttributeIsGeneralized(request.getAnonymizationConfig());
                 CompatibilityAssurance.checkDataSetAndFrontendConfigCompatibility(request.getData(), request.getAnonymizationConfig());
+                anonymizationMetrics.recordDataset(request.getData().getDataRows().size(), estimatedCells);
+                Timer.Sample conversion = Timer.start(anonymizationMetrics.getRegistry());
                 AnonymizationConfig anonymizationConfigConverted = FrontendAnonConfigConverter.convertToJALConfig(request.getAnonymizationConfig(), request.getData());
                 String[][] jalData = dataSetProcessor.convertDatasetToStringArray(request.getData());
+                conversion.stop(anonymizationMetrics.phaseTimer(AnonymizationMetrics.PHASE_CONVERSION));
                 log.info("Session key:");
                 log.info(request.getSession_key());
 
-                Anonymizer anonymizer = new Anonymizer(jalData, anonymizationConfigConverted.toJalConfig(request.getSession_key()));
+                JALConfig jalConfig = anonymizationConfigConverted.toJalConfig(request.getSession_key());
+                jalConfig.setQualityStatistics(qualityStatistics);
+                Anonymizer anonymizer = new Anonymizer(jalData, jalConfig, anonymizationMetrics.getRegistry(), hierarchyCache);
                 log.info("Instance created.");
                 anonymizer.anonymize();
                 log.info("Anon executed.");
+                Timer.Sample resultConversion = Timer.start(anonymizationMetrics.getRegistry());
                 DataSet result = AnonymizedDatasetProcessor.convertToDataSet(anonymizer.AnonymizedData(), request.getData().getDataConfiguration());
+                resultConversion.stop(anonymizationMetrics.phaseTimer(AnonymizationMetrics.PHASE_RESULT_CONVERSION));
                 log.info("Anon finished.");
 
                 // Send success callback
-                sendCallbackResult(request.getCallback(), result);
+                sendCallbackResult(request.getCallback(), result, request.isBinaryResult());
                 return result;
             } catch (NoOptimumFoundException e) {
                 log.error("No optimum found during anonymization", e);
@@ -139,47 +219,114 @@ public class AnonymizationService {
                 sendFailureCallback(request.getCallback(), new UnexpectedAnonymizationException(e));
                 return null;
             }
-
         });
     }
 
     /**
-     * Sends the anonymized dataset to the specified callback URL.
+     * Estimates the number of cells processed by ARX, used for the admission control.
+     *
+     * @param dataSet The dataset to anonymize.
+     * @param frontendAnonConfig The anonymization configuration.
+     * @return The number of rows multiplied by the number of configured attributes.
+     */
+    private static long estimateCells(DataSet dataSet, FrontendAnonConfig frontendAnonConfig) {
+        if (dataSet == null || dataSet.getDataRows() == null
+            || frontendAnonConfig == null || frontendAnonConfig.getAttributeConfiguration() == null) {
+            return 0;
+        }
+        return (long) dataSet.getDataRows().size() * frontendAnonConfig.getAttributeConfiguration().size();
+    }
+
+    /**
+     * Sends the anonymized dataset as JSON to the specified callback URL.
      *
      * @param callbackUrl The URL to send the callback to.
      * @param result The anonymized dataset.
      */
     public void sendCallbackResult(String callbackUrl, DataSet result) {
-        log.info("Sending callback to URL: {}", callbackUrl);
+        sendCallbackResult(callbackUrl, result, false);
+    }
+
+    /**
+     * Sends the anonymized dataset to the specified callback URL.
+     *
+     * @param callbackUrl The URL to send the callback to.
+     * @param result The anonymized dataset.
+     * @param binary If the dataset is sent in the binary data set format instead of JSON.
+     */
+    public void sendCallbackResult(String callbackUrl, DataSet result, boolean binary) {
+        log.info("Sending callback with {} rows to URL: {}", result.getDataRows().size(), callbackUrl);
         long startTime = System.currentTimeMillis();
+        Timer.Sample sample = Timer.start(anonymizationMetrics.getRegistry());
+        AtomicLong bytesSent = new AtomicLong();
 
-        try {
-            // Convert DataSet object to JSON
-            ObjectMapper jsonMapper = JsonMapper.jsonMapper();
-            String anonymizedDatasetJson = jsonMapper.writeValueAsString(result);
-
-            // Create Multipart request
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("anonymized_dataset", new ByteArrayResource(anonymizedDatasetJson.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return "anonymized_dataset.bin";
-                }
-            });
+        // Read once, so the header and the lazily written body are consistent
+        boolean gzip = callbackGzip;
 
-            // Send JSON request
-            webClient.post()
-                    .uri(callbackUrl)
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(body))
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .doOnError(e -> log.error("Failed to send callback to URL: {}", callbackUrl, e))
-                    .doFinally(signal -> log.info("Callback sent to URL: {} in {} ms", callbackUrl, System.currentTimeMillis() - startTime))
-                    .subscribe();
-        } catch (Exception e) {
-            log.error("Error preparing JSON request for callback", e);
+        // Create Multipart request, the dataset is serialized while the request body is written
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        Flux<DataBuffer> anonymizedDataset = createDataSetPublisher(result, binary, gzip)
+                .doOnNext(buffer -> bytesSent.addAndGet(buffer.readableByteCount()));
+        var part = body.asyncPart("anonymized_dataset", anonymizedDataset, DataBuffer.class)
+                       .filename("anonymized_dataset.bin")
+                       .contentType(binary
+                                    ? CustomMediaType.APPLICATION_X_CINNAMON_DATA_SET
+                                    : MediaType.APPLICATION_OCTET_STREAM);
+        if (gzip) {
+            part.header(HttpHeaders.CONTENT_ENCODING, "gzip");
         }
+
+        // Send JSON request
+        webClient.post()
+                .uri(callbackUrl)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .doOnError(e -> log.error("Failed to send callback to URL: {}", callbackUrl, e))
+                .doFinally(signal -> {
+                    sample.stop(anonymizationMetrics.phaseTimer(AnonymizationMetrics.PHASE_CALLBACK));
+                    anonymizationMetrics.recordCallbackSize(bytesSent.get());
+                    log.info("Callback sent to URL: {} in {} ms", callbackUrl, System.currentTimeMillis() - startTime);
+                })
+                .subscribe();
+    }
+
+    /**
+     * Creates a publisher writing the uncompressed JSON representation of the dataset in chunks,
+     * so the serialized dataset is never held in memory as a whole.
+     *
+     * @param dataSet The dataset to be serialized.
+     * @return Publisher of the serialized dataset.
+     */
+    Flux<DataBuffer> createDataSetPublisher(DataSet dataSet) {
+        return createDataSetPublisher(dataSet, false, false);
+    }
+
+    /**
+     * Creates a publisher writing the dataset in chunks,
+     * so the serialized dataset is never held in memory as a whole.
+     *
+     * @param dataSet The dataset to be serialized.
+     * @param binary If the binary data set format is used instead of JSON.
+     * @param gzip If the serialized dataset is gzip-compressed.
+     * @return Publisher of the serialized dataset.
+     */
+    Flux<DataBuffer> createDataSetPublisher(DataSet dataSet, boolean binary, boolean gzip) {
+        ObjectMapper jsonMapper = JsonMapper.jsonMapper();
+        return Flux.from(DataBufferUtils.outputStreamPublisher(outputStream -> {
+            try (OutputStream out = gzip
+                    ? new GZIPOutputStream(outputStream, CALLBACK_CHUNK_SIZE)
+                    : outputStream) {
+                if (binary) {
+                    new DataSetBinaryCodec().write(dataSet, out);
+                } else {
+                    jsonMapper.writeValue(out, dataSet);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to serialize the anonymized dataset", e);
+            }
+        }, DefaultDataBufferFactory.sharedInstance, callbackScheduler::schedule, CALLBACK_CHUNK_SIZE));
     }
 
     /**
@@ -77,8 +77,8 @@ public class DataSetTransformation {
         DataConfiguration config = dataSet.getDataConfiguration();
         validateColumnExistence(config, indexColumn, columnsColumn, valuesColumn);
 
-        // Mapping from index values to their corresponding data rows in the new DataSet
-        Map<Object, Map<Object, Object>> pivotedData = new HashMap<>();
+        // Mapping from index values to their corresponding values in the new DataSet, ordered by the new columns
+        Map<Object, Object[]> pivotedData = new LinkedHashMap<>();
 
         ColumnConfiguration indexConfiguration = Objects.requireNonNull(
                 dataSet.getDataConfiguration().getColumnConfigurationByColumnName(indexColumn));
@@ -97,43 +97,58 @@ public class DataSetTransformation {
                 indexConfiguration.getConfigurations()));
 
         // Temporary store to track column order in the pivoted DataSet
-        Map<Object, Integer> columnMap = new HashMap<>();
+        Map<String, Integer> columnMap = new HashMap<>();
+
+        final int indexColumnIndex = indexConfiguration.getIndex();
+        final int columnsColumnIndex = columnsConfiguration.getIndex();
+        final int valuesColumnIndex = valuesConfiguration.getIndex();
 
         // Process each row in the original DataSet
         for (DataRow row : dataSet.getDataRows()) {
-            Object indexValue = row.getData().get(indexConfiguration.getIndex()).getValue();
-            Object columnValue = row.getData().get(columnsConfiguration.getIndex()).getValue();
-            Object value = row.getData().get(valuesConfiguration.getIndex()).getValue();
+            List<Data> rowData = row.getData();
+            Object indexValue = rowData.get(indexColumnIndex).getValue();
+            Object columnValue = rowData.get(columnsColumnIndex).getValue();
+            Object value = rowData.get(valuesColumnIndex).getValue();
 
             String newColumnName = prefix + columnValue.toString();
 
             // If new value met, create new column with name = columnValue value and dataType=valuesColumn type
-            if (!columnMap.containsKey(newColumnName)) {
-                columnMap.put(newColumnName, columnMap.size() + 1);  // Start adding from 1 to leave 0 for the index column
+            Integer newColumnIndex = columnMap.get(newColumnName);
+            if (newColumnIndex == null) {
+                newColumnIndex = columnMap.size() + 1;  // Start adding from 1 to leave 0 for the index column
+                columnMap.put(newColumnName, newColumnIndex);
                 newConfig.addColumnConfiguration(new ColumnConfiguration(
-                        columnMap.size(),
+                        newColumnIndex,
                         newColumnName,
                         valuesConfiguration.getType(),
                         valuesConfiguration.getType().getDefaultScale(),
                         valuesConfiguration.getConfigurations()));
             }
-            // Complete the pivotedData hashMap
+            // Complete the pivotedData map, rows are grown when new columns are met
             // TODO : add aggregation function ??
-            pivotedData.computeIfAbsent(indexValue, k -> new HashMap<>()).put(newColumnName, value);
+            Object[] values = pivotedData.get(indexValue);
+            if (values == null) {
+                values = new Object[columnMap.size()];
+                pivotedData.put(indexValue, values);
+            } else if (values.length < newColumnIndex) {
+                values = Arrays.copyOf(values, columnMap.size());
+                pivotedData.put(indexValue, values);
+            }
+            values[newColumnIndex - 1] = value;
         }
 
         // Create new DataRows for the pivoted DataSet
-        List<DataRow> newRows = new ArrayList<>();
-        for (Map.Entry<Object, Map<Object, Object>> entry : pivotedData.entrySet()) {
-            List<Data> newRowData = new ArrayList<>();
+        final DataType valuesType = valuesConfiguration.getType();
+        List<DataRow> newRows = new ArrayList<>(pivotedData.size());
+        for (Map.Entry<Object, Object[]> entry : pivotedData.entrySet()) {
+            List<Data> newRowData = new ArrayList<>(columnMap.size() + 1);
             newRowData.add(DataGeneration.createDataByTypeAndValue(indexConfiguration.getType(), entry.getKey()));  // Index column
-            Map<Object, Object> cols = entry.getValue();
+            Object[] values = entry.getValue();
             // Ensure all columns are present in each row, fill with null if necessary
             // TODO : discuss default value
-            for (int i = 1; i <= columnMap.size(); i++) {
-                ColumnConfiguration colConfig = newConfig.getConfigurations().get(i);
-                Object colValue = cols.get(colConfig.getName());
-                newRowData.add(DataGeneration.createDataByTypeAndValue(colConfig.getType(), colValue));
+            for (int i = 0; i < columnMap.size(); i++) {
+                Object colValue = i < values.length ? values[i] : null;
+                newRowData.add(DataGeneration.createDataByTypeAndValue(valuesType, colValue));
             }
             newRows.add(new DataRow(newRowData));
         }
@@ -165,7 +180,7 @@ public class DataSetTransformation {
             validateColumnExistence(dataSet.getDataConfiguration(), idVar);
         }
         for (String valueVar : valueVars) {
-            validateColumnExistence(dataSet.getDataConfiguration(), valueVars);
+            validateColumnExistence(dataSet.getDataConfiguration(), valueVar);
         }
 
         // Create new configuration
@@ -182,31 +197,26 @@ public class DataSetTransformation {
         newConfig.addColumnConfiguration(new ColumnConfiguration(configIndex, "variable", DataType.STRING, DataType.STRING.getDefaultScale(), new ArrayList<>()));
         newConfig.addColumnConfiguration(new ColumnConfiguration(configIndex + 1, "value", DataType.STRING, DataType.STRING.getDefaultScale(), new ArrayList<>()));
 
-        List<DataRow> newRows = new ArrayList<>();
+        // Resolve the column indices once instead of for every row
+        int[] idColumnIndices = getColumnIndices(dataSet.getDataConfiguration(), idVars);
+        int[] valueColumnIndices = getColumnIndices(dataSet.getDataConfiguration(), valueVars);
+
+        List<DataRow> newRows = new ArrayList<>(dataSet.getDataRows().size() * valueVars.length);
 
         for (DataRow row : dataSet.getDataRows()) {
-            for (String valueVar : valueVars) {
-                DataType valueType = Objects.requireNonNull(dataSet.getDataConfiguration()
-                        .getColumnConfigurationByColumnName(valueVar)).getType();
+            List<Data> rowData = row.getData();
 
-                List<Data> newRowData = new ArrayList<>();
+            for (int v = 0; v < valueVars.length; v++) {
+                List<Data> newRowData = new ArrayList<>(idColumnIndices.length + 2);
 
                 // Add identifier column values
-                for (String idVar : idVars) {
-                    int idColumnIndex = Objects.requireNonNull(dataSet.getDataConfiguration()
-                            .getColumnConfigurationByColumnName(idVar)).getIndex();
-                    Data data = row.getData().get(idColumnIndex);
-                    newRowData.add(data);
+                for (int idColumnIndex : idColumnIndices) {
+                    newRowData.add(rowData.get(idColumnIndex));
                 }
 
                 // Add 'variable' and 'value' columns values
-                Data variableData = new StringData(valueVar);
-                int valueColumnIndex = Objects.requireNonNull(dataSet.getDataConfiguration()
-                        .getColumnConfigurationByColumnName(valueVar)).getIndex();
-                Data valueData = row.getData().get(valueColumnIndex);
-
-                newRowData.add(variableData);
-                newRowData.add(valueData);
+                newRowData.add(new StringData(valueVars[v]));
+                newRowData.add(rowData.get(valueColumnIndices[v]));
 
                 newRows.add(new DataRow(newRowData));
             }
@@ -264,22 +274,40 @@ public class DataSetTransformation {
             columnIndexMap.put(config.getName(), config.getIndex());
             columnTypeMap.put(config.getName(), config.getType());
         });
-        // Transform each DataRow
-        for (DataRow row : dataSet.getDataRows()) {
-            List<Data> rowData = row.getData();
+        // Resolve the stubs once instead of for every row
+        List<String> existingStubs = new ArrayList<>(stubnames.size());
+        for (String stub : stubnames) {
+            // Check if stub is in map
+            if (!columnIndexMap.containsKey(stub)) {
+                continue;  // TODO: handle error
+            }
+            existingStubs.add(stub);
+        }
+        int[] stubIndices = new int[existingStubs.size()];
+        DataType[] stubTypes = new DataType[existingStubs.size()];
+        for (int s = 0; s < existingStubs.size(); s++) {
+            stubIndices[s] = columnIndexMap.get(existingStubs.get(s));
+            stubTypes[s] = columnTypeMap.get(existingStubs.get(s));
+        }
 
-            for (String stub : stubnames) {
-                // Check if stub is in map
-                if (!columnIndexMap.containsKey(stub)) {
-                    continue;  // TODO: handle error
-                }
+        if (!existingStubs.isEmpty() && !dataSet.getDataRows().isEmpty()) {
+            int idIndex = columnIndexMap.get(idVarName);
+            DataType idType = columnTypeMap.get(idVarName);
+            longFormatDataRows = new ArrayList<>(dataSet.getDataRows().size() * existingStubs.size());
+
+            // Transform each DataRow
+            for (DataRow row : dataSet.getDataRows()) {
+                List<Data> rowData = row.getData();
+                Object idValue = rowData.get(idIndex).getValue();
 
-                Data idData = DataGeneration.createDataByType(columnTypeMap.get(idVarName), rowData.get(columnIndexMap.get(idVarName)).getValue());
-                Data stubData = DataGeneration.createDataByType(columnTypeMap.get(stub), rowData.get(columnIndexMap.get(stub)).getValue());
+                for (int s = 0; s < stubIndices.length; s++) {
+                    Data idData = DataGeneration.createDataByType(idType, idValue);
+                    Data stubData = DataGeneration.createDataByType(stubTypes[s], rowData.get(stubIndices[s]).getValue());
 
-                // Create new DataRow
-                List<Data> newRowData = Arrays.asList(idData, new StringData(stub), stubData);
-                longFormatDataRows.add(new DataRow(newRowData));
+                    // Create new DataRow
+                    List<Data> newRowData = Arrays.asList(idData, new StringData(existingStubs.get(s)), stubData);
+                    longFormatDataRows.add(new DataRow(newRowData));
+                }
             }
         }
         return new DataSet(longFormatDataRows, newConfig);
@@ -352,7 +380,8 @@ public class DataSetTransformation {
         }
 
         // Map of indexes to their corresponding rows in the merged dataset
-        Map<Data, DataRow> indexToRowMap = new HashMap<>();
+        Map<Data, DataRow> indexToRowMap = new HashMap<>(
+                (int) (mergedDataSet.getDataRows().size() / 0.75f) + 1);
         for (DataRow row : mergedDataSet.getDataRows()) {
             Data indexData = row.getData().get(mergedDataSetIndexColumnIndex);
             indexToRowMap.put(indexData, row);
@@ -363,15 +392,18 @@ public class DataSetTransformation {
             DataSetSplittingInformation splittingInfo = mergedDataSetTraceabilityList.getDataSetSplittingInformationList().get(i);
             DataSet subset = subsets.get(i);
 
+            // Find matching columns in mergedDataSet
+            int[] matchingColumnIndices = getColumnIndices(mergedDataSet.getDataConfiguration(),
+                    splittingInfo.getDataConfiguration().getColumnNames().toArray(new String[0]));
+
             for (Data index : splittingInfo.getIndexes()) {
                 DataRow correspondingRow = indexToRowMap.get(index);
                 if (correspondingRow != null) {
-                    List<Data> filteredRowData = new ArrayList<>();
+                    List<Data> correspondingRowData = correspondingRow.getData();
+                    List<Data> filteredRowData = new ArrayList<>(matchingColumnIndices.length);
 
-                    for (String columnName : splittingInfo.getDataConfiguration().getColumnNames()) {
-                        // Find matching column in mergedDataSet
-                        int matchinColumnIndex = mergedDataSet.getDataConfiguration().getColumnConfigurationByColumnName(columnName).getIndex();
-                        filteredRowData.add(correspondingRow.getData().get(matchinColumnIndex));
+                    for (int matchingColumnIndex : matchingColumnIndices) {
+                        filteredRowData.add(correspondingRowData.get(matchingColumnIndex));
                     }
                     subset.getDataRows().add(new DataRow(filteredRowData));
                 }
@@ -414,13 +446,16 @@ public class DataSetTransformation {
         }
 
         DataSet baseDataSet = dataSets.get(0);
-        List<DataRow> combinedRows = new ArrayList<>(baseDataSet.getDataRows());
-
-        for (int i = 1; i < dataSets.size(); i++) {
-            DataSet currentDataSet = dataSets.get(i);
+        int numberRows = 0;
+        for (DataSet currentDataSet : dataSets) {
             if (!baseDataSet.getDataConfiguration().equals(currentDataSet.getDataConfiguration())) {
                 throw new IllegalArgumentException("Cannot append datasets with different configurations.");
             }
+            numberRows += currentDataSet.getDataRows().size();
+        }
+
+        List<DataRow> combinedRows = new ArrayList<>(numberRows);
+        for (DataSet currentDataSet : dataSets) {
             combinedRows.addAll(currentDataSet.getDataRows());
         }
 
@@ -438,4 +473,20 @@ public class DataSetTransformation {
 //        TODO: what difference with mergeDataset ?
         return ds1;
     }
+
+    /**
+     * Resolves the indices of the given columns, so they do not have to be looked up by name for every row.
+     *
+     * @param config The configuration containing the columns.
+     * @param columnNames The names of the columns.
+     * @return The indices of the columns in the same order as the given names.
+     * @throws NullPointerException If one of the columns does not exist.
+     */
+    private static int[] getColumnIndices(DataConfiguration config, String[] columnNames) {
+        int[] columnIndices = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            columnIndices[i] = Objects.requireNonNull(config.getColumnConfigurationByColumnName(columnNames[i])).getIndex();
+        }
+        return columnIndices;
+    }
 }
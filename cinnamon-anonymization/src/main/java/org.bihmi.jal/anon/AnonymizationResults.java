@@ -16,6 +16,10 @@ package org.bihmi.jal.anon;
 
 import lombok.Getter;
 import org.deidentifier.arx.DataHandle;
+import org.deidentifier.arx.aggregates.StatisticsBuilder;
+import org.deidentifier.arx.aggregates.StatisticsEquivalenceClasses;
+import org.deidentifier.arx.aggregates.StatisticsQuality;
+import org.deidentifier.arx.risk.RiskModelSampleRisks;
 
 import java.util.*;
 
@@ -37,110 +41,80 @@ public class AnonymizationResults {
     // Set<String> attributes;
 
     public AnonymizationResults(DataHandle handle){
-        this.datasetPrivacyMetrics = fillDatasetPrivacyMetrics(handle);
-        this.attributePrivacyMetrics = fillAttributePrivacyMetrics(handle);
-    }
-
-    public AnonymizationResults(DataHandle originalHandle, DataHandle anonymizedHandle){
-        this.datasetPrivacyMetrics = fillDatasetPrivacyMetrics(originalHandle, "_original");
-        this.datasetPrivacyMetrics.putAll(fillDatasetPrivacyMetrics(anonymizedHandle, "_anonymized"));
-        this.attributePrivacyMetrics = fillAttributePrivacyMetrics(originalHandle, "_original");
-        this.attributePrivacyMetrics = append_hashmap(this.attributePrivacyMetrics, fillAttributePrivacyMetrics(anonymizedHandle, "_anonymized"));
-    }
-
-    private HashMap<String, HashMap<String, Double>> append_hashmap(HashMap<String, HashMap<String, Double>> originalMetrics, HashMap<String, HashMap<String, Double>> anonymizedMetrics) {
-        for (String key : anonymizedMetrics.keySet()) {
-            HashMap<String, Double> origignalValues = originalMetrics.get(key);
-            HashMap<String, Double> anonValues = anonymizedMetrics.get(key);
-
-            origignalValues.putAll(anonValues);
-        }
-        return originalMetrics;
+        this(handle, true);
     }
 
     /**
-     * Retrieves attribute statistics from handle and saves them.
+     * Retrieves the statistics of the given handle.
      * @param handle anonymized data
+     * @param includeQualityStatistics If the quality statistics (granularity, discernibility, entropy) should be retrieved.
      */
-    private HashMap<String, HashMap<String, Double>> fillAttributePrivacyMetrics(DataHandle handle) {
-        return fillAttributePrivacyMetrics(handle, "");
+    public AnonymizationResults(DataHandle handle, boolean includeQualityStatistics){
+        HandleStatistics statistics = new HandleStatistics(handle, includeQualityStatistics);
+        this.datasetPrivacyMetrics = fillDatasetPrivacyMetrics(statistics, "");
+        this.attributePrivacyMetrics = fillAttributePrivacyMetrics(handle, statistics, "");
     }
 
-    private HashMap<String, HashMap<String, Double>> fillAttributePrivacyMetrics(DataHandle handle, String suffix) {
-        attributePrivacyMetrics = new HashMap<>();
+    /**
+     * Retrieves attribute statistics from handle.
+     * @param handle anonymized data
+     * @param statistics statistics of the handle
+     * @param suffix suffix for the metric names
+     */
+    private HashMap<String, HashMap<String, Double>> fillAttributePrivacyMetrics(DataHandle handle, HandleStatistics statistics, String suffix) {
+        HashMap<String, HashMap<String, Double>> attributePrivacyMetrics = new HashMap<>();
 
         Set<String> qids = handle.getDefinition().getQuasiIdentifyingAttributes();
         for (String qid : qids) {
             HashMap<String, Double> singleAttributePrivacyMetrics = new HashMap<>();
 
-            singleAttributePrivacyMetrics.put("Missings" + suffix,
-                    handle.getStatistics().getQualityStatistics().getMissings().getValue(qid));
-            singleAttributePrivacyMetrics.put("Granularity" + suffix,
-                    handle.getStatistics().getQualityStatistics().getGranularity().getValue(qid));
-            singleAttributePrivacyMetrics.put("NonUniformEntropy" + suffix,
-                    handle.getStatistics().getQualityStatistics().getNonUniformEntropy().getValue(qid));
+            if (statistics.quality != null) {
+                singleAttributePrivacyMetrics.put("Missings" + suffix,
+                        statistics.quality.getMissings().getValue(qid));
+                singleAttributePrivacyMetrics.put("Granularity" + suffix,
+                        statistics.quality.getGranularity().getValue(qid));
+                singleAttributePrivacyMetrics.put("NonUniformEntropy" + suffix,
+                        statistics.quality.getNonUniformEntropy().getValue(qid));
+            }
 
             attributePrivacyMetrics.put(qid, singleAttributePrivacyMetrics);
         }
         return attributePrivacyMetrics;
     }
 
-    private HashMap<String, Double> fillDatasetPrivacyMetrics(DataHandle handle) {
-        return fillDatasetPrivacyMetrics(handle, "");
-    }
-
     /**
-     * Retrieves dataset statistics from handle and saves them.
-     * @param handle anonymized data
+     * Retrieves dataset statistics from handle.
+     * @param statistics statistics of the handle
+     * @param suffix suffix for the metric names
      */
-    private HashMap<String, Double> fillDatasetPrivacyMetrics(DataHandle handle, String suffix) {
-        if (handle==null){
-            throw new RuntimeException("ARX DataHandle should not be null.");
-        }
-
-        datasetPrivacyMetrics = new HashMap<>();
-
-        datasetPrivacyMetrics.put("JournalistRisk" + suffix,
-                handle.getRiskEstimator().getSampleBasedReidentificationRisk().getEstimatedJournalistRisk());
-
-        datasetPrivacyMetrics.put("MinimumRisk" + suffix,
-                handle.getRiskEstimator().getSampleBasedReidentificationRisk().getLowestRisk());
-
-        datasetPrivacyMetrics.put("RecordsAffectedByLowestRisk" + suffix,
-                handle.getRiskEstimator().getSampleBasedReidentificationRisk().getNumRecordsAffectedByLowestRisk());
-
-        datasetPrivacyMetrics.put("HighestRisk" + suffix,
-                handle.getRiskEstimator().getSampleBasedReidentificationRisk().getHighestRisk());
-
-        datasetPrivacyMetrics.put("RecordsAffectedByHighestRisk" + suffix,
-                handle.getRiskEstimator().getSampleBasedReidentificationRisk().getNumRecordsAffectedByHighestRisk());
+    private HashMap<String, Double> fillDatasetPrivacyMetrics(HandleStatistics statistics, String suffix) {
+        HashMap<String, Double> datasetPrivacyMetrics = new HashMap<>();
 
-        datasetPrivacyMetrics.put("AverageRisk" + suffix,
-                handle.getRiskEstimator().getSampleBasedReidentificationRisk().getAverageRisk());
-
-        datasetPrivacyMetrics.put("MarketerRisk" + suffix,
-                handle.getRiskEstimator().getSampleBasedReidentificationRisk().getEstimatedMarketerRisk());
+        datasetPrivacyMetrics.put("JournalistRisk" + suffix, statistics.risks.getEstimatedJournalistRisk());
+        datasetPrivacyMetrics.put("MinimumRisk" + suffix, statistics.risks.getLowestRisk());
+        datasetPrivacyMetrics.put("RecordsAffectedByLowestRisk" + suffix, statistics.risks.getNumRecordsAffectedByLowestRisk());
+        datasetPrivacyMetrics.put("HighestRisk" + suffix, statistics.risks.getHighestRisk());
+        datasetPrivacyMetrics.put("RecordsAffectedByHighestRisk" + suffix, statistics.risks.getNumRecordsAffectedByHighestRisk());
+        datasetPrivacyMetrics.put("AverageRisk" + suffix, statistics.risks.getAverageRisk());
+        datasetPrivacyMetrics.put("MarketerRisk" + suffix, statistics.risks.getEstimatedMarketerRisk());
 
         datasetPrivacyMetrics.put("MaxClassSize" + suffix,
-                (double) handle.getStatistics().getEquivalenceClassStatistics().getMaximalEquivalenceClassSize());
-
+                (double) statistics.equivalenceClasses.getMaximalEquivalenceClassSize());
         datasetPrivacyMetrics.put("AverageClassSize" + suffix,
-                handle.getStatistics().getEquivalenceClassStatistics().getAverageEquivalenceClassSize());
-
+                statistics.equivalenceClasses.getAverageEquivalenceClassSize());
         datasetPrivacyMetrics.put("MinClassSize" + suffix,
-                (double) handle.getStatistics().getEquivalenceClassStatistics().getMinimalEquivalenceClassSize());
-
+                (double) statistics.equivalenceClasses.getMinimalEquivalenceClassSize());
         datasetPrivacyMetrics.put("SuppressedRecords" + suffix,
-                (double) handle.getStatistics().getEquivalenceClassStatistics().getNumberOfSuppressedRecords());
-
-        datasetPrivacyMetrics.put("Granularity" + suffix,
-                handle.getStatistics().getQualityStatistics().getGranularity().getArithmeticMean());
-
-        datasetPrivacyMetrics.put("Discernibility" + suffix,
-                handle.getStatistics().getQualityStatistics().getDiscernibility().getValue());
-
-        datasetPrivacyMetrics.put("Entropy" + suffix,
-                handle.getStatistics().getQualityStatistics().getNonUniformEntropy().getArithmeticMean());
+                (double) statistics.equivalenceClasses.getNumberOfSuppressedRecords());
+
+        if (statistics.quality != null) {
+            datasetPrivacyMetrics.put("Granularity" + suffix,
+                    statistics.quality.getGranularity().getArithmeticMean());
+            datasetPrivacyMetrics.put("Discernibility" + suffix,
+                    statistics.quality.getDiscernibility().getValue());
+            datasetPrivacyMetrics.put("Entropy" + suffix,
+                    statistics.quality.getNonUniformEntropy().getArithmeticMean());
+        }
         return datasetPrivacyMetrics;
     }
 
@@ -181,4 +155,30 @@ public class AnonymizationResults {
         return getSortedMetrics(attributePrivacyMetrics);
     }
 
+    /**
+     * ARX statistics of a single handle.
+     * Every call to the ARX statistics and risk builders rescans the handle,
+     * so each statistics object is only retrieved once.
+     */
+    private static class HandleStatistics {
+
+        private final RiskModelSampleRisks risks;
+
+        private final StatisticsEquivalenceClasses equivalenceClasses;
+
+        /** Null if the quality statistics are not included */
+        private final StatisticsQuality quality;
+
+        private HandleStatistics(DataHandle handle, boolean includeQualityStatistics) {
+            if (handle==null){
+                throw new RuntimeException("ARX DataHandle should not be null.");
+            }
+
+            StatisticsBuilder statistics = handle.getStatistics();
+            this.risks = handle.getRiskEstimator().getSampleBasedReidentificationRisk();
+            this.equivalenceClasses = statistics.getEquivalenceClassStatistics();
+            this.quality = includeQualityStatistics ? statistics.getQualityStatistics() : null;
+        }
+    }
+
 }
@@ -2,12 +2,16 @@ package org.bihmi.jal.anon;
 
 import de.kiaim.cinnamon.anonymization.exception.ArxDataSetProcessingException;
 import de.kiaim.cinnamon.anonymization.exception.ArxGeneralException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.bihmi.jal.anon.exception.NoOptimumFoundException;
 import org.bihmi.jal.anon.privacyModels.PrivacyModel;
 import org.bihmi.jal.anon.util.Hierarchy;
+import org.bihmi.jal.anon.util.HierarchyCache;
 import org.bihmi.jal.config.AttributeConfig;
 import org.bihmi.jal.config.HierarchyConfig;
 import org.bihmi.jal.config.QualityModelConfig;
@@ -20,11 +24,21 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Getter(AccessLevel.PROTECTED)
 public class Anonymizer {
 
+    /** Timer for the phases of the anonymization, tagged with the phase */
+    public static final String PHASE_TIMER = "cinnamon.anonymization.phase";
+
+    /** Counter for heuristic searches that stopped because of a limit, tagged with the limit */
+    public static final String HEURISTIC_LIMIT_COUNTER = "cinnamon.anonymization.heuristic.limit";
+
+    private final MeterRegistry meterRegistry;
+    /** Cache for the built hierarchies, null if the hierarchies are not cached */
+    private final HierarchyCache hierarchyCache;
     private Data originalData;
     private DataHandle anonymizedData;
     private ARXConfiguration arxConfig;
@@ -32,6 +46,24 @@ public class Anonymizer {
     public AnonymizationResults anonymizationResult;
 
     public Anonymizer(String[][] data, JALConfig JALConfig) {
+        this(data, JALConfig, Metrics.globalRegistry);
+    }
+
+    public Anonymizer(String[][] data, JALConfig JALConfig, MeterRegistry meterRegistry) {
+        this(data, JALConfig, meterRegistry, null);
+    }
+
+    /**
+     * Creates a new anonymizer for the given data.
+     *
+     * @param data           The data including the header.
+     * @param JALConfig      The anonymization configuration.
+     * @param meterRegistry  Registry for the metrics of the anonymization.
+     * @param hierarchyCache Cache for the built hierarchies, null disables caching.
+     */
+    public Anonymizer(String[][] data, JALConfig JALConfig, MeterRegistry meterRegistry, HierarchyCache hierarchyCache) {
+        this.meterRegistry = meterRegistry;
+        this.hierarchyCache = hierarchyCache;
         // creates ARX Datahandle object
         try{
             this.originalData = Data.create(data);
@@ -52,6 +84,12 @@ public class Anonymizer {
     }
 
     public Anonymizer(Data data, JALConfig JALConfig) {
+        this(data, JALConfig, Metrics.globalRegistry);
+    }
+
+    public Anonymizer(Data data, JALConfig JALConfig, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.hierarchyCache = null;
         this.originalData = data;
         updateAnonConfig(JALConfig);
     }
@@ -69,6 +107,7 @@ public class Anonymizer {
     }
 
     public void updateAnonConfig(JALConfig config) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         this.JALConfig = config;
         for (AttributeConfig attributeConfig : JALConfig.getAttributeConfigs()) {
             try {
@@ -84,6 +123,22 @@ public class Anonymizer {
             }
 
         }
+        sample.stop(phaseTimer(meterRegistry, "hierarchies"));
+    }
+
+    /**
+     * Returns the timer for the given phase of the anonymization.
+     *
+     * @param meterRegistry Registry the timer is registered in.
+     * @param phase         Name of the phase.
+     * @return The timer.
+     */
+    public static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Duration of the phases of the anonymization")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     public String[][] AnonymizedData(){
@@ -144,10 +199,22 @@ public class Anonymizer {
 
         String name = attributeConfig.getName();
         Hierarchy hierarchy = new Hierarchy(this.originalData, hierarchyConfig, true);
+        hierarchy.setCache(hierarchyCache);
         // TODO (KO): ^^^ retaining of Data Type should be derived from dedicated anon config entry
         this.originalData.getDefinition().setHierarchy(name, hierarchy.createHierarchy());
     }
 
+    /**
+     * Sets a precomputed hierarchy, e.g. loaded with {@link Hierarchy#fromCSV(String)}, for the given attribute.
+     * Replaces the hierarchy built from the hierarchy config.
+     *
+     * @param name      Name of the attribute.
+     * @param hierarchy The precomputed hierarchy.
+     */
+    public void setHierarchy(String name, Hierarchy hierarchy) {
+        this.originalData.getDefinition().setHierarchy(name, hierarchy.createHierarchy());
+    }
+
     public void anonymize() throws IllegalStateException, RuntimeException {
 
         configureARX(this.JALConfig);
@@ -161,7 +228,9 @@ public class Anonymizer {
             long endTime = System.currentTimeMillis();
             log.info("Anonymization done in " + (endTime - startTime) + "ms");
 
-            this.anonymizationResult = new AnonymizationResults(this.anonymizedData);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            this.anonymizationResult = new AnonymizationResults(this.anonymizedData, JALConfig.isQualityStatistics());
+            sample.stop(phaseTimer(meterRegistry, "results"));
             log.info("AnonymizationResults created.");
         } catch (IllegalStateException e) {
             log.info("Illegal State Exception. Anonymization was not performed.");
@@ -231,7 +300,10 @@ public class Anonymizer {
         ARXAnonymizer anonymizer = new ARXAnonymizer();
         System.out.println("Anonymizer created");
         try {
+            Timer.Sample search = Timer.start(meterRegistry);
             ARXResult result = anonymizer.anonymize(this.originalData, this.arxConfig);
+            long searchDuration = search.stop(phaseTimer(meterRegistry, "search"));
+            recordHeuristicLimits(result, searchDuration);
             System.out.println("Optimum found? " + result.getOptimumFound());
 
             // Send error with code ANON_1_1 when no solution found
@@ -244,7 +316,9 @@ public class Anonymizer {
                 try {
                     // Define relative number of records to be generalized in each iteration
                     double oMin = 1d / (double) JALConfig.getLocalGeneralizationIterations();
+                    Timer.Sample localGeneralization = Timer.start(meterRegistry);
                     result.optimizeIterativeFast(output, oMin);
+                    localGeneralization.stop(phaseTimer(meterRegistry, "local_generalization"));
                 } catch (Exception e) {
                     System.out.println("!!!! ASSUMED LOCAL GENERALIZATION!!! ");
                     e.printStackTrace();
@@ -264,4 +338,26 @@ public class Anonymizer {
         }
     }
 
+    /**
+     * Counts heuristic searches that stopped because the time or step limit was reached.
+     *
+     * @param result         Result of the search.
+     * @param searchDuration Duration of the search in nanoseconds.
+     */
+    private void recordHeuristicLimits(ARXResult result, long searchDuration) {
+        if (JALConfig.getAnonymizationAlgorithm() == ARXConfiguration.AnonymizationAlgorithm.OPTIMAL) {
+            return;
+        }
+
+        Integer timeLimit = JALConfig.getHeuristicSearchTimeLimit();
+        if (timeLimit != null && TimeUnit.NANOSECONDS.toMillis(searchDuration) >= timeLimit) {
+            meterRegistry.counter(HEURISTIC_LIMIT_COUNTER, "limit", "time").increment();
+        }
+
+        Integer stepLimit = JALConfig.getHeuristicSearchStepLimit();
+        ARXProcessStatistics statistics = result.getProcessStatistics();
+        if (stepLimit != null && statistics != null && statistics.getTransformationsChecked() >= stepLimit) {
+            meterRegistry.counter(HEURISTIC_LIMIT_COUNTER, "limit", "steps").increment();
+        }
+    }
 }
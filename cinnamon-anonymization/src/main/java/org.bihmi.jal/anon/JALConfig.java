@@ -65,6 +65,9 @@ public class JALConfig {
 
     /** List of attributes and their config */
     private List<AttributeConfig> attributeConfigs;
+
+    /** True if the quality statistics (granularity, discernibility, entropy) are retrieved for the results */
+    private boolean qualityStatistics = true;
     
     
 }
\ No newline at end of file
@@ -5,10 +5,30 @@ import org.deidentifier.arx.aggregates.HierarchyBuilderDate;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.WeekFields;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 
 public class DateTransformationHelper {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final String SUPPRESSED_DATE = LocalDate.of(1, 1, 1).format(DATE_FORMATTER);
+
+    /**
+     * Creates a decoder for the given granularity that memoizes the decoded dates.
+     * Many distinct dates share the same generalized label, so each label is only decoded once.
+     * The decoder is not thread-safe and should be used for building a single hierarchy.
+     *
+     * @param granularity The granularity of the encoded dates.
+     * @return Function decoding the labels created by {@link HierarchyBuilderDate}.
+     */
+    protected static Function<String, String> createDecoder(HierarchyBuilderDate.Granularity granularity) {
+        Map<String, String> decodedDates = new HashMap<>();
+        return encodedDate -> decodedDates.computeIfAbsent(encodedDate, key -> reverseDateEncoding(key, granularity));
+    }
+
     protected static String reverseDateEncoding(String encodedDate, HierarchyBuilderDate.Granularity granularity){
         // guard clause if date is suppressed
         String date1 = handleSuppressed(encodedDate);
@@ -27,62 +47,58 @@ public class DateTransformationHelper {
     private static String decodeYear(String encodedDate) {
         int year = Integer.parseInt(encodedDate.trim());
         LocalDate middleDate = LocalDate.of(year, 7, 1);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        return middleDate.format(formatter);
+        return middleDate.format(DATE_FORMATTER);
     }
 
     private static String decodeQuarterYear(String encodedDate) {
-        String[] parts = encodedDate.split(" ");
-        int quarter = Integer.parseInt(parts[0].replace("Q", ""));  // e.g. "Q2"
-        int year = Integer.parseInt(parts[1]);
+        // e.g. "Q2 1915"
+        int separator = encodedDate.indexOf(' ');
+        int quarter = Integer.parseInt(encodedDate.substring(0, separator).replace("Q", ""));
+        int year = Integer.parseInt(encodedDate.substring(separator + 1));
 
         int month = (quarter - 1) * 3 + 2;
         LocalDate date = LocalDate.of(year, month, 1);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        return date.format(formatter);
+        return date.format(DATE_FORMATTER);
     }
 
     private static String decodeMonthYear(String encodedDate) {
-        String[] parts = encodedDate.trim().split("/");
+        int separator = encodedDate.indexOf('/');
+        int month = Integer.parseInt(encodedDate.substring(0, separator).trim());
+        int year = Integer.parseInt(encodedDate.substring(separator + 1).trim());
 
-        int month = Integer.parseInt(parts[0].trim());
-        int year = Integer.parseInt(parts[1].trim());
         LocalDate date = LocalDate.of(year, month, 1);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        return date.format(formatter);
+        return date.format(DATE_FORMATTER);
     }
 
     private static String decodeWeekYear(String encodedDate) {
-        String[] parts = encodedDate.trim().split("/");
-
-        int week = Integer.parseInt(parts[0].trim());
-        int year = Integer.parseInt(parts[1].trim());
+        int separator = encodedDate.indexOf('/');
+        int week = Integer.parseInt(encodedDate.substring(0, separator).trim());
+        int year = Integer.parseInt(encodedDate.substring(separator + 1).trim());
 
+        WeekFields weekFields = WeekFields.of(Locale.getDefault());
         LocalDate date = LocalDate.ofYearDay(year, 1)
-                .with(WeekFields.of(Locale.getDefault()).weekOfYear(), week)
-                .with(WeekFields.of(Locale.getDefault()).dayOfWeek(), 1);
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        return date.format(formatter);
+                .with(weekFields.weekOfYear(), week)
+                .with(weekFields.dayOfWeek(), 1);
+        return date.format(DATE_FORMATTER);
     }
 
     private static String decodeDecade(String encodedDate) {
-        String cleanedInterval = encodedDate.replace("[", "").replace("[", "").replace("]", "");
-        String[] bounds = cleanedInterval.split(",");
-
-        int lowerBound = Integer.parseInt(bounds[0].trim());
+        // e.g. "[1910, 1920["
+        int start = encodedDate.indexOf('[') + 1;
+        int separator = encodedDate.indexOf(',', start);
+        if (separator < 0) {
+            separator = encodedDate.length();
+        }
+        int lowerBound = Integer.parseInt(encodedDate.substring(start, separator).trim());
         int middleYear = lowerBound + 5;
 
         LocalDate date = LocalDate.of(middleYear, 1, 1);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        return date.format(formatter);
+        return date.format(DATE_FORMATTER);
     }
 
     private static String handleSuppressed(String encodedDate) {
-        if (encodedDate.contains("NULL") || encodedDate == "*"){
-            LocalDate date = LocalDate.of(1, 1, 1);
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            return date.format(formatter);
+        if (encodedDate.contains("NULL") || encodedDate.equals("*")){
+            return SUPPRESSED_DATE;
         }
         return null;
     }
@@ -1,5 +1,10 @@
 package org.bihmi.jal.anon.util;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
 import org.bihmi.jal.config.HierarchyConfig;
 import org.deidentifier.arx.AttributeType;
 import org.deidentifier.arx.DataType;
@@ -10,13 +15,15 @@ import org.deidentifier.arx.aggregates.HierarchyBuilderIntervalBased;
 import org.deidentifier.arx.aggregates.HierarchyBuilderRedactionBased;
 import org.w3c.dom.Attr;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 
-import static org.bihmi.jal.anon.util.DateTransformationHelper.reverseDateEncoding;
+import static org.bihmi.jal.anon.util.DateTransformationHelper.createDecoder;
 
 public class Hierarchy {
 
@@ -26,6 +33,12 @@ public class Hierarchy {
     HierarchyConfig config;
     Data data;
 
+    /** Hierarchy loaded from a file, used instead of building the hierarchy */
+    private String[][] precomputedHierarchy;
+
+    /** Cache for the built hierarchies, null if the hierarchies are not cached */
+    private HierarchyCache cache = null;
+
     public Hierarchy(Data data, String attributeName) {
         this(data, attributeName, false);
     }
@@ -48,46 +61,74 @@ public class Hierarchy {
         this.config = config;
     }
 
+    private Hierarchy(String[][] precomputedHierarchy) {
+        this.dataType = null;
+        this.retainDataType = false;
+        this.precomputedHierarchy = precomputedHierarchy;
+    }
+
     public AttributeType.Hierarchy createHierarchy(){
+        if (precomputedHierarchy != null) {
+            return AttributeType.Hierarchy.create(precomputedHierarchy);
+        }
+
         checkBefore();
-        AttributeType.Hierarchy builder = selectAndCreateHierarchy(config);
+        if (config == null){
+            throw new RuntimeException("Hierarchy Config should not be null.");
+        }
+
+        var attribute_index = data.getHandle().getColumnIndexOf(attributeName);
+        String[] values = data.getHandle().getDistinctValues(attribute_index);
+
+        String[][] hierarchy;
+        if (cache != null) {
+            HierarchyCache.Key key = new HierarchyCache.Key(HierarchyCache.fingerprint(values),
+                    dataType.getDescription().getLabel(), retainDataType, config.getHierarchyType(),
+                    config.getIntervalSize(), config.getDateFormat(), config.getSplitLevels());
+            hierarchy = cache.get(key, () -> selectAndCreateHierarchy(config, values).getHierarchy());
+        } else {
+            hierarchy = selectAndCreateHierarchy(config, values).getHierarchy();
+        }
         checkAfter();
-        return builder;
+        return AttributeType.Hierarchy.create(hierarchy);
+    }
+
+    /**
+     * Sets the cache used for the built hierarchies.
+     *
+     * @param cache The cache, null disables caching.
+     */
+    public void setCache(HierarchyCache cache) {
+        this.cache = cache;
     }
 
-    private AttributeType.Hierarchy selectAndCreateHierarchy(HierarchyConfig config) {
+    private AttributeType.Hierarchy selectAndCreateHierarchy(HierarchyConfig config, String[] values) {
         System.out.println(config.toString());
-        if (config == null){
-            throw new RuntimeException("Hierarchy Config should not be null.");
-        }
 
         System.out.println("Hierarchy Type:");
         System.out.println(config.getHierarchyType());
 
         switch (config.getHierarchyType()){
             case "INTERVALS" -> {
-                return createWithFixedIntervalSize();
+                return createWithFixedIntervalSize(values);
             }
             case "SUPPRESSION" -> {
-                return createSuppression();
+                return createSuppression(values);
             }
             case "MASKING" -> {
-                return createWithMasking();
+                return createWithMasking(values);
             }
             case "ORDERING" -> {
-                return createWithSet();
+                return createWithSet(values);
             }
             case "DATES" -> {
-                return createForDates();
+                return createForDates(values);
             }
             default -> throw new IllegalStateException("Unexpected value: " + config.getHierarchyType());
         }
     }
 
-    private AttributeType.Hierarchy createSuppression() {
-        var attribute_index = data.getHandle().getColumnIndexOf(attributeName);
-        String[] values = data.getHandle().getDistinctValues(attribute_index);
-
+    private AttributeType.Hierarchy createSuppression(String[] values) {
         AttributeType.Hierarchy.DefaultHierarchy _hierarchy = AttributeType.Hierarchy.create();
         for (int i=0; i<values.length; i++) {
             _hierarchy.add(values[i], "*");
@@ -95,51 +136,37 @@ public class Hierarchy {
         return _hierarchy;
     }
 
-    private AttributeType.Hierarchy createForDates() {
+    private AttributeType.Hierarchy createForDates(String[] values) {
 
         HierarchyBuilderDate.Granularity granularity = null;
         DataType<Date> dateType = DataType.createDate(config.getDateFormat());
         switch (config.getIntervalSize()){
-            case "week/year": {
-                granularity = HierarchyBuilderDate.Granularity.WEEK_YEAR;
-            }
-            case "month/year": {
-                granularity = HierarchyBuilderDate.Granularity.MONTH_YEAR;
-            }
-            case "quarter/year": {
-                granularity = HierarchyBuilderDate.Granularity.QUARTER_YEAR;
-            }
-            case "year": {
-                granularity = HierarchyBuilderDate.Granularity.YEAR;
-            }
-            case "decade": {
-                granularity = HierarchyBuilderDate.Granularity.DECADE;
-            }
+            case "week/year" -> granularity = HierarchyBuilderDate.Granularity.WEEK_YEAR;
+            case "month/year" -> granularity = HierarchyBuilderDate.Granularity.MONTH_YEAR;
+            case "quarter/year" -> granularity = HierarchyBuilderDate.Granularity.QUARTER_YEAR;
+            case "year" -> granularity = HierarchyBuilderDate.Granularity.YEAR;
+            case "decade" -> granularity = HierarchyBuilderDate.Granularity.DECADE;
         }
 
         // Create the builder
         var builder = HierarchyBuilderDate.create(dateType, granularity);
 
-        var attribute_index = data.getHandle().getColumnIndexOf(attributeName);
-        String[] values = data.getHandle().getDistinctValues(attribute_index);
-
         builder.prepare(values);
 
         String[][] _hierarchy = builder.build().getHierarchy();
         AttributeType.Hierarchy.DefaultHierarchy hierarchy = AttributeType.Hierarchy.create();
 
+        // The hierarchy contains one row per distinct value, many of them share the same generalized label
+        Function<String, String> decoder = createDecoder(granularity);
         for (int i=0; i<_hierarchy.length; i++) {
-            hierarchy.add(_hierarchy[i][0], reverseDateEncoding(_hierarchy[i][1], granularity));
+            hierarchy.add(_hierarchy[i][0], decoder.apply(_hierarchy[i][1]));
         }
         return hierarchy;
     }
 
 
     // TODO: need to switch to set aggregation 
-    private AttributeType.Hierarchy createWithSet() {
-        var attribute_index = data.getHandle().getColumnIndexOf(attributeName);
-        String[] values = data.getHandle().getDistinctValues(attribute_index);
-
+    private AttributeType.Hierarchy createWithSet(String[] values) {
         int maxLength = 0;
         HashSet<Character> uniqueChars = new HashSet<>();
 
@@ -167,10 +194,7 @@ public class Hierarchy {
         return addFullSuppressedColumn(builder.build());
     }
 
-    protected AttributeType.Hierarchy createWithMasking() {
-
-        var attribute_index = data.getHandle().getColumnIndexOf(attributeName);
-        String[] values = data.getHandle().getDistinctValues(attribute_index);
+    protected AttributeType.Hierarchy createWithMasking(String[] values) {
 
         int maxLength = 0;
         HashSet<Character> uniqueChars = new HashSet<>();
@@ -199,30 +223,27 @@ public class Hierarchy {
         return addFullSuppressedColumn(builder.build());
     }
 
-    protected AttributeType.Hierarchy createWithFixedIntervalSize() {
-        AttributeType.Hierarchy hierarchyBuilder = createIntervalBuilderByType(dataType, config.getIntervalSize());
+    protected AttributeType.Hierarchy createWithFixedIntervalSize(String[] values) {
+        AttributeType.Hierarchy hierarchyBuilder = createIntervalBuilderByType(dataType, config.getIntervalSize(), values);
         return hierarchyBuilder;
     }
 
-    private AttributeType.Hierarchy createIntervalBuilderByType(DataType<?> dataType, String intervalSize) {
+    private AttributeType.Hierarchy createIntervalBuilderByType(DataType<?> dataType, String intervalSize, String[] values) {
 
         if (intervalSize==null || intervalSize.isEmpty()){
             intervalSize = "2";  // TODO: maybe set before and replace this with exception.
         }
         if (dataType.equals(DataType.DECIMAL)) {
             double size = Double.parseDouble(intervalSize);
-            return decimalIntervalBuilder(size);
+            return decimalIntervalBuilder(size, values);
         } else if (dataType.equals(DataType.INTEGER)) {
             int size = Integer.parseInt(intervalSize);
-            return integerIntervalBuilder(size);
+            return integerIntervalBuilder(size, values);
         }
         throw new IllegalStateException("Unexpected value: " + dataType);
     }
 
-    private AttributeType.Hierarchy integerIntervalBuilder(int intervalRange) {
-        var attribute_index = data.getHandle().getColumnIndexOf(attributeName);
-        String[] values = data.getHandle().getDistinctValues(attribute_index);
-
+    private AttributeType.Hierarchy integerIntervalBuilder(int intervalRange, String[] values) {
         long[] int_values = new long[values.length];
         for (int i = 0; i < values.length; i++) {
             if (values[i] == "NULL"){
@@ -252,10 +273,7 @@ public class Hierarchy {
         return addFullSuppressedColumn(hierarchyBuilder.build());
     }
 
-    private AttributeType.Hierarchy decimalIntervalBuilder(double intervalRange) {
-        var attribute_index = data.getHandle().getColumnIndexOf(attributeName);
-        String[] values = data.getHandle().getDistinctValues(attribute_index);
-
+    private AttributeType.Hierarchy decimalIntervalBuilder(double intervalRange, String[] values) {
         double[] double_values = new double[values.length];
         for (int i = 0; i < values.length; i++) {
             if (values[i] == "NULL"){
@@ -303,24 +321,80 @@ public class Hierarchy {
 
     }
 
+    /**
+     * Loads a precomputed hierarchy from a CSV string in the format of ARX.
+     * Each line contains a value followed by its generalizations, separated by semicolons.
+     *
+     * @param csvString The hierarchy as CSV.
+     * @return The hierarchy.
+     */
     public static Hierarchy fromCSV(String csvString) {
-        // TODO
-        return null; // new Hierarchy();
+        return fromCSV(csvString.lines().toList());
     }
 
+    /**
+     * Loads a precomputed hierarchy from the lines of a CSV file in the format of ARX.
+     *
+     * @param csvString The lines of the CSV.
+     * @return The hierarchy.
+     */
     public static Hierarchy fromCSV(List<String> csvString) {
-        // TODO
-        return null; // new Hierarchy();
+        CSVFormat format = CSVFormat.DEFAULT.builder().setDelimiter(';').build();
+        List<String[]> rows = new ArrayList<>(csvString.size());
+        for (String line : csvString) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try (CSVParser parser = CSVParser.parse(line, format)) {
+                for (CSVRecord record : parser) {
+                    rows.add(record.values());
+                }
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Invalid hierarchy line: " + line, e);
+            }
+        }
+        return fromArray(rows.toArray(new String[0][]));
     }
 
+    /**
+     * Loads a precomputed hierarchy from a JSON array of rows, e.g. [["1", "1-5", "*"], ["2", "1-5", "*"]].
+     *
+     * @param jsonString The hierarchy as JSON.
+     * @return The hierarchy.
+     */
     public static Hierarchy fromJson(String jsonString) {
-        // TODO
-        return null; // new Hierarchy();
+        return fromArray(readRows(new ObjectMapper(), jsonString));
     }
 
+    /**
+     * Loads a precomputed hierarchy from a YAML list of rows.
+     *
+     * @param yamlString The hierarchy as YAML.
+     * @return The hierarchy.
+     */
     public static Hierarchy fromYaml(String yamlString) {
-        // TODO
-        return null; // new Hierarchy();
+        return fromArray(readRows(new ObjectMapper(new YAMLFactory()), yamlString));
+    }
+
+    private static String[][] readRows(ObjectMapper mapper, String content) {
+        try {
+            return mapper.readValue(content, String[][].class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid hierarchy: " + e.getMessage(), e);
+        }
+    }
+
+    private static Hierarchy fromArray(String[][] hierarchy) {
+        if (hierarchy == null || hierarchy.length == 0) {
+            throw new IllegalArgumentException("Hierarchy must contain at least one row.");
+        }
+        int levels = hierarchy[0].length;
+        for (String[] row : hierarchy) {
+            if (row == null || row.length != levels) {
+                throw new IllegalArgumentException("All rows of the hierarchy must have " + levels + " levels.");
+            }
+        }
+        return new Hierarchy(hierarchy);
     }
 
     static void printArray(String[][] array) {
@@ -0,0 +1,175 @@
+package org.bihmi.jal.anon.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of built generalization hierarchies shared between anonymization runs.
+ * Hierarchies are keyed by a fingerprint of the distinct values of the column and the hierarchy configuration,
+ * so re-running an anonymization on the same data with different privacy models skips building the hierarchies.
+ * The least recently used hierarchies are evicted when the estimated size exceeds the maximum size.
+ * The cache only hands out copies of the cached hierarchies, so runs cannot modify the hierarchies of other runs.
+ */
+@Slf4j
+public class HierarchyCache {
+
+    /** Default maximum size of the cache in bytes */
+    public static final long DEFAULT_MAXIMUM_SIZE = 64L * 1024 * 1024;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final long maximumSize;
+    private long size = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * Key of a cached hierarchy.
+     *
+     * @param fingerprint    Fingerprint of the distinct values of the column, see {@link #fingerprint(String[])}.
+     * @param dataType       Label of the ARX data type of the column.
+     * @param retainDataType If the data type is retained by the hierarchy.
+     * @param hierarchyType  Type of the hierarchy.
+     * @param intervalSize   Interval size of the hierarchy.
+     * @param dateFormat     Date format of the column.
+     * @param splitLevels    Split levels of the hierarchy.
+     */
+    public record Key(String fingerprint, String dataType, boolean retainDataType, String hierarchyType,
+                      String intervalSize, String dateFormat, String splitLevels) {
+    }
+
+    private record Entry(String[][] hierarchy, long size) {
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maximumSize Maximum estimated size of all cached hierarchies in bytes, 0 disables the cache.
+     */
+    public HierarchyCache(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the cached hierarchy for the given key or builds and caches it.
+     * Hierarchies larger than the maximum size are not cached.
+     *
+     * @param key     Key of the hierarchy.
+     * @param builder Builds the hierarchy if it is not cached.
+     * @return The hierarchy, owned by the caller.
+     */
+    public String[][] get(Key key, Supplier<String[][]> builder) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return copy(entry.hierarchy());
+            }
+            misses++;
+        }
+
+        // Build outside the lock, concurrent builds of the same hierarchy produce equal results
+        String[][] hierarchy = builder.get();
+        long hierarchySize = estimateSize(hierarchy);
+
+        synchronized (this) {
+            if (hierarchySize <= maximumSize && !entries.containsKey(key)) {
+                entries.put(key, new Entry(copy(hierarchy), hierarchySize));
+                size += hierarchySize;
+                evict();
+            }
+        }
+        return hierarchy;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Creates a fingerprint of a set of values independent of their order.
+     *
+     * @param values The distinct values.
+     * @return SHA-256 hash of the sorted values.
+     */
+    public static String fingerprint(String[] values) {
+        String[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        for (String value : sorted) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            // Separate the values so ["ab", "c"] and ["a", "bc"] differ
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Estimates the memory used by the hierarchy.
+     *
+     * @param hierarchy The hierarchy.
+     * @return Estimated size in bytes.
+     */
+    static long estimateSize(String[][] hierarchy) {
+        long estimate = 16;
+        for (String[] row : hierarchy) {
+            estimate += 16 + 8L * row.length;
+            for (String value : row) {
+                // Object header, array header and one byte per character for compact strings
+                estimate += value == null ? 0 : 40 + value.length();
+            }
+        }
+        return estimate;
+    }
+
+    private static String[][] copy(String[][] hierarchy) {
+        String[][] copy = new String[hierarchy.length][];
+        for (int i = 0; i < hierarchy.length; i++) {
+            copy[i] = hierarchy[i].clone();
+        }
+        return copy;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (size > maximumSize && iterator.hasNext()) {
+            Map.Entry<Key, Entry> eldest = iterator.next();
+            size -= eldest.getValue().size();
+            iterator.remove();
+            log.debug("Evicted hierarchy for type {} from the cache", eldest.getKey().hierarchyType());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package de.kiaim.cinnamon.anonymization.controller;
+
+import de.kiaim.cinnamon.anonymization.service.AnonymizationExecutor;
+import de.kiaim.cinnamon.anonymization.service.AnonymizationMetrics;
+import de.kiaim.cinnamon.anonymization.service.AnonymizationService;
+import de.kiaim.cinnamon.anonymization.service.ReportService;
+import de.kiaim.cinnamon.model.configuration.anonymization.frontend.FrontendAnonConfigWrapper;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.DataSet;
+import de.kiaim.cinnamon.model.dto.ExternalProcessResponse;
+import de.kiaim.cinnamon.model.serialization.mapper.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks replacing the task of a session key that is submitted again.
+ */
+public class AnonymizationControllerAdmissionTest {
+
+    private static final String SESSION_KEY = "resubmittedProcess";
+    private static final long CELLS = 60;
+
+    private AnonymizationExecutor executor;
+
+    @AfterEach
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testResubmitAtCapacityKeepsRunningTask() throws Exception {
+        executor = new AnonymizationExecutor(1, 1, CELLS, 30);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AnonymizationController controller = createController(started, release);
+
+        assertEquals(HttpStatus.ACCEPTED, submit(controller).getStatusCode());
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Job did not start!");
+
+        ResponseEntity<ExternalProcessResponse> response = submit(controller);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode(),
+                     "The running task keeps its cells, so the resubmission should be rejected!");
+        assertEquals("Anonymization is running...", controller.getTaskStatus(SESSION_KEY).getBody(),
+                     "The running task must not be canceled by a rejected resubmission!");
+
+        release.countDown();
+        assertEquals(HttpStatus.OK, awaitResult(controller).getStatusCode());
+    }
+
+    @Test
+    public void testResubmitCancelsReplacedTask() throws Exception {
+        executor = new AnonymizationExecutor(1, 1, 2 * CELLS, 30);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AnonymizationController controller = createController(started, release);
+
+        assertEquals(HttpStatus.ACCEPTED, submit(controller).getStatusCode());
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Job did not start!");
+
+        assertEquals(HttpStatus.ACCEPTED, submit(controller).getStatusCode());
+        release.countDown();
+
+        assertEquals(HttpStatus.OK, awaitResult(controller).getStatusCode(),
+                     "The replacing task should run after the replaced one has been canceled!");
+    }
+
+    /**
+     * Creates a controller whose anonymizations block until released and ignore interrupts like ARX.
+     *
+     * @param started Counted down when an anonymization has started.
+     * @param release Releases the anonymizations.
+     * @return The controller.
+     */
+    private AnonymizationController createController(CountDownLatch started, CountDownLatch release)
+            throws Exception {
+        AnonymizationService anonymizationService = mock(AnonymizationService.class);
+        when(anonymizationService.anonymizeDataWithCallbackResult(any())).thenAnswer(
+                invocation -> executor.submit(CELLS, () -> {
+                    started.countDown();
+                    while (true) {
+                        try {
+                            release.await();
+                            break;
+                        } catch (InterruptedException ignored) {
+                        }
+                    }
+                    return new DataSet(new ArrayList<>(), new DataConfiguration());
+                }));
+
+        AnonymizationMetrics metrics = new AnonymizationMetrics(new SimpleMeterRegistry(), executor);
+        return new AnonymizationController(anonymizationService, mock(ReportService.class), metrics);
+    }
+
+    private ResponseEntity<ExternalProcessResponse> submit(AnonymizationController controller) throws Exception {
+        byte[] data = JsonMapper.jsonMapper().writeValueAsBytes(new DataSet(new ArrayList<>(), new DataConfiguration()));
+        MockMultipartFile dataFile = new MockMultipartFile("data", "data.json", MediaType.APPLICATION_JSON_VALUE, data);
+        return controller.createAnonymizationTaskWithCallbackResult(SESSION_KEY, dataFile,
+                                                                    new FrontendAnonConfigWrapper(),
+                                                                    "http://localhost/callback");
+    }
+
+    private ResponseEntity<DataSet> awaitResult(AnonymizationController controller) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (!"Anonymization is running...".equals(controller.getTaskStatus(SESSION_KEY).getBody())) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        return controller.getTaskResult(SESSION_KEY);
+    }
+}
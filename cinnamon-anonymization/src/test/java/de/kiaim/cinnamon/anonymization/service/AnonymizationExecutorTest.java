@@ -0,0 +1,161 @@
+package de.kiaim.cinnamon.anonymization.service;
+
+import de.kiaim.cinnamon.anonymization.exception.AnonymizationRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the admission control of the {@link AnonymizationExecutor}.
+ */
+public class AnonymizationExecutorTest {
+
+    private static final int THREADS = 2;
+    private static final int QUEUE_CAPACITY = 3;
+
+    private AnonymizationExecutor executor;
+
+    @AfterEach
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBoundedConcurrencyAndRejection() throws Exception {
+        executor = new AnonymizationExecutor(THREADS, QUEUE_CAPACITY, Long.MAX_VALUE, 30);
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> accepted = new ArrayList<>();
+        int rejected = 0;
+        for (int i = 0; i < 10; i++) {
+            final int value = i;
+            try {
+                accepted.add(executor.submit(1, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    release.await();
+                    running.decrementAndGet();
+                    return value;
+                }));
+            } catch (AnonymizationRejectedException e) {
+                assertEquals("ANON_4_1_1", e.getErrorCode());
+                assertEquals(Duration.ofSeconds(30), e.getRetryAfter());
+                rejected++;
+            }
+        }
+
+        assertEquals(THREADS + QUEUE_CAPACITY, accepted.size());
+        assertEquals(10 - THREADS - QUEUE_CAPACITY, rejected);
+
+        release.countDown();
+        for (int i = 0; i < accepted.size(); i++) {
+            assertEquals(i, accepted.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertTrue(maxRunning.get() <= THREADS);
+        assertTrue(maxRunning.get() > 0);
+
+        // Slots are released after completion
+        assertEquals(42, executor.submit(1, () -> 42).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCellLimit() throws Exception {
+        executor = new AnonymizationExecutor(THREADS, QUEUE_CAPACITY, 100, 10);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> large = executor.submit(80, () -> release.await(5, TimeUnit.SECONDS));
+
+        AnonymizationRejectedException e = assertThrows(AnonymizationRejectedException.class,
+                                                        () -> executor.submit(30, () -> true));
+        assertEquals(Duration.ofSeconds(10), e.getRetryAfter());
+
+        CompletableFuture<Boolean> small = executor.submit(20, () -> true);
+        assertTrue(small.get(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertTrue(large.get(5, TimeUnit.SECONDS));
+
+        // A single job exceeding the limit is admitted if nothing else is running
+        assertTrue(executor.submit(1000, () -> true).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancelReleasesSlot() throws Exception {
+        executor = new AnonymizationExecutor(1, 1, 100, 10);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(50, () -> {
+            started.countDown();
+            // Ignores interrupts like ARX does
+            while (finish.getCount() > 0) {
+                try {
+                    finish.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+            finished.countDown();
+            return false;
+        });
+        CompletableFuture<Boolean> queued = executor.submit(50, () -> false);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertThrows(AnonymizationRejectedException.class, () -> executor.submit(1, () -> true));
+
+        // Queued jobs release their cells immediately
+        queued.cancel(true);
+        CompletableFuture<Boolean> next = executor.submit(50, () -> true);
+
+        // Running jobs keep their cells until they have ended
+        running.cancel(true);
+        assertThrows(CancellationException.class, running::join);
+        assertThrows(AnonymizationRejectedException.class, () -> executor.submit(100, () -> true));
+
+        finish.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertTrue(next.get(5, TimeUnit.SECONDS));
+        assertTrue(submitWhenReleased(100).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailurePropagates() {
+        executor = new AnonymizationExecutor(1, 1, 100, 10);
+
+        CompletableFuture<Boolean> failing = executor.submit(1, () -> {
+            throw new IllegalStateException("failed");
+        });
+        Exception e = assertThrows(Exception.class, failing::join);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    /**
+     * Submits a job as soon as the cells of the previous jobs have been released.
+     */
+    private CompletableFuture<Boolean> submitWhenReleased(long cells) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                return executor.submit(cells, () -> true);
+            } catch (AnonymizationRejectedException e) {
+                if (System.nanoTime() > deadline) {
+                    fail("Cells have not been released");
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+}
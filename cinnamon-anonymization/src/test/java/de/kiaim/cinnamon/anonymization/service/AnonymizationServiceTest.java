@@ -6,17 +6,28 @@ import de.kiaim.cinnamon.anonymization.model.AnonymizationRequest;
 import de.kiaim.cinnamon.model.configuration.anonymization.frontend.FrontendAnonConfigWrapper;
 import de.kiaim.cinnamon.model.data.DataSet;
 import de.kiaim.cinnamon.model.dto.ErrorRequest;
+import de.kiaim.cinnamon.model.serialization.DataSetBinaryCodec;
+import de.kiaim.cinnamon.model.serialization.mapper.JsonMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.MultipartReader;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +40,9 @@ public class AnonymizationServiceTest extends AbstractAnonymizationTests {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private FrontendAnonConfigWrapper heartFrontendAnonConfigMissingAttr;
 
     @BeforeEach
@@ -163,5 +177,127 @@ public class AnonymizationServiceTest extends AbstractAnonymizationTests {
         assertEquals("ANON_2_2_2", errorRequest.getErrorCode());
     }
 
+    @Test
+    public void testMetricsAreRecorded() throws Exception {
+        ClassLoader classLoader = AnonymizationServiceTest.class.getClassLoader();
+        var dataset = objectMapper.readValue(classLoader.getResourceAsStream("data.json-dataset-heart-failure.json"), DataSet.class);
+        var config = importFrontendAnonConfig("src/test/resources/anonymization.yaml");
+
+        mockWebServer.enqueue(new MockResponse().setBody("ok").setResponseCode(200));
+        var request = new AnonymizationRequest(processId, dataset, config.getAnonymization(),
+                                               mockWebServer.url("/callback/metrics").toString());
+
+        assertNotNull(anonymizationService.anonymizeDataWithCallbackResult(request).get(60, TimeUnit.SECONDS));
+        assertNotNull(mockWebServer.takeRequest(10, TimeUnit.SECONDS));
+
+        for (String phase : List.of("conversion", "hierarchies", "search", "results", "result_conversion")) {
+            var timer = meterRegistry.find("cinnamon.anonymization.phase").tag("phase", phase).timer();
+            assertNotNull(timer, "No timer for phase " + phase);
+            assertTrue(timer.count() > 0, "No duration recorded for phase " + phase);
+        }
+
+        // The callback is recorded after the response has been received
+        var callbackTimer = meterRegistry.find("cinnamon.anonymization.phase").tag("phase", "callback").timer();
+        for (int i = 0; i < 50 && (callbackTimer == null || callbackTimer.count() == 0); i++) {
+            Thread.sleep(100);
+            callbackTimer = meterRegistry.find("cinnamon.anonymization.phase").tag("phase", "callback").timer();
+        }
+        assertNotNull(callbackTimer);
+        assertTrue(callbackTimer.count() > 0);
+
+        assertTrue(meterRegistry.get("cinnamon.anonymization.dataset.rows").summary().count() > 0);
+        assertNotNull(meterRegistry.find("cinnamon.anonymization.jobs.active").gauge());
+        assertNotNull(meterRegistry.find("cinnamon.anonymization.jobs.queued").gauge());
+    }
+
+    @Test
+    public void testSendCallbackResult() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        anonymizationService.sendCallbackResult(mockWebServer.url("/callback/result").toString(), heartDataset);
+
+        var recordedRequest = mockWebServer.takeRequest(10, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        assertEquals(objectMapper.readTree(JsonMapper.jsonMapper().writeValueAsBytes(heartDataset)),
+                     objectMapper.readTree(readDataSetPart(recordedRequest)));
+    }
 
+    @Test
+    public void testCreateDataSetPublisher_Gzip() throws Exception {
+        byte[] content = DataBufferUtils.join(anonymizationService.createDataSetPublisher(heartDataset, false, true))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block();
+
+        assertNotNull(content);
+        assertTrue(isGzip(content), "Content is not gzip-compressed");
+        try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            assertEquals(objectMapper.readTree(JsonMapper.jsonMapper().writeValueAsBytes(heartDataset)),
+                         objectMapper.readTree(inputStream.readAllBytes()));
+        }
+    }
+
+    @Test
+    public void testSendCallbackResult_Binary() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+
+        anonymizationService.sendCallbackResult(mockWebServer.url("/callback/result").toString(), heartDataset, true);
+
+        var recordedRequest = mockWebServer.takeRequest(10, TimeUnit.SECONDS);
+        assertNotNull(recordedRequest);
+        DataSet result = new DataSetBinaryCodec().decode(readDataSetPart(recordedRequest));
+        assertEquals(objectMapper.readTree(JsonMapper.jsonMapper().writeValueAsBytes(heartDataset)),
+                     objectMapper.readTree(JsonMapper.jsonMapper().writeValueAsBytes(result)));
+    }
+
+    @Test
+    public void testCallbackResultIsChunked() {
+        List<Integer> chunkSizes = anonymizationService.createDataSetPublisher(dataSet)
+                .map(buffer -> {
+                    int size = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return size;
+                })
+                .collectList()
+                .block();
+
+        // The dataset is never serialized as a whole, only chunks of bounded size are held in memory
+        assertNotNull(chunkSizes);
+        assertTrue(chunkSizes.size() > 1);
+        chunkSizes.forEach(size -> assertTrue(size <= AnonymizationService.CALLBACK_CHUNK_SIZE));
+    }
+
+    /**
+     * Reads the anonymized dataset part of a callback request and decompresses it if necessary.
+     *
+     * @param recordedRequest The callback request.
+     * @return The uncompressed content of the part.
+     * @throws IOException If reading the part failed.
+     */
+    private byte[] readDataSetPart(RecordedRequest recordedRequest) throws IOException {
+        String boundary = MediaType.parseMediaType(recordedRequest.getHeader("Content-Type")).getParameter("boundary");
+        try (MultipartReader reader = new MultipartReader(recordedRequest.getBody(), boundary)) {
+            MultipartReader.Part part = reader.nextPart();
+            assertNotNull(part);
+            assertTrue(part.headers().get("Content-Disposition").contains("name=\"anonymized_dataset\""));
+
+            byte[] content = part.body().readByteArray();
+            boolean gzip = "gzip".equals(part.headers().get("Content-Encoding"));
+            assertEquals(gzip, isGzip(content), "Content-Encoding does not match the content");
+            if (gzip) {
+                try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(content))) {
+                    content = inputStream.readAllBytes();
+                }
+            }
+            return content;
+        }
+    }
+
+    private static boolean isGzip(byte[] content) {
+        return content.length >= 2 && content[0] == (byte) 0x1f && content[1] == (byte) 0x8b;
+    }
 }
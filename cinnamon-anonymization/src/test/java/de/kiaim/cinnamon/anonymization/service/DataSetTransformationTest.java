@@ -0,0 +1,164 @@
+package de.kiaim.cinnamon.anonymization.service;
+
+import de.kiaim.cinnamon.anonymization.helper.MergeDataSets;
+import de.kiaim.cinnamon.anonymization.model.dataSetTransformation.MergedDataSetTraceabilityList;
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.*;
+import de.kiaim.cinnamon.model.enumeration.DataScale;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the transformations of {@link DataSetTransformation} on randomly generated data sets.
+ */
+public class DataSetTransformationTest {
+
+    private static final int ITERATIONS = 50;
+
+    @Test
+    public void testPivot() {
+        for (int seed = 0; seed < ITERATIONS; seed++) {
+            Random random = new Random(seed);
+            DataSet dataSet = generateDataSet(random, random.nextInt(100), "", false);
+
+            // Expected value is the last value for each combination of index and column
+            Map<Integer, Map<String, Integer>> expected = new LinkedHashMap<>();
+            for (DataRow row : dataSet.getDataRows()) {
+                expected.computeIfAbsent(row.getData().get(0).asInteger(), k -> new HashMap<>())
+                        .put("p_" + row.getData().get(1).asString(), row.getData().get(2).asInteger());
+            }
+
+            DataSet pivoted = new DataSetTransformation(dataSet).pivot("id", "cat", "p_", "val");
+
+            assertEquals(expected.size(), pivoted.getDataRows().size());
+            List<String> columnNames = pivoted.getDataConfiguration().getColumnNames();
+            for (DataRow row : pivoted.getDataRows()) {
+                Map<String, Integer> expectedValues = expected.get(row.getData().get(0).asInteger());
+                assertNotNull(expectedValues);
+                for (int i = 1; i < columnNames.size(); i++) {
+                    assertEquals(expectedValues.get(columnNames.get(i)), row.getData().get(i).asInteger());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMelt() {
+        for (int seed = 0; seed < ITERATIONS; seed++) {
+            Random random = new Random(seed);
+            DataSet dataSet = generateDataSet(random, random.nextInt(100), "", true);
+
+            DataSet melted = new DataSetTransformation(dataSet).melt(new String[]{"id"}, new String[]{"val", "val2"});
+
+            assertEquals(List.of("id", "variable", "value"), melted.getDataConfiguration().getColumnNames());
+            assertEquals(dataSet.getDataRows().size() * 2, melted.getDataRows().size());
+            for (int i = 0; i < melted.getDataRows().size(); i++) {
+                List<Data> original = dataSet.getDataRows().get(i / 2).getData();
+                List<Data> row = melted.getDataRows().get(i).getData();
+                assertEquals(original.get(0), row.get(0));
+                assertEquals(i % 2 == 0 ? "val" : "val2", row.get(1).asString());
+                assertEquals(original.get(i % 2 == 0 ? 2 : 3), row.get(2));
+            }
+        }
+    }
+
+    @Test
+    public void testMergeAndSplit() {
+        for (int seed = 0; seed < ITERATIONS; seed++) {
+            Random random = new Random(seed);
+            DataSet left = generateDataSet(random, random.nextInt(100), "", true);
+            DataSet right = generateDataSet(random, random.nextInt(100), "r_", true);
+
+            MergedDataSetTraceabilityList merged = new DataSetTransformation(List.of(left, right))
+                    .mergeDataSets(List.of("id", "id"), "outer");
+
+            Set<Data> indexes = new HashSet<>();
+            left.getDataRows().forEach(row -> indexes.add(row.getData().get(0)));
+            right.getDataRows().forEach(row -> indexes.add(row.getData().get(0)));
+            assertEquals(indexes.size(), merged.getMergedDataSet().getDataRows().size());
+
+            DataSetTransformation splitting = new DataSetTransformation(new ArrayList<>(List.of(left, right)));
+            splitting.splitMergedDataset(merged, 0);
+
+            List<DataSet> subsets = splitting.getDataSets().subList(2, 4);
+            assertEquals(new HashSet<>(left.getDataRows()), new HashSet<>(subsets.get(0).getDataRows()));
+            assertEquals(new HashSet<>(right.getDataRows()), new HashSet<>(subsets.get(1).getDataRows()));
+        }
+    }
+
+    @Test
+    public void testValidateIsIndexColumn() {
+        for (int seed = 0; seed < ITERATIONS; seed++) {
+            Random random = new Random(seed);
+            DataSet dataSet = generateDataSet(random, random.nextInt(100), "", random.nextBoolean());
+            ColumnConfiguration idConfiguration = dataSet.getDataConfiguration().getConfigurations().get(0);
+
+            Set<Data> indexes = new HashSet<>();
+            boolean hasDuplicates = false;
+            for (DataRow row : dataSet.getDataRows()) {
+                hasDuplicates |= !indexes.add(row.getData().get(0));
+            }
+
+            if (hasDuplicates) {
+                assertThrows(IllegalArgumentException.class,
+                             () -> MergeDataSets.validateIsIndexColumn(dataSet, idConfiguration));
+            } else {
+                assertDoesNotThrow(() -> MergeDataSets.validateIsIndexColumn(dataSet, idConfiguration));
+            }
+        }
+    }
+
+    @Test
+    public void testAppendDatasetsHorizontally() {
+        Random random = new Random(0);
+        DataSet first = generateDataSet(random, 10, "", true);
+        DataSet second = generateDataSet(random, 5, "", true);
+
+        DataSet appended = new DataSetTransformation(List.of(first, second)).appendDatasetsHorizontally();
+        assertEquals(first.getDataRows(), appended.getDataRows().subList(0, 10));
+        assertEquals(second.getDataRows(), appended.getDataRows().subList(10, 15));
+
+        DataSet other = generateDataSet(random, 5, "r_", true);
+        assertThrows(IllegalArgumentException.class,
+                     () -> new DataSetTransformation(List.of(first, other)).appendDatasetsHorizontally());
+    }
+
+    /**
+     * Generates a data set with an integer id, a categorical and two integer columns.
+     *
+     * @param random   Random used for generating the values.
+     * @param numberRows Number of rows.
+     * @param prefix   Prefix for all columns except the id.
+     * @param uniqueId If the id column should not contain duplicates.
+     * @return The generated data set.
+     */
+    private static DataSet generateDataSet(Random random, int numberRows, String prefix, boolean uniqueId) {
+        DataConfiguration configuration = new DataConfiguration();
+        configuration.addColumnConfiguration(new ColumnConfiguration(0, "id", DataType.INTEGER, DataScale.INTERVAL, new ArrayList<>()));
+        configuration.addColumnConfiguration(new ColumnConfiguration(1, prefix + "cat", DataType.STRING, DataScale.NOMINAL, new ArrayList<>()));
+        configuration.addColumnConfiguration(new ColumnConfiguration(2, prefix + "val", DataType.INTEGER, DataScale.INTERVAL, new ArrayList<>()));
+        configuration.addColumnConfiguration(new ColumnConfiguration(3, prefix + "val2", DataType.INTEGER, DataScale.INTERVAL, new ArrayList<>()));
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < numberRows * 2; i++) {
+            ids.add(i);
+        }
+        Collections.shuffle(ids, random);
+
+        List<DataRow> rows = new ArrayList<>();
+        for (int i = 0; i < numberRows; i++) {
+            int id = uniqueId ? ids.get(i) : random.nextInt(Math.max(1, numberRows / 3));
+            rows.add(new DataRow(new ArrayList<>(List.of(new IntegerData(id),
+                                                         new StringData("c" + random.nextInt(5)),
+                                                         new IntegerData(random.nextInt(1000)),
+                                                         new IntegerData(random.nextInt(1000))))));
+        }
+
+        return new DataSet(rows, configuration);
+    }
+}
@@ -4,8 +4,13 @@ import org.deidentifier.arx.aggregates.HierarchyBuilderDate;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 public class DateTransformationHelperTest {
 
@@ -60,4 +65,61 @@ public class DateTransformationHelperTest {
         String decodedDate = DateTransformationHelper.reverseDateEncoding(encodedDate, granularity);
         assertEquals(expectedDate, decodedDate);
     }
+
+    @Test
+    void reverseDateEncodingTest_weekYearGermany() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            String decodedDate = DateTransformationHelper.reverseDateEncoding("11/1915", HierarchyBuilderDate.Granularity.WEEK_YEAR);
+            assertEquals("1915-03-15", decodedDate);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void reverseDateEncodingTest_suppressed() {
+        for (HierarchyBuilderDate.Granularity granularity : GRANULARITIES) {
+            assertEquals("0001-01-01", DateTransformationHelper.reverseDateEncoding("NULL", granularity));
+            assertEquals("0001-01-01", DateTransformationHelper.reverseDateEncoding("*", granularity));
+        }
+    }
+
+    @Test
+    void createDecoderTest() {
+        for (HierarchyBuilderDate.Granularity granularity : GRANULARITIES) {
+            Function<String, String> decoder = DateTransformationHelper.createDecoder(granularity);
+
+            for (int day = 0; day < 4000; day++) {
+                String encodedDate = encode(LocalDate.of(1990, 1, 1).plusDays(day), granularity);
+                String decodedDate = decoder.apply(encodedDate);
+
+                assertEquals(DateTransformationHelper.reverseDateEncoding(encodedDate, granularity), decodedDate);
+                // Labels are only decoded once
+                assertSame(decodedDate, decoder.apply(encodedDate));
+            }
+        }
+    }
+
+    private static final List<HierarchyBuilderDate.Granularity> GRANULARITIES = List.of(
+            HierarchyBuilderDate.Granularity.WEEK_YEAR,
+            HierarchyBuilderDate.Granularity.MONTH_YEAR,
+            HierarchyBuilderDate.Granularity.QUARTER_YEAR,
+            HierarchyBuilderDate.Granularity.YEAR,
+            HierarchyBuilderDate.Granularity.DECADE);
+
+    /**
+     * Encodes the date in the format of the labels created by the ARX date hierarchy builder.
+     */
+    private static String encode(LocalDate date, HierarchyBuilderDate.Granularity granularity) {
+        return switch (granularity) {
+            case WEEK_YEAR -> String.format("%02d/%d", date.getDayOfYear() / 7 + 1, date.getYear());
+            case MONTH_YEAR -> String.format("%02d/%d", date.getMonthValue(), date.getYear());
+            case QUARTER_YEAR -> "Q" + ((date.getMonthValue() - 1) / 3 + 1) + " " + date.getYear();
+            case YEAR -> String.valueOf(date.getYear());
+            case DECADE -> "[" + (date.getYear() / 10 * 10) + ", " + (date.getYear() / 10 * 10 + 10) + "[";
+            default -> throw new IllegalStateException("Unexpected value: " + granularity);
+        };
+    }
 }
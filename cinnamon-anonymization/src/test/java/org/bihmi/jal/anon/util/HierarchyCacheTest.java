@@ -0,0 +1,101 @@
+package org.bihmi.jal.anon.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchyCacheTest {
+
+    @Test
+    void testFingerprint() {
+        assertEquals(HierarchyCache.fingerprint(new String[]{"a", "b", "c"}),
+                     HierarchyCache.fingerprint(new String[]{"c", "a", "b"}));
+        assertNotEquals(HierarchyCache.fingerprint(new String[]{"ab", "c"}),
+                        HierarchyCache.fingerprint(new String[]{"a", "bc"}));
+        assertNotEquals(HierarchyCache.fingerprint(new String[]{"a", "b"}),
+                        HierarchyCache.fingerprint(new String[]{"a", "b", "c"}));
+    }
+
+    @Test
+    void testCacheHit() {
+        HierarchyCache cache = new HierarchyCache(HierarchyCache.DEFAULT_MAXIMUM_SIZE);
+        AtomicInteger builds = new AtomicInteger();
+
+        String[][] first = cache.get(key("a", "5"), () -> build(builds, 10));
+        String[][] second = cache.get(key("a", "5"), () -> build(builds, 10));
+
+        assertArrayEquals(first, second);
+        assertEquals(1, builds.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // A different configuration for the same values is built again
+        cache.get(key("a", "10"), () -> build(builds, 10));
+        assertEquals(2, builds.get());
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    @Test
+    void testReturnsCopies() {
+        HierarchyCache cache = new HierarchyCache(HierarchyCache.DEFAULT_MAXIMUM_SIZE);
+        AtomicInteger builds = new AtomicInteger();
+
+        String[][] built = cache.get(key("a", "5"), () -> build(builds, 10));
+        String expected = built[0][0];
+        built[0][0] = "modified";
+
+        String[][] cached = cache.get(key("a", "5"), () -> build(builds, 10));
+        assertEquals(expected, cached[0][0]);
+        cached[0][0] = "modified";
+        assertEquals(expected, cache.get(key("a", "5"), () -> build(builds, 10))[0][0]);
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void testEviction() {
+        long hierarchySize = HierarchyCache.estimateSize(build(new AtomicInteger(), 100));
+        HierarchyCache cache = new HierarchyCache(2 * hierarchySize);
+        AtomicInteger builds = new AtomicInteger();
+
+        cache.get(key("a", "5"), () -> build(builds, 100));
+        cache.get(key("b", "5"), () -> build(builds, 100));
+        // Access a, so b is the least recently used
+        cache.get(key("a", "5"), () -> build(builds, 100));
+        cache.get(key("c", "5"), () -> build(builds, 100));
+
+        assertEquals(2, cache.getEntryCount());
+        assertTrue(cache.getSize() <= 2 * hierarchySize);
+
+        cache.get(key("a", "5"), () -> build(builds, 100));
+        assertEquals(3, builds.get());
+        cache.get(key("b", "5"), () -> build(builds, 100));
+        assertEquals(4, builds.get());
+    }
+
+    @Test
+    void testDisabled() {
+        HierarchyCache cache = new HierarchyCache(0);
+        AtomicInteger builds = new AtomicInteger();
+
+        cache.get(key("a", "5"), () -> build(builds, 10));
+        cache.get(key("a", "5"), () -> build(builds, 10));
+
+        assertEquals(2, builds.get());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    private static HierarchyCache.Key key(String fingerprint, String intervalSize) {
+        return new HierarchyCache.Key(fingerprint, "Integer", true, "INTERVALS", intervalSize, null, null);
+    }
+
+    private static String[][] build(AtomicInteger builds, int rows) {
+        builds.incrementAndGet();
+        String[][] hierarchy = new String[rows][];
+        for (int i = 0; i < rows; i++) {
+            hierarchy[i] = new String[]{String.valueOf(i), "[" + (i / 5 * 5) + ", " + (i / 5 * 5 + 5) + "[", "*"};
+        }
+        return hierarchy;
+    }
+}
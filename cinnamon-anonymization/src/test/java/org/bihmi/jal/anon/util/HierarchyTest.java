@@ -0,0 +1,78 @@
+package org.bihmi.jal.anon.util;
+
+import org.bihmi.jal.config.HierarchyConfig;
+import org.deidentifier.arx.Data;
+import org.deidentifier.arx.DataType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HierarchyTest {
+
+    private static final String[][] HIERARCHY = {
+            {"1", "[1, 3[", "*"},
+            {"2", "[1, 3[", "*"},
+            {"3", "[3, 5[", "*"},
+    };
+
+    @Test
+    void testCacheHitOnRepeatedRuns() throws IOException {
+        HierarchyCache cache = new HierarchyCache(HierarchyCache.DEFAULT_MAXIMUM_SIZE);
+        HierarchyConfig config = new HierarchyConfig("Age", "INTERVALS", "5", "", "", 1, 1, null);
+
+        String[][] first = createHierarchy(config, cache);
+        String[][] second = createHierarchy(config, cache);
+
+        assertArrayEquals(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+
+        // A different interval size is not served from the cache
+        createHierarchy(new HierarchyConfig("Age", "INTERVALS", "10", "", "", 1, 1, null), cache);
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void testFromCSV() {
+        String csv = "1;[1, 3[;*\n2;[1, 3[;*\n\n3;[3, 5[;*\n";
+        assertArrayEquals(HIERARCHY, Hierarchy.fromCSV(csv).createHierarchy().getHierarchy());
+        assertArrayEquals(HIERARCHY, Hierarchy.fromCSV(List.of("1;[1, 3[;*", "2;[1, 3[;*", "3;[3, 5[;*"))
+                                              .createHierarchy().getHierarchy());
+    }
+
+    @Test
+    void testFromJson() {
+        String json = "[[\"1\", \"[1, 3[\", \"*\"], [\"2\", \"[1, 3[\", \"*\"], [\"3\", \"[3, 5[\", \"*\"]]";
+        assertArrayEquals(HIERARCHY, Hierarchy.fromJson(json).createHierarchy().getHierarchy());
+    }
+
+    @Test
+    void testFromYaml() {
+        String yaml = """
+                - ["1", "[1, 3[", "*"]
+                - ["2", "[1, 3[", "*"]
+                - ["3", "[3, 5[", "*"]
+                """;
+        assertArrayEquals(HIERARCHY, Hierarchy.fromYaml(yaml).createHierarchy().getHierarchy());
+    }
+
+    @Test
+    void testInvalidHierarchy() {
+        assertThrows(IllegalArgumentException.class, () -> Hierarchy.fromCSV("1;a;*\n2;*"));
+        assertThrows(IllegalArgumentException.class, () -> Hierarchy.fromJson("[]"));
+        assertThrows(IllegalArgumentException.class, () -> Hierarchy.fromYaml("not: a list"));
+    }
+
+    private String[][] createHierarchy(HierarchyConfig config, HierarchyCache cache) throws IOException {
+        Data data = Data.create("data/heart.csv", Charset.defaultCharset(), ',');
+        data.getDefinition().setDataType("Age", DataType.INTEGER);
+
+        Hierarchy hierarchy = new Hierarchy(data, config, true);
+        hierarchy.setCache(cache);
+        return hierarchy.createHierarchy().getHierarchy();
+    }
+}
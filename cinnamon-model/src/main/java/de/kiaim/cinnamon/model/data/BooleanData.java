@@ -1,5 +1,6 @@
 package de.kiaim.cinnamon.model.data;
 
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
 import de.kiaim.cinnamon.model.configuration.data.attributes.Configuration;
 import de.kiaim.cinnamon.model.enumeration.DataType;
 import de.kiaim.cinnamon.model.exception.BooleanFormatException;
@@ -52,16 +53,29 @@ public class BooleanData extends Data {
 		 */
 		@Override
 		public BooleanDataBuilder setValue(String value, List<Configuration> configuration) throws BooleanFormatException {
-			if (value.equalsIgnoreCase("yes") || value.equals("1") || value.equalsIgnoreCase("true")) {
-				this.value = true;
-			} else if (value.equalsIgnoreCase("no") || value.equalsIgnoreCase("0") || value.equalsIgnoreCase("false")) {
-				this.value = false;
-			} else {
+			final Boolean parsedValue = tryParse(value);
+			if (parsedValue == null) {
 				throw new BooleanFormatException();
 			}
+
+			this.value = parsedValue;
 			return this;
 		}
 
+		/**
+		 * Estimates the data type for the given value without relying on exceptions.
+		 * @param value The raw value.
+		 * @return The estimated ColumnConfiguration.
+		 */
+		@Override
+		public ColumnConfiguration estimateColumnConfiguration(final String value) {
+			final var columnConfiguration = new ColumnConfiguration();
+			if (tryParse(value) != null) {
+				columnConfiguration.setType(DataType.BOOLEAN);
+			}
+			return columnConfiguration;
+		}
+
 		/**
 		 * Builds the BooleanData Object.
 		 * Only to be called after setValue()
@@ -80,5 +94,22 @@ public class BooleanData extends Data {
 		public BooleanData buildNull() {
 			return new BooleanData(null);
 		}
+
+		/**
+		 * Parses the given value into a boolean.
+		 *
+		 * @param value The raw value.
+		 * @return The parsed boolean or null if the value does not match the boolean pattern.
+		 */
+		@Nullable
+		private static Boolean tryParse(final String value) {
+			if (value.equalsIgnoreCase("yes") || value.equals("1") || value.equalsIgnoreCase("true")) {
+				return true;
+			} else if (value.equalsIgnoreCase("no") || value.equalsIgnoreCase("0") || value.equalsIgnoreCase("false")) {
+				return false;
+			} else {
+				return null;
+			}
+		}
 	}
 }
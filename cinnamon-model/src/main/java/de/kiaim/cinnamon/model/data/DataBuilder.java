@@ -5,6 +5,9 @@ import de.kiaim.cinnamon.model.configuration.data.attributes.Configuration;
 import de.kiaim.cinnamon.model.enumeration.DataType;
 import de.kiaim.cinnamon.model.exception.DataBuildingException;
 
+import java.text.ParsePosition;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -57,4 +60,18 @@ public interface DataBuilder {
 
 		 return columnConfiguration;
      }
+
+	/**
+	 * Checks if the given value matches the pattern of the given formatter without resolving the parsed fields.
+	 * Does not throw an exception if the value does not match, so it can be used as a cheap probe before parsing.
+	 *
+	 * @param value     The raw value.
+	 * @param formatter The formatter.
+	 * @return If the complete value matches the pattern of the formatter.
+	 */
+	static boolean matchesFormat(final String value, final DateTimeFormatter formatter) {
+		final ParsePosition position = new ParsePosition(0);
+		final TemporalAccessor parsed = formatter.parseUnresolved(value, position);
+		return parsed != null && position.getErrorIndex() < 0 && position.getIndex() == value.length();
+	}
 }
@@ -61,6 +61,13 @@ public class DateData extends Data {
 				"MM/dd/yyyy"
 		);
 
+		/**
+		 * Formatters for {@link #FORMATS}, built once as building a formatter is expensive.
+		 */
+		private static final List<DateTimeFormatter> FORMATTERS = FORMATS.stream()
+		                                                                 .map(DateDataBuilder::createFormatter)
+		                                                                 .toList();
+
 		private LocalDate value;
 
 		private DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
@@ -129,14 +136,11 @@ public class DateData extends Data {
 		public ColumnConfiguration estimateColumnConfiguration(final String value) {
 			final var columnConfiguration = new ColumnConfiguration();
 
-			for (final String format : FORMATS) {
-				try {
-					LocalDate.parse(value, buildFormatter(format));
-					columnConfiguration.addConfiguration(new DateFormatConfiguration(format));
+			for (int i = 0; i < FORMATS.size(); i++) {
+				if (tryParse(value, FORMATTERS.get(i)) != null) {
+					columnConfiguration.addConfiguration(new DateFormatConfiguration(FORMATS.get(i)));
 					columnConfiguration.setType(DataType.DATE);
 					break;
-				} catch (final DateTimeParseException ignored) {
-					var i = 1;
 				}
 			}
 
@@ -180,6 +184,32 @@ public class DateData extends Data {
 		 * @return The formatter.
 		 */
 		public DateTimeFormatter buildFormatter(final String format) {
+			return createFormatter(format);
+		}
+
+		/**
+		 * Parses the given value into a date.
+		 * Values that do not match the pattern of the formatter are rejected without throwing an exception.
+		 *
+		 * @param value     The raw value.
+		 * @param formatter The formatter.
+		 * @return The parsed date or null if the value is not a valid date.
+		 */
+		@Nullable
+		private static LocalDate tryParse(final String value, final DateTimeFormatter formatter) {
+			if (!DataBuilder.matchesFormat(value, formatter)) {
+				return null;
+			}
+
+			try {
+				return LocalDate.parse(value, formatter);
+			} catch (final DateTimeParseException ignored) {
+				// The value matches the pattern but is not a valid date, e.g. February 30th
+				return null;
+			}
+		}
+
+		private static DateTimeFormatter createFormatter(final String format) {
 			return new DateTimeFormatterBuilder()
 					.appendPattern(format)
 					.parseDefaulting(ChronoField.MONTH_OF_YEAR, 1)
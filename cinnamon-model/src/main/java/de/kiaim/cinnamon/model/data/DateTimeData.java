@@ -53,6 +53,13 @@ public class DateTimeData extends Data {
 				"yyyy-MM-dd'T'HH:mm:ss.SSS'Z'"
 		);
 
+		/**
+		 * Formatters for {@link #FORMATS}, built once as building a formatter is expensive.
+		 */
+		private static final List<DateTimeFormatter> FORMATTERS = FORMATS.stream()
+		                                                                 .map(DateTimeFormatter::ofPattern)
+		                                                                 .toList();
+
 		private LocalDateTime value;
 
 		private DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
@@ -121,13 +128,11 @@ public class DateTimeData extends Data {
 		public ColumnConfiguration estimateColumnConfiguration(final String value) {
 			final var columnConfiguration = new ColumnConfiguration();
 
-			for (final String format : FORMATS) {
-				try {
-					LocalDateTime.parse(value, DateTimeFormatter.ofPattern(format));
-					columnConfiguration.addConfiguration(new DateTimeFormatConfiguration(format));
+			for (int i = 0; i < FORMATS.size(); i++) {
+				if (tryParse(value, FORMATTERS.get(i)) != null) {
+					columnConfiguration.addConfiguration(new DateTimeFormatConfiguration(FORMATS.get(i)));
 					columnConfiguration.setType(DataType.DATE_TIME);
 					break;
-				} catch (final DateTimeParseException ignored) {
 				}
 			}
 
@@ -174,6 +179,28 @@ public class DateTimeData extends Data {
 			return DateTimeFormatter.ofPattern(format);
 		}
 
+		/**
+		 * Parses the given value into a date time.
+		 * Values that do not match the pattern of the formatter are rejected without throwing an exception.
+		 *
+		 * @param value     The raw value.
+		 * @param formatter The formatter.
+		 * @return The parsed date time or null if the value is not a valid date time.
+		 */
+		@Nullable
+		private static LocalDateTime tryParse(final String value, final DateTimeFormatter formatter) {
+			if (!DataBuilder.matchesFormat(value, formatter)) {
+				return null;
+			}
+
+			try {
+				return LocalDateTime.parse(value, formatter);
+			} catch (final DateTimeParseException ignored) {
+				// The value matches the pattern but is not a valid date time, e.g. 25 o'clock
+				return null;
+			}
+		}
+
 		/**
 		 * Parse the given value and normalize it to the given normalization zone.
 		 *
@@ -1,5 +1,6 @@
 package de.kiaim.cinnamon.model.data;
 
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
 import de.kiaim.cinnamon.model.configuration.data.attributes.Configuration;
 import de.kiaim.cinnamon.model.configuration.data.attributes.RangeConfiguration;
 import de.kiaim.cinnamon.model.enumeration.DataType;
@@ -11,6 +12,7 @@ import lombok.Getter;
 import org.springframework.lang.Nullable;
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 @Getter
 @AllArgsConstructor
@@ -31,6 +33,31 @@ public class DecimalData extends Data {
 	 * that were parsed for the column by the frontend
 	 */
 	public static class DecimalDataBuilder implements DataBuilder {
+		/**
+		 * Pattern matching all values accepted by {@link Float#parseFloat(String)}.
+		 * Taken from the documentation of {@link Double#valueOf(String)}.
+		 */
+		private static final Pattern FLOAT_PATTERN;
+
+		static {
+			final String digits = "(\\p{Digit}+)";
+			final String hexDigits = "(\\p{XDigit}+)";
+			final String exp = "[eE][+-]?" + digits;
+			FLOAT_PATTERN = Pattern.compile(
+					"[\\x00-\\x20]*" +
+					"[+-]?(" +
+					"NaN|" +
+					"Infinity|" +
+					"(((" + digits + "(\\.)?(" + digits + "?)(" + exp + ")?)|" +
+					"(\\.(" + digits + ")(" + exp + ")?)|" +
+					"((" +
+					"(0[xX]" + hexDigits + "(\\.)?)|" +
+					"(0[xX]" + hexDigits + "?(\\.)" + hexDigits + ")" +
+					")[pP][+-]?" + digits + "))" +
+					"[fFdD]?))" +
+					"[\\x00-\\x20]*");
+		}
+
 		private float value;
 
 		private float minValue = -Float.MAX_VALUE;
@@ -57,10 +84,8 @@ public class DecimalData extends Data {
 				throws FloatFormatException, ValueNotInRangeException {
 			processConfigurations(configuration);
 
-			final float parsedValue;
-			try {
-				parsedValue = Float.parseFloat(value);
-			} catch (Exception e) {
+			final Float parsedValue = tryParse(value);
+			if (parsedValue == null) {
 				throw new FloatFormatException();
 			}
 
@@ -72,6 +97,20 @@ public class DecimalData extends Data {
 			return this;
 		}
 
+		/**
+		 * Estimates the data type for the given value without relying on exceptions.
+		 * @param value The raw value.
+		 * @return The estimated ColumnConfiguration.
+		 */
+		@Override
+		public ColumnConfiguration estimateColumnConfiguration(final String value) {
+			final var columnConfiguration = new ColumnConfiguration();
+			if (tryParse(value) != null) {
+				columnConfiguration.setType(DataType.DECIMAL);
+			}
+			return columnConfiguration;
+		}
+
 		/**
 		 * Builds the DecimalData Object.
 		 * Only to be called after setValue()
@@ -91,6 +130,21 @@ public class DecimalData extends Data {
 			return new DecimalData(null);
 		}
 
+		/**
+		 * Parses the given value into a float.
+		 * Accepts the same values as {@link Float#parseFloat(String)} but returns null instead of throwing an exception.
+		 *
+		 * @param value The raw value.
+		 * @return The parsed float or null if the value is not a valid float.
+		 */
+		@Nullable
+		private static Float tryParse(final String value) {
+			if (!FLOAT_PATTERN.matcher(value).matches()) {
+				return null;
+			}
+			return Float.parseFloat(value);
+		}
+
 		private void processConfigurations(List<Configuration> configurationList) {
 			for (Configuration configuration : configurationList) {
 				if (configuration instanceof RangeConfiguration) {
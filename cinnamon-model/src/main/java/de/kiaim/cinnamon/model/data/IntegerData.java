@@ -1,5 +1,6 @@
 package de.kiaim.cinnamon.model.data;
 
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
 import de.kiaim.cinnamon.model.configuration.data.attributes.Configuration;
 import de.kiaim.cinnamon.model.configuration.data.attributes.RangeConfiguration;
 import de.kiaim.cinnamon.model.enumeration.DataType;
@@ -58,10 +59,8 @@ public class IntegerData extends Data {
 				throws IntFormatException, ValueNotInRangeException {
 			processConfigurations(configuration);
 
-			final int parsedValue;
-			try {
-				parsedValue = Integer.parseInt(value);
-			} catch(Exception e) {
+			final Integer parsedValue = tryParse(value);
+			if (parsedValue == null) {
 				throw new IntFormatException();
 			}
 
@@ -73,6 +72,20 @@ public class IntegerData extends Data {
 			return this;
 		}
 
+		/**
+		 * Estimates the data type for the given value without relying on exceptions.
+		 * @param value The raw value.
+		 * @return The estimated ColumnConfiguration.
+		 */
+		@Override
+		public ColumnConfiguration estimateColumnConfiguration(final String value) {
+			final var columnConfiguration = new ColumnConfiguration();
+			if (tryParse(value) != null) {
+				columnConfiguration.setType(DataType.INTEGER);
+			}
+			return columnConfiguration;
+		}
+
 		/**
 		 * Builds the IntegerData Object.
 		 * Only to be called after setValue()
@@ -92,6 +105,44 @@ public class IntegerData extends Data {
 			return new IntegerData(null);
 		}
 
+		/**
+		 * Parses the given value into an integer.
+		 * Accepts the same values as {@link Integer#parseInt(String)} but returns null instead of throwing an exception.
+		 *
+		 * @param value The raw value.
+		 * @return The parsed integer or null if the value is not a valid integer.
+		 */
+		@Nullable
+		private static Integer tryParse(final String value) {
+			final int length = value.length();
+			if (length == 0) {
+				return null;
+			}
+
+			final boolean negative = value.charAt(0) == '-';
+			final int start = (negative || value.charAt(0) == '+') ? 1 : 0;
+			if (start == length) {
+				return null;
+			}
+
+			// Accumulate the magnitude, leading zeros are allowed and do not count against the bound
+			final long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+			long magnitude = 0;
+			for (int i = start; i < length; i++) {
+				final int digit = Character.digit(value.charAt(i), 10);
+				if (digit < 0) {
+					return null;
+				}
+
+				magnitude = magnitude * 10 + digit;
+				if (magnitude > limit) {
+					return null;
+				}
+			}
+
+			return (int) (negative ? -magnitude : magnitude);
+		}
+
 		private void processConfigurations(List<Configuration> configurationList) {
 			for (Configuration configuration : configurationList) {
 				if (configuration instanceof RangeConfiguration) {
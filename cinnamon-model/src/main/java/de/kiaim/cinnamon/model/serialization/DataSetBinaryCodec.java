@@ -0,0 +1,484 @@
+package de.kiaim.cinnamon.model.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.*;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import de.kiaim.cinnamon.model.serialization.exception.BinaryFormatException;
+import de.kiaim.cinnamon.model.serialization.mapper.JsonMapper;
+import org.springframework.lang.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary format for {@link DataSet}s exchanged between the platform and external servers.
+ * The rows are written column by column in chunks, so values of the same type are stored next to each other:
+ * <pre>
+ * header: magic "CDS", version (byte), length of the data configuration (int), data configuration as JSON
+ * chunk:  number of rows (varint), one block per column
+ * column: null flag (byte), null bitmap if the flag is set, values of the cells that are not null
+ * end:    chunk with zero rows
+ * </pre>
+ * Booleans are stored as bitmap, integers, dates (epoch day) and date times (epoch second and nanos in UTC)
+ * as zig-zag encoded varints, decimals as floats and strings as UTF-8.
+ * Strings with many repetitions inside a chunk are stored as a dictionary and indices.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public class DataSetBinaryCodec {
+
+	/**
+	 * Version of the format.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * Default number of rows per chunk.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+	/**
+	 * Maximum number of rows per chunk, protects the reader against allocating huge chunks.
+	 */
+	public static final int MAX_CHUNK_SIZE = 1 << 20;
+
+	private static final byte[] MAGIC = {'C', 'D', 'S'};
+
+	private static final int NO_NULLS = 0;
+	private static final int WITH_NULLS = 1;
+
+	private static final int PLAIN = 0;
+	private static final int DICTIONARY = 1;
+
+	private final ObjectMapper jsonMapper = JsonMapper.jsonMapper();
+
+	private final int chunkSize;
+
+	public DataSetBinaryCodec() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * @param chunkSize Number of rows per chunk.
+	 */
+	public DataSetBinaryCodec(final int chunkSize) {
+		if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+			throw new IllegalArgumentException("The chunk size must be between 1 and " + MAX_CHUNK_SIZE + "!");
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Encodes the given data set.
+	 *
+	 * @param dataSet The data set.
+	 * @return The encoded data set.
+	 * @throws IOException If the data set cannot be encoded.
+	 */
+	public byte[] encode(final DataSet dataSet) throws IOException {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		write(dataSet, outputStream);
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * Decodes the given data set.
+	 *
+	 * @param bytes The encoded data set.
+	 * @return The data set.
+	 * @throws IOException If the bytes are not a valid encoded data set.
+	 */
+	public DataSet decode(final byte[] bytes) throws IOException {
+		return read(new ByteArrayInputStream(bytes));
+	}
+
+	/**
+	 * Writes the given data set into the output stream.
+	 * The stream is flushed but not closed.
+	 *
+	 * @param dataSet      The data set.
+	 * @param outputStream The output stream.
+	 * @throws IOException If the data set cannot be encoded or writing failed.
+	 */
+	public void write(final DataSet dataSet, final OutputStream outputStream) throws IOException {
+		final DataConfiguration dataConfiguration = dataSet.getDataConfiguration();
+		final List<DataType> types = getTypes(dataConfiguration);
+		final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+
+		out.write(MAGIC);
+		out.writeByte(VERSION);
+		final byte[] configuration = jsonMapper.writeValueAsBytes(dataConfiguration);
+		out.writeInt(configuration.length);
+		out.write(configuration);
+
+		final List<DataRow> rows = dataSet.getDataRows();
+		for (int start = 0; start < rows.size(); start += chunkSize) {
+			final List<DataRow> chunk = rows.subList(start, Math.min(start + chunkSize, rows.size()));
+			for (final DataRow row : chunk) {
+				if (row.getData().size() != types.size()) {
+					throw new BinaryFormatException("Row has " + row.getData().size() + " values but the data set has " +
+					                                types.size() + " columns!");
+				}
+			}
+
+			writeVarLong(out, chunk.size());
+			for (int column = 0; column < types.size(); column++) {
+				try {
+					writeColumn(out, chunk, column, types.get(column));
+				} catch (final ClassCastException e) {
+					throw new BinaryFormatException("Column " + column + " contains values not of type '" +
+					                                types.get(column) + "'!");
+				}
+			}
+		}
+
+		writeVarLong(out, 0);
+		out.flush();
+	}
+
+	/**
+	 * Reads a data set from the input stream.
+	 *
+	 * @param inputStream The input stream.
+	 * @return The data set.
+	 * @throws IOException If the stream does not contain a valid encoded data set or reading failed.
+	 */
+	public DataSet read(final InputStream inputStream) throws IOException {
+		final DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+
+		final byte[] magic = new byte[MAGIC.length];
+		in.readFully(magic);
+		if (!Arrays.equals(magic, MAGIC)) {
+			throw new BinaryFormatException("The content is not a binary data set!");
+		}
+
+		final int version = in.readUnsignedByte();
+		if (version != VERSION) {
+			throw new BinaryFormatException("Unsupported version " + version + " of the binary data set format!");
+		}
+
+		final int configurationLength = in.readInt();
+		if (configurationLength < 0) {
+			throw new BinaryFormatException("Invalid length of the data configuration!");
+		}
+		final byte[] configuration = new byte[configurationLength];
+		in.readFully(configuration);
+		final DataConfiguration dataConfiguration = jsonMapper.readValue(configuration, DataConfiguration.class);
+		final List<DataType> types = getTypes(dataConfiguration);
+
+		final List<DataRow> rows = new ArrayList<>();
+		int rowCount;
+		while ((rowCount = readLength(in, MAX_CHUNK_SIZE)) > 0) {
+			final List<List<Data>> chunk = new ArrayList<>(rowCount);
+			for (int i = 0; i < rowCount; i++) {
+				chunk.add(new ArrayList<>(types.size()));
+			}
+
+			for (final DataType type : types) {
+				readColumn(in, chunk, type);
+			}
+
+			for (final List<Data> row : chunk) {
+				rows.add(new DataRow(row));
+			}
+		}
+
+		return new DataSet(rows, dataConfiguration);
+	}
+
+	private void writeColumn(final DataOutputStream out, final List<DataRow> chunk, final int column,
+	                         final DataType type) throws IOException {
+		final int size = chunk.size();
+		final Object[] values = new Object[size];
+		byte[] nulls = null;
+
+		for (int i = 0; i < size; i++) {
+			final Data data = chunk.get(i).getData().get(column);
+			values[i] = data == null ? null : data.getValue();
+			if (values[i] == null) {
+				if (nulls == null) {
+					nulls = new byte[bitmapLength(size)];
+				}
+				setBit(nulls, i);
+			}
+		}
+
+		if (nulls == null) {
+			out.writeByte(NO_NULLS);
+		} else {
+			out.writeByte(WITH_NULLS);
+			out.write(nulls);
+		}
+
+		switch (type) {
+			case BOOLEAN -> {
+				final byte[] bits = new byte[bitmapLength(size)];
+				for (int i = 0; i < size; i++) {
+					if (Boolean.TRUE.equals(values[i])) {
+						setBit(bits, i);
+					}
+				}
+				out.write(bits);
+			}
+			case DATE -> {
+				for (final Object value : values) {
+					if (value != null) {
+						writeVarLong(out, zigZag(((LocalDate) value).toEpochDay()));
+					}
+				}
+			}
+			case DATE_TIME -> {
+				for (final Object value : values) {
+					if (value != null) {
+						final LocalDateTime dateTime = (LocalDateTime) value;
+						writeVarLong(out, zigZag(dateTime.toEpochSecond(ZoneOffset.UTC)));
+						writeVarLong(out, dateTime.getNano());
+					}
+				}
+			}
+			case DECIMAL -> {
+				for (final Object value : values) {
+					if (value != null) {
+						out.writeFloat((Float) value);
+					}
+				}
+			}
+			case INTEGER -> {
+				for (final Object value : values) {
+					if (value != null) {
+						writeVarLong(out, zigZag((Integer) value));
+					}
+				}
+			}
+			case STRING, TEXT -> writeStrings(out, values);
+		}
+	}
+
+	/**
+	 * Writes the strings as dictionary if at most half of the values are distinct, otherwise as plain strings.
+	 */
+	private void writeStrings(final DataOutputStream out, final Object[] values) throws IOException {
+		final int maxDictionarySize = values.length / 2;
+		final Map<String, Integer> dictionary = new HashMap<>();
+		final List<String> entries = new ArrayList<>();
+		int count = 0;
+
+		for (final Object value : values) {
+			if (value != null) {
+				count++;
+				if (dictionary.putIfAbsent((String) value, entries.size()) == null) {
+					entries.add((String) value);
+					if (entries.size() > maxDictionarySize) {
+						break;
+					}
+				}
+			}
+		}
+
+		if (count > 0 && entries.size() <= count / 2) {
+			out.writeByte(DICTIONARY);
+			writeVarLong(out, entries.size());
+			for (final String entry : entries) {
+				writeString(out, entry);
+			}
+			for (final Object value : values) {
+				if (value != null) {
+					writeVarLong(out, dictionary.get((String) value));
+				}
+			}
+		} else {
+			out.writeByte(PLAIN);
+			for (final Object value : values) {
+				if (value != null) {
+					writeString(out, (String) value);
+				}
+			}
+		}
+	}
+
+	private void readColumn(final DataInputStream in, final List<List<Data>> chunk, final DataType type)
+			throws IOException {
+		final int size = chunk.size();
+
+		final byte[] nulls;
+		final int nullFlag = in.readUnsignedByte();
+		if (nullFlag == WITH_NULLS) {
+			nulls = new byte[bitmapLength(size)];
+			in.readFully(nulls);
+		} else if (nullFlag == NO_NULLS) {
+			nulls = null;
+		} else {
+			throw new BinaryFormatException("Invalid null flag " + nullFlag + "!");
+		}
+
+		switch (type) {
+			case BOOLEAN -> {
+				final byte[] bits = new byte[bitmapLength(size)];
+				in.readFully(bits);
+				for (int i = 0; i < size; i++) {
+					chunk.get(i).add(new BooleanData(isNull(nulls, i) ? null : isSet(bits, i)));
+				}
+			}
+			case DATE -> {
+				for (int i = 0; i < size; i++) {
+					chunk.get(i).add(new DateData(isNull(nulls, i)
+					                              ? null
+					                              : LocalDate.ofEpochDay(unZigZag(readVarLong(in)))));
+				}
+			}
+			case DATE_TIME -> {
+				for (int i = 0; i < size; i++) {
+					LocalDateTime value = null;
+					if (!isNull(nulls, i)) {
+						final long epochSecond = unZigZag(readVarLong(in));
+						final int nanos = readLength(in, 999_999_999);
+						value = LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+					}
+					chunk.get(i).add(new DateTimeData(value));
+				}
+			}
+			case DECIMAL -> {
+				for (int i = 0; i < size; i++) {
+					chunk.get(i).add(new DecimalData(isNull(nulls, i) ? null : in.readFloat()));
+				}
+			}
+			case INTEGER -> {
+				for (int i = 0; i < size; i++) {
+					chunk.get(i).add(new IntegerData(isNull(nulls, i) ? null : (int) unZigZag(readVarLong(in))));
+				}
+			}
+			case STRING, TEXT -> readStrings(in, chunk, nulls, type);
+		}
+	}
+
+	private void readStrings(final DataInputStream in, final List<List<Data>> chunk, @Nullable final byte[] nulls,
+	                         final DataType type) throws IOException {
+		final int size = chunk.size();
+		final int mode = in.readUnsignedByte();
+
+		final String[] dictionary;
+		if (mode == DICTIONARY) {
+			dictionary = new String[readLength(in, size)];
+			for (int i = 0; i < dictionary.length; i++) {
+				dictionary[i] = readString(in);
+			}
+		} else if (mode == PLAIN) {
+			dictionary = null;
+		} else {
+			throw new BinaryFormatException("Invalid string encoding " + mode + "!");
+		}
+
+		for (int i = 0; i < size; i++) {
+			String value = null;
+			if (!isNull(nulls, i)) {
+				if (dictionary == null) {
+					value = readString(in);
+				} else {
+					final int index = readLength(in, Integer.MAX_VALUE);
+					if (index >= dictionary.length) {
+						throw new BinaryFormatException("Invalid dictionary index " + index + "!");
+					}
+					value = dictionary[index];
+				}
+			}
+
+			chunk.get(i).add(type == DataType.STRING ? new StringData(value) : new TextData(value));
+		}
+	}
+
+	/**
+	 * Returns the data types of all columns.
+	 *
+	 * @param dataConfiguration The data configuration.
+	 * @return The data types.
+	 * @throws BinaryFormatException If a column has no data type.
+	 */
+	private static List<DataType> getTypes(final DataConfiguration dataConfiguration) throws BinaryFormatException {
+		final List<DataType> types = new ArrayList<>();
+		for (final ColumnConfiguration columnConfiguration : dataConfiguration.getConfigurations()) {
+			final DataType type = columnConfiguration.getType();
+			if (type == null || type == DataType.UNDEFINED) {
+				throw new BinaryFormatException("Column '" + columnConfiguration.getName() + "' has no data type!");
+			}
+			types.add(type);
+		}
+		return types;
+	}
+
+	private static void writeString(final DataOutputStream out, final String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(out, bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(final DataInputStream in) throws IOException {
+		final byte[] bytes = new byte[readLength(in, Integer.MAX_VALUE)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeVarLong(final DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	private static long readVarLong(final DataInputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final int b = in.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new BinaryFormatException("Malformed variable length integer!");
+	}
+
+	/**
+	 * Reads a non-negative varint not greater than the given maximum.
+	 */
+	private static int readLength(final DataInputStream in, final int max) throws IOException {
+		final long value = readVarLong(in);
+		if (value < 0 || value > max) {
+			throw new BinaryFormatException("Invalid length " + value + "!");
+		}
+		return (int) value;
+	}
+
+	private static long zigZag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(final long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static int bitmapLength(final int size) {
+		return (size + 7) >>> 3;
+	}
+
+	private static void setBit(final byte[] bitmap, final int index) {
+		bitmap[index >>> 3] |= (byte) (1 << (index & 7));
+	}
+
+	private static boolean isSet(final byte[] bitmap, final int index) {
+		return (bitmap[index >>> 3] & (1 << (index & 7))) != 0;
+	}
+
+	private static boolean isNull(@Nullable final byte[] nulls, final int index) {
+		return nulls != null && isSet(nulls, index);
+	}
+}
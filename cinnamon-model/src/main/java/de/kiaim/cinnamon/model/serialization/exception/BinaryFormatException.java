@@ -0,0 +1,14 @@
+package de.kiaim.cinnamon.model.serialization.exception;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown if a data set cannot be written into or read from the binary data set format.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public class BinaryFormatException extends IOException {
+	public BinaryFormatException(String msg) {
+		super(msg);
+	}
+}
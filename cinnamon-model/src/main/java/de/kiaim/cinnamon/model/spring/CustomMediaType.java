@@ -1,6 +1,8 @@
 package de.kiaim.cinnamon.model.spring;
 
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
 
 /**
  * Class for custom media Types that Spring does not provide.
@@ -9,6 +11,17 @@ import org.springframework.http.MediaType;
  */
 public abstract class CustomMediaType {
 
+	/**
+	 * Custom media type value for data sets encoded by {@link de.kiaim.cinnamon.model.serialization.DataSetBinaryCodec}.
+	 */
+	public static final String APPLICATION_X_CINNAMON_DATA_SET_VALUE = "application/x-cinnamon-data-set";
+
+	/**
+	 * Custom media type for data sets encoded by {@link de.kiaim.cinnamon.model.serialization.DataSetBinaryCodec}.
+	 */
+	public static final MediaType APPLICATION_X_CINNAMON_DATA_SET = MediaType.parseMediaType(
+			APPLICATION_X_CINNAMON_DATA_SET_VALUE);
+
 	/**
 	 * Custom media type value for FHIR JSON.
 	 */
@@ -48,4 +61,23 @@ public abstract class CustomMediaType {
 	 * Custom media type for YAML.
 	 */
 	public static final MediaType TEXT_YAML = MediaType.parseMediaType(TEXT_YAML_VALUE);
+
+	/**
+	 * Checks if the given content type denotes a data set in the binary format.
+	 * Parameters of the content type are ignored.
+	 *
+	 * @param contentType The content type, e.g. of a multipart file. Can be null.
+	 * @return If the type is {@link #APPLICATION_X_CINNAMON_DATA_SET}, false if the content type is null or invalid.
+	 */
+	public static boolean isCinnamonDataSet(@Nullable final String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+
+		try {
+			return APPLICATION_X_CINNAMON_DATA_SET.equalsTypeAndSubtype(MediaType.parseMediaType(contentType));
+		} catch (final InvalidMediaTypeException e) {
+			return false;
+		}
+	}
 }
@@ -0,0 +1,174 @@
+package de.kiaim.cinnamon.platform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache for verified credentials, so HTTP Basic requests do not have to compute the password hash every time.
+ * Only a keyed hash of the raw password is kept in memory.
+ * The entries are keyed by the stored password hash, so changing the password invalidates the entry.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Component
+public class CredentialCache {
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	/**
+	 * Number of entries after which expired entries are removed.
+	 */
+	private static final int CLEANUP_THRESHOLD = 1000;
+
+	/**
+	 * Time in milliseconds a verified credential is valid. A value of 0 disables the cache.
+	 */
+	private final long ttl;
+
+	/**
+	 * Key for the HMAC, generated on every start.
+	 */
+	private final SecretKeySpec key;
+
+	/**
+	 * Verified credentials, keyed by the stored password hash.
+	 */
+	private final Map<String, VerifiedCredential> entries = new ConcurrentHashMap<>();
+
+	public CredentialCache(@Value("${cinnamon.credential-cache.ttl}") final long ttl) {
+		this.ttl = ttl;
+
+		final byte[] secret = new byte[32];
+		new SecureRandom().nextBytes(secret);
+		this.key = new SecretKeySpec(secret, ALGORITHM);
+	}
+
+	/**
+	 * Creates a password encoder that uses the cache for verifying passwords.
+	 *
+	 * @param delegate The encoder used for encoding and verifying passwords not contained in the cache.
+	 * @return The password encoder.
+	 */
+	public PasswordEncoder wrap(final PasswordEncoder delegate) {
+		return new PasswordEncoder() {
+			@Override
+			public String encode(final CharSequence rawPassword) {
+				return delegate.encode(rawPassword);
+			}
+
+			@Override
+			public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+				if (isVerified(rawPassword, encodedPassword)) {
+					return true;
+				}
+
+				final boolean matches = delegate.matches(rawPassword, encodedPassword);
+				if (matches) {
+					put(rawPassword, encodedPassword);
+				}
+				return matches;
+			}
+
+			@Override
+			public boolean upgradeEncoding(final String encodedPassword) {
+				return delegate.upgradeEncoding(encodedPassword);
+			}
+		};
+	}
+
+	/**
+	 * Checks if the given raw password has already been verified against the given stored password.
+	 *
+	 * @param rawPassword     The raw password.
+	 * @param encodedPassword The stored password hash.
+	 * @return If the credential was verified and has not expired.
+	 */
+	public boolean isVerified(final CharSequence rawPassword, final String encodedPassword) {
+		if (ttl <= 0 || rawPassword == null || encodedPassword == null) {
+			return false;
+		}
+
+		final VerifiedCredential entry = entries.get(encodedPassword);
+		if (entry == null) {
+			return false;
+		}
+
+		if (System.currentTimeMillis() > entry.expiration()) {
+			entries.remove(encodedPassword, entry);
+			return false;
+		}
+
+		return MessageDigest.isEqual(entry.hash(), hash(rawPassword, encodedPassword));
+	}
+
+	/**
+	 * Stores a verified credential.
+	 *
+	 * @param rawPassword     The raw password.
+	 * @param encodedPassword The stored password hash the raw password was verified against.
+	 */
+	public void put(final CharSequence rawPassword, final String encodedPassword) {
+		if (ttl <= 0 || rawPassword == null || encodedPassword == null) {
+			return;
+		}
+
+		if (entries.size() >= CLEANUP_THRESHOLD) {
+			final long now = System.currentTimeMillis();
+			entries.values().removeIf(entry -> now > entry.expiration());
+		}
+
+		entries.put(encodedPassword, new VerifiedCredential(hash(rawPassword, encodedPassword),
+		                                                    System.currentTimeMillis() + ttl));
+	}
+
+	/**
+	 * Removes the verified credential for the given stored password.
+	 * Must be called if the password is changed or the user is deleted.
+	 *
+	 * @param encodedPassword The stored password hash.
+	 */
+	public void invalidate(final String encodedPassword) {
+		if (encodedPassword != null) {
+			entries.remove(encodedPassword);
+		}
+	}
+
+	/**
+	 * Removes all verified credentials.
+	 */
+	public void invalidateAll() {
+		entries.clear();
+	}
+
+	private byte[] hash(final CharSequence rawPassword, final String encodedPassword) {
+		try {
+			final Mac mac = Mac.getInstance(ALGORITHM);
+			mac.init(key);
+			mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+			mac.update((byte) 0);
+			return mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (final GeneralSecurityException e) {
+			// HmacSHA256 is supported by every Java implementation
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * A verified credential.
+	 *
+	 * @param hash       Keyed hash of the raw password.
+	 * @param expiration Time in milliseconds after which the credential must be verified again.
+	 */
+	private record VerifiedCredential(byte[] hash, long expiration) {
+	}
+}
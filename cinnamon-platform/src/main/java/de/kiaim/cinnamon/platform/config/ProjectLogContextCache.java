@@ -0,0 +1,145 @@
+package de.kiaim.cinnamon.platform.config;
+
+import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache for the project log context used by {@link ProjectLogContextFilter}.
+ * Entries are populated lazily and must be invalidated if a project is created, renamed or deleted.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Component
+public class ProjectLogContextCache {
+
+	/**
+	 * Maximum number of entries per map. If exceeded, the map is cleared.
+	 */
+	private static final int MAX_ENTRIES = 10_000;
+
+	private final Map<String, ProjectLogContext> userContexts = new ConcurrentHashMap<>();
+	private final Map<UUID, ProjectLogContext> processContexts = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the context of the project of the given user.
+	 *
+	 * @param email  The email of the user.
+	 * @param loader Loads the project if the context is not cached.
+	 * @return The context, {@link ProjectLogContext#EMPTY} if the user has no project.
+	 */
+	public ProjectLogContext getForUser(final String email, final Supplier<ProjectEntity> loader) {
+		return get(userContexts, email, loader);
+	}
+
+	/**
+	 * Returns the context of the project the given process belongs to.
+	 *
+	 * @param processId The UUID of the process.
+	 * @param loader    Loads the project if the context is not cached.
+	 * @return The context, {@link ProjectLogContext#EMPTY} if the process does not exist.
+	 */
+	public ProjectLogContext getForProcess(final UUID processId, final Supplier<ProjectEntity> loader) {
+		return get(processContexts, processId, loader);
+	}
+
+	/**
+	 * Removes the context of the given user.
+	 * The context is removed immediately and again after the current transaction has been committed,
+	 * so concurrent requests cannot cache the state before the commit.
+	 *
+	 * @param email The email of the user.
+	 */
+	public void invalidateUser(final String email) {
+		runNowAndAfterCommit(() -> userContexts.remove(email));
+	}
+
+	/**
+	 * Removes all contexts of the given project.
+	 *
+	 * @param projectId The ID of the project.
+	 */
+	public void invalidateProject(@Nullable final Long projectId) {
+		if (projectId == null) {
+			return;
+		}
+
+		runNowAndAfterCommit(() -> {
+			userContexts.values().removeIf(context -> projectId.equals(context.projectId()));
+			processContexts.values().removeIf(context -> projectId.equals(context.projectId()));
+		});
+	}
+
+	private <K> ProjectLogContext get(final Map<K, ProjectLogContext> contexts, final K key,
+	                                  final Supplier<ProjectEntity> loader) {
+		final ProjectLogContext cached = contexts.get(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		final ProjectLogContext context = ProjectLogContext.of(loader.get());
+		if (contexts.size() >= MAX_ENTRIES) {
+			contexts.clear();
+		}
+		contexts.put(key, context);
+		return context;
+	}
+
+	private void runNowAndAfterCommit(final Runnable action) {
+		action.run();
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Values of a project used in the log context.
+	 *
+	 * @param projectId   The ID of the project.
+	 * @param projectName The name of the project.
+	 */
+	public record ProjectLogContext(@Nullable Long projectId, @Nullable String projectName) {
+
+		/**
+		 * Context for requests without a project.
+		 */
+		public static final ProjectLogContext EMPTY = new ProjectLogContext(null, null);
+
+		/**
+		 * Extracts the context of the given project.
+		 *
+		 * @param project The project.
+		 * @return The context, {@link #EMPTY} if the project is null.
+		 */
+		public static ProjectLogContext of(@Nullable final ProjectEntity project) {
+			if (project == null) {
+				return EMPTY;
+			}
+
+			final var projectConfiguration = project.getProjectConfiguration();
+			final String projectName = projectConfiguration == null ? null : projectConfiguration.getProjectName();
+			return new ProjectLogContext(project.getId(), projectName);
+		}
+
+		/**
+		 * @return If the context contains no values.
+		 */
+		public boolean isEmpty() {
+			return Objects.equals(this, EMPTY);
+		}
+	}
+}
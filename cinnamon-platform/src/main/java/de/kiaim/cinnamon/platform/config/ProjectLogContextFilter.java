@@ -1,6 +1,6 @@
 package de.kiaim.cinnamon.platform.config;
 
-import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
+import de.kiaim.cinnamon.platform.config.ProjectLogContextCache.ProjectLogContext;
 import de.kiaim.cinnamon.platform.model.entity.BackgroundProcessEntity;
 import de.kiaim.cinnamon.platform.model.entity.UserEntity;
 import de.kiaim.cinnamon.platform.repository.BackgroundProcessRepository;
@@ -22,6 +22,7 @@ import java.util.UUID;
 /**
  * Filter for setting the project log context.
  * Uses the authenticated user or the process ID for callback requests.
+ * The values are cached by {@link ProjectLogContextCache}, so most requests do not query the database.
  *
  * @author Daniel Preciado-Marquez
  */
@@ -33,11 +34,14 @@ public class ProjectLogContextFilter extends OncePerRequestFilter {
 	private static final String CALLBACK_PATH_PREFIX = "/api/process/";
 	private static final String CALLBACK_PATH_SUFFIX = "/callback";
 
+	private final ProjectLogContextCache projectLogContextCache;
 	private final UserRepository userRepository;
 	private final BackgroundProcessRepository backgroundProcessRepository;
 
-	public ProjectLogContextFilter(final UserRepository userRepository,
-	                              final BackgroundProcessRepository backgroundProcessRepository) {
+	public ProjectLogContextFilter(final ProjectLogContextCache projectLogContextCache,
+	                               final UserRepository userRepository,
+	                               final BackgroundProcessRepository backgroundProcessRepository) {
+		this.projectLogContextCache = projectLogContextCache;
 		this.userRepository = userRepository;
 		this.backgroundProcessRepository = backgroundProcessRepository;
 	}
@@ -70,12 +74,9 @@ public class ProjectLogContextFilter extends OncePerRequestFilter {
 			return;
 		}
 
-		final UserEntity user = userRepository.findByEmail(email).orElse(null);
-		if (user == null) {
-			return;
-		}
-
-		populateProjectContext(user.getProject());
+		populateProjectContext(projectLogContextCache.getForUser(email, () -> userRepository.findByEmail(email)
+		                                                                                      .map(UserEntity::getProject)
+		                                                                                      .orElse(null)));
 	}
 
 	private boolean setProjectLogContextFromProcessId(final HttpServletRequest request) {
@@ -84,11 +85,12 @@ public class ProjectLogContextFilter extends OncePerRequestFilter {
 			return false;
 		}
 
-		final ProjectEntity project = backgroundProcessRepository.findByUuid(processId)
-				.map(BackgroundProcessEntity::getProject)
-				.orElse(null);
-		populateProjectContext(project);
-		return project != null;
+		final ProjectLogContext context = projectLogContextCache.getForProcess(
+				processId, () -> backgroundProcessRepository.findByUuid(processId)
+				                                            .map(BackgroundProcessEntity::getProject)
+				                                            .orElse(null));
+		populateProjectContext(context);
+		return !context.isEmpty();
 	}
 
 	private UUID extractProcessIdFromCallbackPath(@Nullable final String requestUri) {
@@ -117,18 +119,13 @@ public class ProjectLogContextFilter extends OncePerRequestFilter {
 		return authentication.getName();
 	}
 
-	private void populateProjectContext(@Nullable final ProjectEntity project) {
-		if (project == null) {
-			return;
-		}
-
-		if (project.getId() != null) {
-			MDC.put(PROJECT_ID_KEY, String.valueOf(project.getId()));
+	private void populateProjectContext(final ProjectLogContext context) {
+		if (context.projectId() != null) {
+			MDC.put(PROJECT_ID_KEY, String.valueOf(context.projectId()));
 		}
 
-		final var projectConfiguration = project.getProjectConfiguration();
-		if (projectConfiguration != null && projectConfiguration.getProjectName() != null) {
-			MDC.put(PROJECT_NAME_KEY, projectConfiguration.getProjectName());
+		if (context.projectName() != null) {
+			MDC.put(PROJECT_NAME_KEY, context.projectName());
 		}
 	}
 }
@@ -21,14 +21,17 @@ import static org.springframework.security.web.util.matcher.AntPathRequestMatche
 @EnableWebSecurity
 public class SecurityConfig {
 
+	private final CredentialCache credentialCache;
 	private final PasswordEncoder passwordEncoder;
 	private final UserService userService;
 	private final ProjectLogContextFilter projectLogContextFilter;
 
 	@Autowired
-	public SecurityConfig(final PasswordEncoder passwordEncoder,
+	public SecurityConfig(final CredentialCache credentialCache,
+	                      final PasswordEncoder passwordEncoder,
 	                      final UserService userService,
 	                      final ProjectLogContextFilter projectLogContextFilter) {
+		this.credentialCache = credentialCache;
 		this.passwordEncoder = passwordEncoder;
 		this.userService = userService;
 		this.projectLogContextFilter = projectLogContextFilter;
@@ -58,7 +61,7 @@ public class SecurityConfig {
 	@Bean
 	public AuthenticationManager authenticationManager() {
 		DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-		provider.setPasswordEncoder(passwordEncoder);
+		provider.setPasswordEncoder(credentialCache.wrap(passwordEncoder));
 		provider.setUserDetailsService(userService);
 		return new ProviderManager(provider);
 	}
@@ -1,9 +1,12 @@
 package de.kiaim.cinnamon.platform.config;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
@@ -11,15 +14,40 @@ import java.util.List;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+	/**
+	 * Endpoints that load all required data inside transactional service methods
+	 * and therefore do not need an open entity manager during the request.
+	 */
+	private static final String[] ENDPOINTS_WITHOUT_OPEN_IN_VIEW = {
+			"/api/process",
+			"/api/project/configuration",
+			"/api/project/status",
+	};
+
 	private final String[] corsAllowedOrigins;
+	private final EntityManagerFactory entityManagerFactory;
 	private final FormatBasedMessageConverter formatBasedMessageConverter;
 
 	public WebConfig(@Value("${cinnamon.corsAllowedOrigins}") final String[] corsAllowedOrigins,
+	                 final EntityManagerFactory entityManagerFactory,
 	                 final FormatBasedMessageConverter formatBasedMessageConverter) {
 		this.corsAllowedOrigins = corsAllowedOrigins;
+		this.entityManagerFactory = entityManagerFactory;
 		this.formatBasedMessageConverter = formatBasedMessageConverter;
 	}
 
+	/**
+	 * Replaces spring.jpa.open-in-view, so endpoints can be migrated individually.
+	 * Endpoints that still rely on lazy loading outside of transactions keep the entity manager open.
+	 */
+	@Override
+	public void addInterceptors(final InterceptorRegistry registry) {
+		final var interceptor = new OpenEntityManagerInViewInterceptor();
+		interceptor.setEntityManagerFactory(entityManagerFactory);
+		registry.addWebRequestInterceptor(interceptor)
+		        .excludePathPatterns(ENDPOINTS_WITHOUT_OPEN_IN_VIEW);
+	}
+
 	@Override
 	public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
 		converters.add(formatBasedMessageConverter);
@@ -9,6 +9,7 @@ import de.kiaim.cinnamon.model.data.DataSet;
 import de.kiaim.cinnamon.model.dto.ErrorResponse;
 import de.kiaim.cinnamon.model.enumeration.DataSourceType;
 import de.kiaim.cinnamon.platform.exception.*;
+import de.kiaim.cinnamon.platform.helper.ETagHelper;
 import de.kiaim.cinnamon.platform.model.dto.*;
 import de.kiaim.cinnamon.platform.service.*;
 import de.kiaim.cinnamon.platform.model.entity.DataSetEntity;
@@ -36,10 +37,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/data")
@@ -50,14 +53,17 @@ public class DataController {
 
 	private final DatabaseService databaseService;
 	private final DataSetService dataSetService;
+	private final ImportJobService importJobService;
 	private final ProjectService projectService;
 	private final UserService userService;
 
 	@Autowired
 	public DataController(final DatabaseService databaseService, final DataSetService dataSetService,
-	                      final ProjectService projectService, final UserService userService) {
+	                      final ImportJobService importJobService, final ProjectService projectService,
+	                      final UserService userService) {
 		this.databaseService = databaseService;
 		this.dataSetService = dataSetService;
+		this.importJobService = importJobService;
 		this.projectService = projectService;
 		this.userService = userService;
 	}
@@ -354,6 +360,100 @@ public class DataController {
 		return handleRequest(RequestType.CONFIRM_DATE_SET, null, null, null, user);
 	}
 
+	@Operation(summary = "Starts importing the selected file into the internal database in the background.",
+	           description = "Stores the given configuration and starts a job importing the selected file. " +
+	                         "The progress of the job can be polled with the returned job ID. " +
+	                         "Replaces the existing data set.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "202",
+			             description = "Successfully started the import. Returns the status of the import job.",
+			             content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+			                                 schema = @Schema(implementation = ImportJobInformation.class)),
+			                        @Content(mediaType = MediaType.APPLICATION_YAML_VALUE,
+			                                 schema = @Schema(implementation = ImportJobInformation.class))}),
+			@ApiResponse(responseCode = "400",
+			             description = "The configuration is not valid. The data has already been confirmed. " +
+			                           "Another import is running or too many imports are queued.",
+			             content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE,
+			                                schema = @Schema(implementation = ErrorResponse.class))),
+			@ApiResponse(responseCode = "500",
+			             description = "An internal error occurred.",
+			             content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE,
+			                                schema = @Schema(implementation = ErrorResponse.class))),
+	})
+	@Transactional
+	@PostMapping(value = "/import",
+	             consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+	             produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_YAML_VALUE})
+	public ResponseEntity<ImportJobInformation> startImport(
+			@Valid final StoreDataConfigurationRequest request,
+			@Parameter(description = "If the data set should be confirmed once the import has finished.")
+			@RequestParam(defaultValue = "false") final boolean confirm,
+			@AuthenticationPrincipal UserEntity requestUser
+	) throws ApiException {
+		final ProjectEntity project = getProject(requestUser);
+		importJobService.checkNoImportRunning(project);
+
+		databaseService.deleteOriginalDataset(project);
+		databaseService.storeOriginalDataConfiguration(request.getConfiguration(), project);
+
+		final ImportJobInformation job = importJobService.startImport(project, confirm, false);
+		return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+	}
+
+	@Operation(summary = "Returns the status of an import job.",
+	           description = "Returns the status and progress of the import job with the given ID.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+			             description = "Successfully retrieved the status of the import job.",
+			             content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+			                                 schema = @Schema(implementation = ImportJobInformation.class)),
+			                        @Content(mediaType = MediaType.APPLICATION_YAML_VALUE,
+			                                 schema = @Schema(implementation = ImportJobInformation.class))}),
+			@ApiResponse(responseCode = "404",
+			             description = "The import job does not exist.",
+			             content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE,
+			                                schema = @Schema(implementation = ErrorResponse.class))),
+	})
+	@GetMapping(value = "/import/{jobId}",
+	            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_YAML_VALUE})
+	public ImportJobInformation getImport(
+			@Parameter(description = "ID of the import job.")
+			@PathVariable final UUID jobId,
+			@AuthenticationPrincipal UserEntity requestUser
+	) throws ApiException {
+		return importJobService.getImportJob(getProject(requestUser), jobId);
+	}
+
+	@Operation(summary = "Cancels an import job.",
+	           description = "Cancels the import job with the given ID. " +
+	                         "Data stored by the job so far is removed.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200",
+			             description = "Successfully requested the cancellation. Returns the status of the import job.",
+			             content = {@Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+			                                 schema = @Schema(implementation = ImportJobInformation.class)),
+			                        @Content(mediaType = MediaType.APPLICATION_YAML_VALUE,
+			                                 schema = @Schema(implementation = ImportJobInformation.class))}),
+			@ApiResponse(responseCode = "400",
+			             description = "The import job has already ended.",
+			             content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE,
+			                                schema = @Schema(implementation = ErrorResponse.class))),
+			@ApiResponse(responseCode = "404",
+			             description = "The import job does not exist.",
+			             content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE,
+			                                schema = @Schema(implementation = ErrorResponse.class))),
+	})
+	@DeleteMapping(value = "/import/{jobId}",
+	               produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_YAML_VALUE})
+	public ImportJobInformation cancelImport(
+			@Parameter(description = "ID of the import job.")
+			@PathVariable final UUID jobId,
+			@AuthenticationPrincipal UserEntity requestUser
+	) throws ApiException {
+		return importJobService.cancelImport(getProject(requestUser), jobId);
+	}
+
 	@Operation(summary = "Returns the configuration of the data set.",
 	           description = "Returns the configuration of the data set.")
 	@ApiResponses(value = {
@@ -403,9 +503,10 @@ public class DataController {
 	            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_YAML_VALUE})
 	public ResponseEntity<Object> info(
 			@ParameterObject @Valid final DataSetSource dataSetSource,
+			final ServletWebRequest webRequest,
 			@AuthenticationPrincipal final UserEntity user
 	) throws ApiException {
-		return handleRequest(RequestType.INFO, null, dataSetSource, null, user);
+		return handleRequest(RequestType.INFO, null, dataSetSource, null, user, webRequest);
 	}
 
 	@Operation(summary = "Returns the data of the data set.",
@@ -442,9 +543,10 @@ public class DataController {
 	public ResponseEntity<Object> loadData(
 			@ParameterObject @Valid final DataSetSource dataSetSource,
 			@ParameterObject LoadDataRequest request,
+			final ServletWebRequest webRequest,
 			@AuthenticationPrincipal UserEntity user
 	) throws ApiException {
-		return handleRequest(RequestType.LOAD_DATA, null, dataSetSource, request, user);
+		return handleRequest(RequestType.LOAD_DATA, null, dataSetSource, request, user, webRequest);
 	}
 
 	@Operation(summary = "Creates a hold-out split.",
@@ -538,7 +640,8 @@ public class DataController {
 	}
 
 	@Operation(summary = "Returns a page the transformation result.",
-	           description = "Returns the page of the transformation result.")
+	           description = "Returns the page of the transformation result. " +
+	                         "The rows can be filtered and sorted by the given query.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200",
 			             description = "Successfully returns the page.",
@@ -548,7 +651,7 @@ public class DataController {
 			                                 schema = @Schema(implementation = TransformationResultPage.class)
 			                        )}),
 			@ApiResponse(responseCode = "400",
-			             description = "The user has no stored data.",
+			             description = "The user has no stored data or the query is invalid.",
 			             content = @Content(mediaType = MediaType.APPLICATION_PROBLEM_JSON_VALUE,
 			                                 schema = @Schema(implementation = ErrorResponse.class))),
 			@ApiResponse(responseCode = "500",
@@ -567,15 +670,22 @@ public class DataController {
 			@Parameter(description = "Selector for the rows to be included.")
 			@RequestParam(required = false, defaultValue = "ALL") final RowSelector rowSelector,
 			@ParameterObject @Valid final LoadDataRequest request,
+			@Parameter(description = "Filters and sort order of the rows as JSON.",
+			           schema = @Schema(implementation = DataSetQuery.class))
+			@RequestParam(required = false) @Nullable final DataSetQuery query,
+			final ServletWebRequest webRequest,
 			@AuthenticationPrincipal UserEntity user
 	) throws ApiException {
 		final UserEntity user2 = userService.getUserByEmail(user.getEmail());
 		final ProjectEntity project = projectService.getProject(user2);
 
-		dataSetService.getDataSetEntityOrThrow(project, dataSetSource);
-		return databaseService.exportTransformationResultPage(
-				dataSetService.getDataSetEntityOrThrow(project, dataSetSource), rowSelector,
-				page, perPage, request);
+		final DataSetEntity dataSetEntity = dataSetService.getDataSetEntityOrThrow(project, dataSetSource);
+		if (ETagHelper.checkNotModified(webRequest, ETagHelper.forDataSet(dataSetEntity))) {
+			return null;
+		}
+
+		return databaseService.exportTransformationResultPage(dataSetEntity, rowSelector, page, perPage, request,
+		                                                     query);
 	}
 
 	/**
@@ -605,6 +715,42 @@ public class DataController {
 			@Nullable final DataSetSource dataSetSource,
 			@Nullable final LoadDataRequest loadDataRequest,
 			final UserEntity requestUser
+	) throws ApiException {
+		return handleRequest(requestType, configuration, dataSetSource, loadDataRequest, requestUser, null);
+	}
+
+	/**
+	 * Returns the project of the given user.
+	 *
+	 * @param requestUser User of the request.
+	 * @return The project.
+	 */
+	private ProjectEntity getProject(final UserEntity requestUser) {
+		final UserEntity user = userService.getUserByEmail(requestUser.getEmail());
+		return projectService.getProject(user);
+	}
+
+	/**
+	 * Handles a request of the given type.
+	 * If a web request is given, requests of type {@link RequestType#INFO} and {@link RequestType#LOAD_DATA} are
+	 * answered with 304 if the data set has not been modified.
+	 *
+	 * @param requestType     Type of the request.
+	 * @param configuration   Configuration describing the source data.
+	 * @param loadDataRequest Settings for the data set export.
+	 * @param dataSetSource   Source of the data set.
+	 * @param requestUser     User of the request.
+	 * @param webRequest      The web request used for the conditional headers.
+	 * @return Response entity containing the response based on the request type, null if the data set has not been modified.
+	 */
+	@Nullable
+	private ResponseEntity<Object> handleRequest(
+			final RequestType requestType,
+			@Nullable final DataConfiguration configuration,
+			@Nullable final DataSetSource dataSetSource,
+			@Nullable final LoadDataRequest loadDataRequest,
+			final UserEntity requestUser,
+			@Nullable final ServletWebRequest webRequest
 	) throws ApiException {
 		final UserEntity user = userService.getUserByEmail(requestUser.getEmail());
 		final ProjectEntity projectEntity = projectService.getProject(user);
@@ -626,7 +772,15 @@ public class DataController {
 				result = databaseService.estimateOriginalDataConfiguration(projectEntity);
 			}
 			case INFO -> {
-				result = databaseService.getInfo(projectEntity, dataSetSource);
+				final DataSetEntity dataSetEntity = dataSetService.getDataSetEntityOrThrow(projectEntity,
+				                                                                           dataSetSource);
+				// The info depends on the original data set
+				final String eTag = ETagHelper.forDataSet(dataSetEntity, projectEntity.getOriginalData().getDataSet());
+				if (webRequest != null && ETagHelper.checkNotModified(webRequest, eTag)) {
+					return null;
+				}
+
+				result = databaseService.getInfo(dataSetEntity);
 			}
 			case LOAD_CONFIG -> {
 				result = databaseService.exportDataConfiguration(projectEntity, dataSetSource);
@@ -634,6 +788,11 @@ public class DataController {
 			case LOAD_DATA -> {
 				final DataSetEntity dataSetEntity = dataSetService.getDataSetEntityOrThrow(projectEntity,
 				                                                                           dataSetSource);
+				if (webRequest != null &&
+				    ETagHelper.checkNotModified(webRequest, ETagHelper.forDataSet(dataSetEntity))) {
+					return null;
+				}
+
 				final DataSet dataSet = databaseService.exportDataSet(dataSetEntity, columnNames, holdOutSelector);
 				final Map<Integer, Integer> columnIndexMapping = dataSetService.getColumnIndexMapping(
 						dataSetEntity.getDataConfiguration(), columnNames);
@@ -651,6 +810,8 @@ public class DataController {
 				result = null;
 			}
 			case STORE_DATE_SET -> {
+				importJobService.checkNoImportRunning(projectEntity);
+
 				// Delete the existing dataset
 				databaseService.deleteOriginalDataset(projectEntity);
 
@@ -4,8 +4,6 @@ import de.kiaim.cinnamon.model.dto.ErrorRequest;
 import de.kiaim.cinnamon.model.dto.ExecutionStepInformation;
 import de.kiaim.cinnamon.platform.exception.*;
 import de.kiaim.cinnamon.platform.model.dto.PipelineInformation;
-import de.kiaim.cinnamon.platform.model.entity.PipelineEntity;
-import de.kiaim.cinnamon.platform.model.mapper.PipelineMapper;
 import de.kiaim.cinnamon.platform.service.ProcessService;
 import de.kiaim.cinnamon.platform.service.ProjectService;
 import de.kiaim.cinnamon.platform.service.StepService;
@@ -50,17 +48,15 @@ public class ProcessController {
 	private final StepService stepService;
 	private final UserService userService;
 	private final ExecutionStepMapper executionStepMapper;
-	private final PipelineMapper pipelineMapper;
 
 	public ProcessController(final ProcessService processService, final ProjectService projectService,
 	                         final StepService stepService, final UserService userService,
-	                         final ExecutionStepMapper executionStepMapper, final PipelineMapper pipelineMapper) {
+	                         final ExecutionStepMapper executionStepMapper) {
 		this.processService = processService;
 		this.projectService = projectService;
 		this.stepService = stepService;
 		this.userService = userService;
 		this.executionStepMapper = executionStepMapper;
-		this.pipelineMapper = pipelineMapper;
 	}
 
 	@Operation(summary = "Returns the status of the pipeline.",
@@ -78,10 +74,7 @@ public class ProcessController {
 	public PipelineInformation getPipeline(
 			@AuthenticationPrincipal final UserEntity requestUser
 	) throws InternalInvalidStateException {
-		final UserEntity user = userService.getUserByEmail(requestUser.getEmail());
-		final ProjectEntity project = projectService.getProject(user);
-		final PipelineEntity pipeline = processService.getPipeline(project);
-		return pipelineMapper.toDto(pipeline);
+		return processService.getPipelineInformation(requestUser.getEmail());
 	}
 
 	@Operation(summary = "Saves the configuration and the URL of the selected process for the given step.",
@@ -7,6 +7,7 @@ import de.kiaim.cinnamon.platform.model.configuration.Stage;
 import de.kiaim.cinnamon.model.dto.ErrorResponse;
 import de.kiaim.cinnamon.model.configuration.project.ProjectConfigurationDTO;
 import de.kiaim.cinnamon.platform.model.dto.ProjectExportParameter;
+import de.kiaim.cinnamon.platform.model.dto.StatusInformation;
 import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
 import de.kiaim.cinnamon.platform.model.entity.StatusEntity;
 import de.kiaim.cinnamon.platform.model.entity.UserEntity;
@@ -78,14 +79,14 @@ public class ProjectController {
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200",
 			             description = "Response contains the status.",
-			             content = @Content(schema = @Schema(implementation = StatusEntity.class))),
+			             content = @Content(schema = @Schema(implementation = StatusInformation.class))),
 	})
 	@GetMapping(value = "/status",
 	            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_YAML_VALUE})
-	public StatusEntity getProjectStatus(
+	public StatusInformation getProjectStatus(
 			@AuthenticationPrincipal final UserEntity requestUser
 	) {
-		return projectService.getProject(requestUser).getStatus();
+		return projectService.getProjectStatus(requestUser.getEmail());
 	}
 
 	@PostMapping(value = "/step")
@@ -136,8 +137,7 @@ public class ProjectController {
 	public ProjectConfigurationDTO getProjectConfiguration(
 			@AuthenticationPrincipal final UserEntity requestUser
 	) {
-		final var project = projectService.getProject(requestUser);
-		return projectService.exportProjectConfiguration(project);
+		return projectService.exportProjectConfiguration(requestUser.getEmail());
 	}
 
 	@Operation(summary = "Updates the configuration of the user's project.",
@@ -152,8 +152,7 @@ public class ProjectController {
 			@RequestBody @Valid final ProjectConfigurationDTO projectConfigurationDTO,
 			@AuthenticationPrincipal final UserEntity requestUser
 	) {
-		final var project = projectService.getProject(requestUser);
-		projectService.updateProjectConfiguration(project, projectConfigurationDTO);
+		projectService.updateProjectConfiguration(requestUser.getEmail(), projectConfigurationDTO);
 	}
 
 
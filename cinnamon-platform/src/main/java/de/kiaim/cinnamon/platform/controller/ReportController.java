@@ -3,7 +3,6 @@ package de.kiaim.cinnamon.platform.controller;
 import de.kiaim.cinnamon.model.dto.ModuleReportContent;
 import de.kiaim.cinnamon.platform.exception.InternalIOException;
 import de.kiaim.cinnamon.platform.exception.InternalMissingHandlingException;
-import de.kiaim.cinnamon.platform.exception.InternalRequestException;
 import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
 import de.kiaim.cinnamon.platform.model.entity.UserEntity;
 import de.kiaim.cinnamon.platform.service.ProjectService;
@@ -56,7 +55,7 @@ public class ReportController {
 	@GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
 	public Map<String, ModuleReportContent> getReportData(
 			@AuthenticationPrincipal final UserEntity requestUser
-			) throws InternalIOException, InternalMissingHandlingException,InternalRequestException {
+			) throws InternalIOException, InternalMissingHandlingException {
 		final UserEntity user = userService.getUserByEmail(requestUser.getEmail());
 		final ProjectEntity project = projectService.getProject(user);
 
@@ -1,6 +1,7 @@
 package de.kiaim.cinnamon.platform.controller;
 
 import de.kiaim.cinnamon.platform.exception.*;
+import de.kiaim.cinnamon.platform.helper.ETagHelper;
 import de.kiaim.cinnamon.platform.model.dto.DataSetSource;
 import de.kiaim.cinnamon.platform.model.dto.StatisticsResponse;
 import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 /**
  * Controller for statistics.
@@ -59,6 +61,7 @@ public class StatisticsController {
 			@Schema(allowableValues = {"cancel"},
 			        description = "If the value is 'cancel', the process calculating the statistics will be cancelled.")
 			@RequestParam(name = "action", required = false) final String action,
+			final ServletWebRequest webRequest,
 			@AuthenticationPrincipal final UserEntity requestUser
 	)
 			throws InternalIOException, InternalDataSetPersistenceException, InternalRequestException, BadStateException, InternalInvalidStateException, InternalMissingHandlingException, BadDataSetIdException, BadStepNameException, InternalApplicationConfigurationException, BadConfigurationNameException, BadAlgorithmException {
@@ -69,6 +72,12 @@ public class StatisticsController {
 			return statisticsService.cancelStatistics(projectEntity, dataSetSource);
 		}
 
+		// Finished statistics do not change until the data set is modified
+		final String eTag = statisticsService.getStatisticsETag(projectEntity, dataSetSource);
+		if (eTag != null && ETagHelper.checkNotModified(webRequest, eTag)) {
+			return null;
+		}
+
 		return statisticsService.getStatistics(projectEntity, dataSetSource);
 	}
 
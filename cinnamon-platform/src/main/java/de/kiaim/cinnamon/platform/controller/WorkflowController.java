@@ -23,8 +23,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.UUID;
-
 /**
  * Endpoint for interacting with workflows.
  * A workflow is a wrapper for executing the entire anonymization pipeline including the evaluation.
@@ -50,7 +48,8 @@ public class WorkflowController {
 	}
 
 	@Operation(summary = "Start a new workflow.",
-	           description = "Starts a new workflow with the given data and configuration. Returns the workflowId and the current status of the workflow.")
+	           description = "Starts a new workflow with the given data and configuration. Returns the workflowId and the current status of the workflow. " +
+	                         "The data is imported in the background, the pipeline is started once the import has finished.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "202", description = "Workflow started successfully."),
 			@ApiResponse(responseCode = "400",
@@ -70,9 +69,8 @@ public class WorkflowController {
 			@ModelAttribute @Valid final WorkflowRequest workflowRequest,
 			@AuthenticationPrincipal final UserEntity requestUser
 	) throws ApiException {
-		final UUID workflowId = workflowService.startWorkflow(requestUser.getEmail(), workflowRequest.getData(),
-		                                                      workflowRequest.getConfiguration());
-		return workflowService.getWorkflowStatus(requestUser.getEmail(), workflowId);
+		return workflowService.startWorkflow(requestUser.getEmail(), workflowRequest.getData(),
+		                                     workflowRequest.getConfiguration());
 	}
 
 	@Operation(summary = "Get the status of a workflow.",
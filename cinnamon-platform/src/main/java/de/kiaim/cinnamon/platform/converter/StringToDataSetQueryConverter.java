@@ -0,0 +1,19 @@
+package de.kiaim.cinnamon.platform.converter;
+
+import de.kiaim.cinnamon.platform.config.SerializationConfig;
+import de.kiaim.cinnamon.platform.model.dto.DataSetQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts a string to a {@link DataSetQuery} in incoming requests.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Component
+public class StringToDataSetQueryConverter extends CinnamonStringConverter<DataSetQuery> {
+	@Autowired
+	public StringToDataSetQueryConverter(final SerializationConfig serializationConfig) {
+		super(DataSetQuery.class, serializationConfig);
+	}
+}
@@ -1,15 +1,22 @@
 package de.kiaim.cinnamon.platform.cronjob;
 
 import de.kiaim.cinnamon.platform.service.WorkflowService;
-import de.kiaim.cinnamon.platform.model.entity.WorkflowEntity;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Cronjob that deletes expired workflows.
+ * The workflows are deleted in chunks on a separate thread, so the scheduler is not blocked.
+ * Each chunk is committed separately, workflows remaining after an interrupted run are deleted in the next run.
  *
  * @author Daniel Preciado-Marquez
  */
@@ -17,23 +24,78 @@ import java.util.List;
 @Log4j2
 public class DeleteExpiredWorkflows {
 
+	private final int chunkSize;
+
 	private final WorkflowService workflowService;
 
-	public DeleteExpiredWorkflows(final WorkflowService workflowService) {
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(
+			runnable -> new Thread(runnable, "delete-expired-workflows"));
+	private final AtomicBoolean running = new AtomicBoolean(false);
+
+	public DeleteExpiredWorkflows(@Value("${cinnamon.workflow.deletion-chunk-size}") final int chunkSize,
+	                              final WorkflowService workflowService) {
+		this.chunkSize = chunkSize;
 		this.workflowService = workflowService;
 	}
 
 	@Scheduled(cron = "0 5 2 * * ?")
-	public void deleteExpiredWorkflows() {
+	public void scheduleDeletion() {
+		if (!running.compareAndSet(false, true)) {
+			log.warn("Skipping the deletion of expired workflows because the previous run has not finished!");
+			return;
+		}
+
+		executor.execute(() -> {
+			try {
+				deleteExpiredWorkflows();
+			} finally {
+				running.set(false);
+			}
+		});
+	}
+
+	/**
+	 * Deletes all workflows that have expired.
+	 * If a chunk cannot be deleted, the workflows of the chunk are deleted individually.
+	 * Workflows that cannot be deleted are skipped.
+	 *
+	 * @return The number of deleted workflows.
+	 */
+	public int deleteExpiredWorkflows() {
 		log.info("Deleting expired workflows...");
 
-		final List<WorkflowEntity> expiredWorkflows = workflowService.getExpiredWorkflows();
-		for (final WorkflowEntity workflow : expiredWorkflows) {
+		final Timestamp expirationDate = new Timestamp(System.currentTimeMillis());
+		final long start = System.currentTimeMillis();
+		long lastId = 0;
+		int deleted = 0;
+
+		List<Long> workflowIds;
+		while (!(workflowIds = workflowService.getExpiredWorkflowIds(expirationDate, lastId, chunkSize)).isEmpty()) {
+			lastId = workflowIds.get(workflowIds.size() - 1);
+
 			try {
-				workflowService.deleteWorkflow(workflow);
+				workflowService.deleteWorkflows(workflowIds);
+				deleted += workflowIds.size();
 			} catch (final Exception e) {
-				log.error("Error deleting workflow: {}", workflow.getWorkflowId(), e);
+				log.warn("Error deleting a chunk of workflows, deleting them individually", e);
+
+				for (final Long workflowId : workflowIds) {
+					try {
+						workflowService.deleteWorkflows(List.of(workflowId));
+						deleted++;
+					} catch (final Exception ex) {
+						log.error("Error deleting workflow: {}", workflowId, ex);
+					}
+				}
 			}
 		}
+
+		log.info("Deleted {} expired workflows in {} ms", deleted, System.currentTimeMillis() - start);
+		return deleted;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
 	}
 }
@@ -0,0 +1,31 @@
+package de.kiaim.cinnamon.platform.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Exception for a bad import job, e.g., an import job that could not be found.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public class BadImportJobException extends BadRequestException {
+
+	/**
+	 * Exception code for an import job that could not be found.
+	 */
+	public static final String NOT_FOUND = "1";
+
+	public BadImportJobException(final String exceptionCode, final String message) {
+		super(exceptionCode, message);
+	}
+
+	@Override
+	public HttpStatusCode getStatus() {
+		return HttpStatus.NOT_FOUND;
+	}
+
+	@Override
+	protected String getExceptionClassCode() {
+		return IMPORT_JOB;
+	}
+}
@@ -12,6 +12,16 @@ public class BadQueryException extends BadRequestException {
 	 */
 	public static final String RESULT_FILE = "1";
 
+	/**
+	 * Exception code for invalid filters in a data set query.
+	 */
+	public static final String INVALID_FILTER = "2";
+
+	/**
+	 * Exception code for invalid sort orders in a data set query.
+	 */
+	public static final String INVALID_SORT = "3";
+
 	public BadQueryException(final String exceptionCode, final String message) {
 		super(exceptionCode, message);
 	}
@@ -55,6 +55,26 @@ public class BadStateException extends BadRequestException {
 	 */
 	public static final String NO_EXTERNAL_DATA_SOURCE = "11";
 
+	/**
+	 * Exception code for starting an import while another import of the project is running.
+	 */
+	public static final String IMPORT_RUNNING = "12";
+
+	/**
+	 * Exception code for starting an import while the queue of import jobs is full.
+	 */
+	public static final String IMPORT_QUEUE_FULL = "13";
+
+	/**
+	 * Exception code for imports that have been canceled by the user.
+	 */
+	public static final String IMPORT_CANCELED = "14";
+
+	/**
+	 * Exception code for canceling an import that has already ended.
+	 */
+	public static final String IMPORT_FINISHED = "15";
+
 	public BadStateException(final String exceptionCode, final String message) {
 		super(exceptionCode, message);
 	}
@@ -60,6 +60,11 @@ public class InternalDataSetPersistenceException extends InternalException {
 	 */
 	public static final String DATASET_COMPARISON = "11";
 
+	/**
+	 * Exception code for errors when archiving a data set or reading from the archive.
+	 */
+	public static final String ARCHIVE = "12";
+
 	public InternalDataSetPersistenceException(final String exceptionCode, final String message) {
 		super(exceptionCode, message);
 	}
@@ -11,6 +11,11 @@ public class InternalErrorException extends InternalException {
 	 */
 	public static final String GEN_WORKFLOW_ID_MAX_RETRIES = "1";
 
+	/**
+	 * Exception code for unexpected errors during an import job.
+	 */
+	public static final String IMPORT_FAILED = "2";
+
 	public InternalErrorException(final String exceptionCode, final String message) {
 		super(exceptionCode, message);
 	}
@@ -65,6 +65,11 @@ public class InternalIOException extends InternalException {
 	 */
 	public static final String XLSX_READING = "12";
 
+	/**
+	 * Exception code for a failed serialization of the statistics.
+	 */
+	public static final String STATISTICS_SERIALIZATION = "13";
+
 	public InternalIOException(final String exceptionCode, final String message, final Exception cause) {
 		super(exceptionCode, message, cause);
 	}
@@ -1,10 +1,11 @@
 package de.kiaim.cinnamon.platform.health;
 
 import de.kiaim.cinnamon.platform.model.configuration.CinnamonConfiguration;
-import org.springframework.boot.actuate.health.CompositeHealthContributor;
-import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.CompositeReactiveHealthContributor;
 import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.actuate.health.ReactiveHealthContributor;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.Iterator;
@@ -13,30 +14,52 @@ import java.util.Map;
 
 /**
  * Health contributor that checks if all external servers are healthy.
+ * The instances are checked in the background, so health requests are answered from the last results.
  *
  * @author Daniel Preciado-Marquez
  */
 @Component
 @DependsOn({"cinnamonConfigurationPostProcessor"})
-public class ExternalServerHealthContributor implements CompositeHealthContributor {
+public class ExternalServerHealthContributor implements CompositeReactiveHealthContributor {
 
-	private final Map<String, HealthContributor> healthContributors = new LinkedHashMap<>();
+	private final boolean enabled;
+	private final Map<String, ExternalServerHealthIndicator> healthContributors = new LinkedHashMap<>();
 
 	public ExternalServerHealthContributor(final CinnamonConfiguration cinnamonConfiguration) {
+		this.enabled = cinnamonConfiguration.getHealthCheck().isEnabled();
+
 		for (final var externalServer : cinnamonConfiguration.getExternalServer().entrySet()) {
-			final var healthIndicator = new ExternalServerHealthIndicator(externalServer.getValue());
+			final var healthIndicator = new ExternalServerHealthIndicator(externalServer.getValue(),
+			                                                              cinnamonConfiguration.getHealthCheck());
 			healthContributors.put(externalServer.getKey(), healthIndicator);
 		}
 	}
 
+	/**
+	 * Starts the checks of all instances that are due.
+	 * The checks are non-blocking, so the scheduler thread is not occupied by slow instances.
+	 */
+	@Scheduled(fixedDelay = 1000)
+	public void checkIfDue() {
+		if (!enabled) {
+			return;
+		}
+
+		for (final ExternalServerHealthIndicator healthIndicator : healthContributors.values()) {
+			healthIndicator.checkIfDue();
+		}
+	}
+
 	@Override
-	public HealthContributor getContributor(final String name) {
+	public ReactiveHealthContributor getContributor(final String name) {
 		return healthContributors.get(name);
 	}
 
 	@Override
-	public Iterator<NamedContributor<HealthContributor>> iterator() {
+	public Iterator<NamedContributor<ReactiveHealthContributor>> iterator() {
 		return healthContributors.entrySet().stream()
-		                         .map(entry -> NamedContributor.of(entry.getKey(), entry.getValue())).iterator();
+		                         .map(entry -> NamedContributor.<ReactiveHealthContributor>of(entry.getKey(),
+		                                                                                      entry.getValue()))
+		                         .iterator();
 	}
 }
@@ -1,73 +1,98 @@
 package de.kiaim.cinnamon.platform.health;
 
 import de.kiaim.cinnamon.platform.model.configuration.ExternalServer;
+import de.kiaim.cinnamon.platform.model.configuration.HealthCheckConfiguration;
 import org.springframework.boot.actuate.health.Health;
-import org.springframework.boot.actuate.health.HealthContributor;
-import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.Status;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Health indicator that checks if an external server is healthy.
+ * Aggregates the last results of the instances, see {@link ExternalServerInstanceHealthIndicator}.
  *
  * @author Daniel Preciado-Marquez
  */
-public class ExternalServerHealthIndicator implements HealthIndicator {
+public class ExternalServerHealthIndicator implements ReactiveHealthIndicator {
 
-	private final Map<String, HealthContributor> healthContributors = new LinkedHashMap<>();
+	private final Map<String, ExternalServerInstanceHealthIndicator> healthIndicators = new LinkedHashMap<>();
 
 	/**
 	 * The external server.
 	 */
 	private final ExternalServer externalServer;
 
-	public ExternalServerHealthIndicator(final ExternalServer externalServer) {
+	public ExternalServerHealthIndicator(final ExternalServer externalServer,
+	                                     final HealthCheckConfiguration healthCheckConfiguration) {
 		this.externalServer = externalServer;
 
 		for (final var instance : externalServer.getInstances().values()) {
-			final var healthIndicator = new ExternalServerInstanceHealthIndicator(instance);
-			healthContributors.put(instance.getId(), healthIndicator);
+			final var healthIndicator = new ExternalServerInstanceHealthIndicator(instance, healthCheckConfiguration);
+			healthIndicators.put(instance.getId(), healthIndicator);
 		}
 	}
 
-	@Override
-	public Health health() {
-		int numHealthy = 0;
-		int numUnknown = 0;
-
-		final Map<String, Object> healthDetails = new LinkedHashMap<>();
-
-		final Map<String, Health> instanceHealth = new LinkedHashMap<>();
-
-		for (final Map.Entry<String, HealthContributor> entry : healthContributors.entrySet()) {
-			if (entry.getValue() instanceof HealthIndicator indicator) {
-				final Health health = indicator.health();
-				instanceHealth.put(entry.getKey(), health);
-
-				if (Status.UP.equals(health.getStatus())) {
-					numHealthy++;
-				} else if (Status.UNKNOWN.equals(health.getStatus())) {
-					numUnknown++;
-				}
-			}
+	/**
+	 * Starts the checks of all instances that are due.
+	 */
+	public void checkIfDue() {
+		for (final ExternalServerInstanceHealthIndicator indicator : healthIndicators.values()) {
+			indicator.checkIfDue();
 		}
+	}
 
-		healthDetails.put("minUp", externalServer.getMinUp());
-		healthDetails.put("numUp", numHealthy);
-		healthDetails.put("instances", instanceHealth);
-
-		final Health.Builder builder;
-
-		if (numHealthy >= externalServer.getMinUp()) {
-			builder = Health.up();
-		} else if (numHealthy + numUnknown >= externalServer.getMinUp()) {
-			builder = Health.unknown();
-		} else {
-			builder = Health.down();
-		}
+	/**
+	 * Checks all instances concurrently.
+	 *
+	 * @return Mono completing when all instances have been checked.
+	 */
+	public Mono<Void> check() {
+		return Flux.fromIterable(healthIndicators.values())
+		           .flatMap(ExternalServerInstanceHealthIndicator::check)
+		           .then();
+	}
 
-		return builder.withDetails(healthDetails).build();
+	@Override
+	public Mono<Health> health() {
+		return Flux.fromIterable(healthIndicators.entrySet())
+		           .concatMap(entry -> entry.getValue().health().map(health -> Map.entry(entry.getKey(), health)))
+		           .collectList()
+		           .map(instances -> {
+			           int numHealthy = 0;
+			           int numUnknown = 0;
+
+			           final Map<String, Health> instanceHealth = new LinkedHashMap<>();
+			           for (final Map.Entry<String, Health> entry : instances) {
+				           final Health health = entry.getValue();
+				           instanceHealth.put(entry.getKey(), health);
+
+				           if (Status.UP.equals(health.getStatus())) {
+					           numHealthy++;
+				           } else if (Status.UNKNOWN.equals(health.getStatus())) {
+					           numUnknown++;
+				           }
+			           }
+
+			           final Map<String, Object> healthDetails = new LinkedHashMap<>();
+			           healthDetails.put("minUp", externalServer.getMinUp());
+			           healthDetails.put("numUp", numHealthy);
+			           healthDetails.put("instances", instanceHealth);
+
+			           final Health.Builder builder;
+
+			           if (numHealthy >= externalServer.getMinUp()) {
+				           builder = Health.up();
+			           } else if (numHealthy + numUnknown >= externalServer.getMinUp()) {
+				           builder = Health.unknown();
+			           } else {
+				           builder = Health.down();
+			           }
+
+			           return builder.withDetails(healthDetails).build();
+		           });
 	}
 }
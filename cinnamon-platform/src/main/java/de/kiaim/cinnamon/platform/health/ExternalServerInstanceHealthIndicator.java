@@ -4,80 +4,190 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.kiaim.cinnamon.platform.exception.UnhealthyException;
 import de.kiaim.cinnamon.platform.model.configuration.ExternalServerInstance;
+import de.kiaim.cinnamon.platform.model.configuration.HealthCheckConfiguration;
 import org.springframework.boot.actuate.health.Health;
-import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.Status;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Health indicator for a single external server instance.
+ * The instance is checked in the background by {@link #checkIfDue()}, the indicator only reports the last result.
+ * Checks of unhealthy instances are delayed exponentially.
  *
  * @author Daniel Preciado-Marquez
  */
-public class ExternalServerInstanceHealthIndicator implements HealthIndicator {
+public class ExternalServerInstanceHealthIndicator implements ReactiveHealthIndicator {
 
 	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HealthCheckConfiguration healthCheckConfiguration;
 	private final ExternalServerInstance instance;
 	private final WebClient webClient;
 
-	public ExternalServerInstanceHealthIndicator(final ExternalServerInstance instance) {
+	/**
+	 * Result of the last check. Null if the instance has not been checked yet.
+	 */
+	@Nullable
+	private volatile Health lastHealth = null;
+
+	/**
+	 * Time of the last check in milliseconds.
+	 */
+	private volatile long lastCheck = 0;
+
+	/**
+	 * Earliest time of the next check in milliseconds.
+	 */
+	private volatile long nextCheck = 0;
+
+	/**
+	 * Number of consecutive checks that did not result in UP.
+	 */
+	private volatile int consecutiveFailures = 0;
+
+	private final AtomicBoolean checking = new AtomicBoolean(false);
+
+	public ExternalServerInstanceHealthIndicator(final ExternalServerInstance instance,
+	                                             final HealthCheckConfiguration healthCheckConfiguration) {
+		this.healthCheckConfiguration = healthCheckConfiguration;
 		this.instance = instance;
 		webClient = WebClient.builder().baseUrl(instance.getUrl()).build();
 	}
 
 	/**
-	 * Checks if the external server is healthy.
-	 * @return Health object.
+	 * Returns the result of the last check.
+	 * If the instance has not been checked yet or the result is stale, the status is UNKNOWN.
+	 *
+	 * @return Mono containing the health.
 	 */
 	@Override
-	public Health health() {
-		Health.Builder builder = Health.up();
+	public Mono<Health> health() {
+		final Health health = lastHealth;
+		if (health == null) {
+			return Mono.just(Health.unknown()
+			                       .withDetail("url", instance.getUrl())
+			                       .withDetail("healthEndpoint", instance.getServer().getHealthEndpoint())
+			                       .withDetail("error", "Not checked yet")
+			                       .build());
+		}
 
-		var externalServer = instance.getServer();
+		final long age = System.currentTimeMillis() - lastCheck;
+		if (age > healthCheckConfiguration.getStaleness()) {
+			return Mono.just(Health.unknown()
+			                       .withDetails(health.getDetails())
+			                       .withDetail("error", "Last check is " + age + " ms old")
+			                       .build());
+		}
 
-		var healthEndpoint = externalServer.getHealthEndpoint();
-		try {
-			var response = webClient.method(HttpMethod.GET)
-			                        .uri(healthEndpoint)
-			                        .retrieve()
-			                        .onStatus(HttpStatusCode::isError,
-			                                  errorResponse -> errorResponse.toEntity(String.class)
-			                                                                .map(r -> this.buildErrorResponse(r,
-			                                                                                                  errorResponse.statusCode())))
-			                        .bodyToMono(Map.class)
-			                        .timeout(Duration.ofMillis(instance.getHealthTimeout()))
-			                        .block();
-
-			var status = (response != null && response.containsKey("status"))
-			             ? (String) response.get("status")
-			             : Status.UNKNOWN.getCode();
-			builder.withDetail("ping", "UP");
-			builder.withDetail("health", status);
-
-			builder.status(status);
-		} catch (UnhealthyException e) {
-			builder.withDetail("ping", "UP");
-			builder.withDetail("health", e.getStatus());
-			builder.withDetail("error", e.getStatusCode().toString());
-
-			builder.status(e.getStatus());
-		} catch (Exception e) {
-			builder.withDetail("ping", "DOWN");
-			builder.withDetail("health", "DOWN");
-
-			builder.down(e);
+		return Mono.just(health);
+	}
+
+	/**
+	 * Starts a check in the background if the next check is due and no check is running.
+	 */
+	public void checkIfDue() {
+		if (System.currentTimeMillis() >= nextCheck && checking.compareAndSet(false, true)) {
+			probe().subscribe();
+		}
+	}
+
+	/**
+	 * Checks if the external server is healthy and stores the result.
+	 * If a check is already running, no additional check is started and the last result is returned.
+	 * The returned Mono does not emit errors.
+	 *
+	 * @return Mono containing the health.
+	 */
+	public Mono<Health> check() {
+		return Mono.defer(() -> checking.compareAndSet(false, true) ? probe() : health());
+	}
+
+	/**
+	 * Performs a check and stores the result.
+	 * Must only be called by the caller that has set {@link #checking}, which is cleared afterward.
+	 *
+	 * @return Mono containing the health.
+	 */
+	private Mono<Health> probe() {
+		return doCheck().doOnNext(this::update)
+		                .doFinally(signal -> checking.set(false));
+	}
+
+	/**
+	 * Performs the request to the health endpoint.
+	 *
+	 * @return Mono containing the health.
+	 */
+	private Mono<Health> doCheck() {
+		final var externalServer = instance.getServer();
+		final var healthEndpoint = externalServer.getHealthEndpoint();
+
+		return webClient.method(HttpMethod.GET)
+		                .uri(healthEndpoint)
+		                .retrieve()
+		                .onStatus(HttpStatusCode::isError,
+		                          errorResponse -> errorResponse.toEntity(String.class)
+		                                                        .map(r -> this.buildErrorResponse(r,
+		                                                                                          errorResponse.statusCode())))
+		                .bodyToMono(Map.class)
+		                .timeout(Duration.ofMillis(instance.getHealthTimeout()))
+		                .map(response -> {
+			                final var status = response.containsKey("status")
+			                                   ? (String) response.get("status")
+			                                   : Status.UNKNOWN.getCode();
+			                return Health.status(status)
+			                             .withDetail("ping", "UP")
+			                             .withDetail("health", status);
+		                })
+		                .defaultIfEmpty(Health.unknown()
+		                                      .withDetail("ping", "UP")
+		                                      .withDetail("health", Status.UNKNOWN.getCode()))
+		                .onErrorResume(UnhealthyException.class,
+		                               e -> Mono.just(Health.status(e.getStatus())
+		                                                    .withDetail("ping", "UP")
+		                                                    .withDetail("health", e.getStatus())
+		                                                    .withDetail("error", e.getStatusCode().toString())))
+		                .onErrorResume(e -> Mono.just(Health.down(e)
+		                                                    .withDetail("ping", "DOWN")
+		                                                    .withDetail("health", "DOWN")))
+		                .map(builder -> builder.withDetail("url", instance.getUrl())
+		                                       .withDetail("healthEndpoint", healthEndpoint)
+		                                       .build());
+	}
+
+	/**
+	 * Stores the result of a check and schedules the next check.
+	 *
+	 * @param health The result of the check.
+	 */
+	private void update(final Health health) {
+		final long now = System.currentTimeMillis();
+
+		long interval = healthCheckConfiguration.getInterval();
+		if (Status.UP.equals(health.getStatus())) {
+			consecutiveFailures = 0;
+		} else {
+			consecutiveFailures++;
+			final int exponent = Math.min(consecutiveFailures, 30);
+			interval = Math.min(interval << exponent, healthCheckConfiguration.getMaxBackoff());
 		}
 
-		builder.withDetail("url", instance.getUrl());
-		builder.withDetail("healthEndpoint", healthEndpoint);
+		final double jitter = healthCheckConfiguration.getJitter();
+		final double factor = jitter > 0 ? ThreadLocalRandom.current().nextDouble(1 - jitter, 1 + jitter) : 1;
 
-		return builder.build();
+		lastHealth = health;
+		lastCheck = now;
+		nextCheck = now + (long) (interval * factor);
 	}
 
 	/**
@@ -0,0 +1,308 @@
+package de.kiaim.cinnamon.platform.helper;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import de.kiaim.cinnamon.platform.exception.BadColumnNameException;
+import de.kiaim.cinnamon.platform.exception.BadQueryException;
+import de.kiaim.cinnamon.platform.model.dto.ColumnFilter;
+import de.kiaim.cinnamon.platform.model.dto.ColumnSort;
+import de.kiaim.cinnamon.platform.model.dto.DataSetQuery;
+import de.kiaim.cinnamon.platform.model.enumeration.FilterOperator;
+import de.kiaim.cinnamon.platform.model.enumeration.SortDirection;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Compiles a {@link DataSetQuery} into SQL for the table of a data set.
+ * Column names are validated against the data configuration and values are passed as parameters,
+ * so the query cannot inject SQL.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Service
+public class DataSetQueryGenerator {
+
+	/**
+	 * Maximum number of values for a single filter.
+	 */
+	public static final int MAX_VALUES = 1000;
+
+	/**
+	 * Escape character used in LIKE patterns.
+	 */
+	private static final char LIKE_ESCAPE = '\\';
+
+	/**
+	 * Creates the condition for the filters and the search of the given query.
+	 *
+	 * @param dataConfiguration The data configuration of the data set.
+	 * @param query             The query.
+	 * @return The condition or null if the query does not filter the rows.
+	 * @throws BadColumnNameException If a filter references a column that does not exist.
+	 * @throws BadQueryException      If a filter is invalid for the type of the column.
+	 */
+	@Nullable
+	public SqlCondition createCondition(final DataConfiguration dataConfiguration, final DataSetQuery query)
+			throws BadColumnNameException, BadQueryException {
+		final List<String> conditions = new ArrayList<>();
+		final List<Object> parameters = new ArrayList<>();
+
+		for (final ColumnFilter filter : query.getFilters()) {
+			final ColumnConfiguration column = getColumnOrThrow(dataConfiguration, filter.getColumn());
+			conditions.add(createFilterCondition(column, filter, parameters));
+		}
+
+		if (query.getSearch() != null && !query.getSearch().isEmpty()) {
+			conditions.add(createSearchCondition(dataConfiguration, query.getSearch(), parameters));
+		}
+
+		if (conditions.isEmpty()) {
+			return null;
+		}
+
+		return new SqlCondition(String.join(" AND ", conditions), parameters);
+	}
+
+	/**
+	 * Creates the order by clause for the given query without the keyword.
+	 * Rows with equal values are ordered by the row index, so pages are stable.
+	 *
+	 * @param dataConfiguration The data configuration of the data set.
+	 * @param query             The query.
+	 * @return The order by clause.
+	 * @throws BadColumnNameException If the sort order references a column that does not exist.
+	 * @throws BadQueryException      If a column is sorted multiple times.
+	 */
+	public String createOrderBy(final DataConfiguration dataConfiguration, final DataSetQuery query)
+			throws BadColumnNameException, BadQueryException {
+		final List<String> orders = new ArrayList<>();
+		final Set<String> sortedColumns = new HashSet<>();
+
+		for (final ColumnSort sort : query.getSort()) {
+			final ColumnConfiguration column = getColumnOrThrow(dataConfiguration, sort.getColumn());
+			if (!sortedColumns.add(column.getName())) {
+				throw new BadQueryException(BadQueryException.INVALID_SORT,
+				                            "The column '" + column.getName() + "' is sorted multiple times!");
+			}
+
+			final String direction = sort.getDirection() == SortDirection.DESC ? "DESC" : "ASC";
+			orders.add(quoteIdentifier(column.getName()) + " " + direction + " NULLS LAST");
+		}
+
+		orders.add(quoteIdentifier(DataschemeGenerator.ROW_INDEX_NAME) + " ASC");
+		return String.join(", ", orders);
+	}
+
+	/**
+	 * Returns the indices of the columns that are filtered or sorted by the given query.
+	 * These columns benefit from an index.
+	 * Columns used by the full-text search are not included.
+	 *
+	 * @param dataConfiguration The data configuration of the data set.
+	 * @param query             The query.
+	 * @return The indices of the columns.
+	 */
+	public Set<Integer> getIndexableColumns(final DataConfiguration dataConfiguration, final DataSetQuery query) {
+		final Set<String> columnNames = new HashSet<>();
+		for (final ColumnFilter filter : query.getFilters()) {
+			columnNames.add(filter.getColumn());
+		}
+		for (final ColumnSort sort : query.getSort()) {
+			columnNames.add(sort.getColumn());
+		}
+
+		final Set<Integer> columnIndices = new TreeSet<>();
+		for (final ColumnConfiguration column : dataConfiguration.getConfigurations()) {
+			if (columnNames.contains(column.getName())) {
+				columnIndices.add(column.getIndex());
+			}
+		}
+		return columnIndices;
+	}
+
+	/**
+	 * Quotes the given identifier, so it can contain reserved keywords and special characters.
+	 *
+	 * @param identifier The identifier.
+	 * @return The quoted identifier.
+	 */
+	public static String quoteIdentifier(final String identifier) {
+		return "\"" + identifier.replace("\"", "\"\"") + "\"";
+	}
+
+	private String createFilterCondition(final ColumnConfiguration column, final ColumnFilter filter,
+	                                     final List<Object> parameters) throws BadQueryException {
+		final String columnName = quoteIdentifier(column.getName());
+
+		switch (filter.getOperator()) {
+			case IS_NULL -> {
+				return columnName + " IS NULL";
+			}
+			case IS_NOT_NULL -> {
+				return columnName + " IS NOT NULL";
+			}
+			case EQUALS -> {
+				parameters.add(parseValue(column, getValueOrThrow(filter)));
+				return columnName + " = ?";
+			}
+			case NOT_EQUALS -> {
+				parameters.add(parseValue(column, getValueOrThrow(filter)));
+				return columnName + " <> ?";
+			}
+			case LESS_THAN, LESS_THAN_OR_EQUALS, GREATER_THAN, GREATER_THAN_OR_EQUALS -> {
+				throwIfNotComparable(column, filter);
+				parameters.add(parseValue(column, getValueOrThrow(filter)));
+				return columnName + " " + switch (filter.getOperator()) {
+					case LESS_THAN -> "<";
+					case LESS_THAN_OR_EQUALS -> "<=";
+					case GREATER_THAN -> ">";
+					default -> ">=";
+				} + " ?";
+			}
+			case BETWEEN -> {
+				throwIfNotComparable(column, filter);
+				if (filter.getValues().size() != 2) {
+					throw new BadQueryException(BadQueryException.INVALID_FILTER,
+					                            "The filter BETWEEN on column '" + column.getName() +
+					                            "' requires exactly two values!");
+				}
+				parameters.add(parseValue(column, filter.getValues().get(0)));
+				parameters.add(parseValue(column, filter.getValues().get(1)));
+				return columnName + " BETWEEN ? AND ?";
+			}
+			case IN -> {
+				if (filter.getValues().isEmpty() || filter.getValues().size() > MAX_VALUES) {
+					throw new BadQueryException(BadQueryException.INVALID_FILTER,
+					                            "The filter IN on column '" + column.getName() +
+					                            "' requires between 1 and " + MAX_VALUES + " values!");
+				}
+				for (final String value : filter.getValues()) {
+					parameters.add(parseValue(column, value));
+				}
+				return columnName + " IN (" + String.join(",", Collections.nCopies(filter.getValues().size(), "?")) +
+				       ")";
+			}
+			case CONTAINS, STARTS_WITH -> {
+				if (column.getType() != DataType.STRING && column.getType() != DataType.TEXT) {
+					throw new BadQueryException(BadQueryException.INVALID_FILTER,
+					                            "The filter " + filter.getOperator().name() + " is not supported for column '" +
+					                            column.getName() + "' of type " + column.getType().name() + "!");
+				}
+
+				final String pattern = escapeLikePattern(getValueOrThrow(filter)) + "%";
+				parameters.add(filter.getOperator() == FilterOperator.CONTAINS ? "%" + pattern : pattern);
+				return columnName + " ILIKE ? ESCAPE '" + LIKE_ESCAPE + "'";
+			}
+			default -> throw new BadQueryException(BadQueryException.INVALID_FILTER,
+			                                       "Unsupported filter operator '" + filter.getOperator() + "'!");
+		}
+	}
+
+	private String createSearchCondition(final DataConfiguration dataConfiguration, final String search,
+	                                     final List<Object> parameters) {
+		final String pattern = "%" + escapeLikePattern(search) + "%";
+		final List<String> conditions = new ArrayList<>();
+
+		for (final ColumnConfiguration column : dataConfiguration.getConfigurations()) {
+			if (column.getType() == DataType.STRING || column.getType() == DataType.TEXT) {
+				conditions.add(quoteIdentifier(column.getName()) + " ILIKE ? ESCAPE '" + LIKE_ESCAPE + "'");
+				parameters.add(pattern);
+			}
+		}
+
+		if (conditions.isEmpty()) {
+			return "FALSE";
+		}
+		return "(" + String.join(" OR ", conditions) + ")";
+	}
+
+	private ColumnConfiguration getColumnOrThrow(final DataConfiguration dataConfiguration, final String columnName)
+			throws BadColumnNameException {
+		for (final ColumnConfiguration column : dataConfiguration.getConfigurations()) {
+			if (column.getName().equals(columnName)) {
+				return column;
+			}
+		}
+
+		throw new BadColumnNameException(BadColumnNameException.NOT_FOUND,
+		                                 "Data set does not contain columns with names: '" + columnName + "'");
+	}
+
+	private String getValueOrThrow(final ColumnFilter filter) throws BadQueryException {
+		if (filter.getValue() == null) {
+			throw new BadQueryException(BadQueryException.INVALID_FILTER,
+			                            "The filter " + filter.getOperator().name() + " on column '" +
+			                            filter.getColumn() + "' requires a value!");
+		}
+		return filter.getValue();
+	}
+
+	private void throwIfNotComparable(final ColumnConfiguration column, final ColumnFilter filter)
+			throws BadQueryException {
+		if (column.getType() == DataType.BOOLEAN) {
+			throw new BadQueryException(BadQueryException.INVALID_FILTER,
+			                            "The filter " + filter.getOperator().name() + " is not supported for column '" +
+			                            column.getName() + "' of type BOOLEAN!");
+		}
+	}
+
+	/**
+	 * Converts the given value into the JDBC type of the column.
+	 *
+	 * @param column The column the value is compared to.
+	 * @param value  The value.
+	 * @return The parameter.
+	 * @throws BadQueryException If the value is not valid for the type of the column.
+	 */
+	private Object parseValue(final ColumnConfiguration column, final String value) throws BadQueryException {
+		try {
+			return switch (column.getType()) {
+				case BOOLEAN -> {
+					if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+						throw new IllegalArgumentException();
+					}
+					yield Boolean.parseBoolean(value);
+				}
+				case DATE -> Date.valueOf(LocalDate.parse(value.trim()));
+				case DATE_TIME -> Timestamp.valueOf(LocalDateTime.parse(value.trim()));
+				case DECIMAL -> new BigDecimal(value.trim());
+				case INTEGER -> Integer.parseInt(value.trim());
+				case STRING, TEXT -> value;
+				case UNDEFINED -> throw new IllegalArgumentException();
+			};
+		} catch (final DateTimeParseException | IllegalArgumentException e) {
+			throw new BadQueryException(BadQueryException.INVALID_FILTER,
+			                            "The value '" + value + "' is not valid for column '" + column.getName() +
+			                            "' of type " + column.getType().name() + "!");
+		}
+	}
+
+	private String escapeLikePattern(final String value) {
+		final StringBuilder escaped = new StringBuilder(value.length());
+		for (final char c : value.toCharArray()) {
+			if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+				escaped.append(LIKE_ESCAPE);
+			}
+			escaped.append(c);
+		}
+		return escaped.toString();
+	}
+
+	/**
+	 * Condition for a WHERE clause.
+	 *
+	 * @param sql        The condition containing placeholders for the parameters.
+	 * @param parameters The parameters in the order of the placeholders.
+	 */
+	public record SqlCondition(String sql, List<Object> parameters) {
+	}
+}
@@ -32,35 +32,8 @@ public class DataschemeGenerator {
 		final List<String> columns = new ArrayList<>();
 
 		// Add columns from the data set
-		for (int i = 0; i < dataConfiguration.getConfigurations().size(); ++i) {
-			final ColumnConfiguration columnConfiguration = dataConfiguration.getConfigurations().get(i);
-			switch (columnConfiguration.getType()) {
-				case BOOLEAN -> {
-					columns.add(createColumnString(columnConfiguration.getName(), "boolean"));
-				}
-				case DATE -> {
-					columns.add(createColumnString(columnConfiguration.getName(), "date"));
-				}
-				case DATE_TIME -> {
-					columns.add(createColumnString(columnConfiguration.getName(), "timestamp"));
-				}
-				case DECIMAL -> {
-					columns.add(createColumnString(columnConfiguration.getName(), "numeric"));
-				}
-				case INTEGER -> {
-					columns.add(createColumnString(columnConfiguration.getName(), "integer"));
-				}
-				case TEXT -> {
-					columns.add(createColumnString(columnConfiguration.getName(), "character varying"));
-				}
-				case STRING -> {
-					columns.add(createColumnString(columnConfiguration.getName(), "character varying"));
-				}
-				case UNDEFINED -> {
-					throw new BadDataConfigurationException(BadDataConfigurationException.UNDEFINED_DATA_TYPE,
-					                                        "Can't create table schema with an undefined column type!");
-				}
-			}
+		for (final ColumnConfiguration columnConfiguration : dataConfiguration.getConfigurations()) {
+			columns.add(createColumnString(columnConfiguration.getName(), getColumnType(columnConfiguration)));
 		}
 
 		// Add column for hold out flag
@@ -72,6 +45,27 @@ public class DataschemeGenerator {
 		return query.formatted(String.join(",", columns));
 	}
 
+	/**
+	 * Returns the SQL type used for storing the values of the given column.
+	 *
+	 * @param columnConfiguration The configuration of the column.
+	 * @return The SQL type.
+	 * @throws BadDataConfigurationException If the column has an undefined data type.
+	 */
+	public String getColumnType(final ColumnConfiguration columnConfiguration) throws BadDataConfigurationException {
+		return switch (columnConfiguration.getType()) {
+			case BOOLEAN -> "boolean";
+			case DATE -> "date";
+			case DATE_TIME -> "timestamp";
+			case DECIMAL -> "numeric";
+			case INTEGER -> "integer";
+			case TEXT, STRING -> "character varying";
+			case UNDEFINED -> throw new BadDataConfigurationException(
+					BadDataConfigurationException.UNDEFINED_DATA_TYPE,
+					"Can't create table schema with an undefined column type!");
+		};
+	}
+
 	private String createColumnString(final String columnName, final String dataType) {
 		return "\"" + columnName + "\" " + dataType;
 	}
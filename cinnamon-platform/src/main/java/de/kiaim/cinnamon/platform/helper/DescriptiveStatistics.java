@@ -0,0 +1,624 @@
+package de.kiaim.cinnamon.platform.helper;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.Data;
+import de.kiaim.cinnamon.model.data.DataRow;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Calculates the descriptive statistics of a data set in a single pass over its rows.
+ * Produces the same structure as the metrics.json created by the descriptive statistics endpoint of the evaluation
+ * module, containing per-column counts, missing values, mean, standard deviation, variance, percentiles, histograms
+ * and the most frequent categories.
+ * Each column only keeps the counts of its distinct values, so the memory depends on the number of distinct values
+ * and not on the number of rows.
+ * Density plots and text metrics are not supported, see {@link #isSupported(DataConfiguration)}.
+ */
+public class DescriptiveStatistics {
+
+	/**
+	 * Number of categories shown in the frequency plot, remaining categories are grouped as 'Other'.
+	 */
+	public static final int TOP_CATEGORIES = 25;
+
+	/**
+	 * Maximum number of bins of the histograms.
+	 */
+	public static final int MAX_HISTOGRAM_BINS = 15;
+
+	private static final String IMPORTANT_METRICS = "important_metrics";
+	private static final String DETAILS = "details";
+	private static final String PLOT = "plot";
+
+	private static final long SECONDS_IN_MINUTE = 60;
+	private static final long SECONDS_IN_HOUR = 3600;
+	private static final long SECONDS_IN_DAY = 86400;
+	private static final long SECONDS_IN_YEAR = 31536000;
+
+	/**
+	 * Format of date times, matches the string representation of pandas timestamps.
+	 */
+	private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	/**
+	 * Metrics calculated in process.
+	 * Names, descriptions and categories match the overview resemblance metrics of the evaluation module.
+	 */
+	private enum Metric {
+		MODE("mode", IMPORTANT_METRICS, "Mode",
+		     "Identifies the most frequent category in categorical features.",
+		     "Compare if the most frequent categories in the protected data match those in the original data. This metric is always calcualted."),
+		MEAN("mean", IMPORTANT_METRICS, "Mean",
+		     "Calculates the average value for numerical features.",
+		     "Small deviations indicate that the protected data accurately represent the central tendency of the original data. This metric is always calcualted."),
+		STANDARD_DEVIATION("standard_deviation", IMPORTANT_METRICS, "Standard Deviation",
+		                   "A measure of the average deviation of values from the mean.",
+		                   "Similar values mean that the data are similarly dispersed around the mean. This metric is always calcualted."),
+		MINIMUM("minimum", IMPORTANT_METRICS, "Minimum",
+		        "The smallest value present in a feature.",
+		        "Check if the protected data maintain realistic minimum values compared to the original data. Important for plausible data ranges. This metric is always calcualted."),
+		MAXIMUM("maximum", IMPORTANT_METRICS, "Maximum",
+		        "The largest value present in a feature.",
+		        "Check if the protected data maintain realistic maximum values compared to the original data. Important for plausible data ranges. This metric is always calcualted."),
+		MISSING_VALUES_COUNT("missing_values_count", IMPORTANT_METRICS, "Missing Values Count",
+		                     "Counts the number of missing or empty values per feature.",
+		                     "A similar count in original and protected data is usually desirable. This metric is always calcualted."),
+		DISTINCT_VALUES("distinct_values", IMPORTANT_METRICS, "Distinct Values",
+		                "Counts how many different, unique values a categorical feature has. This metric is always calcualted.",
+		                "A similar count indicates that the diversity of values in the protected data corresponds to that of the original data."),
+		VARIANCE("variance", DETAILS, "Variance",
+		         "Measures how much individual numerical values deviate from the average value.",
+		         "Check if the dispersion of values in the protected data is similar to that in the original data. Similar variance values are a good sign."),
+		FIFTH_PERCENTILE("fifth_percentile", DETAILS, "Fifth Percentile",
+		                 "Represents the value separating the lowest 5% of data points from the rest for this feature.",
+		                 "A close match for this percentile between the original and protected data suggests that the lower extreme of the data's distribution is well preserved."),
+		Q1("q1", DETAILS, "First Quartile",
+		   "Represents the value separating the lowest 25% of data points from the rest for this feature.",
+		   "Similar values between original and protected data indicate that the spread of the lower quarter of data points is well preserved."),
+		MEDIAN("median", DETAILS, "Median",
+		       "The central value of the feature, dividing the data into two equal halves, 50% of values are below, and 50% are above.",
+		       "High similarity in median values between original and protected data demonstrates that the dataset's central point or typical values are well preserved."),
+		Q3("q3", DETAILS, "Third Quartile",
+		   "Represents the value separating the highest 75% of data points from the rest for this feature.",
+		   "A close match for these values suggests that the characteristics of the data distribution up to the three-quarter mark are well preserved in the protected dataset."),
+		NINETY_FIFTH_PERCENTILE("ninety_fifth_percentile", DETAILS, "Ninety Fifth Percentile",
+		                        "Represents the value separating the highest 95% of data points from the rest for this feature.",
+		                        "A close match for this percentile between the original and protected data suggests that the upper extreme of the data's distribution is well preserved.");
+
+		private final String name;
+		private final String category;
+		private final String displayName;
+		private final String description;
+		private final String interpretation;
+
+		Metric(final String name, final String category, final String displayName, final String description,
+		       final String interpretation) {
+			this.name = name;
+			this.category = category;
+			this.displayName = displayName;
+			this.description = description;
+			this.interpretation = interpretation;
+		}
+	}
+
+	private final DataConfiguration dataConfiguration;
+	private final List<ColumnStatistics> columns = new ArrayList<>();
+
+	/**
+	 * Number of processed rows.
+	 */
+	@Getter
+	private long rowCount = 0;
+
+	/**
+	 * Creates a new calculator for data sets with the given configuration.
+	 *
+	 * @param dataConfiguration The data configuration of the rows.
+	 * @throws IllegalArgumentException If the configuration contains unsupported columns.
+	 */
+	public DescriptiveStatistics(final DataConfiguration dataConfiguration) {
+		if (!isSupported(dataConfiguration)) {
+			throw new IllegalArgumentException("The data configuration contains columns that are not supported!");
+		}
+
+		this.dataConfiguration = dataConfiguration;
+		for (final ColumnConfiguration columnConfiguration : dataConfiguration.getConfigurations()) {
+			columns.add(new ColumnStatistics(columnConfiguration.getType()));
+		}
+	}
+
+	/**
+	 * Checks if the statistics of a data set with the given configuration can be calculated in process.
+	 * Text attributes are only supported by the evaluation module.
+	 *
+	 * @param dataConfiguration The data configuration.
+	 * @return If all columns are supported.
+	 */
+	public static boolean isSupported(final DataConfiguration dataConfiguration) {
+		return dataConfiguration.getConfigurations()
+		                        .stream()
+		                        .noneMatch(c -> c.getType() == DataType.TEXT || c.getType() == DataType.UNDEFINED);
+	}
+
+	/**
+	 * Adds the given row to the statistics.
+	 *
+	 * @param dataRow The row.
+	 */
+	public void accept(final DataRow dataRow) {
+		rowCount++;
+		for (int i = 0; i < columns.size(); i++) {
+			columns.get(i).accept(dataRow.getData().get(i));
+		}
+	}
+
+	/**
+	 * Creates the metrics of all processed rows.
+	 * The structure corresponds to the metrics.json of the evaluation module.
+	 *
+	 * @return The metrics.
+	 */
+	public Map<String, Object> toMetrics() {
+		final List<Map<String, Object>> attributes = new ArrayList<>();
+		for (int i = 0; i < columns.size(); i++) {
+			attributes.add(columns.get(i).toAttributeMetrics(dataConfiguration.getConfigurations().get(i)));
+		}
+
+		final Map<String, Object> resemblance = new LinkedHashMap<>();
+		resemblance.put("description",
+		                "Checks how good the protected data reflect the patterns and characteristics of the original data.");
+		resemblance.put("display_name", "Resemblance Metrics");
+		resemblance.put("attributes", attributes);
+
+		final Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("resemblance", resemblance);
+		return metrics;
+	}
+
+	/**
+	 * Accumulates the values of a single column.
+	 */
+	private class ColumnStatistics {
+		private final DataType dataType;
+		private final boolean numeric;
+		/**
+		 * If the values are dates or date times stored as UNIX timestamps.
+		 */
+		private final boolean temporal;
+
+		private long missingValues = 0;
+
+		/**
+		 * Counts of the distinct values, keyed by a Double for numeric columns and by the label otherwise.
+		 * Linked to keep the order of the first occurrence for categories with the same count.
+		 */
+		private final Map<Object, long[]> valueCounts = new LinkedHashMap<>();
+
+		private ColumnStatistics(final DataType dataType) {
+			this.dataType = dataType;
+			this.temporal = dataType == DataType.DATE || dataType == DataType.DATE_TIME;
+			this.numeric = dataType == DataType.INTEGER || dataType == DataType.DECIMAL || temporal;
+		}
+
+		private void accept(final Data data) {
+			final Object key = toKey(data);
+			if (key == null) {
+				missingValues++;
+			} else {
+				valueCounts.computeIfAbsent(key, k -> new long[1])[0]++;
+			}
+		}
+
+		/**
+		 * Converts the value into the representation used by the evaluation module.
+		 * Dates and date times are converted into UNIX timestamps,
+		 * decimals are converted from their textual representation.
+		 *
+		 * @return The key or null if the value is missing.
+		 */
+		private Object toKey(final Data data) {
+			final Object value = data.getValue();
+			if (value == null) {
+				return null;
+			}
+
+			return switch (dataType) {
+				case BOOLEAN -> (Boolean) value ? "True" : "False";
+				case DATE -> (double) ((LocalDate) value).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+				case DATE_TIME -> (double) ((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC);
+				case DECIMAL -> Double.parseDouble(value.toString());
+				case INTEGER -> ((Integer) value).doubleValue();
+				case STRING -> ((String) value).isBlank() ? null : value;
+				case TEXT, UNDEFINED -> throw new IllegalStateException("Unsupported data type: " + dataType);
+			};
+		}
+
+		private Map<String, Object> toAttributeMetrics(final ColumnConfiguration columnConfiguration) {
+			final Map<String, Object> attributeInformation = new LinkedHashMap<>();
+			attributeInformation.put("name", columnConfiguration.getName());
+			attributeInformation.put("index", columnConfiguration.getIndex());
+			attributeInformation.put("type", columnConfiguration.getType().name());
+			attributeInformation.put("scale", columnConfiguration.getScale().name());
+
+			final Map<String, Object> attribute = new LinkedHashMap<>();
+			attribute.put("attribute_information", attributeInformation);
+			attribute.put(IMPORTANT_METRICS, new LinkedHashMap<String, Object>());
+			attribute.put(DETAILS, new LinkedHashMap<String, Object>());
+			attribute.put(PLOT, new LinkedHashMap<String, Object>());
+
+			final Map<Metric, Object> values = new EnumMap<>(Metric.class);
+			final Map<String, Object> plots = new LinkedHashMap<>();
+			if (numeric) {
+				addNumericMetrics(values, plots, columnConfiguration.getName());
+			} else {
+				addCategoricalMetrics(values, plots, columnConfiguration.getName());
+			}
+			values.put(Metric.MISSING_VALUES_COUNT, missingValues);
+
+			for (final var entry : values.entrySet()) {
+				if (entry.getValue() == null) {
+					continue;
+				}
+
+				final Map<String, Object> metric = new LinkedHashMap<>();
+				metric.put("values", Map.of("real", entry.getValue()));
+				metric.put("description", entry.getKey().description);
+				metric.put("interpretation", entry.getKey().interpretation);
+				metric.put("display_name", entry.getKey().displayName);
+
+				@SuppressWarnings("unchecked")
+				final var category = (Map<String, Object>) attribute.get(entry.getKey().category);
+				category.put(entry.getKey().name, metric);
+			}
+
+			@SuppressWarnings("unchecked")
+			final var plot = (Map<String, Object>) attribute.get(PLOT);
+			for (final var entry : plots.entrySet()) {
+				plot.put(entry.getKey(), Map.of("real", entry.getValue()));
+			}
+
+			return attribute;
+		}
+
+		private void addCategoricalMetrics(final Map<Metric, Object> values, final Map<String, Object> plots,
+		                                   final String name) {
+			final List<Map.Entry<Object, long[]>> sorted = new ArrayList<>(valueCounts.entrySet());
+			// Stable sort keeps the order of the first occurrence for equal counts
+			sorted.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+
+			String mode = null;
+			if (!sorted.isEmpty()) {
+				// Like pandas, return the smallest of the most frequent values
+				final long maxCount = sorted.get(0).getValue()[0];
+				for (final var entry : sorted) {
+					if (entry.getValue()[0] != maxCount) {
+						break;
+					}
+					final String label = (String) entry.getKey();
+					if (mode == null || label.compareTo(mode) < 0) {
+						mode = label;
+					}
+				}
+			}
+
+			values.put(Metric.MODE, mode);
+			values.put(Metric.DISTINCT_VALUES, (long) valueCounts.size());
+
+			// Percentages are relative to all rows including missing values
+			final List<Map<String, Object>> frequencies = new ArrayList<>();
+			double other = 0;
+			for (int i = 0; i < sorted.size(); i++) {
+				final double percentage = (double) sorted.get(i).getValue()[0] / rowCount * 100;
+				if (i < TOP_CATEGORIES) {
+					frequencies.add(frequency((String) sorted.get(i).getKey(), percentage));
+				} else {
+					other += percentage;
+				}
+			}
+			if (other > 0) {
+				frequencies.add(frequency("Other", other));
+			}
+
+			plots.put("frequency_plot", plotData(frequencies, name));
+		}
+
+		private void addNumericMetrics(final Map<Metric, Object> values, final Map<String, Object> plots,
+		                               final String name) {
+			final double[] sortedValues = new double[valueCounts.size()];
+			final long[] counts = new long[valueCounts.size()];
+			int index = 0;
+			for (final Object key : valueCounts.keySet().stream().sorted().toList()) {
+				sortedValues[index] = (Double) key;
+				counts[index] = valueCounts.get(key)[0];
+				index++;
+			}
+			final long count = Arrays.stream(counts).sum();
+
+			if (count == 0) {
+				for (final Metric metric : List.of(Metric.MEAN, Metric.STANDARD_DEVIATION, Metric.VARIANCE,
+				                                   Metric.MINIMUM, Metric.MAXIMUM)) {
+					values.put(metric, "NA");
+				}
+				for (final Metric metric : List.of(Metric.FIFTH_PERCENTILE, Metric.Q1, Metric.MEDIAN, Metric.Q3,
+				                                   Metric.NINETY_FIFTH_PERCENTILE)) {
+					values.put(metric, "NaN");
+				}
+				plots.put("histogram", plotData(List.of(), name));
+				return;
+			}
+
+			double sum = 0;
+			for (int i = 0; i < sortedValues.length; i++) {
+				sum += sortedValues[i] * counts[i];
+			}
+			final double mean = sum / count;
+
+			double squaredDeviations = 0;
+			for (int i = 0; i < sortedValues.length; i++) {
+				final double deviation = sortedValues[i] - mean;
+				squaredDeviations += deviation * deviation * counts[i];
+			}
+			final Double variance = count > 1 ? squaredDeviations / (count - 1) : null;
+
+			values.put(Metric.MEAN, toValue(mean));
+			values.put(Metric.STANDARD_DEVIATION,
+			           variance == null ? "NaN" : toDistance(Math.sqrt(variance)));
+			values.put(Metric.VARIANCE, variance == null ? "NaN" : toSquaredDistance(variance));
+			values.put(Metric.FIFTH_PERCENTILE, toValue(quantile(sortedValues, counts, 1, 0.05)));
+			values.put(Metric.Q1, toValue(quantile(sortedValues, counts, 1, 0.25)));
+			values.put(Metric.MEDIAN, toValue(quantile(sortedValues, counts, 1, 0.5)));
+			values.put(Metric.Q3, toValue(quantile(sortedValues, counts, 1, 0.75)));
+			values.put(Metric.NINETY_FIFTH_PERCENTILE, toValue(quantile(sortedValues, counts, 1, 0.95)));
+			values.put(Metric.MINIMUM, toValue(sortedValues[0]));
+			values.put(Metric.MAXIMUM, toValue(sortedValues[sortedValues.length - 1]));
+
+			plots.put("histogram", plotData(histogram(sortedValues, counts, count), name));
+		}
+
+		/**
+		 * Calculates the histogram like numpy with the 'auto' bin estimator.
+		 * The evaluation module estimates the bins on the real and synthetic data combined,
+		 * which corresponds to every value being counted twice.
+		 */
+		private List<Map<String, Object>> histogram(final double[] sortedValues, final long[] counts,
+		                                            final long count) {
+			final double min = sortedValues[0];
+			final double max = sortedValues[sortedValues.length - 1];
+			final long combinedCount = 2 * count;
+
+			final double range = max - min;
+			final double sturgesWidth = range / (Math.log(combinedCount) / Math.log(2) + 1.0);
+			final double iqr = quantile(sortedValues, counts, 2, 0.75) - quantile(sortedValues, counts, 2, 0.25);
+			final double fdWidth = 2.0 * iqr * Math.pow(combinedCount, -1.0 / 3.0);
+			final double width = fdWidth > 0 ? Math.min(fdWidth, sturgesWidth) : sturgesWidth;
+
+			double firstEdge = min;
+			double lastEdge = max;
+			if (firstEdge == lastEdge) {
+				firstEdge -= 0.5;
+				lastEdge += 0.5;
+			}
+
+			int numberBins = width > 0 ? (int) Math.ceil((lastEdge - firstEdge) / width) : 1;
+			if (numberBins > MAX_HISTOGRAM_BINS) {
+				numberBins = MAX_HISTOGRAM_BINS;
+				firstEdge = min;
+				lastEdge = max;
+			}
+
+			final double[] edges = new double[numberBins + 1];
+			final double step = (lastEdge - firstEdge) / numberBins;
+			for (int i = 0; i < numberBins; i++) {
+				edges[i] = firstEdge + i * step;
+			}
+			edges[numberBins] = lastEdge;
+
+			// Bins are half-open except for the last one
+			final long[] binCounts = new long[numberBins];
+			for (int i = 0; i < sortedValues.length; i++) {
+				int bin = Arrays.binarySearch(edges, sortedValues[i]);
+				bin = bin >= 0 ? bin : -bin - 2;
+				binCounts[Math.min(bin, numberBins - 1)] += counts[i];
+			}
+
+			final EdgeFormat format = new EdgeFormat(min, max, numberBins);
+			final List<Map<String, Object>> frequencies = new ArrayList<>();
+			for (int i = 0; i < numberBins; i++) {
+				final String label = format.format(edges[i]) + " | " + format.format(edges[i + 1]);
+				frequencies.add(frequency(label, (double) binCounts[i] / count * 100));
+			}
+			return frequencies;
+		}
+
+		/**
+		 * Converts a numeric value into its representation in the metrics.
+		 * Dates and date times are formatted as timestamps.
+		 */
+		private Object toValue(final double value) {
+			if (temporal) {
+				return formatTimestamp(value);
+			}
+			return value;
+		}
+
+		/**
+		 * Converts a distance into its representation in the metrics.
+		 * Dates and date times are formatted as a time distance.
+		 */
+		private Object toDistance(final double value) {
+			if (!temporal) {
+				return value;
+			}
+
+			if (value < SECONDS_IN_MINUTE) {
+				return round(value) + " Seconds";
+			} else if (value < SECONDS_IN_HOUR) {
+				return round(value / SECONDS_IN_MINUTE) + " Minutes";
+			} else if (value < SECONDS_IN_DAY) {
+				return round(value / SECONDS_IN_HOUR) + " Hours";
+			} else if (value < SECONDS_IN_YEAR) {
+				return round(value / SECONDS_IN_DAY) + " Days";
+			} else {
+				return round(value / SECONDS_IN_YEAR) + " Years";
+			}
+		}
+
+		/**
+		 * Converts a variance into its representation in the metrics.
+		 * Dates and date times are formatted as a squared time distance.
+		 */
+		private Object toSquaredDistance(final double value) {
+			if (!temporal) {
+				return value;
+			}
+
+			final double standardDeviation = Math.sqrt(value);
+			final long unit;
+			final String unitName;
+			if (standardDeviation < SECONDS_IN_MINUTE) {
+				unit = 1;
+				unitName = "Seconds";
+			} else if (standardDeviation < SECONDS_IN_HOUR) {
+				unit = SECONDS_IN_MINUTE;
+				unitName = "Minutes";
+			} else if (standardDeviation < SECONDS_IN_DAY) {
+				unit = SECONDS_IN_HOUR;
+				unitName = "Hours";
+			} else if (standardDeviation < SECONDS_IN_YEAR) {
+				unit = SECONDS_IN_DAY;
+				unitName = "Days";
+			} else {
+				unit = SECONDS_IN_YEAR;
+				unitName = "Years";
+			}
+			return round(value / ((double) unit * unit)) + " " + unitName;
+		}
+
+		/**
+		 * Formats the UNIX timestamp as an ISO date for dates and including the time for date times.
+		 */
+		private String formatTimestamp(final double seconds) {
+			final LocalDateTime dateTime = LocalDateTime.ofEpochSecond((long) Math.floor(seconds), 0, ZoneOffset.UTC);
+			return dataType == DataType.DATE ? dateTime.toLocalDate().toString() : dateTime.format(DATE_TIME_FORMATTER);
+		}
+
+		/**
+		 * Formats the edges of the histogram bins with a precision depending on the range of the values.
+		 */
+		private class EdgeFormat {
+			private final int decimalPlaces;
+			private final boolean scientificNotation;
+
+			private EdgeFormat(final double min, final double max, final int numberBins) {
+				final double range = max - min;
+				final double binWidth = range / numberBins;
+
+				if (binWidth == 0 || !Double.isFinite(binWidth)) {
+					decimalPlaces = 2;
+				} else if (Math.abs(binWidth) < 0.0001) {
+					decimalPlaces = Math.min(6, Math.max(0, (int) (-Math.log10(binWidth) + 2)));
+				} else if (range < 10) {
+					decimalPlaces = 2;
+				} else if (range < 50) {
+					decimalPlaces = 1;
+				} else {
+					decimalPlaces = 0;
+				}
+
+				scientificNotation = range > 10000 || Math.abs(min) > 100000 || Math.abs(max) > 100000;
+			}
+
+			private String format(final double value) {
+				if (temporal) {
+					return formatTimestamp(value);
+				}
+
+				if (scientificNotation || (Math.abs(value) > 0 && Math.abs(value) < 0.0001) ||
+				    Math.abs(value) >= 1000000) {
+					return formatScientific(value);
+				}
+				return new BigDecimal(value).setScale(decimalPlaces, RoundingMode.HALF_EVEN).toPlainString();
+			}
+		}
+	}
+
+	private static Map<String, Object> frequency(final String label, final double value) {
+		final Map<String, Object> frequency = new LinkedHashMap<>();
+		frequency.put("label", label);
+		frequency.put("value", value);
+		frequency.put("color_index", 0);
+		return frequency;
+	}
+
+	private static Map<String, Object> plotData(final List<Map<String, Object>> frequencies, final String name) {
+		final Map<String, Object> plotData = new LinkedHashMap<>();
+		plotData.put("frequencies", frequencies);
+		plotData.put("x_axis", name);
+		plotData.put("y_axis", "Percentage");
+		return plotData;
+	}
+
+	/**
+	 * Calculates the quantile with linear interpolation like pandas and numpy.
+	 *
+	 * @param sortedValues The sorted distinct values.
+	 * @param counts       The counts of the distinct values.
+	 * @param multiplier   Factor applied to all counts.
+	 * @param probability  The probability of the quantile.
+	 * @return The quantile.
+	 */
+	static double quantile(final double[] sortedValues, final long[] counts, final long multiplier,
+	                       final double probability) {
+		final long total = Arrays.stream(counts).sum() * multiplier;
+		final double position = (total - 1) * probability;
+		final long lowerIndex = (long) Math.floor(position);
+		final double fraction = position - lowerIndex;
+
+		final double lower = valueAt(sortedValues, counts, multiplier, lowerIndex);
+		final double upper = valueAt(sortedValues, counts, multiplier, Math.min(lowerIndex + 1, total - 1));
+		return fraction >= 0.5
+		       ? upper - (upper - lower) * (1 - fraction)
+		       : lower + (upper - lower) * fraction;
+	}
+
+	private static double valueAt(final double[] sortedValues, final long[] counts, final long multiplier,
+	                              final long index) {
+		long cumulativeCount = 0;
+		for (int i = 0; i < sortedValues.length; i++) {
+			cumulativeCount += counts[i] * multiplier;
+			if (index < cumulativeCount) {
+				return sortedValues[i];
+			}
+		}
+		return sortedValues[sortedValues.length - 1];
+	}
+
+	/**
+	 * Formats the value like Python's '{:.2e}'.
+	 */
+	private static String formatScientific(final double value) {
+		if (value == 0) {
+			return "0.00e+00";
+		}
+
+		final BigDecimal rounded = new BigDecimal(value).round(new MathContext(3, RoundingMode.HALF_EVEN));
+		final int exponent = rounded.precision() - rounded.scale() - 1;
+		final BigDecimal mantissa = rounded.movePointLeft(exponent).setScale(2, RoundingMode.HALF_EVEN);
+		return mantissa.toPlainString() + (exponent < 0 ? "e-" : "e+") + String.format("%02d", Math.abs(exponent));
+	}
+
+	private static String round(final double value) {
+		return new BigDecimal(value).setScale(0, RoundingMode.HALF_EVEN).toPlainString();
+	}
+}
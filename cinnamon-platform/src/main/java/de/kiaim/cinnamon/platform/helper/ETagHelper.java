@@ -0,0 +1,84 @@
+package de.kiaim.cinnamon.platform.helper;
+
+import de.kiaim.cinnamon.platform.model.entity.DataSetEntity;
+import de.kiaim.cinnamon.platform.model.entity.LobWrapperEntity;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Helper for conditional requests of data set resources.
+ * ETags are derived from the ID and the {@link DataSetEntity#getContentVersion() content version} of the data set,
+ * so they can be validated without loading the data.
+ * The ETags are weak because Tomcat does not compress responses containing a strong ETag.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public class ETagHelper {
+
+	/**
+	 * Creates the ETag for the given data set.
+	 *
+	 * @param dataSet The data set.
+	 * @return The ETag.
+	 */
+	public static String forDataSet(final DataSetEntity dataSet) {
+		return toETag(versionOf(dataSet));
+	}
+
+	/**
+	 * Creates the ETag for a resource depending on the given data set and the original data set of the project.
+	 *
+	 * @param dataSet         The data set.
+	 * @param originalDataSet The original data set. Null if the project does not contain an original data set.
+	 * @return The ETag.
+	 */
+	public static String forDataSet(final DataSetEntity dataSet, @Nullable final DataSetEntity originalDataSet) {
+		if (originalDataSet == null || originalDataSet == dataSet) {
+			return forDataSet(dataSet);
+		}
+
+		return toETag(versionOf(dataSet) + "-" + versionOf(originalDataSet));
+	}
+
+	/**
+	 * Creates the ETag for a result file of a process of the given data set.
+	 *
+	 * @param dataSet    The data set.
+	 * @param resultFile The result file.
+	 * @return The ETag.
+	 */
+	public static String forResult(final DataSetEntity dataSet, final LobWrapperEntity resultFile) {
+		return toETag(versionOf(dataSet) + "-" + resultFile.getId());
+	}
+
+	/**
+	 * Validates the ETag against the conditional headers of the request.
+	 * Adds the ETag and the caching headers to the response.
+	 * If the resource has not been modified, the status of the response is set to 304 and the handler must return null.
+	 *
+	 * @param webRequest The current request.
+	 * @param eTag       The current ETag of the resource.
+	 * @return If the resource has not been modified.
+	 */
+	public static boolean checkNotModified(final ServletWebRequest webRequest, final String eTag) {
+		final HttpServletResponse response = webRequest.getResponse();
+		if (response != null) {
+			// Browsers have to revalidate the resource, responses differ by the content type
+			response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+			response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		}
+
+		return webRequest.checkNotModified(eTag);
+	}
+
+	private static String versionOf(final DataSetEntity dataSet) {
+		return dataSet.getId() + "-" + dataSet.getContentVersion();
+	}
+
+	private static String toETag(final String value) {
+		return "W/\"" + value + "\"";
+	}
+}
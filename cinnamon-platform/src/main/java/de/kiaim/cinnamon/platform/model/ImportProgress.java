@@ -0,0 +1,146 @@
+package de.kiaim.cinnamon.platform.model;
+
+import org.springframework.lang.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Progress of a running import job.
+ * Is updated by the importing thread and read by the requests polling the status.
+ * The import is canceled cooperatively, the importing thread checks {@link #isCanceled()} between rows.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public class ImportProgress {
+
+	private final AtomicLong bytesRead = new AtomicLong();
+	private final AtomicLong rowsStored = new AtomicLong();
+	private final AtomicLong errorsFound = new AtomicLong();
+
+	private volatile boolean canceled = false;
+
+	/**
+	 * ID of the data set the rows are stored in, so the table can be removed if the import fails.
+	 */
+	@Nullable
+	private volatile Long dataSetId = null;
+
+	/**
+	 * Listener notified when the data set has been created.
+	 */
+	@Nullable
+	private final LongConsumer dataSetListener;
+
+	public ImportProgress() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new progress.
+	 *
+	 * @param dataSetListener Listener notified with the ID of the data set when the data set has been created.
+	 */
+	public ImportProgress(@Nullable final LongConsumer dataSetListener) {
+		this.dataSetListener = dataSetListener;
+	}
+
+	public long getBytesRead() {
+		return bytesRead.get();
+	}
+
+	public long getRowsStored() {
+		return rowsStored.get();
+	}
+
+	public long getErrorsFound() {
+		return errorsFound.get();
+	}
+
+	public boolean isCanceled() {
+		return canceled;
+	}
+
+	@Nullable
+	public Long getDataSetId() {
+		return dataSetId;
+	}
+
+	public void setDataSetId(@Nullable final Long dataSetId) {
+		this.dataSetId = dataSetId;
+		if (dataSetId != null && dataSetListener != null) {
+			dataSetListener.accept(dataSetId);
+		}
+	}
+
+	/**
+	 * Requests the import to stop.
+	 */
+	public void cancel() {
+		canceled = true;
+	}
+
+	/**
+	 * Increments the number of stored rows.
+	 */
+	public void addStoredRow() {
+		rowsStored.incrementAndGet();
+	}
+
+	/**
+	 * Adds the given number of invalid values.
+	 *
+	 * @param errors The number of invalid values.
+	 */
+	public void addErrors(final long errors) {
+		errorsFound.addAndGet(errors);
+	}
+
+	/**
+	 * Wraps the given stream, so read bytes are counted.
+	 * Reading from the stream fails if the import has been canceled.
+	 *
+	 * @param inputStream The stream of the file.
+	 * @return The wrapped stream.
+	 */
+	public InputStream track(final InputStream inputStream) {
+		return new FilterInputStream(inputStream) {
+			@Override
+			public int read() throws IOException {
+				throwIfCanceled();
+				final int b = super.read();
+				if (b != -1) {
+					bytesRead.incrementAndGet();
+				}
+				return b;
+			}
+
+			@Override
+			public int read(final byte[] b, final int off, final int len) throws IOException {
+				throwIfCanceled();
+				final int read = super.read(b, off, len);
+				if (read > 0) {
+					bytesRead.addAndGet(read);
+				}
+				return read;
+			}
+
+			@Override
+			public long skip(final long n) throws IOException {
+				final long skipped = super.skip(n);
+				bytesRead.addAndGet(skipped);
+				return skipped;
+			}
+		};
+	}
+
+	private void throwIfCanceled() throws InterruptedIOException {
+		if (canceled) {
+			throw new InterruptedIOException("The import has been canceled!");
+		}
+	}
+}
@@ -18,6 +18,12 @@ import java.util.TreeMap;
 @Getter @Setter
 public class CinnamonConfiguration {
 
+	/**
+	 * Configuration of the health checks of external server instances.
+	 */
+	@NestedConfigurationProperty
+	private HealthCheckConfiguration healthCheck = new HealthCheckConfiguration();
+
 	@NestedConfigurationProperty
 	private PasswordRequirementsConfiguration passwordRequirements = new PasswordRequirementsConfiguration();
 
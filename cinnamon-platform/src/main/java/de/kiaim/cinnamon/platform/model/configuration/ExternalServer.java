@@ -64,6 +64,14 @@ public class ExternalServer {
 	@Nullable
 	private String reportEndpoint = null;
 
+	/**
+	 * Timeout in milliseconds for the report endpoint.
+	 * If the request timeouts the report content of the server is omitted.
+	 * <p>
+	 * The default value is 30 s.
+	 */
+	private int reportTimeout = 30_000;
+
 	//=========================
 	//--- Automatically set ---
 	//=========================
@@ -0,0 +1,52 @@
+package de.kiaim.cinnamon.platform.model.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the background health checks of external server instances.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Getter @Setter
+public class HealthCheckConfiguration {
+
+	/**
+	 * If the instances are checked in the background.
+	 * If disabled, no checks are performed and all instances are reported as UNKNOWN.
+	 * <p>
+	 * The default value is true.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Interval between two health checks of a healthy instance in milliseconds.
+	 * <p>
+	 * The default value is 30 s.
+	 */
+	private long interval = 30_000;
+
+	/**
+	 * Maximum interval between two health checks of an unhealthy instance in milliseconds.
+	 * The interval is doubled for each consecutive failed check until this value is reached.
+	 * <p>
+	 * The default value is 5 min.
+	 */
+	private long maxBackoff = 300_000;
+
+	/**
+	 * Fraction of the interval that is randomly added or subtracted,
+	 * so the checks of different instances are spread out.
+	 * <p>
+	 * The default value is 0.2.
+	 */
+	private double jitter = 0.2;
+
+	/**
+	 * Age in milliseconds after which the result of a health check is no longer used.
+	 * Stale instances are reported as UNKNOWN.
+	 * <p>
+	 * The default value is 10 min.
+	 */
+	private long staleness = 600_000;
+}
@@ -0,0 +1,52 @@
+package de.kiaim.cinnamon.platform.model.dto;
+
+import de.kiaim.cinnamon.platform.model.enumeration.FilterOperator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Condition on the values of a single column.
+ * Values are given as strings in the same format as in the exported data, e.g. ISO-8601 for dates.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class ColumnFilter {
+
+	/**
+	 * Name of the column.
+	 */
+	@NotBlank
+	private String column;
+
+	/**
+	 * The operator comparing the values of the column.
+	 */
+	@NotNull
+	private FilterOperator operator;
+
+	/**
+	 * The value the column is compared to.
+	 * Required for all operators except {@link FilterOperator#BETWEEN}, {@link FilterOperator#IN},
+	 * {@link FilterOperator#IS_NULL} and {@link FilterOperator#IS_NOT_NULL}.
+	 */
+	@Nullable
+	private String value = null;
+
+	/**
+	 * The values the column is compared to.
+	 * Contains the lower and the upper bound for {@link FilterOperator#BETWEEN}
+	 * and the accepted values for {@link FilterOperator#IN}.
+	 */
+	private List<String> values = new ArrayList<>();
+}
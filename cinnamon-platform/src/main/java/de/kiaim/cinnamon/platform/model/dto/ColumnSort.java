@@ -0,0 +1,30 @@
+package de.kiaim.cinnamon.platform.model.dto;
+
+import de.kiaim.cinnamon.platform.model.enumeration.SortDirection;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sort order of a single column.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+public class ColumnSort {
+
+	/**
+	 * Name of the column.
+	 */
+	@NotBlank
+	private String column;
+
+	/**
+	 * The direction.
+	 */
+	private SortDirection direction = SortDirection.ASC;
+}
@@ -0,0 +1,50 @@
+package de.kiaim.cinnamon.platform.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query for filtering and sorting the rows of a data set.
+ * The columns are selected with {@link LoadDataRequest#getColumns()}.
+ * All conditions must be fulfilled by a row.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Schema(description = "Query for filtering and sorting the rows of a data set.",
+        example = """
+                  {"filters":[{"column":"age","operator":"GREATER_THAN","value":"30"}],\
+                  "sort":[{"column":"name","direction":"DESC"}],"search":"Berlin"}""")
+@NoArgsConstructor
+@Getter @Setter
+public class DataSetQuery {
+
+	/**
+	 * Conditions on the values of single columns.
+	 */
+	private List<ColumnFilter> filters = new ArrayList<>();
+
+	/**
+	 * Columns the rows are sorted by, in the given order.
+	 * Rows with equal values are sorted by their position in the data set.
+	 */
+	private List<ColumnSort> sort = new ArrayList<>();
+
+	/**
+	 * Text that must be contained in at least one string or text column, ignoring the case.
+	 */
+	@Nullable
+	private String search = null;
+
+	/**
+	 * @return If the query does not change the selection or the order of the rows.
+	 */
+	public boolean isEmpty() {
+		return filters.isEmpty() && sort.isEmpty() && (search == null || search.isEmpty());
+	}
+}
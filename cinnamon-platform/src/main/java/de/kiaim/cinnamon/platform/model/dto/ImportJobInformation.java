@@ -0,0 +1,46 @@
+package de.kiaim.cinnamon.platform.model.dto;
+
+import de.kiaim.cinnamon.platform.model.enumeration.ImportJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Status and progress of an import job.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Schema(description = "Status and progress of an import job.")
+@NoArgsConstructor @AllArgsConstructor
+@Getter @Setter
+public class ImportJobInformation {
+
+	@Schema(description = "The unique identifier of the import job.", example = "0c7d5e3e-6a63-4d5c-9d1e-58b7a1e0d2f4")
+	private String jobId;
+
+	@Schema(description = "The current status of the import job.", example = "RUNNING")
+	private ImportJobStatus status;
+
+	@Schema(description = "Size of the file in bytes.", example = "1048576")
+	private long totalBytes;
+
+	@Schema(description = "Number of bytes read from the file.", example = "524288")
+	private long bytesRead;
+
+	@Schema(description = "Number of rows stored so far.", example = "5000")
+	private long rowsStored;
+
+	@Schema(description = "Number of invalid values found in the data.", example = "12")
+	private long errorsFound;
+
+	@Schema(description = "Error code if the import failed.", example = "PLATFORM_1_13_1")
+	@Nullable
+	private String errorCode;
+
+	@Schema(description = "Error message if the import failed.")
+	@Nullable
+	private String errorMessage;
+}
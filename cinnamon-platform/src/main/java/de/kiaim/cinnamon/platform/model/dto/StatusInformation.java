@@ -0,0 +1,33 @@
+package de.kiaim.cinnamon.platform.model.dto;
+
+import de.kiaim.cinnamon.platform.model.enumeration.Mode;
+import de.kiaim.cinnamon.platform.model.enumeration.Step;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Information about the status of a project.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Schema(description = "Status of a project.")
+@AllArgsConstructor
+@Getter
+public class StatusInformation {
+
+	/**
+	 * Mode the user has selected.
+	 * Is null if the user did not select a mode.
+	 */
+	@Schema(description = "Mode the user has selected. Null if the user has not selected a mode.")
+	@Nullable
+	private final Mode mode;
+
+	/**
+	 * Current step of the project.
+	 */
+	@Schema(description = "The current step. Intermediate steps for the data configuration are NOT saved.")
+	private final Step currentStep;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.lang.Nullable;
 
 /**
  * General information about a workflow and its status.
@@ -22,6 +23,14 @@ public class WorkflowInformation {
 	@Schema(description = "The unique identifier of the workflow.", example = "9842d632-3c9c-42a5-bd86-26a2d9db2294")
 	private String workflowId;
 
+	/**
+	 * The status of the data set import.
+	 * The pipeline is started once the import has finished.
+	 */
+	@Schema(description = "The status of the data set import. The pipeline is started once the import has finished.")
+	@Nullable
+	private ImportJobInformation importJob;
+
 	/**
 	 * The status of the pipeline execution.
 	 */
@@ -10,6 +10,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.Type;
 import org.springframework.lang.Nullable;
 
@@ -20,8 +21,9 @@ import java.util.Set;
 
 /**
  * Entity containing the metadata of a data set.
- * The data is stored in a separate table.
+ * The data is stored in a separate table or, after archiving, in a compressed archive.
  * The ID is used for identifying the table in the database.
+ * Setters modifying the content increment the {@link #contentVersion}.
  *
  * @author Daniel Preciado-Marquez
  */
@@ -34,37 +36,52 @@ public class DataSetEntity extends ProcessOwner {
 	 */
 	@Type(JsonType.class)
 	@Column(columnDefinition = "json")
-	@Setter
 	private DataConfiguration dataConfiguration;
 
 	/**
 	 * If the data has been stored into the extra table.
 	 */
 	@Column(nullable = false)
-	@Setter
 	private boolean storedData = false;
 
 	/**
 	 * If the data has hold-out split.
 	 */
 	@Column(nullable = false)
-	@Setter
 	private boolean hasHoldOut = false;
 
 	/**
 	 * Seed that is used for generating the hold-out split.
 	 */
 	@Column(nullable = false)
-	@Setter
 	private int holdOutSeed = 0;
 
 	/**
 	 * If the data has been stored and confirmed.
 	 */
 	@Column(nullable = false)
-	@Setter
 	private boolean confirmedData = false;
 
+	/**
+	 * Version of the content.
+	 * Incremented whenever the data, the configuration, the transformation errors or the hold-out split changes.
+	 * Used for the ETags of responses containing the data set.
+	 */
+	@Column(nullable = false)
+	@ColumnDefault("0")
+	private long contentVersion = 0;
+
+	/**
+	 * Compressed columnar archive containing the rows if the data set has been archived.
+	 * Archived data sets have no table, see {@link de.kiaim.cinnamon.platform.storage.DataSetArchiveWriter}.
+	 * Changing the archive does not change the content.
+	 */
+	@OneToOne(fetch = FetchType.LAZY, orphanRemoval = true, cascade = CascadeType.ALL)
+	@JoinColumn(name = "archive_id")
+	@Setter
+	@Nullable
+	private LobWrapperEntity archive = null;
+
 	/**
 	 * List of transformation errors during the parsing.
 	 */
@@ -75,7 +92,6 @@ public class DataSetEntity extends ProcessOwner {
 	 * List of steps that have modified this data set.
 	 */
 	@Convert(converter = StepListAttributeConverter.class)
-	@Setter
 	private List<Job> processed = new ArrayList<>();
 
 	/**
@@ -123,12 +139,50 @@ public class DataSetEntity extends ProcessOwner {
 		return this.id;
 	}
 
+	public void setDataConfiguration(final DataConfiguration dataConfiguration) {
+		this.dataConfiguration = dataConfiguration;
+		this.contentVersion++;
+	}
+
+	public void setStoredData(final boolean storedData) {
+		this.storedData = storedData;
+		this.contentVersion++;
+	}
+
+	public void setHasHoldOut(final boolean hasHoldOut) {
+		this.hasHoldOut = hasHoldOut;
+		this.contentVersion++;
+	}
+
+	public void setHoldOutSeed(final int holdOutSeed) {
+		this.holdOutSeed = holdOutSeed;
+		this.contentVersion++;
+	}
+
+	public void setConfirmedData(final boolean confirmedData) {
+		this.confirmedData = confirmedData;
+		this.contentVersion++;
+	}
+
+	public void setProcessed(final List<Job> processed) {
+		this.processed = processed;
+		this.contentVersion++;
+	}
+
+	/**
+	 * Marks the content as changed, e.g. if the hold-out configuration of the original data has been changed.
+	 */
+	public void incrementContentVersion() {
+		this.contentVersion++;
+	}
+
 	/**
 	 * Adds the given transformation error to the data set.
 	 * @param dataTransformationError The error to be added.
 	 */
 	public void addDataRowTransformationError(final DataTransformationErrorEntity dataTransformationError) {
 		dataTransformationErrors.add(dataTransformationError);
+		contentVersion++;
 
 		if (dataTransformationError.getDataSet() != this) {
 			dataTransformationError.setDataSet(this);
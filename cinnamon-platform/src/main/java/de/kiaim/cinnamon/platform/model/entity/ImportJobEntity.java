@@ -0,0 +1,122 @@
+package de.kiaim.cinnamon.platform.model.entity;
+
+import de.kiaim.cinnamon.platform.model.enumeration.ImportJobStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.lang.Nullable;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Import of the original data set running in the background.
+ * The data is read from the file stored in the project, so jobs interrupted by a restart can be repeated.
+ * The progress is only persisted when the job ends.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Entity
+@Getter @Setter
+public class ImportJobEntity {
+
+	/**
+	 * Database ID of the job.
+	 */
+	@GeneratedValue(strategy = GenerationType.SEQUENCE)
+	@Id
+	private Long id;
+
+	/**
+	 * ID of the job for external identification.
+	 */
+	@Column(nullable = false, unique = true)
+	private UUID jobId;
+
+	/**
+	 * The project the data is imported into.
+	 */
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "project_id", nullable = false)
+	private ProjectEntity project;
+
+	/**
+	 * Current status of the job.
+	 */
+	@Column(nullable = false)
+	@Enumerated(EnumType.STRING)
+	private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+	/**
+	 * If the data set should be confirmed after it has been stored.
+	 */
+	private boolean confirmDataSet;
+
+	/**
+	 * If the pipeline of the project should be started after the data set has been confirmed.
+	 */
+	private boolean startPipeline;
+
+	/**
+	 * Size of the file in bytes.
+	 */
+	private long totalBytes;
+
+	/**
+	 * Number of bytes read from the file.
+	 */
+	private long bytesRead;
+
+	/**
+	 * Number of rows stored in the data set table.
+	 */
+	private long rowsStored;
+
+	/**
+	 * Number of invalid values found in the data.
+	 */
+	private long errorsFound;
+
+	/**
+	 * ID of the data set created by the job.
+	 * Is committed before the data is stored, so partially stored data can be removed after a restart.
+	 */
+	@Nullable
+	private Long dataSetId;
+
+	/**
+	 * Error code of the exception that caused the job to fail.
+	 */
+	@Nullable
+	private String errorCode;
+
+	/**
+	 * Message of the exception that caused the job to fail.
+	 */
+	@Nullable
+	@Column(length = 1024)
+	private String errorMessage;
+
+	/**
+	 * Timestamp when the job has been created.
+	 */
+	@Column(nullable = false)
+	private Timestamp createdAt;
+
+	/**
+	 * Timestamp when the job has ended.
+	 */
+	@Nullable
+	private Timestamp finishedAt;
+
+	public void setProject(final ProjectEntity newProject) {
+		final ProjectEntity oldProject = this.project;
+		this.project = newProject;
+		if (oldProject != null) {
+			oldProject.getImportJobs().remove(this);
+		}
+		if (newProject != null && !newProject.getImportJobs().contains(this)) {
+			newProject.getImportJobs().add(this);
+		}
+	}
+}
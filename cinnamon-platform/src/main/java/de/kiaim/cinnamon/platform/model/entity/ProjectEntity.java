@@ -77,6 +77,13 @@ public class ProjectEntity {
 	@OrderBy("pipelineIndex")
 	private final List<PipelineEntity> pipelines = new ArrayList<>();
 
+	/**
+	 * Import jobs of the original data ordered by their creation.
+	 */
+	@OneToMany(mappedBy = "project", fetch = FetchType.LAZY, orphanRemoval = true, cascade = CascadeType.ALL)
+	@OrderBy("id")
+	private final List<ImportJobEntity> importJobs = new ArrayList<>();
+
 	/**
 	 * User that owns this configuration and the corresponding data set.
 	 * Can be null if the project is part of a workflow.
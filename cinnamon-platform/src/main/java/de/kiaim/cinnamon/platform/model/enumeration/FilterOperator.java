@@ -0,0 +1,55 @@
+package de.kiaim.cinnamon.platform.model.enumeration;
+
+/**
+ * Operators for filtering the rows of a data set by the values of a column.
+ */
+public enum FilterOperator {
+	/**
+	 * Value is equal to the given value.
+	 */
+	EQUALS,
+	/**
+	 * Value is not equal to the given value. Null values are not included.
+	 */
+	NOT_EQUALS,
+	/**
+	 * Value is less than the given value. Not supported for booleans.
+	 */
+	LESS_THAN,
+	/**
+	 * Value is less than or equal to the given value. Not supported for booleans.
+	 */
+	LESS_THAN_OR_EQUALS,
+	/**
+	 * Value is greater than the given value. Not supported for booleans.
+	 */
+	GREATER_THAN,
+	/**
+	 * Value is greater than or equal to the given value. Not supported for booleans.
+	 */
+	GREATER_THAN_OR_EQUALS,
+	/**
+	 * Value is between the two given values, inclusive. Not supported for booleans.
+	 */
+	BETWEEN,
+	/**
+	 * Value is one of the given values.
+	 */
+	IN,
+	/**
+	 * Value is missing.
+	 */
+	IS_NULL,
+	/**
+	 * Value is present.
+	 */
+	IS_NOT_NULL,
+	/**
+	 * Value contains the given value, ignoring the case. Only supported for strings and texts.
+	 */
+	CONTAINS,
+	/**
+	 * Value starts with the given value, ignoring the case. Only supported for strings and texts.
+	 */
+	STARTS_WITH,
+}
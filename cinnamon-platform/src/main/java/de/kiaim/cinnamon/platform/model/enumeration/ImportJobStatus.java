@@ -0,0 +1,39 @@
+package de.kiaim.cinnamon.platform.model.enumeration;
+
+/**
+ * Status of an import job.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public enum ImportJobStatus {
+	/**
+	 * The job is waiting for a free thread.
+	 */
+	QUEUED,
+	/**
+	 * The data is being read and stored.
+	 */
+	RUNNING,
+	/**
+	 * The data has been stored successfully.
+	 */
+	FINISHED,
+	/**
+	 * The import failed, the partially stored data has been removed.
+	 */
+	FAILED,
+	/**
+	 * The import has been canceled by the user, the partially stored data has been removed.
+	 */
+	CANCELED,
+	;
+
+	/**
+	 * Checks if the job has ended and will not change anymore.
+	 *
+	 * @return If the job has ended.
+	 */
+	public boolean isFinished() {
+		return this == FINISHED || this == FAILED || this == CANCELED;
+	}
+}
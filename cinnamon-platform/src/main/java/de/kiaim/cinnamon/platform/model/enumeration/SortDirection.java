@@ -0,0 +1,10 @@
+package de.kiaim.cinnamon.platform.model.enumeration;
+
+/**
+ * Direction for sorting the rows of a data set.
+ * Null values are always placed last.
+ */
+public enum SortDirection {
+	ASC,
+	DESC,
+}
@@ -14,4 +14,10 @@ public enum StepInputEncoding {
 	 * Writes the data and data configuration into one JSON file.
 	 */
 	JSON,
+	/**
+	 * Writes the data and data configuration into the compact binary format of
+	 * {@link de.kiaim.cinnamon.model.serialization.DataSetBinaryCodec}.
+	 * Only supported for data sets.
+	 */
+	BINARY,
 }
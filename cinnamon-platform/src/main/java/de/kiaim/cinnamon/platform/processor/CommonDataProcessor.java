@@ -13,11 +13,19 @@ import de.kiaim.cinnamon.platform.model.DataTransformationError;
 import de.kiaim.cinnamon.platform.model.Pair;
 import de.kiaim.cinnamon.platform.model.dto.DataConfigurationEstimation;
 import de.kiaim.cinnamon.platform.model.enumeration.DatatypeEstimationAlgorithm;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 @Getter
@@ -42,6 +50,26 @@ public abstract class CommonDataProcessor implements DataProcessor {
 	@Value("${cinnamon.estimation.sample-size}")
 	public int maxSampleSize;
 
+	/**
+	 * If the samples should be drawn uniformly from the whole file by reservoir sampling.
+	 * Otherwise, the first non-empty values of each column are used.
+	 */
+	@Value("${cinnamon.estimation.reservoir-sampling}")
+	protected boolean reservoirSampling;
+
+	/**
+	 * Max number of threads used for estimating the column configurations in parallel.
+	 */
+	@Value("${cinnamon.estimation.parallelism}")
+	protected int estimationParallelism;
+
+	/**
+	 * Bounded pool for estimating the column configurations. Created on first use.
+	 */
+	@Nullable
+	@Getter(AccessLevel.NONE)
+	private ExecutorService estimationExecutor;
+
     @Autowired
     DataTransformationHelper dataTransformationHelper;
 
@@ -183,16 +211,22 @@ public abstract class CommonDataProcessor implements DataProcessor {
         final List<ColumnConfiguration> estimatedColumnConfigurations = new ArrayList<>(numberColumns);
         final float[] confidence = new float[numberColumns];
 
-        for (int sampleIndex = 0; sampleIndex < samples.size(); sampleIndex++) {
-            final var attributeSample = samples.get(sampleIndex);
+        // Columns are independent of each other, so they can be estimated in parallel
+        final Executor executor = samples.size() > 1 && estimationParallelism > 1
+                                  ? getOrCreateEstimationExecutor()
+                                  : Runnable::run;
+        final List<CompletableFuture<Pair<ColumnConfiguration, Float>>> estimations = new ArrayList<>(samples.size());
+        for (final List<String> attributeSample : samples) {
+            estimations.add(CompletableFuture.supplyAsync(() -> attributeSample.isEmpty()
+                                                                 ? new Pair<>(new ColumnConfiguration(), 0.0f)
+                                                                 : estimateColumnConfiguration(attributeSample, algorithm),
+                                                          executor));
+        }
 
-            if (attributeSample.isEmpty()) {
-                estimatedColumnConfigurations.add(new ColumnConfiguration());
-            } else {
-                final var estimation = estimateColumnConfiguration(attributeSample, algorithm);
-                estimatedColumnConfigurations.add(estimation.element0());
-                confidence[sampleIndex] = estimation.element1();
-            }
+        for (int sampleIndex = 0; sampleIndex < estimations.size(); sampleIndex++) {
+            final var estimation = estimations.get(sampleIndex).join();
+            estimatedColumnConfigurations.add(estimation.element0());
+            confidence[sampleIndex] = estimation.element1();
         }
 
         final DataConfiguration dataConfiguration = buildDataConfiguration(estimatedColumnConfigurations, columnNames);
@@ -211,12 +245,17 @@ public abstract class CommonDataProcessor implements DataProcessor {
     /**
      * Extracts samples for each attribute from the given rows.
      * Outer list of the result contains an entry for each attribute. Inner lists contain at maximum {@link #maxSampleSize} values.
+     * If {@link #reservoirSampling} is enabled, the samples are drawn from all rows, otherwise the first values are used.
      *
      * @param rows          Rows of the dataset without header.
      * @param numberColumns Number of attributes in the dataset.
      * @return The samples.
      */
     protected List<List<String>> getAttributeSamples(final Iterator<? extends Iterable<String>> rows, final int numberColumns) {
+        if (reservoirSampling) {
+            return getReservoirAttributeSamples(rows, numberColumns);
+        }
+
         // Prepare result
         int finishedCount = 0;
         final List<List<String>> samples = new ArrayList<>();
@@ -254,6 +293,79 @@ public abstract class CommonDataProcessor implements DataProcessor {
         return samples;
     }
 
+    /**
+     * Draws a uniform sample of non-empty values for each attribute from all given rows using reservoir sampling.
+     * A fixed seed is used, so the estimation is reproducible for the same file.
+     * Outer list of the result contains an entry for each attribute. Inner lists contain at maximum {@link #maxSampleSize} values.
+     *
+     * @param rows          Rows of the dataset without header.
+     * @param numberColumns Number of attributes in the dataset.
+     * @return The samples.
+     */
+    private List<List<String>> getReservoirAttributeSamples(final Iterator<? extends Iterable<String>> rows,
+                                                            final int numberColumns) {
+        final Random random = new Random(0);
+        final long[] numberValues = new long[numberColumns];
+        final List<List<String>> samples = new ArrayList<>();
+        for (int i = 0; i < numberColumns; i++) {
+            samples.add(new ArrayList<>());
+        }
+
+        while (rows.hasNext()) {
+            final var rowIterator = rows.next().iterator();
+
+            int currentColumn = 0;
+            while (rowIterator.hasNext() && currentColumn < numberColumns) {
+                final var value = rowIterator.next();
+
+                if (!dataTransformationHelper.isValueEmpty(value)) {
+                    final List<String> columnSamples = samples.get(currentColumn);
+                    numberValues[currentColumn]++;
+
+                    if (columnSamples.size() < maxSampleSize) {
+                        columnSamples.add(value);
+                    } else {
+                        // Replace a random sample with the probability maxSampleSize / numberValues
+                        final long index = random.nextLong(numberValues[currentColumn]);
+                        if (index < maxSampleSize) {
+                            columnSamples.set((int) index, value);
+                        }
+                    }
+                }
+
+                currentColumn++;
+            }
+        }
+
+        return samples;
+    }
+
+    /**
+     * Shuts down the pool used for the estimation.
+     */
+    @PreDestroy
+    public synchronized void shutdownEstimationExecutor() {
+        if (estimationExecutor != null) {
+            estimationExecutor.shutdownNow();
+            estimationExecutor = null;
+        }
+    }
+
+    /**
+     * Returns the bounded pool used for estimating the column configurations in parallel.
+     * The pool is created on first use.
+     *
+     * @return The executor.
+     */
+    private synchronized ExecutorService getOrCreateEstimationExecutor() {
+        if (estimationExecutor == null) {
+            final var threadFactory = new CustomizableThreadFactory("DataEstimation-");
+            threadFactory.setDaemon(true);
+            estimationExecutor = Executors.newFixedThreadPool(estimationParallelism, threadFactory);
+        }
+        return estimationExecutor;
+    }
+
     private List<ColumnConfiguration> getColumnConfigurationForIndex(
             List<ColumnConfiguration> configurations,
             int index
@@ -280,9 +392,10 @@ public abstract class CommonDataProcessor implements DataProcessor {
             final DatatypeEstimationAlgorithm algorithm
     ) {
         // Estimate the column configuration for all samples
+        final List<Pair<DataType, DataBuilder>> processingOrder = getProcessingOrder();
         final List<ColumnConfiguration> columnConfigurationForSamples = new ArrayList<>();
         for (final String attributeSample : attributeSamples) {
-            columnConfigurationForSamples.add(estimateColumnConfigurationFromSample(attributeSample));
+            columnConfigurationForSamples.add(estimateColumnConfigurationFromSample(attributeSample, processingOrder));
         }
 
         // Get the estimated data type based on the given algorithm
@@ -312,7 +425,20 @@ public abstract class CommonDataProcessor implements DataProcessor {
      * @return The estimated column configuration.
      */
     private ColumnConfiguration estimateColumnConfigurationFromSample(final String sample) {
-        List<Pair<DataType, DataBuilder>> processingOrder = getProcessingOrder();
+        return estimateColumnConfigurationFromSample(sample, getProcessingOrder());
+    }
+
+    /**
+     * Tries to estimate a column configuration for the given sample using the given builders.
+     * The first valid transformation determines the datatype estimation and the configurations.
+     * The estimation of the builders does not rely on exceptions, so rejecting a data type is cheap.
+     *
+     * @param sample          A single sample value.
+     * @param processingOrder The builders in the order they are tried.
+     * @return The estimated column configuration.
+     */
+    private ColumnConfiguration estimateColumnConfigurationFromSample(final String sample,
+                                                                      final List<Pair<DataType, DataBuilder>> processingOrder) {
         var columnConfiguration = new ColumnConfiguration();
 
         for (final Pair<DataType, DataBuilder> processor : processingOrder) {
@@ -0,0 +1,132 @@
+package de.kiaim.cinnamon.platform.processor;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Finds the ends of records in the bytes of a CSV file, so the file can be split into chunks that are parsed independently.
+ * The bytes have to be passed in order, because the finder keeps track if the current position is inside a quoted value.
+ * Follows the rules of the Apache Commons CSV parser:
+ * A quote char only starts a quoted value at the beginning of a value,
+ * two quote chars inside a quoted value are an escaped quote
+ * and line breaks inside quoted values do not end a record.
+ * If a quoted value is followed by other characters, the parser would treat the data differently,
+ * so the position of record ends is ambiguous and splitting must not be continued.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public class CsvBoundaryFinder {
+
+	private enum State {
+		/**
+		 * At the beginning of a value.
+		 */
+		VALUE_START,
+		/**
+		 * Inside a value that is not quoted.
+		 */
+		UNQUOTED,
+		/**
+		 * Inside a quoted value.
+		 */
+		QUOTED,
+		/**
+		 * A quote char has been found inside a quoted value, which either closes the value or escapes another quote.
+		 */
+		QUOTED_QUOTE,
+		/**
+		 * The data cannot be split reliably.
+		 */
+		AMBIGUOUS,
+	}
+
+	private final byte delimiter;
+	private final int quote;
+
+	private State state = State.VALUE_START;
+
+	/**
+	 * Creates a new finder.
+	 * Delimiter and quote char must be ASCII characters, so they can be compared to single bytes of UTF-8 encoded data.
+	 *
+	 * @param delimiter The delimiter separating values.
+	 * @param quote     The quote char. Null if values are not quoted.
+	 */
+	public CsvBoundaryFinder(final char delimiter, @Nullable final Character quote) {
+		if (!isSupported(delimiter, quote)) {
+			throw new IllegalArgumentException("Delimiter and quote char must be ASCII characters!");
+		}
+		this.delimiter = (byte) delimiter;
+		this.quote = quote != null ? quote : -1;
+	}
+
+	/**
+	 * Checks if the finder supports the given delimiter and quote char.
+	 *
+	 * @param delimiter The delimiter separating values.
+	 * @param quote     The quote char. Null if values are not quoted.
+	 * @return If the finder can be used.
+	 */
+	public static boolean isSupported(final char delimiter, @Nullable final Character quote) {
+		return delimiter < 0x80 && delimiter != '\n' && delimiter != '\r' &&
+		       (quote == null || (quote < 0x80 && quote != '\n' && quote != '\r' && quote != delimiter));
+	}
+
+	/**
+	 * Scans the given range of bytes, which must directly follow the bytes passed in the previous call.
+	 *
+	 * @param buffer The buffer containing the bytes.
+	 * @param from   The first position to scan.
+	 * @param to     The position after the last byte to scan.
+	 * @return The position after the last record end in the range, -1 if the range contains no record end or the data is ambiguous.
+	 */
+	public int scan(final byte[] buffer, final int from, final int to) {
+		int boundary = -1;
+
+		for (int i = from; i < to && state != State.AMBIGUOUS; i++) {
+			final byte b = buffer[i];
+
+			switch (state) {
+				case VALUE_START, UNQUOTED -> {
+					if (b == quote && state == State.VALUE_START) {
+						state = State.QUOTED;
+					} else if (b == delimiter || b == '\r') {
+						state = State.VALUE_START;
+					} else if (b == '\n') {
+						state = State.VALUE_START;
+						boundary = i + 1;
+					} else {
+						state = State.UNQUOTED;
+					}
+				}
+				case QUOTED -> {
+					if (b == quote) {
+						state = State.QUOTED_QUOTE;
+					}
+				}
+				case QUOTED_QUOTE -> {
+					if (b == quote) {
+						state = State.QUOTED;
+					} else if (b == delimiter || b == '\r') {
+						state = State.VALUE_START;
+					} else if (b == '\n') {
+						state = State.VALUE_START;
+						boundary = i + 1;
+					} else {
+						state = State.AMBIGUOUS;
+					}
+				}
+			}
+		}
+
+		return state == State.AMBIGUOUS ? -1 : boundary;
+	}
+
+	/**
+	 * Checks if the scanned data cannot be split reliably.
+	 *
+	 * @return If the positions of the record ends are ambiguous.
+	 */
+	public boolean isAmbiguous() {
+		return state == State.AMBIGUOUS;
+	}
+}
@@ -24,18 +24,40 @@ import de.kiaim.cinnamon.platform.service.DataSetService;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
 
 @Service
 public class CsvProcessor extends CommonDataProcessor implements DataProcessor {
 
 	private final DataSetService dataSetService;
 
+	/**
+	 * Number of threads used for parsing a CSV file.
+	 */
+	@Value("${cinnamon.csv.parallelism}")
+	private int parallelism;
+
+	/**
+	 * Minimal number of bytes of the chunks parsed concurrently.
+	 */
+	@Value("${cinnamon.csv.chunk-size}")
+	private int chunkSize;
+
+	/**
+	 * Max number of bytes read from the beginning of a file for estimating the file configuration.
+	 */
+	@Value("${cinnamon.estimation.max-sample-bytes}")
+	private int maxSampleBytes;
+
 	public CsvProcessor(final DataSetService dataSetService) {
 		this.dataSetService = dataSetService;
 	}
@@ -57,13 +79,14 @@ public class CsvProcessor extends CommonDataProcessor implements DataProcessor {
 	 * {@inheritDoc}
 	 *
 	 * Estimates the record separator, delimiter, quote char, and if the file has a header.
+	 * The estimation is based on the first {@link #maxSampleBytes} bytes of the file.
 	 * If the data does not contain a quote char, a double quote is used as default.
 	 */
 	@Override
 	public FileConfigurationEstimation estimateFileConfiguration(final LobWrapperEntity data,
 																 final FileCompatibilityEntity fileCompatibility)
 			throws InternalIOException {
-		final var csvFileConfiguration = estimateCsvFileConfiguration(data.getLobString());
+		final var csvFileConfiguration = estimateCsvFileConfiguration(data.getLobStream());
 		final var fileConfiguration =  new FileConfiguration();
 
 		fileConfiguration.setFileType(FileType.CSV);
@@ -84,26 +107,51 @@ public class CsvProcessor extends CommonDataProcessor implements DataProcessor {
 
 	/**
 	 * {@inheritDoc}
+	 *
+	 * Large files are split into chunks that are parsed and transformed by {@link #parallelism} threads.
 	 */
 	@Override
 	public TransformationResult read(InputStream data, FileConfigurationEntity fileConfiguration,
 	                                 DataConfiguration configuration) throws BadDatasetException, InternalIOException {
+		return read(data, fileConfiguration, configuration, parallelism, chunkSize);
+	}
+
+	/**
+	 * Reads the given CSV file with the given number of threads.
+	 * The file is split into chunks at the ends of records, the chunks are parsed and transformed concurrently,
+	 * and the rows are merged in the order of the file.
+	 * If the file cannot be split reliably, the remaining data is parsed sequentially.
+	 *
+	 * @param data              The CSV file.
+	 * @param fileConfiguration The file configuration describing the format of the CSV file.
+	 * @param configuration     The data configuration.
+	 * @param parallelism       Number of threads used for parsing. 1 parses the file sequentially.
+	 * @param chunkSize         Minimal number of bytes per chunk.
+	 * @return The transformed data set.
+	 * @throws BadDatasetException If a row has too few or too many values.
+	 * @throws InternalIOException If reading the CSV file failed.
+	 */
+	public TransformationResult read(final InputStream data, final FileConfigurationEntity fileConfiguration,
+	                                 final DataConfiguration configuration, final int parallelism, final int chunkSize)
+			throws BadDatasetException, InternalIOException {
 		final CsvFileConfigurationEntity csvFileConfiguration = (CsvFileConfigurationEntity) fileConfiguration;
 
-		final Iterator<CSVRecord> recordIterator = getRecords(data, fileConfiguration);
-		if (recordIterator.hasNext() && csvFileConfiguration.getHasHeader()) {
-			recordIterator.next();
+		final ChunkReader reader = new ChunkReader(csvFileConfiguration, configuration);
+		if (parallelism <= 1 || !isSplittable(csvFileConfiguration)) {
+			reader.parseSequentially(data, csvFileConfiguration.getHasHeader());
+			return reader.getResult();
 		}
 
-		final List<DataRow> dataRows = new ArrayList<>();
-		final List<DataRowTransformationError> errors = new ArrayList<>();
-		int rowIndex = 0;
-		while (recordIterator.hasNext()) {
-			transformRow(Arrays.asList(recordIterator.next().values()), rowIndex, configuration, dataRows, errors);
-			rowIndex += 1;
+		final var threadFactory = new CustomizableThreadFactory("CsvParsing-");
+		threadFactory.setDaemon(true);
+		final ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+		try {
+			reader.parseConcurrently(data, executor, parallelism, chunkSize);
+		} finally {
+			executor.shutdownNow();
 		}
 
-		return new TransformationResult(new DataSet(dataRows, configuration), errors);
+		return reader.getResult();
 	}
 
 	/**
@@ -186,6 +234,21 @@ public class CsvProcessor extends CommonDataProcessor implements DataProcessor {
 		return recordIterator.next().toList();
 	}
 
+	/**
+	 * Checks if files of the given format can be split into chunks.
+	 * The record ends are searched on the raw bytes, so delimiter and quote char must be single ASCII characters.
+	 * Records only separated by carriage returns are not supported.
+	 *
+	 * @param csvFileConfiguration The configuration of the CSV file.
+	 * @return If the file can be split.
+	 */
+	private boolean isSplittable(final CsvFileConfigurationEntity csvFileConfiguration) {
+		final String delimiter = csvFileConfiguration.getColumnSeparator();
+		return delimiter != null && delimiter.length() == 1 &&
+		       !"\r".equals(csvFileConfiguration.getLineSeparator()) &&
+		       CsvBoundaryFinder.isSupported(delimiter.charAt(0), csvFileConfiguration.getQuoteChar());
+	}
+
 	/**
 	 * Builds a CSVFormat form Apache Commons CSV based on the passed configurations of the CsvFileConfiguration.
 	 *
@@ -225,16 +288,34 @@ public class CsvProcessor extends CommonDataProcessor implements DataProcessor {
 
 	/**
 	 * Estimates the CSV-specific configuration.
+	 * Only a prefix of at most {@link #maxSampleBytes} bytes is read from the stream,
+	 * so the cost of the estimation does not depend on the size of the file.
 	 * If the data does not contain a quote char, a double quote is used as default.
 	 *
-	 * @param csv The CSV content.
+	 * @param data The CSV file.
 	 * @return The estimated CSV configuration.
+	 * @throws InternalIOException If reading the CSV file failed.
 	 */
-	private CsvFileConfiguration estimateCsvFileConfiguration(final String csv) {
+	public CsvFileConfiguration estimateCsvFileConfiguration(final InputStream data) throws InternalIOException {
+		final byte[] buffer;
+		try {
+			buffer = data.readNBytes(maxSampleBytes + 1);
+		} catch (final IOException e) {
+			throw new InternalIOException(InternalIOException.CSV_READING, "Failed to read the CSV file!", e);
+		}
+
+		final boolean isTruncated = buffer.length > maxSampleBytes;
+		int sampleLength = Math.min(buffer.length, maxSampleBytes);
+		// Do not split a multibyte character at the end of the sample
+		while (isTruncated && sampleLength > 0 && (buffer[sampleLength] & 0xC0) == 0x80) {
+			sampleLength--;
+		}
+		final String sample = new String(buffer, 0, sampleLength, StandardCharsets.UTF_8);
+
 		final var config = new CsvFileConfiguration();
 
-		estimateRecordSeparator(csv, config);
-		String[] records = csv.split(config.getLineSeparator());
+		estimateRecordSeparator(sample, config);
+		final List<String> records = splitRecords(sample, config.getLineSeparator(), isTruncated);
 		estimateDelimiter(records, config);
 		estimateQuoteChar(records, config);
 		estimateHasHeader(records, config);
@@ -243,19 +324,19 @@ public class CsvProcessor extends CommonDataProcessor implements DataProcessor {
 	}
 
 	/**
-	 * Estimates the record separator by checking which of the line endings is contained in the file.
+	 * Estimates the record separator by checking which of the line endings is contained in the sample.
 	 * Writes the result in the given configuration.
 	 *
-	 * @param csv The CSV content.
+	 * @param sample The beginning of the CSV file.
 	 * @param config The configuration to estimate.
 	 */
-	private void estimateRecordSeparator(final String csv, final CsvFileConfiguration config) {
+	private void estimateRecordSeparator(final String sample, final CsvFileConfiguration config) {
 		final var recordSeparators = Arrays.stream(CsvRecordSeparator.values())
 		                                   .sorted(Comparator.comparingInt(CsvRecordSeparator::getDetectionOrder))
 		                                   .toList();
 		for (final var separator : recordSeparators) {
 			final var separatorString = separator.getSeparator();
-			if (csv.contains(separatorString)) {
+			if (sample.contains(separatorString)) {
 				config.setLineSeparator(separatorString);
 				break;
 			}
@@ -263,37 +344,114 @@ public class CsvProcessor extends CommonDataProcessor implements DataProcessor {
 	}
 
 	/**
-	 * Estimates the delimiter by counting the occurrences for each delimiter in each row and selecting the most used one.
+	 * Splits the sample into records.
+	 * Record separators inside quoted values do not end a record.
+	 * If the sample has been cut off, the last record is incomplete and therefore dropped.
+	 *
+	 * @param sample      The beginning of the CSV file.
+	 * @param separator   The record separator.
+	 * @param isTruncated If the sample does not contain the entire file.
+	 * @return The complete records contained in the sample.
+	 */
+	private List<String> splitRecords(final String sample, final String separator, final boolean isTruncated) {
+		final List<String> records = new ArrayList<>();
+
+		int recordStart = 0;
+		char openQuote = 0;
+		for (int i = 0; i < sample.length(); i++) {
+			final char c = sample.charAt(i);
+
+			if (openQuote != 0) {
+				if (c == openQuote) {
+					if (i + 1 < sample.length() && sample.charAt(i + 1) == openQuote) {
+						// Escaped quote
+						i++;
+					} else if (isValueEnd(sample, i + 1, separator)) {
+						openQuote = 0;
+					}
+				}
+			} else if (isQuote(c) && (i == recordStart || isDelimiter(sample.charAt(i - 1)))) {
+				openQuote = c;
+			} else if (sample.startsWith(separator, i)) {
+				records.add(sample.substring(recordStart, i));
+				i += separator.length() - 1;
+				recordStart = i + 1;
+			}
+		}
+
+		if (!isTruncated && recordStart < sample.length()) {
+			final String remainder = sample.substring(recordStart);
+			if (openQuote == 0) {
+				records.add(remainder);
+			} else {
+				// The quote was never closed, so it was not used for quoting
+				records.addAll(Arrays.asList(remainder.split(Pattern.quote(separator))));
+			}
+		}
+
+		return records;
+	}
+
+	/**
+	 * Estimates the delimiter by counting the occurrences of all delimiters outside quoted values in a single pass over each record.
+	 * For each delimiter the most frequent number of occurrences per record is determined, and the delimiter with the highest one is selected.
 	 * Writes the result in the given configuration.
 	 *
 	 * @param records Records in the CSV file.
-	 * @param config The configuration to estimate.
+	 * @param config  The configuration to estimate.
 	 */
-	private void estimateDelimiter(final String[] records, final CsvFileConfiguration config) {
-		final Map<CsvDelimiter, Long> delimiterFrequencies = new HashMap<>();
-		for (final var delimiter : CsvDelimiter.values()) {
-			List<Integer> occurrencesForDelimiter = new ArrayList<>();
-			for (int i = 0; i < Math.min(maxSampleSize, records.length); i++) {
-				final String row = records[i];
-				final int count = row.length() - row.replace(delimiter.getDelimiterAsString(), "").length();
-				occurrencesForDelimiter.add(count);
+	private void estimateDelimiter(final List<String> records, final CsvFileConfiguration config) {
+		final CsvDelimiter[] delimiters = CsvDelimiter.values();
+		final List<Map<Integer, Integer>> occurrenceFrequencies = new ArrayList<>(delimiters.length);
+		for (int d = 0; d < delimiters.length; d++) {
+			occurrenceFrequencies.add(new HashMap<>());
+		}
+
+		for (final String record : records) {
+			final int[] histogram = new int[delimiters.length];
+
+			char openQuote = 0;
+			for (int i = 0; i < record.length(); i++) {
+				final char c = record.charAt(i);
+
+				if (openQuote != 0) {
+					if (c == openQuote && isValueEnd(record, i + 1, "")) {
+						openQuote = 0;
+					}
+				} else if (isQuote(c) && (i == 0 || isDelimiter(record.charAt(i - 1)))) {
+					openQuote = c;
+				} else {
+					for (int d = 0; d < delimiters.length; d++) {
+						if (c == delimiters[d].getDelimiter()) {
+							histogram[d]++;
+							break;
+						}
+					}
+				}
+			}
+
+			for (int d = 0; d < delimiters.length; d++) {
+				occurrenceFrequencies.get(d).merge(histogram[d], 1, Integer::sum);
 			}
+		}
+
+		CsvDelimiter estimatedDelimiter = null;
+		int maxOccurrences = 0;
+		for (int d = 0; d < delimiters.length; d++) {
+			final int mostFrequentOccurrences = occurrenceFrequencies.get(d).entrySet().stream()
+			                                                         .max(Map.Entry.<Integer, Integer>comparingByValue()
+			                                                                       .thenComparing(Map.Entry.comparingByKey()))
+			                                                         .map(Map.Entry::getKey)
+			                                                         .orElse(0);
+			if (mostFrequentOccurrences > maxOccurrences) {
+				estimatedDelimiter = delimiters[d];
+				maxOccurrences = mostFrequentOccurrences;
+			}
+		}
 
-			Map<Integer, Long> frequencyMap = occurrencesForDelimiter.stream()
-			                                                         .collect(Collectors.groupingBy(i -> i,
-			                                                                                        Collectors.counting()));
-			long maxFrequency = frequencyMap.entrySet()
-			                                .stream()
-			                                .max(Comparator.comparingLong(Map.Entry::getValue))
-			                                .map(Map.Entry::getKey)
-			                                .orElse(0);
-			delimiterFrequencies.put(delimiter, maxFrequency);
-		}
-
-		delimiterFrequencies.entrySet()
-		                    .stream()
-		                    .reduce((a, b) -> a.getValue() > b.getValue() ? a : b)
-		                    .ifPresent(entry -> config.setColumnSeparator(entry.getKey().getDelimiterAsString()));
+		if (estimatedDelimiter != null) {
+			config.setColumnSeparator(estimatedDelimiter.getDelimiterAsString());
+		}
 	}
 
 	/**
@@ -301,50 +459,360 @@ public class CsvProcessor extends CommonDataProcessor implements DataProcessor {
 	 * Writes the result in the given configuration.
 	 *
 	 * @param records Records in the CSV file.
-	 * @param config The configuration to estimate.
+	 * @param config  The configuration to estimate.
 	 */
-	private void estimateQuoteChar(final String[] records, final CsvFileConfiguration config) {
-		final Map<CsvQuote, Long> quoteFrequencies = new HashMap<>();
-		for (final var quote : CsvQuote.values()) {
-			long quoteCount = 0L;
-
-			for (int i = 0; i < Math.min(maxSampleSize, records.length); i++) {
-				final String row = records[i];
-				final String[] values = row.split(config.getColumnSeparator());
-				for (String value : values) {
-					if (value.length() >= 2) {
-						if (value.charAt(0) == quote.getQuote() &&
-						    value.charAt(value.length() - 1) == quote.getQuote()) {
-							quoteCount++;
+	private void estimateQuoteChar(final List<String> records, final CsvFileConfiguration config) {
+		final CsvQuote[] quotes = CsvQuote.values();
+		final long[] quoteCounts = new long[quotes.length];
+		final char delimiter = config.getColumnSeparator().charAt(0);
+
+		for (final String record : records) {
+			for (final String value : splitValues(record, delimiter)) {
+				if (value.length() >= 2) {
+					for (int q = 0; q < quotes.length; q++) {
+						if (value.charAt(0) == quotes[q].getQuote() &&
+						    value.charAt(value.length() - 1) == quotes[q].getQuote()) {
+							quoteCounts[q]++;
 						}
 					}
 				}
 			}
+		}
 
-			if (quoteCount > 0) {
-				quoteFrequencies.put(quote, quoteCount);
+		CsvQuote estimatedQuote = null;
+		long maxCount = 0;
+		for (int q = 0; q < quotes.length; q++) {
+			if (quoteCounts[q] > maxCount) {
+				estimatedQuote = quotes[q];
+				maxCount = quoteCounts[q];
 			}
 		}
 
-		quoteFrequencies.entrySet()
-		                .stream()
-		                .reduce((a, b) -> a.getValue() > b.getValue() ? a : b)
-		                .ifPresent(entry -> config.setQuoteChar(entry.getKey().getQuote()));
+		if (estimatedQuote != null) {
+			config.setQuoteChar(estimatedQuote.getQuote());
+		}
 	}
 
 	/**
 	 * Estimates, if the records contain a header row, by checking for common attributes names and comparing datatypes.
+	 * Files with less than two records keep the default.
 	 * Writes the result in the given configuration.
 	 *
 	 * @param records The CSV records.
 	 * @param config  The configuration to estimate.
 	 */
-	private void estimateHasHeader(final String[] records, final CsvFileConfiguration config) {
-		String[] header = records[0].split(config.getColumnSeparator());
-		String[] second = records[1].split(config.getColumnSeparator());
+	private void estimateHasHeader(final List<String> records, final CsvFileConfiguration config) {
+		if (records.size() < 2) {
+			return;
+		}
+
+		final char delimiter = config.getColumnSeparator().charAt(0);
+		final char quote = config.getQuoteChar();
+		final List<String> header = splitValues(records.get(0), delimiter).stream().map(v -> unquote(v, quote)).toList();
+		final List<String> second = splitValues(records.get(1), delimiter).stream().map(v -> unquote(v, quote)).toList();
 
-		final boolean hasHeader = estimateHasHeader(List.of(header), List.of(second));
+		final int numberValues = Math.min(header.size(), second.size());
+		final boolean hasHeader = estimateHasHeader(header.subList(0, numberValues), second.subList(0, numberValues));
 		config.setHasHeader(hasHeader);
 	}
 
+	/**
+	 * Splits a record into its raw values, quotes are kept.
+	 * Delimiters inside quoted values do not separate values.
+	 *
+	 * @param record    The record to be split.
+	 * @param delimiter The delimiter separating the values.
+	 * @return The values of the record.
+	 */
+	private List<String> splitValues(final String record, final char delimiter) {
+		final List<String> values = new ArrayList<>();
+
+		int valueStart = 0;
+		char openQuote = 0;
+		for (int i = 0; i < record.length(); i++) {
+			final char c = record.charAt(i);
+
+			if (openQuote != 0) {
+				if (c == openQuote && (i + 1 == record.length() || record.charAt(i + 1) == delimiter)) {
+					openQuote = 0;
+				}
+			} else if (isQuote(c) && i == valueStart) {
+				openQuote = c;
+			} else if (c == delimiter) {
+				values.add(record.substring(valueStart, i));
+				valueStart = i + 1;
+			}
+		}
+		values.add(record.substring(valueStart));
+
+		return values;
+	}
+
+	/**
+	 * Removes the surrounding quote chars from the given value and unescapes quotes inside the value.
+	 *
+	 * @param value The raw value.
+	 * @param quote The quote char.
+	 * @return The unquoted value.
+	 */
+	private String unquote(final String value, final char quote) {
+		if (value.length() >= 2 && value.charAt(0) == quote && value.charAt(value.length() - 1) == quote) {
+			final String quoteString = String.valueOf(quote);
+			return value.substring(1, value.length() - 1).replace(quoteString + quoteString, quoteString);
+		}
+		return value;
+	}
+
+	/**
+	 * Checks if a value ends at the given position, i.e. the position is the end of the text,
+	 * the start of a record separator, or a potential delimiter.
+	 *
+	 * @param text      The text containing the value.
+	 * @param position  The position after the value.
+	 * @param separator The record separator, can be empty if the text is a single record.
+	 * @return If a value can end at the given position.
+	 */
+	private boolean isValueEnd(final String text, final int position, final String separator) {
+		return position >= text.length() ||
+		       isDelimiter(text.charAt(position)) ||
+		       (!separator.isEmpty() && text.startsWith(separator, position));
+	}
+
+	/**
+	 * Checks if the given character is one of the supported delimiters.
+	 *
+	 * @param c The character to check.
+	 * @return If the character is a potential delimiter.
+	 */
+	private boolean isDelimiter(final char c) {
+		for (final var delimiter : CsvDelimiter.values()) {
+			if (delimiter.getDelimiter() == c) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if the given character is one of the supported quote chars.
+	 *
+	 * @param c The character to check.
+	 * @return If the character is a potential quote char.
+	 */
+	private boolean isQuote(final char c) {
+		for (final var quote : CsvQuote.values()) {
+			if (quote.getQuote() == c) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Result of parsing a single chunk.
+	 *
+	 * @param dataRows      The transformed rows.
+	 * @param errors        The transformation errors with indices relative to the chunk.
+	 * @param numberRecords The number of parsed records excluding the header.
+	 * @param invalidRow    Raw values of a row with an invalid number of values. Null if all rows are valid.
+	 */
+	private record ChunkResult(List<DataRow> dataRows, List<DataRowTransformationError> errors, int numberRecords,
+	                           @Nullable List<String> invalidRow) {
+	}
+
+	/**
+	 * Parses a CSV file and collects the transformed rows.
+	 * Chunks parsed concurrently are merged in the order of the file, so the row indices match the sequential parsing.
+	 */
+	private class ChunkReader {
+
+		private final CsvFileConfigurationEntity csvFileConfiguration;
+		private final DataConfiguration configuration;
+
+		private final List<DataRow> dataRows = new ArrayList<>();
+		private final List<DataRowTransformationError> errors = new ArrayList<>();
+
+		/**
+		 * Index of the next row.
+		 */
+		private int rowIndex = 0;
+
+		private ChunkReader(final CsvFileConfigurationEntity csvFileConfiguration,
+		                    final DataConfiguration configuration) {
+			this.csvFileConfiguration = csvFileConfiguration;
+			this.configuration = configuration;
+		}
+
+		private TransformationResult getResult() {
+			return new TransformationResult(new DataSet(dataRows, configuration), errors);
+		}
+
+		/**
+		 * Parses the given data on the current thread.
+		 *
+		 * @param data       The CSV data.
+		 * @param skipHeader If the first record is a header.
+		 * @throws BadDatasetException If a row has too few or too many values.
+		 * @throws InternalIOException If reading the data failed.
+		 */
+		private void parseSequentially(final InputStream data, final boolean skipHeader)
+				throws BadDatasetException, InternalIOException {
+			final Iterator<CSVRecord> recordIterator = getRecords(data, csvFileConfiguration);
+			if (recordIterator.hasNext() && skipHeader) {
+				recordIterator.next();
+			}
+
+			while (recordIterator.hasNext()) {
+				transformRow(Arrays.asList(recordIterator.next().values()), rowIndex, configuration, dataRows, errors);
+				rowIndex += 1;
+			}
+		}
+
+		/**
+		 * Splits the given data into chunks and parses them with the given executor.
+		 * At most two chunks per thread are kept in memory.
+		 *
+		 * @param data        The CSV data.
+		 * @param executor    The executor parsing the chunks.
+		 * @param parallelism The number of threads of the executor.
+		 * @param chunkSize   Minimal number of bytes per chunk.
+		 * @throws BadDatasetException If a row has too few or too many values.
+		 * @throws InternalIOException If reading the data failed.
+		 */
+		private void parseConcurrently(final InputStream data, final Executor executor, final int parallelism,
+		                               final int chunkSize) throws BadDatasetException, InternalIOException {
+			final String delimiter = csvFileConfiguration.getColumnSeparator();
+			final CsvBoundaryFinder boundaryFinder = new CsvBoundaryFinder(delimiter.charAt(0),
+			                                                               csvFileConfiguration.getQuoteChar());
+			final Deque<CompletableFuture<ChunkResult>> pendingChunks = new ArrayDeque<>();
+
+			boolean isFirstChunk = true;
+			byte[] carry = new byte[0];
+			while (true) {
+				final byte[] block;
+				try {
+					block = data.readNBytes(chunkSize);
+				} catch (final IOException e) {
+					throw new InternalIOException(InternalIOException.CSV_READING, "Failed to read the CSV file!", e);
+				}
+
+				final byte[] buffer = concat(carry, block);
+				final boolean isEnd = block.length < chunkSize;
+
+				final int boundary = isEnd ? buffer.length : boundaryFinder.scan(buffer, carry.length, buffer.length);
+				if (boundaryFinder.isAmbiguous() || (boundary == -1 && buffer.length > 4L * chunkSize)) {
+					// Quoted line breaks or very long records, continue sequentially with the unsent data
+					mergeAll(pendingChunks);
+					parseSequentially(new SequenceInputStream(new ByteArrayInputStream(buffer), data),
+					                  isFirstChunk && csvFileConfiguration.getHasHeader());
+					return;
+				}
+
+				if (boundary > 0) {
+					final byte[] chunk = Arrays.copyOf(buffer, boundary);
+					final boolean skipHeader = isFirstChunk && csvFileConfiguration.getHasHeader();
+					pendingChunks.add(CompletableFuture.supplyAsync(() -> parseChunk(chunk, skipHeader), executor));
+					isFirstChunk = false;
+
+					if (pendingChunks.size() >= 2 * parallelism) {
+						merge(pendingChunks.poll());
+					}
+				}
+
+				carry = boundary > 0 ? Arrays.copyOfRange(buffer, boundary, buffer.length) : buffer;
+				if (isEnd) {
+					break;
+				}
+			}
+
+			mergeAll(pendingChunks);
+		}
+
+		/**
+		 * Parses and transforms the given chunk.
+		 * Executed by the worker threads, the row indices are relative to the chunk.
+		 *
+		 * @param chunk      The bytes of the chunk containing complete records.
+		 * @param skipHeader If the first record is a header.
+		 * @return The transformed chunk.
+		 */
+		private ChunkResult parseChunk(final byte[] chunk, final boolean skipHeader) {
+			final List<DataRow> chunkRows = new ArrayList<>();
+			final List<DataRowTransformationError> chunkErrors = new ArrayList<>();
+
+			final Iterator<CSVRecord> recordIterator;
+			try {
+				recordIterator = getRecords(new ByteArrayInputStream(chunk), csvFileConfiguration);
+			} catch (final InternalIOException e) {
+				throw new CompletionException(e);
+			}
+			if (recordIterator.hasNext() && skipHeader) {
+				recordIterator.next();
+			}
+
+			int chunkRowIndex = 0;
+			while (recordIterator.hasNext()) {
+				final List<String> row = Arrays.asList(recordIterator.next().values());
+				try {
+					transformRow(row, chunkRowIndex, configuration, chunkRows, chunkErrors);
+				} catch (final BadDatasetException e) {
+					return new ChunkResult(chunkRows, chunkErrors, chunkRowIndex, row);
+				}
+				chunkRowIndex += 1;
+			}
+
+			return new ChunkResult(chunkRows, chunkErrors, chunkRowIndex, null);
+		}
+
+		private void mergeAll(final Deque<CompletableFuture<ChunkResult>> pendingChunks)
+				throws BadDatasetException, InternalIOException {
+			while (!pendingChunks.isEmpty()) {
+				merge(pendingChunks.poll());
+			}
+		}
+
+		/**
+		 * Appends the rows of the given chunk and shifts the row indices of the errors.
+		 *
+		 * @param pendingChunk The chunk.
+		 * @throws BadDatasetException If the chunk contains a row with an invalid number of values.
+		 * @throws InternalIOException If parsing the chunk failed.
+		 */
+		private void merge(final CompletableFuture<ChunkResult> pendingChunk)
+				throws BadDatasetException, InternalIOException {
+			final ChunkResult chunk;
+			try {
+				chunk = pendingChunk.join();
+			} catch (final CompletionException e) {
+				if (e.getCause() instanceof InternalIOException internalIOException) {
+					throw internalIOException;
+				} else if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw e;
+			}
+
+			if (chunk.invalidRow() != null) {
+				// Transform the row again to report the error with the index inside the file
+				transformRow(chunk.invalidRow(), rowIndex + chunk.numberRecords(), configuration, new ArrayList<>(),
+				             new ArrayList<>());
+			}
+
+			dataRows.addAll(chunk.dataRows());
+			for (final DataRowTransformationError chunkError : chunk.errors()) {
+				errors.add(new DataRowTransformationError(rowIndex + chunkError.getIndex(),
+				                                          chunkError.getDataTransformationErrors()));
+			}
+			rowIndex += chunk.numberRecords();
+		}
+
+		private byte[] concat(final byte[] first, final byte[] second) {
+			if (first.length == 0) {
+				return second;
+			}
+			final byte[] result = Arrays.copyOf(first, first.length + second.length);
+			System.arraycopy(second, 0, result, first.length, second.length);
+			return result;
+		}
+	}
 }
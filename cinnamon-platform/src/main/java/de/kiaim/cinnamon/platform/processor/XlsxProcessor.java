@@ -6,7 +6,6 @@ import de.kiaim.cinnamon.model.configuration.data.attributes.DateFormatConfigura
 import de.kiaim.cinnamon.model.configuration.data.attributes.DateTimeFormatConfiguration;
 import de.kiaim.cinnamon.model.data.*;
 import de.kiaim.cinnamon.model.enumeration.DataType;
-import de.kiaim.cinnamon.model.enumeration.DataScale;
 import de.kiaim.cinnamon.platform.exception.BadDatasetException;
 import de.kiaim.cinnamon.platform.exception.InternalIOException;
 import de.kiaim.cinnamon.platform.model.DataRowTransformationError;
@@ -29,10 +28,8 @@ import java.time.format.DateTimeFormatter;
 import de.kiaim.cinnamon.model.configuration.data.file.XlsxFileConfiguration;
 import org.dhatim.fastexcel.Workbook;
 import org.dhatim.fastexcel.Worksheet;
-import org.dhatim.fastexcel.reader.Cell;
 import org.dhatim.fastexcel.reader.ReadableWorkbook;
 import org.dhatim.fastexcel.reader.Row;
-import org.dhatim.fastexcel.reader.Sheet;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
@@ -41,6 +38,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class XlsxProcessor extends CommonDataProcessor implements DataProcessor {
@@ -71,7 +69,14 @@ public class XlsxProcessor extends CommonDataProcessor implements DataProcessor
 	public FileConfigurationEstimation estimateFileConfiguration(final LobWrapperEntity data,
 	                                                             final FileCompatibilityEntity fileCompatibility)
 			throws InternalIOException {
-		final List<List<String>> records = getRecords(data.getLobStream(), null);
+		final List<List<String>> records = new ArrayList<>();
+		try (final InputStream is = data.getLobStream(); final ReadableWorkbook wb = new ReadableWorkbook(is);
+		     final Stream<Row> rows = wb.getFirstSheet().openStream()) {
+			// Only the first two rows are required for detecting the header
+			rows.limit(2).map(this::getRawValues).forEach(records::add);
+		} catch (final IOException e) {
+			throw new InternalIOException(InternalIOException.XLSX_READING, "Failed to read the XLSX file", e);
+		}
 
 		final var xlsxFileConfiguration= estimateXlsxFileConfiguration(records);
 		final var fileConfiguration =  new FileConfiguration();
@@ -87,96 +92,84 @@ public class XlsxProcessor extends CommonDataProcessor implements DataProcessor
 	 */
 	@Override
     public int getNumberColumns(InputStream data, FileConfigurationEntity fileConfiguration) throws InternalIOException {
-        List<List<String>> rows = getRecords(data, null);
-        return rows.size();
+		try (final InputStream is = data; final ReadableWorkbook wb = new ReadableWorkbook(is);
+		     final Stream<Row> rows = wb.getFirstSheet().openStream()) {
+			return rows.findFirst().map(Row::getCellCount).orElse(0);
+		} catch (final IOException e) {
+			throw new InternalIOException(InternalIOException.XLSX_READING, "Failed to read the XLSX file", e);
+		}
     }
 
     /**
      * {@inheritDoc}
+     * Streams the rows of the first sheet, so only the resulting data set is held in memory.
      */
     @Override
     public TransformationResult read(InputStream data, FileConfigurationEntity fileConfiguration,
                                      DataConfiguration configuration) throws BadDatasetException, InternalIOException {
 
         final XlsxFileConfigurationEntity xlsxFileConfiguration = (XlsxFileConfigurationEntity) fileConfiguration;
-	    List<List<String>> rows = getRecords(data, configuration);
-
-        if (!rows.isEmpty() && xlsxFileConfiguration.getHasHeader()) {
-            rows.remove(0);
-        }
-
+        final List<DateTimeFormatter> formatters = getFormatters(configuration);
 
         final List<DataRow> dataRows = new ArrayList<>();
         final List<DataRowTransformationError> errors = new ArrayList<>();
-        int rowIndex = 0;
 
-        for (List<String> row : rows) {
-            transformRow(row, rowIndex, configuration, dataRows, errors);
-            rowIndex += 1;
+        try (final InputStream is = data; final ReadableWorkbook wb = new ReadableWorkbook(is);
+             final Stream<Row> rows = wb.getFirstSheet().openStream()) {
+            final Iterator<Row> rowIterator = rows.iterator();
+
+            if (rowIterator.hasNext() && xlsxFileConfiguration.getHasHeader()) {
+                rowIterator.next();
+            }
+
+            int rowIndex = 0;
+            while (rowIterator.hasNext()) {
+                final List<String> row = getConvertedValues(rowIterator.next(), configuration, formatters);
+                transformRow(row, rowIndex, configuration, dataRows, errors);
+                rowIndex += 1;
+            }
+        } catch (final IOException e) {
+            throw new InternalIOException(InternalIOException.XLSX_READING, "Failed to read the XLSX file", e);
         }
 
         return new TransformationResult(new DataSet(dataRows, configuration), errors);
     }
 
-    private List<List<String>> transformSheetToRows(Sheet sheet, DataConfiguration configuration) {
-        List<List<String>> convertedRows = new ArrayList<>();
-
-        try (Stream<Row> rows = sheet.openStream()) {
-            rows.forEach(r -> {
-                List<String> convertedRow = new ArrayList<>();
-
-                try (Stream<Cell> cells = r.stream()) {
-
-                    for (int i = 0; i < r.getCellCount(); i++) {
-                         ColumnConfiguration columnConfiguration = configuration.getConfigurations().get(i);
-
-                        convertedRow.add(getConvertedCellValue(r, i, columnConfiguration));
-                    }
-                }
-                convertedRows.add(convertedRow);
-            });
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    /**
+     * Converts the cells of the given row into strings that can be parsed with the given configuration.
+     * Cells without a corresponding column configuration are converted to their raw value.
+     *
+     * @param r             The row to be converted.
+     * @param configuration The configuration of the data set.
+     * @param formatters    Formatters for date and date time columns, see {@link #getFormatters(DataConfiguration)}.
+     * @return The converted values.
+     */
+    private List<String> getConvertedValues(final Row r, final DataConfiguration configuration,
+                                            final List<DateTimeFormatter> formatters) {
+        final List<ColumnConfiguration> columnConfigurations = configuration.getConfigurations();
+        final List<String> convertedRow = new ArrayList<>(r.getCellCount());
+
+        for (int i = 0; i < r.getCellCount(); i++) {
+            if (i < columnConfigurations.size()) {
+                convertedRow.add(getConvertedCellValue(r, i, columnConfigurations.get(i), formatters.get(i)));
+            } else {
+                convertedRow.add(r.getCellRawValue(i).orElse(null));
+            }
         }
-        return convertedRows;
+
+        return convertedRow;
     }
 
-    private String getConvertedCellValue(Row r, int index, ColumnConfiguration columnConfiguration) {
+    private String getConvertedCellValue(Row r, int index, ColumnConfiguration columnConfiguration,
+                                         @Nullable DateTimeFormatter formatter) {
 
         if (index < r.getCellCount()) {
             switch (columnConfiguration.getType()) {
-                case DATE -> {
+                case DATE, DATE_TIME -> {
                     try {
                         LocalDateTime date = r.getCellAsDate(index).orElse(null);
-                        if (date != null) {
-                            DateFormatConfiguration dateFormatConfiguration = columnConfiguration.getConfiguration(DateFormatConfiguration.class);
-
-							final DateTimeFormatter formatter;
-                            if (dateFormatConfiguration != null) {
-	                            formatter = new DateData.DateDataBuilder().buildFormatter(
-			                            dateFormatConfiguration.getDateFormatter());
-                            } else {
-								formatter = DateTimeFormatter.ISO_DATE;
-                            }
-							return date.format(formatter);
-                        }
-                    } catch (Exception ignored) {}
-                }
-                case DATE_TIME -> {
-                    try {
-                        LocalDateTime date = r.getCellAsDate(index).orElse(null);
-                        if (date != null) {
-	                        final var dateTimeFormatConfiguration = columnConfiguration.getConfiguration(
-			                        DateTimeFormatConfiguration.class);
-
-	                        final DateTimeFormatter formatter;
-	                        if (dateTimeFormatConfiguration != null) {
-		                        formatter = new DateTimeData.DateTimeDataBuilder().buildFormatter(
-				                        dateTimeFormatConfiguration.getDateTimeFormatter());
-	                        } else {
-		                        formatter = DateTimeFormatter.ISO_DATE;
-	                        }
-	                        return date.format(formatter);
+                        if (date != null && formatter != null) {
+                            return date.format(formatter);
                         }
                     } catch (Exception ignored) {}
                 }
@@ -204,6 +197,38 @@ public class XlsxProcessor extends CommonDataProcessor implements DataProcessor
         return r.getCellRawValue(index).orElse(null);
     }
 
+    /**
+     * Builds the formatters for converting date cells once per column instead of once per cell.
+     *
+     * @param configuration The configuration of the data set.
+     * @return List containing the formatter for date and date time columns and null for all other columns.
+     */
+    private List<DateTimeFormatter> getFormatters(final DataConfiguration configuration) {
+        final List<DateTimeFormatter> formatters = new ArrayList<>();
+
+        for (final ColumnConfiguration columnConfiguration : configuration.getConfigurations()) {
+            DateTimeFormatter formatter = null;
+
+            if (columnConfiguration.getType() == DataType.DATE) {
+                final var dateFormatConfiguration = columnConfiguration.getConfiguration(DateFormatConfiguration.class);
+                formatter = dateFormatConfiguration != null
+                            ? new DateData.DateDataBuilder().buildFormatter(dateFormatConfiguration.getDateFormatter())
+                            : DateTimeFormatter.ISO_DATE;
+            } else if (columnConfiguration.getType() == DataType.DATE_TIME) {
+                final var dateTimeFormatConfiguration = columnConfiguration.getConfiguration(
+                        DateTimeFormatConfiguration.class);
+                formatter = dateTimeFormatConfiguration != null
+                            ? new DateTimeData.DateTimeDataBuilder().buildFormatter(
+                                    dateTimeFormatConfiguration.getDateTimeFormatter())
+                            : DateTimeFormatter.ISO_DATE;
+            }
+
+            formatters.add(formatter);
+        }
+
+        return formatters;
+    }
+
 
     /**
      * {@inheritDoc}
@@ -213,27 +238,36 @@ public class XlsxProcessor extends CommonDataProcessor implements DataProcessor
                                                                  FileConfigurationEntity fileConfiguration,
                                                                  final DatatypeEstimationAlgorithm algorithm) throws InternalIOException {
         final XlsxFileConfigurationEntity xlsxFileConfiguration = (XlsxFileConfigurationEntity) fileConfiguration;
-	    List<List<String>> rows = getRecords(data, null);
 
-        if (rows.isEmpty()) {
-            return new DataConfigurationEstimation(new DataConfiguration(), new float[0]);
-        }
+        try (final InputStream is = data; final ReadableWorkbook wb = new ReadableWorkbook(is);
+             final Stream<Row> rows = wb.getFirstSheet().openStream()) {
+            final Iterator<List<String>> rowIterator = rows.map(this::getRawValues).iterator();
 
-        final int numberColumns;
-        final List<String> columnNames;
-        final Iterator<List<String>> rowIterator = rows.iterator();
-
-        if (xlsxFileConfiguration.getHasHeader()) {
-            columnNames = normalizeColumnNames(rows.get(0).toArray(new String[0]));
-            numberColumns = columnNames.size();
-            rowIterator.next();
-        } else {
-            numberColumns = rows.get(0).size();
-            columnNames = Collections.nCopies(numberColumns, "");
-        }
+            if (!rowIterator.hasNext()) {
+                return new DataConfigurationEstimation(new DataConfiguration(), new float[0]);
+            }
+
+            final int numberColumns;
+            final List<String> columnNames;
+            final Iterator<List<String>> sampleIterator;
+            final List<String> firstRow = rowIterator.next();
+
+            if (xlsxFileConfiguration.getHasHeader()) {
+                columnNames = normalizeColumnNames(firstRow.toArray(new String[0]));
+                numberColumns = columnNames.size();
+                sampleIterator = rowIterator;
+            } else {
+                numberColumns = firstRow.size();
+                columnNames = Collections.nCopies(numberColumns, "");
+                sampleIterator = Stream.concat(Stream.of(firstRow), StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(rowIterator, Spliterator.ORDERED), false)).iterator();
+            }
 
-        List<List<String>> samples = getAttributeSamples(rowIterator, numberColumns);
-        return estimateDataConfiguration(samples, algorithm, numberColumns, columnNames);
+            List<List<String>> samples = getAttributeSamples(sampleIterator, numberColumns);
+            return estimateDataConfiguration(samples, algorithm, numberColumns, columnNames);
+        } catch (final IOException e) {
+            throw new InternalIOException(InternalIOException.XLSX_READING, "Failed to read the XLSX file", e);
+        }
     }
 
     /**
@@ -308,52 +342,19 @@ public class XlsxProcessor extends CommonDataProcessor implements DataProcessor
     }
 
 	/**
-	 * Reads the XLSX data into a nested list.
-	 * Converts the values based on the given configuration.
-	 * If the configuration is null, parses all values as strings.
+	 * Reads the raw values of all cells in the given row.
 	 *
-	 * @param data          Stream containing the XLSX file.
-	 * @param configuration Configuration for parsing the values to the right data type.
-	 * @return Records of the XLSX file.
-	 * @throws InternalIOException If reading the XLSX file failed.
+	 * @param row The row to be read.
+	 * @return The raw values of the row.
 	 */
-	private List<List<String>> getRecords(final InputStream data, @Nullable DataConfiguration configuration) throws InternalIOException {
-        final List<List<String>> records;
-
-		try(final InputStream is = data; final ReadableWorkbook wb = new ReadableWorkbook(is)) {
-			final Sheet sheet = wb.getFirstSheet();
-
-			if (configuration == null) {
-				configuration = getStringDataConfiguration(sheet);
-			}
-
-			records = transformSheetToRows(sheet, configuration);
-		} catch (final IOException e) {
-			throw new InternalIOException(InternalIOException.XLSX_READING, "Failed to read the XLSX file", e);
+	private List<String> getRawValues(final Row row) {
+		final List<String> values = new ArrayList<>(row.getCellCount());
+		for (int i = 0; i < row.getCellCount(); i++) {
+			values.add(row.getCellRawValue(i).orElse(null));
 		}
-
-		return records;
+		return values;
 	}
 
-    private DataConfiguration getStringDataConfiguration(Sheet sheet) {
-        DataConfiguration configuration = new DataConfiguration();
-
-        try (Stream<Row> rows = sheet.openStream()) {
-            Row firstRow = rows.toList().get(0);
-
-            for (int i = 0; i < firstRow.getCellCount(); i++) {
-                configuration.addColumnConfiguration(
-                    new ColumnConfiguration(i, "column" + i, DataType.STRING, DataScale.NOMINAL, new ArrayList<>())
-                );
-            }
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        return configuration;
-    }
-
 	/**
 	 * Estimates the XLSX-specific configuration.
 	 *
@@ -363,8 +364,10 @@ public class XlsxProcessor extends CommonDataProcessor implements DataProcessor
 	private XlsxFileConfiguration estimateXlsxFileConfiguration(final List<List<String>> records) {
 		final var config = new XlsxFileConfiguration();
 
-		final boolean hasHeader = estimateHasHeader(records.get(0), records.get(1));
-		config.setHasHeader(hasHeader);
+		if (records.size() >= 2) {
+			final boolean hasHeader = estimateHasHeader(records.get(0), records.get(1));
+			config.setHasHeader(hasHeader);
+		}
 
 		return config;
 	}
@@ -7,6 +7,7 @@ import de.kiaim.cinnamon.model.spring.CustomMediaType;
 import de.kiaim.cinnamon.platform.exception.InternalRequestException;
 import de.kiaim.cinnamon.platform.exception.RequestRuntimeException;
 import de.kiaim.cinnamon.platform.helper.StringMultipartFile;
+import de.kiaim.cinnamon.platform.service.ExternalRequestExecutor;
 import de.kiaim.cinnamon.platform.service.HttpService;
 import org.springframework.data.util.Pair;
 import org.springframework.http.HttpStatusCode;
@@ -15,6 +16,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Service for communicating with a FHIR server.
  *
@@ -23,9 +26,12 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Service
 public class FhirServerProcessor implements DataSourceProcessor {
 
+	private final ExternalRequestExecutor externalRequestExecutor;
 	private final HttpService httpService;
 
-	public FhirServerProcessor(final HttpService httpService) {
+	public FhirServerProcessor(final ExternalRequestExecutor externalRequestExecutor,
+	                           final HttpService httpService) {
+		this.externalRequestExecutor = externalRequestExecutor;
 		this.httpService = httpService;
 	}
 
@@ -48,17 +54,20 @@ public class FhirServerProcessor implements DataSourceProcessor {
 		final String content;
 		try {
 			final WebClient webClient = WebClient.builder().baseUrl(config.getUrl()).build();
-			content = webClient.get()
-			                   .accept(MediaType.APPLICATION_JSON)
-			                   .retrieve()
-			                   .onStatus(HttpStatusCode::isError,
-			                             errorResponse -> errorResponse.toEntity(String.class)
-			                                                           .map(httpService::buildErrorResponse))
-			                   .bodyToMono(String.class)
-			                   .block();
+			content = externalRequestExecutor.block(
+					webClient.get()
+					         .accept(MediaType.APPLICATION_JSON)
+					         .retrieve()
+					         .onStatus(HttpStatusCode::isError,
+					                   errorResponse -> errorResponse.toEntity(String.class)
+					                                                 .map(httpService::buildErrorResponse))
+					         .bodyToMono(String.class));
 		} catch (final RequestRuntimeException e) {
 			final String message = httpService.buildError(e, "fetch FHIR bundle");
 			throw new InternalRequestException(InternalRequestException.FHIR_SERVER, message, e);
+		} catch (final RejectedExecutionException e) {
+			throw new InternalRequestException(InternalRequestException.FHIR_SERVER,
+			                                   "Failed to fetch FHIR bundle! Too many requests are running.", e);
 		} catch (final Exception e) {
 			var message = "Failed to fetch FHIR bundle! " + e.getMessage();
 			throw new InternalRequestException(InternalRequestException.FHIR_SERVER, message, e);
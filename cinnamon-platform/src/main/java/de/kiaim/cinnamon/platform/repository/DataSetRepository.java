@@ -1,14 +1,41 @@
 package de.kiaim.cinnamon.platform.repository;
 
 import de.kiaim.cinnamon.platform.model.entity.DataSetEntity;
+import de.kiaim.cinnamon.platform.model.entity.ProcessOwner;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Transactional(readOnly = true)
 public interface DataSetRepository extends CrudRepository<DataSetEntity, Long> {
 
 	@Query(value = "SELECT data_configuration from data_set_entity where id = :id", nativeQuery = true)
 	String getDataConfiguration(@Param("id") Long id);
+
+	/**
+	 * Finds the data sets created by the processes of the given owners.
+	 * Used for loading the data sets of multiple processes with a single query.
+	 *
+	 * @param owners The owners of the processes.
+	 * @return The data sets.
+	 */
+	@Query("SELECT p.dataSet FROM DataProcessingEntity p WHERE p.owner IN :owners AND p.dataSet IS NOT NULL")
+	List<DataSetEntity> findAllProcessedBy(@Param("owners") Collection<? extends ProcessOwner> owners);
+
+	/**
+	 * Locks the row of the given data set until the end of the current transaction.
+	 * Used for serializing archiving and restoring a data set.
+	 *
+	 * @param id The ID of the data set.
+	 * @return The ID of the archive, empty if the data set has not been archived.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Query(value = "SELECT archive_id FROM data_set_entity WHERE id = :id FOR UPDATE", nativeQuery = true)
+	Optional<Long> lockArchiveId(@Param("id") Long id);
 }
@@ -1,10 +1,12 @@
 package de.kiaim.cinnamon.platform.repository;
 
 import de.kiaim.cinnamon.platform.model.entity.DataTransformationErrorEntity;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -19,4 +21,15 @@ public interface DataTransformationErrorRepository extends CrudRepository<DataTr
 	Set<DataTransformationErrorEntity> findByDataSetIdAndRowIndexBetween(Long dataSet_id, int rowIndex, int rowIndex2);
 
 	Set<DataTransformationErrorEntity> findByDataSetIdAndRowIndexIn(Long dataSet_id, List<Integer> rowIndex);
+
+	/**
+	 * Deletes all transformation errors of the given data sets with a single statement.
+	 * Errors already loaded into the persistence context are not updated.
+	 *
+	 * @param dataSetIds The IDs of the data sets.
+	 */
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM DataTransformationErrorEntity e WHERE e.dataSet.id IN :dataSetIds")
+	void deleteAllByDataSetIdIn(Collection<Long> dataSetIds);
 }
@@ -1,9 +1,24 @@
 package de.kiaim.cinnamon.platform.repository;
 
 import de.kiaim.cinnamon.platform.model.entity.ExecutionStepEntity;
+import de.kiaim.cinnamon.platform.model.entity.PipelineEntity;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Transactional(readOnly = true)
 public interface ExecutionStepRepository extends CrudRepository<ExecutionStepEntity, Long> {
+
+	/**
+	 * Finds the stages of the given pipeline including their processes.
+	 *
+	 * @param pipeline The pipeline.
+	 * @return The stages ordered by their index.
+	 */
+	@Query("SELECT DISTINCT s FROM ExecutionStepEntity s LEFT JOIN FETCH s.processes " +
+	       "WHERE s.pipeline = :pipeline ORDER BY s.stageIndex")
+	List<ExecutionStepEntity> findAllWithProcessesByPipeline(@Param("pipeline") PipelineEntity pipeline);
 }
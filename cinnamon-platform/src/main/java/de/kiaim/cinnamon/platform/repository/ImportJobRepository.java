@@ -0,0 +1,69 @@
+package de.kiaim.cinnamon.platform.repository;
+
+import de.kiaim.cinnamon.platform.model.entity.ImportJobEntity;
+import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
+import de.kiaim.cinnamon.platform.model.enumeration.ImportJobStatus;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for ImportJobEntity.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Transactional(readOnly = true)
+public interface ImportJobRepository extends CrudRepository<ImportJobEntity, Long> {
+
+	/**
+	 * Counts the number of jobs with the given jobId.
+	 *
+	 * @param jobId The jobId to count.
+	 * @return The number of jobs with the given jobId.
+	 */
+	long countByJobId(UUID jobId);
+
+	/**
+	 * Finds the job with the given jobId.
+	 *
+	 * @param jobId The jobId of the job.
+	 * @return The job if it exists.
+	 */
+	Optional<ImportJobEntity> findByJobId(UUID jobId);
+
+	/**
+	 * Checks if the given project has a job with one of the given statuses.
+	 *
+	 * @param project  The project.
+	 * @param statuses The statuses.
+	 * @return If such a job exists.
+	 */
+	boolean existsByProjectAndStatusIn(ProjectEntity project, Collection<ImportJobStatus> statuses);
+
+	/**
+	 * Returns all jobs with one of the given statuses ordered by their creation.
+	 *
+	 * @param statuses The statuses.
+	 * @return The jobs.
+	 */
+	List<ImportJobEntity> findAllByStatusInOrderByIdAsc(Collection<ImportJobStatus> statuses);
+
+	/**
+	 * Sets the ID of the data set created by the job with the given jobId.
+	 * Is executed in a separate transaction, so the ID is persisted even if the import is interrupted.
+	 *
+	 * @param jobId     The jobId of the job.
+	 * @param dataSetId The ID of the data set.
+	 */
+	@Modifying
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	@Query("UPDATE ImportJobEntity j SET j.dataSetId = :dataSetId WHERE j.jobId = :jobId")
+	void updateDataSetIdByJobId(UUID jobId, Long dataSetId);
+}
@@ -1,14 +1,45 @@
 package de.kiaim.cinnamon.platform.repository;
 
+import de.kiaim.cinnamon.platform.model.dto.StatusInformation;
 import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 @Transactional(readOnly = true)
 public interface ProjectRepository extends CrudRepository<ProjectEntity, Long> {
 
 	@Query(value = "SELECT data_configuration from project_entity where id = :id", nativeQuery = true)
 	String getDataConfiguration(@Param("id") Long id);
+
+	/**
+	 * Finds the project of the given user.
+	 *
+	 * @param email The email of the user.
+	 * @return The project.
+	 */
+	Optional<ProjectEntity> findByUserEmail(String email);
+
+	/**
+	 * Finds the project of the given user including its pipelines.
+	 *
+	 * @param email The email of the user.
+	 * @return The project.
+	 */
+	@EntityGraph(attributePaths = {"pipelines"})
+	Optional<ProjectEntity> findWithPipelinesByUserEmail(String email);
+
+	/**
+	 * Selects the status of the project of the given user without loading the project.
+	 *
+	 * @param email The email of the user.
+	 * @return The status.
+	 */
+	@Query("SELECT new de.kiaim.cinnamon.platform.model.dto.StatusInformation(s.mode, s.currentStep) " +
+	       "FROM ProjectEntity p JOIN p.status s WHERE p.user.email = :email")
+	Optional<StatusInformation> findStatusByUserEmail(@Param("email") String email);
 }
@@ -1,6 +1,8 @@
 package de.kiaim.cinnamon.platform.repository;
 
 import de.kiaim.cinnamon.platform.model.entity.WorkflowEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,11 +27,15 @@ public interface WorkflowRepository extends CrudRepository<WorkflowEntity, Long>
 	long countByWorkflowId(UUID workflowId);
 
 	/**
-	 * Returns all workflows that have expired before the given timestamp.
+	 * Returns the IDs of workflows that have expired before the given timestamp ordered by the ID.
+	 * Only IDs greater than the given ID are included, so the results can be paged without an offset.
 	 *
 	 * @param expirationDate The timestamp to check against.
-	 * @return A list of expired workflows.
+	 * @param lastId         Only IDs greater than this ID are returned.
+	 * @param pageable       Limits the number of IDs.
+	 * @return A list of IDs of expired workflows.
 	 */
-	List<WorkflowEntity> findAllByExpirationDateBefore(Timestamp expirationDate);
+	@Query("SELECT w.id FROM WorkflowEntity w WHERE w.expirationDate < :expirationDate AND w.id > :lastId ORDER BY w.id")
+	List<Long> findExpiredWorkflowIds(Timestamp expirationDate, long lastId, Pageable pageable);
 
 }
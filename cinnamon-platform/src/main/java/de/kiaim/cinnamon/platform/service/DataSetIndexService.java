@@ -0,0 +1,104 @@
+package de.kiaim.cinnamon.platform.service;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which columns of a data set should be indexed.
+ * Counts how often the columns of a data set are filtered or sorted.
+ * Once a column has been used {@link #threshold} times, an index should be created.
+ * The counters are kept in memory and are not shared between instances.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Service
+public class DataSetIndexService {
+
+	/**
+	 * Maximum number of data sets that are tracked. If exceeded, the counters are cleared.
+	 */
+	private static final int MAX_DATA_SETS = 10_000;
+
+	/**
+	 * Number of queries using a column before the column gets indexed. 0 disables the indexing.
+	 */
+	private final int threshold;
+
+	/**
+	 * Minimum number of rows of a data set for being indexed.
+	 * Smaller data sets are scanned fast enough.
+	 */
+	@Getter
+	private final int minRows;
+
+	private final Map<Long, ColumnUsage> usages = new ConcurrentHashMap<>();
+
+	public DataSetIndexService(
+			@Value("${cinnamon.data-set-query.index-threshold}") final int threshold,
+			@Value("${cinnamon.data-set-query.index-min-rows}") final int minRows
+	) {
+		this.threshold = threshold;
+		this.minRows = minRows;
+	}
+
+	/**
+	 * Records that the given columns have been filtered or sorted.
+	 * Every column is returned at most once per data set.
+	 * The caller has to check the {@link #minRows} before creating the index.
+	 *
+	 * @param dataSetId     The ID of the data set.
+	 * @param columnIndices The indices of the used columns.
+	 * @return The indices of the columns that should be indexed now.
+	 */
+	public Set<Integer> recordUsage(final long dataSetId, final Collection<Integer> columnIndices) {
+		if (threshold <= 0 || columnIndices.isEmpty()) {
+			return Set.of();
+		}
+
+		if (usages.size() >= MAX_DATA_SETS && !usages.containsKey(dataSetId)) {
+			usages.clear();
+		}
+
+		return usages.computeIfAbsent(dataSetId, id -> new ColumnUsage()).record(columnIndices, threshold);
+	}
+
+	/**
+	 * Removes the counters of the given data set, e.g. if the data set has been deleted.
+	 *
+	 * @param dataSetId The ID of the data set.
+	 */
+	public void forget(final long dataSetId) {
+		usages.remove(dataSetId);
+	}
+
+	/**
+	 * Usage counters of the columns of a single data set.
+	 */
+	private static class ColumnUsage {
+		private final Map<Integer, Integer> counts = new HashMap<>();
+		private final Set<Integer> indexed = new HashSet<>();
+
+		private synchronized Set<Integer> record(final Collection<Integer> columnIndices, final int threshold) {
+			final Set<Integer> toBeIndexed = new TreeSet<>();
+
+			for (final Integer columnIndex : columnIndices) {
+				if (indexed.contains(columnIndex)) {
+					continue;
+				}
+
+				final int count = counts.merge(columnIndex, 1, Integer::sum);
+				if (count >= threshold) {
+					counts.remove(columnIndex);
+					indexed.add(columnIndex);
+					toBeIndexed.add(columnIndex);
+				}
+			}
+
+			return toBeIndexed;
+		}
+	}
+}
@@ -11,6 +11,7 @@ import de.kiaim.cinnamon.model.enumeration.DataSourceType;
 import de.kiaim.cinnamon.model.enumeration.DataType;
 import de.kiaim.cinnamon.model.enumeration.ProcessStatus;
 import de.kiaim.cinnamon.model.enumeration.StageStatus;
+import de.kiaim.cinnamon.model.serialization.exception.BinaryFormatException;
 import de.kiaim.cinnamon.platform.exception.*;
 import de.kiaim.cinnamon.platform.model.configuration.Job;
 import de.kiaim.cinnamon.platform.config.SerializationConfig;
@@ -26,34 +27,51 @@ import de.kiaim.cinnamon.platform.repository.DataProcessingRepository;
 import de.kiaim.cinnamon.platform.repository.DataSetRepository;
 import de.kiaim.cinnamon.platform.repository.DataTransformationErrorRepository;
 import de.kiaim.cinnamon.platform.repository.ProjectRepository;
+import de.kiaim.cinnamon.platform.helper.DataSetQueryGenerator;
+import de.kiaim.cinnamon.platform.helper.DataSetQueryGenerator.SqlCondition;
 import de.kiaim.cinnamon.platform.helper.DataschemeGenerator;
 import de.kiaim.cinnamon.platform.model.DataRowTransformationError;
 import de.kiaim.cinnamon.platform.model.DataTransformationError;
+import de.kiaim.cinnamon.platform.model.ImportProgress;
 import de.kiaim.cinnamon.platform.model.TransformationResult;
 import de.kiaim.cinnamon.platform.model.enumeration.HoldOutSelector;
 import de.kiaim.cinnamon.platform.model.enumeration.RowSelector;
 import de.kiaim.cinnamon.model.configuration.data.file.FileConfiguration;
 import de.kiaim.cinnamon.platform.processor.DataProcessor;
+import de.kiaim.cinnamon.platform.storage.DataSetArchiveReader;
+import de.kiaim.cinnamon.platform.storage.DataSetArchiveWriter;
+import de.kiaim.cinnamon.platform.storage.DataSetStorage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.extern.log4j.Log4j2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.util.Pair;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.sql.DataSource;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -67,8 +85,14 @@ public class DatabaseService {
 	private final static Set<StageStatus> targetStageStatus = Set.of(StageStatus.FINISHED, StageStatus.ERROR,
 	                                                                 StageStatus.CANCELED);
 
+	/**
+	 * Number of rows fetched at once when reading a data set.
+	 */
+	private final static int FETCH_SIZE = 1000;
+
 	private final Logger LOGGER = LoggerFactory.getLogger(DatabaseService.class);
 
+	private final DataSource dataSource;
 	private final Connection connection;
 	private final DataProcessingRepository dataProcessingRepository;
 	private final DataSetRepository dataSetRepository;
@@ -79,15 +103,29 @@ public class DatabaseService {
 	private final DataSourceConfigurationMapper dataSourceConfigurationMapper;
 	private final FileConfigurationMapper fileConfigurationMapper;
 
-	private final DataschemeGenerator dataschemeGenerator;
+	private final DataSetStorage dataSetStorage;
+	private final DataSetQueryGenerator dataSetQueryGenerator;
 	private final ObjectMapper jsonMapper;
 
+	private final DataSetIndexService dataSetIndexService;
 	private final DataSetService dataSetService;
 	private final DataProcessorService dataProcessorService;
 	private final DataSourceProcessorService dataSourceProcessorService;
 	private final FhirProcessor fhirProcessor;
 	private final StepService stepService;
 
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	/**
+	 * Template for transactions that are committed independently of the current transaction.
+	 */
+	private final TransactionTemplate newTransactionTemplate;
+
+	/**
+	 * Number of rows per block of the archives.
+	 */
+	private final int archiveBlockSize;
+
 	@Autowired
 	public DatabaseService(final DataSource dataSource, final DataProcessingRepository dataProcessingRepository,
 	                       final DataTransformationErrorRepository errorRepository,
@@ -96,12 +134,18 @@ public class DatabaseService {
 	                       final DatasetConfigurationMapper datasetConfigurationMapper,
 	                       final DataSourceConfigurationMapper dataSourceConfigurationMapper,
 	                       final FileConfigurationMapper fileConfigurationMapper,
-	                       final DataschemeGenerator dataschemeGenerator,
+	                       final DataSetStorage dataSetStorage,
+	                       final DataSetQueryGenerator dataSetQueryGenerator,
+	                       final DataSetIndexService dataSetIndexService,
 	                       final DataSetService dataSetService,
 	                       final DataProcessorService dataProcessorService,
 	                       final DataSourceProcessorService dataSourceProcessorService,
 	                       final FhirProcessor fhirProcessor,
-	                       final StepService stepService) {
+	                       final StepService stepService,
+	                       final EntityManager entityManager,
+	                       final TransactionTemplate transactionTemplate,
+	                       @Value("${cinnamon.archive.block-size}") final int archiveBlockSize) {
+		this.dataSource = dataSource;
 		this.connection = DataSourceUtils.getConnection(dataSource);
 		this.dataProcessingRepository = dataProcessingRepository;
 		this.errorRepository = errorRepository;
@@ -111,22 +155,51 @@ public class DatabaseService {
 		this.datasetConfigurationMapper = datasetConfigurationMapper;
 		this.dataSourceConfigurationMapper = dataSourceConfigurationMapper;
 		this.fileConfigurationMapper = fileConfigurationMapper;
-		this.dataschemeGenerator = dataschemeGenerator;
+		this.dataSetStorage = dataSetStorage;
+		this.dataSetQueryGenerator = dataSetQueryGenerator;
+		this.dataSetIndexService = dataSetIndexService;
 		this.dataSetService = dataSetService;
 		this.dataProcessorService = dataProcessorService;
 		this.dataSourceProcessorService = dataSourceProcessorService;
 		this.fhirProcessor = fhirProcessor;
 		this.stepService = stepService;
+		this.entityManager = entityManager;
+		this.transactionTemplate = transactionTemplate;
+		this.newTransactionTemplate = new TransactionTemplate(
+				Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+		this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.archiveBlockSize = archiveBlockSize;
 	}
 
 	/**
-	 * Returns the table name for a corresponding DataSet with the given id.
+	 * Returns the relation containing the rows of the DataSet with the given id.
+	 * For the default storage, this is the name of the corresponding table.
 	 *
 	 * @param dataSetId ID of the DataSet.
-	 * @return Name of the corresponding table.
+	 * @return Relation that can be used in the FROM clause of a query.
+	 * @see DataSetStorage#getRelation(long, DataConfiguration)
 	 */
 	public String getTableName(final long dataSetId) {
-		return "dataset_" + String.format("%08d", dataSetId);
+		final DataConfiguration dataConfiguration = dataSetRepository.findById(dataSetId)
+		                                                             .map(DataSetEntity::getDataConfiguration)
+		                                                             .orElseGet(DataConfiguration::new);
+		return dataSetStorage.getRelation(dataSetId, dataConfiguration);
+	}
+
+	/**
+	 * Same as {@link #getTableName(long)}, but restores the table if the DataSet has been archived.
+	 * Used for queries that cannot be answered by the archive.
+	 *
+	 * @param dataSetId ID of the DataSet.
+	 * @return Relation that can be used in the FROM clause of a query.
+	 * @throws InternalDataSetPersistenceException If the table could not be restored.
+	 */
+	private String getRelation(final long dataSetId) throws InternalDataSetPersistenceException {
+		final Optional<DataSetEntity> dataSet = dataSetRepository.findById(dataSetId);
+		if (dataSet.isPresent()) {
+			restoreArchive(dataSet.get());
+		}
+		return getTableName(dataSetId);
 	}
 
 	/**
@@ -517,6 +590,23 @@ public class DatabaseService {
 			throws BadArgumentException, BadDataConfigurationException, BadDatasetException, BadDataSetIdException,
 					       BadStateException, InternalDataSetPersistenceException, InternalIOException,
 					       InternalMissingHandlingException {
+		return storeOriginalDataset(project, null);
+	}
+
+	/**
+	 * Same as {@link #storeOriginalDataset(ProjectEntity)}, but reports the progress.
+	 * If the import is canceled, the partially stored dataset is deleted.
+	 *
+	 * @param project  The project to update.
+	 * @param progress Progress of the import. Can be null.
+	 * @return The ID of the data set.
+	 * @throws BadStateException If the import has been canceled.
+	 */
+	@Transactional
+	public Long storeOriginalDataset(final ProjectEntity project, @Nullable final ImportProgress progress)
+			throws BadArgumentException, BadDataConfigurationException, BadDatasetException, BadDataSetIdException,
+					       BadStateException, InternalDataSetPersistenceException, InternalIOException,
+					       InternalMissingHandlingException {
 		// Check if the file and the file configuration are available
 		final FileEntity fileEntity = project.getOriginalData().getFile();
 		final LobWrapperEntity file = fileEntity.getFile();
@@ -544,9 +634,16 @@ public class DatabaseService {
 
 		// Store the dataset
 		final DataProcessor dataProcessor = dataProcessorService.getDataProcessor(fileConfiguration.getFileType());
-		final TransformationResult transformationResult = dataProcessor.read(file.getLobStream(), fileConfiguration,
-		                                                                     configuration);
-		final Long id = storeOriginalTransformationResult(transformationResult, project);
+		final InputStream data = progress != null ? progress.track(file.getLobStream()) : file.getLobStream();
+		final TransformationResult transformationResult = dataProcessor.read(data, fileConfiguration, configuration);
+		if (progress != null) {
+			throwIfCanceled(progress);
+			for (final DataRowTransformationError rowError : transformationResult.getTransformationErrors()) {
+				progress.addErrors(rowError.getDataTransformationErrors().size());
+			}
+		}
+
+		final Long id = storeOriginalTransformationResult(transformationResult, project, progress);
 		updateHoldOutSplit(project);
 
 		return id;
@@ -596,6 +693,23 @@ public class DatabaseService {
 	public Long storeOriginalTransformationResult(final TransformationResult transformationResult,
 	                                              final ProjectEntity project)
 			throws BadDataConfigurationException, BadDataSetIdException, BadStateException, InternalDataSetPersistenceException, InternalIOException {
+		return storeOriginalTransformationResult(transformationResult, project, null);
+	}
+
+	/**
+	 * Same as {@link #storeOriginalTransformationResult(TransformationResult, ProjectEntity)}, but reports the progress.
+	 *
+	 * @param transformationResult The transformation result to be stored.
+	 * @param project              The project.
+	 * @param progress             Progress of the import. Can be null.
+	 * @return The ID of the data set.
+	 * @throws BadStateException If the import has been canceled.
+	 */
+	@Transactional
+	public Long storeOriginalTransformationResult(final TransformationResult transformationResult,
+	                                              final ProjectEntity project,
+	                                              @Nullable final ImportProgress progress)
+			throws BadDataConfigurationException, BadDataSetIdException, BadStateException, InternalDataSetPersistenceException, InternalIOException {
 		final DataSet dataSet = transformationResult.getDataSet();
 		final DataConfiguration dataConfiguration = dataSet.getDataConfiguration();
 
@@ -607,11 +721,14 @@ public class DatabaseService {
 
 		// Store configuration
 		DataSetEntity dataSetEntity = doStoreOriginalDataConfiguration(project, dataSet.getDataConfiguration());
+		if (progress != null) {
+			progress.setDataSetId(dataSetEntity.getId());
+		}
 
 		// Store transformation errors
 		convertTransformationErrors(transformationResult, dataSetEntity);
 
-		dataSetEntity = storeDataSet(dataSet, dataSetEntity);
+		dataSetEntity = storeDataSet(dataSet, dataSetEntity, progress);
 
 		log.debug("Stored transformation result for original data");
 
@@ -657,7 +774,7 @@ public class DatabaseService {
 
 		dataProcessingRepository.save(dataProcessingEntity);
 
-		storeDataSet(dataSet, dataSetEntity);
+		storeDataSet(dataSet, dataSetEntity, null);
 
 		log.debug("Stored transformation result for job {}", dataProcessingEntity.getJob().getName());
 	}
@@ -699,10 +816,10 @@ public class DatabaseService {
 			return;
 		}
 
-		final String tableName = getTableName(dataSet.getId());
+		restoreArchive(dataSet);
 
 		try {
-			setAllHoldOutRows(tableName, false);
+			dataSetStorage.setHoldOut(dataSet.getId(), false);
 		} catch (final SQLException e) {
 			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.HOLD_OUT,
 			                                              "Failed to reset the hold-out split!", e);
@@ -745,6 +862,7 @@ public class DatabaseService {
 
 		// Reset existing hold-out split
 		removeHoldOutSplit(project.getOriginalData().getDataSet());
+		restoreArchive(dataset);
 		projectRepository.save(project);
 
 		// Set the seed
@@ -776,8 +894,6 @@ public class DatabaseService {
 	 */
 	private void createHoldOutSplit(final DataSetEntity dataset, final float holdOutPercentage, final int seed)
 			throws InternalDataSetPersistenceException, SQLException {
-		final String tableName = getTableName(dataset.getId());
-
 		final int rowCount = countEntries(dataset.getId());
 		final int holdOutRows = Math.round(rowCount * holdOutPercentage);
 
@@ -786,7 +902,7 @@ public class DatabaseService {
 		}
 
 		if (holdOutRows >= rowCount) {
-			setAllHoldOutRows(tableName, true);
+			dataSetStorage.setHoldOut(dataset.getId(), true);
 			return;
 		}
 
@@ -796,13 +912,13 @@ public class DatabaseService {
 		 */
 		if (holdOutRows <= rowCount / 2) {
 			final Set<Integer> selectedRows = sampleRowNumbers(rowCount, holdOutRows, seed);
-			updateHoldOutRowsChunked(tableName, selectedRows, true);
+			updateHoldOutRowsChunked(dataset.getId(), selectedRows, true);
 		} else {
-			setAllHoldOutRows(tableName, true);
+			dataSetStorage.setHoldOut(dataset.getId(), true);
 
 			final int nonHoldOutRows = rowCount - holdOutRows;
 			final Set<Integer> selectedRows = sampleRowNumbers(rowCount, nonHoldOutRows, seed);
-			updateHoldOutRowsChunked(tableName, selectedRows, false);
+			updateHoldOutRowsChunked(dataset.getId(), selectedRows, false);
 		}
 	}
 
@@ -830,34 +946,15 @@ public class DatabaseService {
 	}
 
 	/**
-	 * Sets the hold-out flag for all rows in the given table to the given value.
-	 *
-	 * @param tableName The name of the table.
-	 * @param holdOut   Flag value.
-	 * @throws SQLException If setting the hold-out flag failed.
-	 */
-	private void setAllHoldOutRows(final String tableName, final boolean holdOut) throws SQLException {
-		final String query =
-				"UPDATE " + tableName +
-				" SET " + DataschemeGenerator.HOLD_OUT_FLAG_NAME + " = ?";
-
-		try (final PreparedStatement statement = connection.prepareStatement(query)) {
-			statement.setQueryTimeout(20);
-			statement.setBoolean(1, holdOut);
-			statement.executeUpdate();
-		}
-	}
-
-	/**
-	 * Sets the hold-out flag for the given row numbers in the given table to the given value.
+	 * Sets the hold-out flag for the given row numbers in the given data set to the given value.
 	 * Uses chunking to avoid issues with too many parameters in the query for large data sets.
 	 *
-	 * @param tableName  The name of the table.
+	 * @param dataSetId  The ID of the data set.
 	 * @param rowNumbers The row numbers to update.
 	 * @param holdOut    Flag value.
 	 * @throws SQLException If updating the hold-out flag failed.
 	 */
-	private void updateHoldOutRowsChunked(final String tableName, final Collection<Integer> rowNumbers,
+	private void updateHoldOutRowsChunked(final long dataSetId, final Collection<Integer> rowNumbers,
 	                                      final boolean holdOut)
 			throws SQLException {
 		final int chunkSize = 500;
@@ -865,40 +962,7 @@ public class DatabaseService {
 
 		for (int start = 0; start < rowNumberList.size(); start += chunkSize) {
 			final int end = Math.min(start + chunkSize, rowNumberList.size());
-			updateHoldOutRows(tableName, rowNumberList.subList(start, end), holdOut);
-		}
-	}
-
-	/**
-	 * Updates the hold-out flag for the given row numbers in the given table.
-	 * Prefer using {@link #updateHoldOutRowsChunked(String, Collection, boolean)} for better performance with large datasets.
-	 *
-	 * @param tableName  The name of the table.
-	 * @param rowNumbers The row numbers to update.
-	 * @param holdOut    Flag value.
-	 * @throws SQLException If updating the hold-out flag failed.
-	 */
-	private void updateHoldOutRows(final String tableName, final List<Integer> rowNumbers, final boolean holdOut)
-			throws SQLException {
-		if (rowNumbers.isEmpty()) {
-			return;
-		}
-
-		final String placeholders = String.join(",", Collections.nCopies(rowNumbers.size(), "?"));
-		final String query =
-				"UPDATE " + tableName +
-				" SET " + DataschemeGenerator.HOLD_OUT_FLAG_NAME + " = ?" +
-				" WHERE " + DataschemeGenerator.ROW_INDEX_NAME + " IN (" + placeholders + ")";
-
-		try (final PreparedStatement statement = connection.prepareStatement(query)) {
-			statement.setQueryTimeout(20);
-			statement.setBoolean(1, holdOut);
-
-			for (int i = 0; i < rowNumbers.size(); i++) {
-				statement.setInt(i + 2, rowNumbers.get(i));
-			}
-
-			statement.executeUpdate();
+			dataSetStorage.setHoldOut(dataSetId, rowNumberList.subList(start, end), holdOut);
 		}
 	}
 
@@ -1154,7 +1218,41 @@ public class DatabaseService {
 	public DataSet exportDataSet(final DataSetEntity dataSetEntity, final List<String> columnNames,
 	                             final HoldOutSelector holdOutSelector)
 			throws BadColumnNameException, InternalDataSetPersistenceException, InternalIOException {
-		return exportDataSet(dataSetEntity, RowSelector.ALL, columnNames, holdOutSelector, false, 0, 0, false);
+		return exportDataSet(dataSetEntity, RowSelector.ALL, columnNames, holdOutSelector, false, 0, 0, false, null,
+		                     null);
+	}
+
+	/**
+	 * Passes all rows of the given DataSetEntity to the consumer without keeping the data set in memory.
+	 * Rows stored in the database are fetched in chunks through a cursor, see {@link #streamDataRows}.
+	 *
+	 * @param dataSetEntity   The data set entity.
+	 * @param holdOutSelector Which hold-out rows should be selected.
+	 * @param rowConsumer     Consumer receiving the rows ordered by the row index.
+	 * @return The data configuration of the rows.
+	 * @throws InternalDataSetPersistenceException If the data could not be exported.
+	 * @throws InternalIOException                 If the data configuration could not be loaded.
+	 */
+	@Transactional
+	public DataConfiguration streamDataSet(final DataSetEntity dataSetEntity, final HoldOutSelector holdOutSelector,
+	                                       final Consumer<DataRow> rowConsumer)
+			throws InternalDataSetPersistenceException, InternalIOException {
+		final DataConfiguration dataConfiguration = getDetachedDataConfiguration(dataSetEntity);
+
+		if (dataSetEntity.getArchive() != null) {
+			final List<Integer> columns = IntStream.range(0, dataConfiguration.getConfigurations().size())
+			                                       .boxed()
+			                                       .toList();
+			readArchive(dataSetEntity, columns, holdOutSelector, null, 0, Integer.MAX_VALUE,
+			            (rowIndex, data) -> rowConsumer.accept(new DataRow(data)));
+			return dataConfiguration;
+		}
+
+		final String query = createSelectQuery(dataSetEntity.getId(), RowSelector.ALL,
+		                                       dataConfiguration.getColumnNames(), null, holdOutSelector, false, 0, 0,
+		                                       false, null, null);
+		streamDataRows(query, dataConfiguration, rowConsumer);
+		return dataConfiguration;
 	}
 
 	/**
@@ -1219,7 +1317,7 @@ public class DatabaseService {
 	 * Starts at the given page number taking the given page size into account.
 	 * Returns the columns with the given names in the given order.
 	 * If no column names are provided, all columns are exported.
-	 * Includes only the rows that macht the given row selector.
+	 * Includes only the rows that macht the given row selector and the given query.
 	 * Encodes the data as specified in the given LoadDataRequest.
 	 *
 	 * @param dataSetEntity   The data set to be exported form.
@@ -1227,8 +1325,10 @@ public class DatabaseService {
 	 * @param pageNumber      The number of the page to be exported.
 	 * @param pageSize        The number of items per page.
 	 * @param loadDataRequest Export settings.
+	 * @param query           Filters and sort order of the rows. If null, all rows are exported in their original order.
 	 * @return The page containing the data and meta-data about the page.
 	 * @throws BadColumnNameException              If the data set does not contain a column with the given names.
+	 * @throws BadQueryException                   If the query is not valid for the data set.
 	 * @throws InternalDataSetPersistenceException If the data set could not be exported due to an internal error.
 	 * @throws InternalIOException                 If the DataConfiguration could not be deserialized from the stored JSON.
 	 */
@@ -1237,12 +1337,23 @@ public class DatabaseService {
 	                                                               final RowSelector rowSelector,
 	                                                               final int pageNumber,
 	                                                               final int pageSize,
-	                                                               final LoadDataRequest loadDataRequest)
-			throws InternalDataSetPersistenceException, BadColumnNameException, InternalIOException {
+	                                                               final LoadDataRequest loadDataRequest,
+	                                                               @Nullable final DataSetQuery query)
+			throws InternalDataSetPersistenceException, BadColumnNameException, BadQueryException,
+			       InternalIOException {
 		final List<String> columnNames = loadDataRequest != null ? loadDataRequest.getColumnNames() : new ArrayList<>();
 
+		SqlCondition condition = null;
+		String orderBy = null;
+		if (query != null && !query.isEmpty()) {
+			final DataConfiguration dataConfiguration = dataSetEntity.getDataConfiguration();
+			condition = dataSetQueryGenerator.createCondition(dataConfiguration, query);
+			orderBy = dataSetQueryGenerator.createOrderBy(dataConfiguration, query);
+			createIndicesIfRequired(dataSetEntity, dataSetQueryGenerator.getIndexableColumns(dataConfiguration, query));
+		}
+
 		var hasHoldOut = dataSetEntity.isHasHoldOut();
-		var calcRowNumbers = rowSelector != RowSelector.ALL ||
+		var calcRowNumbers = rowSelector != RowSelector.ALL || condition != null || orderBy != null ||
 		                     (hasHoldOut && loadDataRequest.getHoldOutSelector() != HoldOutSelector.ALL);
 
 		final var startRow = (pageNumber - 1) * pageSize;
@@ -1251,7 +1362,7 @@ public class DatabaseService {
 				dataSetEntity.getDataConfiguration(), columnNames);
 		final DataSet dataSet = exportDataSet(dataSetEntity, rowSelector, columnNames,
 		                                      loadDataRequest.getHoldOutSelector(), true, startRow, pageSize,
-		                                      calcRowNumbers);
+		                                      calcRowNumbers, condition, orderBy);
 
 		final List<Integer> rowNumbers;
 
@@ -1276,7 +1387,7 @@ public class DatabaseService {
 		}
 
 		final int numberRows = countEntries(dataSetEntity.getId(), loadDataRequest.getHoldOutSelector(), rowSelector,
-		                                    columnIndexMapping.keySet());
+		                                    columnIndexMapping.keySet(), condition);
 		final int numberPages = (int) Math.ceil((float) numberRows / pageSize);
 
 		final Map<Integer, DataRowTransformationError> rowErrors = new HashMap<>();
@@ -1373,7 +1484,7 @@ public class DatabaseService {
 		// Delete the table and its data
 		if (existsTable(dataSet.getId())) {
 			try {
-				executeStatement("DROP TABLE IF EXISTS " + getTableName(dataSet.getId()) + ";");
+				dataSetStorage.delete(List.of(dataSet.getId()));
 			} catch (SQLException e) {
 				LOGGER.error("The DataSet could not be deleted!", e);
 				throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.DATA_SET_DELETE,
@@ -1381,16 +1492,127 @@ public class DatabaseService {
 			}
 		}
 
+		dataSet.setArchive(null);
 		dataSet.getDataTransformationErrors().clear();
 		dataSet.setStoredData(false);
 		dataSet.setHasHoldOut(false);
 		dataSet.setHoldOutSeed(0);
 		dataSet.setConfirmedData(false);
 		dataSet.getStatisticsProcess().reset();
+		dataSetIndexService.forget(dataSet.getId());
 
 		log.debug("Deleted dataset with ID {}", dataSet.getId());
 	}
 
+	/**
+	 * Deletes the stored rows of the given datasets at once.
+	 * Datasets without stored rows are ignored.
+	 * The entities are not modified, see {@link #deleteDataSet(DataSetEntity)}.
+	 *
+	 * @param dataSetIds The IDs of the datasets.
+	 * @throws InternalDataSetPersistenceException If the tables could not be deleted.
+	 */
+	public void deleteDataSetTables(final Collection<Long> dataSetIds) throws InternalDataSetPersistenceException {
+		if (dataSetIds.isEmpty()) {
+			return;
+		}
+
+		try {
+			dataSetStorage.delete(dataSetIds);
+		} catch (SQLException e) {
+			LOGGER.error("The DataSets could not be deleted!", e);
+			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.DATA_SET_DELETE,
+			                                              "The DataSets could not be deleted!", e);
+		}
+
+		log.debug("Deleted the tables of {} datasets", dataSetIds.size());
+	}
+
+	/**
+	 * Moves the rows of the given dataset into a compressed columnar archive and deletes the table.
+	 * Exports and pages without filters or sorting are read from the archive,
+	 * other queries and modifications of the hold-out split restore the table.
+	 * Does nothing if the data is not stored or has already been archived.
+	 * The table is deleted after the archive has been committed, so a rollback does not lose the rows.
+	 *
+	 * @param dataSet The dataset to be archived.
+	 * @throws InternalDataSetPersistenceException If the rows could not be archived or the table could not be deleted.
+	 * @throws InternalIOException                 If the data configuration could not be loaded.
+	 */
+	@Transactional
+	public void archiveDataSet(final DataSetEntity dataSet)
+			throws InternalDataSetPersistenceException, InternalIOException {
+		if (!dataSet.isStoredData() || dataSet.getArchive() != null) {
+			return;
+		}
+
+		// Serializes archiving with restoring the same dataset
+		if (dataSetRepository.lockArchiveId(dataSet.getId()).isPresent()) {
+			return;
+		}
+
+		final Set<Integer> holdOutRows = dataSet.isHasHoldOut() ? readHoldOutRows(dataSet.getId()) : Set.of();
+
+		final byte[] archive;
+		try {
+			final DataSetArchiveWriter writer = new DataSetArchiveWriter(getDetachedDataConfiguration(dataSet),
+			                                                             archiveBlockSize);
+			// Rows are stored with consecutive indices starting at 0
+			final AtomicInteger rowIndex = new AtomicInteger();
+			streamDataSet(dataSet, HoldOutSelector.ALL, dataRow -> {
+				try {
+					writer.write(dataRow, holdOutRows.contains(rowIndex.getAndIncrement()));
+				} catch (final IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			archive = writer.finish();
+		} catch (final IOException | UncheckedIOException e) {
+			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.ARCHIVE,
+			                                              "Failed to archive dataset with ID '" + dataSet.getId() +
+			                                              "'!", e);
+		}
+
+		dataSet.setArchive(new LobWrapperEntity(archive));
+		dataSetRepository.save(dataSet);
+
+		final long dataSetId = dataSet.getId();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					deleteArchivedTable(dataSetId);
+				}
+			});
+		} else {
+			deleteArchivedTable(dataSetId);
+		}
+
+		log.debug("Archived dataset with ID {} into {} bytes", dataSetId, archive.length);
+	}
+
+	/**
+	 * Deletes the table of the given archived dataset.
+	 * Does nothing if the archive has been restored in the meantime.
+	 * A table that could not be deleted is replaced when the archive is restored.
+	 *
+	 * @param dataSetId The ID of the dataset.
+	 */
+	private void deleteArchivedTable(final long dataSetId) {
+		newTransactionTemplate.executeWithoutResult(status -> {
+			if (dataSetRepository.lockArchiveId(dataSetId).isEmpty()) {
+				return;
+			}
+
+			try {
+				dataSetStorage.delete(List.of(dataSetId));
+				dataSetIndexService.forget(dataSetId);
+			} catch (final SQLException e) {
+				LOGGER.error("The table of the archived DataSet with ID {} could not be deleted!", dataSetId, e);
+			}
+		});
+	}
+
 	/**
 	 * Counts the number of rows in the dataset with the given ID.
 	 *
@@ -1415,15 +1637,49 @@ public class DatabaseService {
 	 */
 	public int countEntries(final long dataSetId, final HoldOutSelector holdOutSelector, final RowSelector rowSelector,
 	                        @Nullable final Collection<Integer> columnIndices) throws InternalDataSetPersistenceException {
-		String countQuery = "SELECT count(*) FROM " + getTableName(dataSetId) + " as d ";
+		return countEntries(dataSetId, holdOutSelector, rowSelector, columnIndices, null);
+	}
+
+	/**
+	 * Counts the number of entries in the dataset that comply with the given selectors and the given condition.
+	 *
+	 * @param dataSetId       The ID of the data set.
+	 * @param holdOutSelector If hold-out rows should be selected.
+	 * @param rowSelector     Selector specifying which rows should be included regarding on the hold-out split.
+	 * @param columnIndices   Columns the row selector condition should be applied to.
+	 *                        If null, the condition is applied to all columns.
+	 * @param condition       Additional condition created by the {@link DataSetQueryGenerator}. Can be null.
+	 * @return The number of entries.
+	 * @throws InternalDataSetPersistenceException If the number could not be retrieved.
+	 */
+	public int countEntries(final long dataSetId, final HoldOutSelector holdOutSelector, final RowSelector rowSelector,
+	                        @Nullable final Collection<Integer> columnIndices, @Nullable final SqlCondition condition)
+			throws InternalDataSetPersistenceException {
+		if (condition == null) {
+			final Optional<DataSetEntity> dataSet = dataSetRepository.findById(dataSetId);
+			if (dataSet.isPresent() && dataSet.get().getArchive() != null) {
+				try {
+					return openArchive(dataSet.get()).count(holdOutSelector,
+					                                        createRowFilter(dataSet.get(), rowSelector, columnIndices));
+				} catch (final BinaryFormatException e) {
+					throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.ARCHIVE,
+					                                              "Failed to count rows in the archive of dataset with ID '" +
+					                                              dataSetId + "'!", e);
+				}
+			}
+		}
+
+		String countQuery = "SELECT count(*) FROM " + getRelation(dataSetId) + " as d ";
 		countQuery = appendHoldOutCondition(countQuery, holdOutSelector);
 		countQuery = appendRowSelectorCondition(countQuery, rowSelector, columnIndices, dataSetId);
+		countQuery = appendQueryCondition(countQuery, condition);
 		countQuery += ";";
 
-		try (final Statement countStatement = connection.createStatement()) {
+		try (final PreparedStatement countStatement = connection.prepareStatement(countQuery)) {
 			countStatement.setQueryTimeout(20);
+			setParameters(countStatement, condition != null ? condition.parameters() : List.of());
 
-			try (final ResultSet resultSet = countStatement.executeQuery(countQuery)) {
+			try (final ResultSet resultSet = countStatement.executeQuery()) {
 				resultSet.next();
 				return resultSet.getInt(1);
 			}
@@ -1452,10 +1708,8 @@ public class DatabaseService {
 	 * @throws InternalDataSetPersistenceException If the SQL statement could not be executed.
 	 */
 	public boolean existsTable(final long dataSetId) throws InternalDataSetPersistenceException {
-		final String tableName = getTableName(dataSetId);
-
 		try {
-			return existsTable(tableName);
+			return dataSetStorage.exists(dataSetId);
 		} catch (final SQLException e) {
 			LOGGER.error("The table could not be checked!", e);
 			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.TABLE_CHECk,
@@ -1463,35 +1717,6 @@ public class DatabaseService {
 		}
 	}
 
-	/**
-	 * Checks if a table with the given name exists.
-	 *
-	 * @param tableName Name of the table to check.
-	 * @return True if the table exists, false if not.
-	 * @throws SQLException If the SQL statement could not be executed.
-	 */
-	private boolean existsTable(final String tableName) throws SQLException {
-		final var metaData = connection.getMetaData();
-
-		try (final ResultSet resultSet = metaData.getTables(null, null, tableName, new String[]{"TABLE"})) {
-			if (resultSet.next()) {
-				return true;
-			}
-		}
-
-		try (final ResultSet resultSet = metaData.getTables(null, null, tableName.toUpperCase(),
-		                                                    new String[]{"TABLE"})) {
-			if (resultSet.next()) {
-				return true;
-			}
-		}
-
-		try (final ResultSet resultSet = metaData.getTables(null, null, tableName.toLowerCase(),
-		                                                    new String[]{"TABLE"})) {
-			return resultSet.next();
-		}
-	}
-
 	/**
 	 * Executes a query in the database.
 	 *
@@ -1596,6 +1821,13 @@ public class DatabaseService {
 	                                          final DatasetConfiguration datasetConfiguration) {
 		datasetConfigurationMapper.updateEntity(project.getOriginalData().getDatasetConfiguration(),
 		                                        datasetConfiguration);
+
+		// The info of the data set contains the hold-out percentage
+		final DataSetEntity dataSet = project.getOriginalData().getDataSet();
+		if (dataSet != null) {
+			dataSet.incrementContentVersion();
+		}
+
 		log.debug("Stored dataset configuration");
 	}
 
@@ -1678,14 +1910,14 @@ public class DatabaseService {
 		}
 	}
 
-	private DataSetEntity storeDataSet(final DataSet dataSet, final DataSetEntity dataSetEntity)
-			throws BadDataConfigurationException, InternalDataSetPersistenceException {
-		final String tableName = getTableName(dataSetEntity.getId());
+	private DataSetEntity storeDataSet(final DataSet dataSet, final DataSetEntity dataSetEntity,
+	                                   @Nullable final ImportProgress progress)
+			throws BadDataConfigurationException, BadStateException, InternalDataSetPersistenceException {
+		final DataConfiguration dataConfiguration = dataSet.getDataConfiguration();
 
 		// Create table
-		final String tableQuery = dataschemeGenerator.createSchema(dataSet.getDataConfiguration(), tableName);
 		try {
-			executeStatement(tableQuery);
+			dataSetStorage.create(dataSetEntity.getId(), dataConfiguration);
 		} catch (final SQLException e) {
 			LOGGER.error("The Table for the DataSet could not be created!", e);
 			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.TABLE_CREATE,
@@ -1693,37 +1925,22 @@ public class DatabaseService {
 		}
 
 		// Insert data
-		try (final Statement insertStatement = connection.createStatement()) {
-			long rowNumber = 0;
+		boolean canceled = false;
+		try (final DataSetStorage.RowWriter writer = dataSetStorage.openWriter(dataSetEntity.getId(),
+		                                                                       dataConfiguration)) {
+			int rowNumber = 0;
 			for (final DataRow dataRow : dataSet.getDataRows()) {
-				final List<String> stringRow = new ArrayList<>();
-
-				// Add values from the dataset, account for rows containing too many values
-				int columnIndex = 0;
-				final int numberRowsCapped = Math.min(dataRow.getData().size(),
-				                                      dataSet.getDataConfiguration().getConfigurations().size());
-				for (int i = 0; i < numberRowsCapped; i++) {
-					final Data data = dataRow.getData().get(i);
-					stringRow.add(convertDataToString(data));
-					columnIndex++;
-				}
-
-				// Fill missing values with null values to account for rows containing too few values
-				for (int i = columnIndex; i < dataSet.getDataConfiguration().getConfigurations().size(); i++) {
-					stringRow.add("null");
+				if (progress != null && progress.isCanceled()) {
+					canceled = true;
+					break;
 				}
 
-				// Add initial value for is_hold_out flag
-				stringRow.add(Boolean.FALSE.toString());
-
-				// Add row number for row_number
-				stringRow.add(String.valueOf(rowNumber));
-
-				String values = String.join(",", stringRow);
-
-				insertStatement.execute("INSERT INTO " + tableName + " VALUES (" + values + ")");
+				writer.write(dataRow, rowNumber);
 
 				rowNumber++;
+				if (progress != null) {
+					progress.addStoredRow();
+				}
 			}
 		} catch (SQLException e) {
 			try {
@@ -1735,6 +1952,12 @@ public class DatabaseService {
 			                                              "The DataSet could not be persisted!", e);
 		}
 
+		// Delete the rows after the writer has been closed, so no pending rows are inserted afterward
+		if (canceled) {
+			deleteDataSet(dataSetEntity);
+			throwIfCanceled(progress);
+		}
+
 		log.debug("Stored dataset with ID {}", dataSetEntity.getId());
 
 		dataSetEntity.setStoredData(true);
@@ -1742,34 +1965,26 @@ public class DatabaseService {
 	}
 
 
-	private String convertDataToString(final Data data) throws InternalDataSetPersistenceException {
-		if (data.getValue() == null) {
-			return "null";
+	/**
+	 * Throws an exception if the given import has been canceled.
+	 *
+	 * @param progress The progress of the import.
+	 * @throws BadStateException If the import has been canceled.
+	 */
+	private void throwIfCanceled(final ImportProgress progress) throws BadStateException {
+		if (progress.isCanceled()) {
+			throw new BadStateException(BadStateException.IMPORT_CANCELED, "The import has been canceled!");
 		}
-
-		return switch (data.getDataType()) {
-			case BOOLEAN -> data.getValue().toString();
-			case DATE -> "'" + data.getValue() + "'";
-			case DATE_TIME ->
-					"'" + data.asDateTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS")) + "'";
-			case DECIMAL -> data.getValue().toString();
-			case INTEGER -> data.getValue().toString();
-			case TEXT -> "'" + data.getValue().toString().replace("'", "''") + "'";
-			case STRING -> "'" + data.getValue().toString().replace("'", "''") + "'";
-			case UNDEFINED -> {
-				LOGGER.error("Undefined data type can not be persisted!");
-				throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.DATA_TYPE_STORE,
-				                                              "Undefined data type can not be persisted!");
-			}
-		};
 	}
 
 	private DataSet exportDataSet(final DataSetEntity dataSetEntity, final RowSelector rowSelector,
 	                              List<String> columnNames, final HoldOutSelector holdOutSelector,
 	                              final boolean pagination, final int startRow, final int pageSize,
-	                              final boolean exportRowIndexColumn)
+	                              final boolean exportRowIndexColumn, @Nullable final SqlCondition condition,
+	                              @Nullable final String orderBy)
 			throws BadColumnNameException, InternalDataSetPersistenceException, InternalIOException {
 		DataConfiguration dataConfiguration = getDetachedDataConfiguration(dataSetEntity);
+		final List<String> allColumnNames = dataConfiguration.getColumnNames();
 
 		List<Integer> columnIndices;
 
@@ -1789,16 +2004,81 @@ public class DatabaseService {
 			dataConfiguration = extractColumns(dataConfiguration, columnNames);
 		}
 
-		// Export the data from the database
 		final List<DataRow> dataRows = new ArrayList<>();
 
-		try (final Statement exportStatement = connection.createStatement()) {
+		// Export the data from the archive if the rows do not have to be filtered or sorted by values
+		if (dataSetEntity.getArchive() != null && condition == null && orderBy == null) {
+			final List<Integer> archiveColumns = columnNames.stream().map(allColumnNames::indexOf).toList();
+			final DataSetArchiveReader.RowConsumer rowConsumer = (rowIndex, data) -> {
+				if (exportRowIndexColumn) {
+					data.add(new IntegerData(rowIndex));
+				}
+				dataRows.add(new DataRow(data));
+			};
+
+			readArchive(dataSetEntity, archiveColumns, holdOutSelector,
+			            createRowFilter(dataSetEntity, rowSelector, columnIndices), pagination ? startRow : 0,
+			            pagination ? pageSize : Integer.MAX_VALUE, rowConsumer);
+			return new DataSet(dataRows, dataConfiguration);
+		}
+
+		// Export the data from the database
+		final String exportQuery = createSelectQuery(dataSetEntity.getId(), rowSelector, columnNames, columnIndices,
+		                                             holdOutSelector, pagination, startRow, pageSize,
+		                                             exportRowIndexColumn, condition, orderBy);
+		readDataRows(connection, exportQuery, condition != null ? condition.parameters() : List.of(),
+		             dataConfiguration, exportRowIndexColumn, dataRows::add);
+
+		return new DataSet(dataRows, dataConfiguration);
+	}
+
+	/**
+	 * Executes the given query and passes the converted rows to the consumer while they are fetched.
+	 * The PostgreSQL driver ignores the fetch size and loads the whole result if auto-commit is enabled,
+	 * therefore, the query is executed on a separate connection with auto-commit disabled.
+	 *
+	 * @param query             The select query.
+	 * @param dataConfiguration The data configuration of the selected columns.
+	 * @param rowConsumer       Consumer receiving the rows.
+	 * @throws InternalDataSetPersistenceException If the query failed or a value could not be converted.
+	 */
+	private void streamDataRows(final String query, final DataConfiguration dataConfiguration,
+	                            final Consumer<DataRow> rowConsumer) throws InternalDataSetPersistenceException {
+		try (final Connection streamConnection = dataSource.getConnection()) {
+			streamConnection.setAutoCommit(false);
+			try {
+				readDataRows(streamConnection, query, List.of(), dataConfiguration, false, rowConsumer);
+			} finally {
+				// Only reads, nothing to commit
+				streamConnection.rollback();
+			}
+		} catch (SQLException e) {
+			LOGGER.error("The DataSet could not be exported!", e);
+			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.DATA_SET_EXPORT,
+			                                              "The DataSet could not be exported!", e);
+		}
+	}
 
-			final String exportQuery = createSelectQuery(dataSetEntity.getId(), rowSelector, columnNames, columnIndices,
-			                                             holdOutSelector, pagination, startRow, pageSize,
-			                                             exportRowIndexColumn);
+	/**
+	 * Executes the given query and passes the converted rows to the consumer.
+	 *
+	 * @param queryConnection      The connection to execute the query on.
+	 * @param query                The select query.
+	 * @param parameters           The parameters of the query.
+	 * @param dataConfiguration    The data configuration of the selected columns.
+	 * @param exportRowIndexColumn If the query selects the row index as an additional column.
+	 * @param rowConsumer          Consumer receiving the rows.
+	 * @throws InternalDataSetPersistenceException If the query failed or a value could not be converted.
+	 */
+	private void readDataRows(final Connection queryConnection, final String query, final List<Object> parameters,
+	                          final DataConfiguration dataConfiguration, final boolean exportRowIndexColumn,
+	                          final Consumer<DataRow> rowConsumer)
+			throws InternalDataSetPersistenceException {
+		try (final PreparedStatement exportStatement = queryConnection.prepareStatement(query)) {
+			exportStatement.setFetchSize(FETCH_SIZE);
+			setParameters(exportStatement, parameters);
 
-			try (final ResultSet resultSet = exportStatement.executeQuery(exportQuery)) {
+			try (final ResultSet resultSet = exportStatement.executeQuery()) {
 				while (resultSet.next()) {
 					final List<Data> data = new ArrayList<>();
 					for (int columnIndex = 0;
@@ -1812,7 +2092,7 @@ public class DatabaseService {
 						data.add(convertResultToData(resultSet, dataConfiguration.getConfigurations().size() + 1,
 						                             DataType.INTEGER));
 					}
-					dataRows.add(new DataRow(data));
+					rowConsumer.accept(new DataRow(data));
 				}
 			}
 		} catch (SQLException e) {
@@ -1820,8 +2100,6 @@ public class DatabaseService {
 			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.DATA_SET_EXPORT,
 			                                              "The DataSet could not be exported!", e);
 		}
-
-		return new DataSet(dataRows, dataConfiguration);
 	}
 
 	private void existColumnsOrThrow(final DataConfiguration dataConfiguration, final List<String> columnNames)
@@ -1854,18 +2132,21 @@ public class DatabaseService {
 	private String createSelectQuery(final Long dataSetId, final RowSelector rowSelector,
 	                                 final List<String> columnNames, final Collection<Integer> columnIndices,
 	                                 final HoldOutSelector holdOutSelector, final boolean pagination,
-	                                 final int startRow, final int pageSize, final boolean exportRowIndexColumn) {
+	                                 final int startRow, final int pageSize, final boolean exportRowIndexColumn,
+	                                 @Nullable final SqlCondition condition, @Nullable final String orderBy)
+			throws InternalDataSetPersistenceException {
 		final List<String> quotedColumnNames = columnNames.stream().map(this::quoteColumnName)
 		                                                  .collect(Collectors.toCollection(ArrayList::new));
 		if (exportRowIndexColumn) {
 			quotedColumnNames.add("\"" + DataschemeGenerator.ROW_INDEX_NAME + "\"");
 		}
 
-		String query = "SELECT " + String.join(",", quotedColumnNames) + " FROM " + getTableName(dataSetId) + " d";
+		String query = "SELECT " + String.join(",", quotedColumnNames) + " FROM " + getRelation(dataSetId) + " d";
 		query = appendHoldOutCondition(query, holdOutSelector);
 		query = appendRowSelectorCondition(query, rowSelector, columnIndices, dataSetId);
+		query = appendQueryCondition(query, condition);
 
-		query += " ORDER BY " + DataschemeGenerator.ROW_INDEX_NAME + " ASC";
+		query += " ORDER BY " + (orderBy != null ? orderBy : DataschemeGenerator.ROW_INDEX_NAME + " ASC");
 		if (pagination) {
 			query += " LIMIT " + pageSize + " OFFSET " + startRow;
 		}
@@ -2065,6 +2346,70 @@ public class DatabaseService {
 		return query;
 	}
 
+	/**
+	 * Appends the condition created by the {@link DataSetQueryGenerator}.
+	 *
+	 * @param query     The existing query to be appended.
+	 * @param condition The condition. If null, the query is not modified.
+	 * @return The appended query.
+	 */
+	private String appendQueryCondition(String query, @Nullable final SqlCondition condition) {
+		if (condition != null) {
+			query = appendWhere(query);
+			query += "(" + condition.sql() + ")";
+		}
+
+		return query;
+	}
+
+	/**
+	 * Sets the given parameters of the statement in the given order.
+	 *
+	 * @param statement  The statement.
+	 * @param parameters The parameters.
+	 * @throws SQLException If a parameter could not be set.
+	 */
+	private void setParameters(final PreparedStatement statement, final List<Object> parameters) throws SQLException {
+		for (int i = 0; i < parameters.size(); i++) {
+			statement.setObject(i + 1, parameters.get(i));
+		}
+	}
+
+	/**
+	 * Creates indices for the given columns if they are frequently filtered or sorted.
+	 * Failures are only logged, because the index is not required for the query.
+	 *
+	 * @param dataSetEntity The data set.
+	 * @param columnIndices Indices of the columns used by the current query.
+	 */
+	private void createIndicesIfRequired(final DataSetEntity dataSetEntity, final Collection<Integer> columnIndices) {
+		final Set<Integer> toBeIndexed = dataSetIndexService.recordUsage(dataSetEntity.getId(), columnIndices);
+		if (toBeIndexed.isEmpty()) {
+			return;
+		}
+
+		try {
+			final int minRows = dataSetIndexService.getMinRows();
+			if (minRows > 0 && countEntries(dataSetEntity.getId()) < minRows) {
+				return;
+			}
+
+			restoreArchive(dataSetEntity);
+
+			final DataConfiguration dataConfiguration = dataSetEntity.getDataConfiguration();
+			for (final ColumnConfiguration column : dataConfiguration.getConfigurations()) {
+				if (!toBeIndexed.contains(column.getIndex())) {
+					continue;
+				}
+
+				dataSetStorage.createIndex(dataSetEntity.getId(), dataConfiguration, column);
+				log.debug("Created index on column {} of dataset with ID {}", column.getIndex(), dataSetEntity.getId());
+			}
+		} catch (final SQLException | InternalDataSetPersistenceException e) {
+			log.warn("Failed to create index for dataset with ID {}", dataSetEntity.getId(), e);
+		}
+	}
+
 	private String appendWhere(final String query) {
 		if (query.contains("WHERE")) {
 			return query + " AND ";
@@ -2116,6 +2461,10 @@ public class DatabaseService {
 			throw new BadStateException(BadStateException.NO_DATA_SET, "No original dataset for comparison available!");
 		}
 
+		if (original.getArchive() != null || dataSet.getArchive() != null) {
+			return countRetainedRows(original, dataSet);
+		}
+
 		final String originalTableName = getTableName(original.getId());
 		final String otherTableName = getTableName(dataSet.getId());
 
@@ -2127,7 +2476,7 @@ public class DatabaseService {
 				"""
 				WITH original_table_filtered AS (
 				    SELECT *, ROW_NUMBER() OVER (ORDER BY %s) - 1 as row_number
-				    FROM %s
+				    FROM %s o
 				    WHERE %s = false
 				)
 				SELECT COUNT(*) as matching_rows
@@ -2150,6 +2499,240 @@ public class DatabaseService {
 		}
 	}
 
+	/**
+	 * Counts the retained rows like {@link #getNumberOfRetainedRows(DataSetEntity)} by comparing the rows in memory,
+	 * so archived datasets do not have to be restored.
+	 * Rows are retained if all values of the columns of the original dataset are equal and not null.
+	 *
+	 * @param original The original dataset.
+	 * @param dataSet  The dataset to compare.
+	 * @return The number of retained rows.
+	 * @throws InternalDataSetPersistenceException If the datasets could not be exported.
+	 */
+	private int countRetainedRows(final DataSetEntity original, final DataSetEntity dataSet)
+			throws InternalDataSetPersistenceException {
+		final DataSet originalRows;
+		final DataSet rows;
+		try {
+			final List<String> columnNames = original.getDataConfiguration().getColumnNames();
+			originalRows = exportDataSet(original, columnNames, HoldOutSelector.NOT_HOLD_OUT);
+			rows = exportDataSet(dataSet, columnNames, HoldOutSelector.ALL);
+		} catch (final BadColumnNameException | InternalIOException e) {
+			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.DATASET_COMPARISON,
+			                                              "Failed to compare rows for dataset with ID '" +
+			                                              dataSet.getId() + "'!", e);
+		}
+
+		int retainedRows = 0;
+		final int numberRows = Math.min(originalRows.getDataRows().size(), rows.getDataRows().size());
+		for (int rowIndex = 0; rowIndex < numberRows; rowIndex++) {
+			final List<Data> originalData = originalRows.getDataRows().get(rowIndex).getData();
+			final List<Data> data = rows.getDataRows().get(rowIndex).getData();
+
+			boolean retained = true;
+			for (int columnIndex = 0; columnIndex < originalData.size() && retained; columnIndex++) {
+				final Object value = originalData.get(columnIndex).getValue();
+				retained = value != null && value.equals(data.get(columnIndex).getValue());
+			}
+
+			if (retained) {
+				retainedRows++;
+			}
+		}
+
+		return retainedRows;
+	}
+
+	/**
+	 * Reads the indices of the hold-out rows from the table of the given dataset.
+	 *
+	 * @param dataSetId The ID of the dataset.
+	 * @return The row indices.
+	 * @throws InternalDataSetPersistenceException If executing the query failed.
+	 */
+	private Set<Integer> readHoldOutRows(final long dataSetId) throws InternalDataSetPersistenceException {
+		final String query = "SELECT " + DataschemeGenerator.ROW_INDEX_NAME + " FROM " + getTableName(dataSetId) +
+		                     " d WHERE " + DataschemeGenerator.HOLD_OUT_FLAG_NAME + " = true;";
+
+		final Set<Integer> holdOutRows = new HashSet<>();
+		try (final PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setFetchSize(FETCH_SIZE);
+			try (final ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					holdOutRows.add(resultSet.getInt(1));
+				}
+			}
+		} catch (final SQLException e) {
+			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.HOLD_OUT,
+			                                              "Failed to read the hold-out split of dataset with ID '" +
+			                                              dataSetId + "'!", e);
+		}
+
+		return holdOutRows;
+	}
+
+	/**
+	 * Recreates the table of the given dataset from its archive and removes the archive.
+	 * Does nothing if the dataset has not been archived.
+	 * Restores of the same dataset are serialized by locking the row of the dataset.
+	 * The archive is removed after the rows have been inserted,
+	 * so the restore can be repeated if the transaction is rolled back.
+	 *
+	 * @param dataSet The dataset.
+	 * @throws InternalDataSetPersistenceException If the table could not be restored.
+	 */
+	private void restoreArchive(final DataSetEntity dataSet) throws InternalDataSetPersistenceException {
+		if (dataSet.getArchive() == null) {
+			return;
+		}
+
+		final InternalDataSetPersistenceException error = transactionTemplate.execute(status -> {
+			try {
+				final DataSetEntity lockedDataSet = lockDataSet(dataSet);
+				if (lockedDataSet != null && lockedDataSet.getArchive() != null) {
+					restoreLockedArchive(lockedDataSet);
+				}
+				if (lockedDataSet != dataSet) {
+					dataSet.setArchive(null);
+				}
+				return null;
+			} catch (final InternalDataSetPersistenceException e) {
+				return e;
+			}
+		});
+
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	/**
+	 * Locks the row of the given dataset until the end of the current transaction and reloads its state.
+	 * If the dataset is managed by the current persistence context, pending changes are written before.
+	 *
+	 * @param dataSet The dataset.
+	 * @return The locked dataset, null if the dataset has been deleted.
+	 */
+	@Nullable
+	private DataSetEntity lockDataSet(final DataSetEntity dataSet) {
+		if (entityManager.contains(dataSet)) {
+			entityManager.flush();
+			entityManager.refresh(dataSet, LockModeType.PESSIMISTIC_WRITE);
+			return dataSet;
+		}
+
+		return entityManager.find(DataSetEntity.class, dataSet.getId(), LockModeType.PESSIMISTIC_WRITE);
+	}
+
+	/**
+	 * Recreates the table of the given locked dataset from its archive and removes the archive.
+	 * Rows of a previous restore that has been rolled back are replaced.
+	 *
+	 * @param dataSet The locked dataset.
+	 * @throws InternalDataSetPersistenceException If the table could not be restored.
+	 */
+	private void restoreLockedArchive(final DataSetEntity dataSet) throws InternalDataSetPersistenceException {
+		final DataSetArchiveReader reader = openArchive(dataSet);
+		final DataConfiguration dataConfiguration = reader.getDataConfiguration();
+		final List<Integer> columns = IntStream.range(0, dataConfiguration.getConfigurations().size())
+		                                       .boxed()
+		                                       .toList();
+
+		try {
+			dataSetStorage.delete(List.of(dataSet.getId()));
+			dataSetIndexService.forget(dataSet.getId());
+			dataSetStorage.create(dataSet.getId(), dataConfiguration);
+
+			final List<Integer> holdOutRows = new ArrayList<>();
+			try (final DataSetStorage.RowWriter writer = dataSetStorage.openWriter(dataSet.getId(),
+			                                                                       dataConfiguration)) {
+				for (int start = 0; start < reader.getNumberRows(); start += reader.getBlockSize()) {
+					final Map<Integer, DataRow> block = new LinkedHashMap<>();
+					reader.read(columns, HoldOutSelector.ALL, null, start, reader.getBlockSize(),
+					            (rowIndex, data) -> block.put(rowIndex, new DataRow(data)));
+
+					for (final Map.Entry<Integer, DataRow> row : block.entrySet()) {
+						writer.write(row.getValue(), row.getKey());
+						if (reader.isHoldOut(row.getKey())) {
+							holdOutRows.add(row.getKey());
+						}
+					}
+				}
+			}
+
+			updateHoldOutRowsChunked(dataSet.getId(), holdOutRows, true);
+		} catch (final BadDataConfigurationException | BinaryFormatException | SQLException e) {
+			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.ARCHIVE,
+			                                              "Failed to restore dataset with ID '" + dataSet.getId() +
+			                                              "' from the archive!", e);
+		}
+
+		dataSet.setArchive(null);
+		dataSetRepository.save(dataSet);
+
+		log.debug("Restored dataset with ID {} from the archive", dataSet.getId());
+	}
+
+	/**
+	 * Opens the archive of the given dataset.
+	 *
+	 * @param dataSet The archived dataset.
+	 * @return The reader for the archive.
+	 * @throws InternalDataSetPersistenceException If the archive is not valid.
+	 */
+	private DataSetArchiveReader openArchive(final DataSetEntity dataSet) throws InternalDataSetPersistenceException {
+		try {
+			return new DataSetArchiveReader(Objects.requireNonNull(dataSet.getArchive()).getLob());
+		} catch (final BinaryFormatException e) {
+			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.ARCHIVE,
+			                                              "Failed to open the archive of dataset with ID '" +
+			                                              dataSet.getId() + "'!", e);
+		}
+	}
+
+	/**
+	 * Reads rows from the archive of the given dataset.
+	 *
+	 * @see DataSetArchiveReader#read(List, HoldOutSelector, IntPredicate, int, int, DataSetArchiveReader.RowConsumer)
+	 */
+	private void readArchive(final DataSetEntity dataSet, final List<Integer> columns,
+	                         final HoldOutSelector holdOutSelector, @Nullable final IntPredicate rowFilter,
+	                         final int startRow, final int maxRows, final DataSetArchiveReader.RowConsumer rowConsumer)
+			throws InternalDataSetPersistenceException {
+		try {
+			openArchive(dataSet).read(columns, holdOutSelector, rowFilter, startRow, maxRows, rowConsumer);
+		} catch (final BinaryFormatException e) {
+			throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.ARCHIVE,
+			                                              "Failed to read the archive of dataset with ID '" +
+			                                              dataSet.getId() + "'!", e);
+		}
+	}
+
+	/**
+	 * Creates a filter on the row index equivalent to {@link #appendRowSelectorCondition(String, RowSelector, Collection, Long)}.
+	 *
+	 * @param dataSet       The dataset.
+	 * @param rowSelector   The row selector.
+	 * @param columnIndices Indices of the columns which should contain errors. If null, all columns are considered.
+	 * @return The filter or null if all rows are selected.
+	 */
+	@Nullable
+	private IntPredicate createRowFilter(final DataSetEntity dataSet, final RowSelector rowSelector,
+	                                     @Nullable final Collection<Integer> columnIndices) {
+		if (rowSelector == RowSelector.ALL) {
+			return null;
+		}
+
+		final Set<Integer> invalidRows = new HashSet<>();
+		for (final DataTransformationErrorEntity error : dataSet.getDataTransformationErrors()) {
+			if (columnIndices == null || columnIndices.contains(error.getColumnIndex())) {
+				invalidRows.add(error.getRowIndex());
+			}
+		}
+
+		return rowSelector == RowSelector.ERRORS ? invalidRows::contains : rowIndex -> !invalidRows.contains(rowIndex);
+	}
+
 	/**
 	 * Creates the join statements for joining two datasets on all columns of the dataset.
 	 *
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Service for forwarding request regarding configurations to the external server.
@@ -33,6 +34,7 @@ public class ExternalConfigurationService {
 
 	private final DatabaseService databaseService;
 	private final ExternalServerInstanceService externalServerInstanceService;
+	private final ExternalRequestExecutor externalRequestExecutor;
 	private final HttpService httpService;
 	private final StepService stepService;
 
@@ -43,11 +45,13 @@ public class ExternalConfigurationService {
 	                                    @Qualifier("multiFormatWebClient") final WebClient yamlWebClient,
 	                                    final DatabaseService databaseService,
 	                                    final ExternalServerInstanceService externalServerInstanceService,
+	                                    final ExternalRequestExecutor externalRequestExecutor,
 	                                    final HttpService httpService, final StepService stepService) {
 		this.yamlMapper = serializationConfig.yamlMapper();
 		this.yamlWebClient = yamlWebClient;
 		this.databaseService = databaseService;
 		this.externalServerInstanceService = externalServerInstanceService;
+		this.externalRequestExecutor = externalRequestExecutor;
 		this.httpService = httpService;
 		this.stepService = stepService;
 	}
@@ -167,22 +171,27 @@ public class ExternalConfigurationService {
 		final String urlPath = externalConfiguration.getAlgorithmEndpoint();
 
 		try {
-			return yamlWebClient.mutate()
-			                    .baseUrl(serverUrl)
-			                    .build()
-			                    .get()
-			                    .uri(urlPath)
-			                    .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_YAML)
-			                    .retrieve()
-			                    .onStatus(HttpStatusCode::isError,
-			                              errorResponse -> errorResponse.toEntity(String.class)
-			                                                            .map(httpService::buildErrorResponse))
-			                    .bodyToMono(AvailableAlgorithms.class)
-			                    .block();
+			return externalRequestExecutor.block(
+					yamlWebClient.mutate()
+					             .baseUrl(serverUrl)
+					             .build()
+					             .get()
+					             .uri(urlPath)
+					             .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_YAML)
+					             .retrieve()
+					             .onStatus(HttpStatusCode::isError,
+					                       errorResponse -> errorResponse.toEntity(String.class)
+					                                                     .map(httpService::buildErrorResponse))
+					             .bodyToMono(AvailableAlgorithms.class));
 		} catch (final RequestRuntimeException e) {
 			final String message = httpService.buildError(e, "fetch available algorithms");
 			final ErrorDetails errorDetails = new ErrorDetails().withConfigurationName(configurationName);
 			throw new InternalRequestException(InternalRequestException.ALGORITHMS, message, errorDetails, e);
+		} catch (final RejectedExecutionException e) {
+			final String message = "Failed to fetch available algorithms for configuration '" + configurationName +
+			                       "'! Too many requests are running.";
+			final ErrorDetails errorDetails = new ErrorDetails().withConfigurationName(configurationName);
+			throw new InternalRequestException(InternalRequestException.ALGORITHMS, message, errorDetails, e);
 		} catch (final Exception e) {
 			var message = "Failed to fetch available algorithms for configuration '" + configurationName + "'! " +
 			              e.getMessage();
@@ -286,23 +295,30 @@ public class ExternalConfigurationService {
 		final String serverUrl = instance.getUrl();
 
 		try {
-			return yamlWebClient.mutate()
-			                    .baseUrl(serverUrl)
-			                    .build()
-			                    .get()
-			                    .uri(definitionPath)
-			                    .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_YAML, MediaType.APPLICATION_OCTET_STREAM)
-			                    .retrieve()
-			                    .onStatus(HttpStatusCode::isError,
-			                              errorResponse -> errorResponse.toEntity(String.class)
-			                                                            .map(httpService::buildErrorResponse))
-			                    .bodyToMono(AlgorithmDefinition.class)
-			                    .block();
+			return externalRequestExecutor.block(
+					yamlWebClient.mutate()
+					             .baseUrl(serverUrl)
+					             .build()
+					             .get()
+					             .uri(definitionPath)
+					             .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_YAML,
+					                     MediaType.APPLICATION_OCTET_STREAM)
+					             .retrieve()
+					             .onStatus(HttpStatusCode::isError,
+					                       errorResponse -> errorResponse.toEntity(String.class)
+					                                                     .map(httpService::buildErrorResponse))
+					             .bodyToMono(AlgorithmDefinition.class));
 		} catch (final RequestRuntimeException e) {
 			final String message = httpService.buildError(e, "fetch the status");
 			final ErrorDetails errorDetails = new ErrorDetails().withConfigurationName(configurationName);
 			throw new InternalRequestException(InternalRequestException.CONFIGURATION_DEFINITION, message,
 			                                   errorDetails, e);
+		} catch (final RejectedExecutionException e) {
+			final String message = "Failed to fetch algorithms definition for configuration '" + configurationName +
+			                       "' and algorithm '" + definitionPath + "'! Too many requests are running.";
+			final ErrorDetails errorDetails = new ErrorDetails().withConfigurationName(configurationName);
+			throw new InternalRequestException(InternalRequestException.CONFIGURATION_DEFINITION, message,
+			                                   errorDetails, e);
 		} catch (final Exception e) {
 			var message = "Failed to fetch algorithms definition for configuration '" + configurationName +
 			              "' and algorithm '" + definitionPath + "'! " + e.getMessage();
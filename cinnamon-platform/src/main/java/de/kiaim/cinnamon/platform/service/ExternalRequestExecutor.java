@@ -0,0 +1,94 @@
+package de.kiaim.cinnamon.platform.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes blocking requests to external servers on a bounded thread pool.
+ * The calling thread waits for the result, but at most threads + queue capacity callers can be blocked
+ * by slow external servers at the same time, so they cannot occupy the whole servlet or scheduler pool.
+ * Requests exceeding the limit are rejected immediately with a {@link RejectedExecutionException}.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Component
+public class ExternalRequestExecutor {
+
+	private final ThreadPoolExecutor executor;
+
+	public ExternalRequestExecutor(@Value("${cinnamon.external-request.threads}") final int threads,
+	                               @Value("${cinnamon.external-request.queue-capacity}") final int queueCapacity) {
+		final AtomicInteger threadNumber = new AtomicInteger(0);
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+		                                       new ArrayBlockingQueue<>(queueCapacity),
+		                                       runnable -> {
+			                                       final Thread thread = new Thread(
+					                                       runnable,
+					                                       "external-request-" + threadNumber.incrementAndGet());
+			                                       thread.setDaemon(true);
+			                                       return thread;
+		                                       });
+	}
+
+	/**
+	 * Subscribes to the given request on the pool and waits for the result.
+	 * Exceptions of the request are rethrown unchanged, so the caller can handle them like for {@link Mono#block()}.
+	 *
+	 * @param request The request.
+	 * @param <T>     The type of the response.
+	 * @return The response or null if the request completed empty.
+	 * @throws RejectedExecutionException If too many requests are running.
+	 */
+	@Nullable
+	public <T> T block(final Mono<T> request) {
+		final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+		final Future<T> future = executor.submit(() -> {
+			if (contextMap != null) {
+				MDC.setContextMap(contextMap);
+			}
+			try {
+				return request.block();
+			} finally {
+				MDC.clear();
+			}
+		});
+
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			} else if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw Exceptions.propagate(e.getCause());
+		} catch (final InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw Exceptions.propagate(e);
+		}
+	}
+
+	/**
+	 * Returns the number of requests that are running or waiting for a thread.
+	 *
+	 * @return The number of pending requests.
+	 */
+	public int getPendingCount() {
+		return executor.getActiveCount() + executor.getQueue().size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
@@ -25,9 +25,12 @@ import java.util.stream.Collectors;
 public class ExternalServerInstanceService {
 
 	private final BackgroundProcessRepository backgroundProcessRepository;
+	private final ExternalRequestExecutor externalRequestExecutor;
 
-	public ExternalServerInstanceService(final BackgroundProcessRepository backgroundProcessRepository) {
+	public ExternalServerInstanceService(final BackgroundProcessRepository backgroundProcessRepository,
+	                                     final ExternalRequestExecutor externalRequestExecutor) {
 		this.backgroundProcessRepository = backgroundProcessRepository;
+		this.externalRequestExecutor = externalRequestExecutor;
 	}
 
 	/**
@@ -105,12 +108,12 @@ public class ExternalServerInstanceService {
 
 		try {
 			final WebClient webClient = WebClient.builder().baseUrl(serverUrl).build();
-			var response = webClient.method(HttpMethod.GET)
-			                        .uri(healthEndpoint)
-			                        .retrieve()
-			                        .bodyToMono(Map.class)
-			                        .timeout(Duration.ofMillis(instance.getHealthTimeout()))
-			                        .block();
+			var response = externalRequestExecutor.block(
+					webClient.method(HttpMethod.GET)
+					         .uri(healthEndpoint)
+					         .retrieve()
+					         .bodyToMono(Map.class)
+					         .timeout(Duration.ofMillis(instance.getHealthTimeout())));
 
 			return response != null && response.get("status").equals("UP");
 		} catch (final Exception e) {
@@ -0,0 +1,487 @@
+package de.kiaim.cinnamon.platform.service;
+
+import de.kiaim.cinnamon.platform.exception.*;
+import de.kiaim.cinnamon.platform.model.ImportProgress;
+import de.kiaim.cinnamon.platform.model.dto.ImportJobInformation;
+import de.kiaim.cinnamon.platform.model.entity.DataSetEntity;
+import de.kiaim.cinnamon.platform.model.entity.ImportJobEntity;
+import de.kiaim.cinnamon.platform.model.entity.LobWrapperEntity;
+import de.kiaim.cinnamon.platform.model.entity.PipelineEntity;
+import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
+import de.kiaim.cinnamon.platform.model.enumeration.ImportJobStatus;
+import de.kiaim.cinnamon.platform.repository.ImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for importing the original data set in the background.
+ * The import reads the file stored in the project, so the upload request can return immediately.
+ * Jobs are executed on a bounded thread pool, the progress is kept in memory while the job is running.
+ * Jobs interrupted by a restart are repeated on startup.
+ * Assumes that a single instance of the platform is accessing the database.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Service
+@Log4j2
+public class ImportJobService {
+
+	/**
+	 * Statuses of jobs that have not ended yet.
+	 */
+	private static final Set<ImportJobStatus> ACTIVE_STATUSES = EnumSet.of(ImportJobStatus.QUEUED,
+	                                                                       ImportJobStatus.RUNNING);
+
+	private final ImportJobRepository importJobRepository;
+	private final DatabaseService databaseService;
+	private final ProcessService processService;
+	private final TransactionTemplate transactionTemplate;
+
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Progress of the jobs that are queued or running on this instance.
+	 */
+	private final Map<UUID, ImportProgress> progresses = new ConcurrentHashMap<>();
+
+	public ImportJobService(@Value("${cinnamon.import-job.threads}") final int threads,
+	                        @Value("${cinnamon.import-job.queue-capacity}") final int queueCapacity,
+	                        final ImportJobRepository importJobRepository,
+	                        final DatabaseService databaseService,
+	                        final ProcessService processService,
+	                        final TransactionTemplate transactionTemplate) {
+		this.importJobRepository = importJobRepository;
+		this.databaseService = databaseService;
+		this.processService = processService;
+		this.transactionTemplate = transactionTemplate;
+
+		final AtomicInteger threadNumber = new AtomicInteger(0);
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+		                                       new ArrayBlockingQueue<>(queueCapacity),
+		                                       runnable -> new Thread(runnable, "import-job-" +
+		                                                                        threadNumber.incrementAndGet()));
+	}
+
+	/**
+	 * Creates a job importing the file of the given project into the original data set.
+	 * The file and all configurations must be stored beforehand.
+	 * The job is started after the current transaction has been committed.
+	 *
+	 * @param project        The project.
+	 * @param confirmDataSet If the data set should be confirmed after it has been stored.
+	 * @param startPipeline  If the pipeline should be started after the data set has been stored.
+	 *                       Requires confirmDataSet to be true.
+	 * @return The information about the created job.
+	 * @throws BadStateException If another import of the project has not ended yet or the queue is full.
+	 *                           If the file for the data set has not been selected.
+	 */
+	@Transactional
+	public ImportJobInformation startImport(final ProjectEntity project, final boolean confirmDataSet,
+	                                        final boolean startPipeline) throws BadStateException {
+		checkNoImportRunning(project);
+		if (executor.getQueue().remainingCapacity() == 0) {
+			throw new BadStateException(BadStateException.IMPORT_QUEUE_FULL,
+			                            "Too many imports are running, please try again later!");
+		}
+
+		final LobWrapperEntity file = project.getOriginalData().getFile().getFile();
+		if (file == null) {
+			throw new BadStateException(BadStateException.NO_DATASET_FILE,
+			                            "Storing the dataset requires the file for the dataset to be selected!");
+		}
+
+		final ImportJobEntity job = new ImportJobEntity();
+		job.setJobId(UUID.randomUUID());
+		job.setConfirmDataSet(confirmDataSet);
+		job.setStartPipeline(startPipeline);
+		job.setTotalBytes(file.getLob() != null ? file.getLob().length : 0);
+		job.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+		job.setProject(project);
+		importJobRepository.save(job);
+
+		log.debug("Created import job with ID {}", job.getJobId());
+
+		submitAfterCommit(job.getJobId());
+		return toInformation(job);
+	}
+
+	/**
+	 * Checks that the given project has no import job that has not ended yet.
+	 * Must be called before the data of the project is modified.
+	 *
+	 * @param project The project.
+	 * @throws BadStateException If another import of the project has not ended yet.
+	 */
+	@Transactional(readOnly = true)
+	public void checkNoImportRunning(final ProjectEntity project) throws BadStateException {
+		if (importJobRepository.existsByProjectAndStatusIn(project, ACTIVE_STATUSES)) {
+			throw new BadStateException(BadStateException.IMPORT_RUNNING,
+			                            "Another import of the data set has not finished yet!");
+		}
+	}
+
+	/**
+	 * Returns the status of the import job with the given ID.
+	 *
+	 * @param project The project owning the job.
+	 * @param jobId   The ID of the job.
+	 * @return The status of the job.
+	 * @throws BadImportJobException If the job does not exist or is not part of the project.
+	 */
+	@Transactional(readOnly = true)
+	public ImportJobInformation getImportJob(final ProjectEntity project, final UUID jobId)
+			throws BadImportJobException {
+		return toInformation(getImportJobEntity(project, jobId));
+	}
+
+	/**
+	 * Returns the status of the latest import job of the given project.
+	 *
+	 * @param project The project.
+	 * @return The status of the job or null if the project has no import jobs.
+	 */
+	@Nullable
+	@Transactional(readOnly = true)
+	public ImportJobInformation getLatestImportJob(final ProjectEntity project) {
+		final List<ImportJobEntity> jobs = project.getImportJobs();
+		return jobs.isEmpty() ? null : toInformation(jobs.get(jobs.size() - 1));
+	}
+
+	/**
+	 * Cancels the import job with the given ID.
+	 * Running jobs stop at the next row and remove the partially stored data set.
+	 *
+	 * @param project The project owning the job.
+	 * @param jobId   The ID of the job.
+	 * @return The status of the job.
+	 * @throws BadImportJobException If the job does not exist or is not part of the project.
+	 * @throws BadStateException     If the job has already ended.
+	 */
+	@Transactional
+	public ImportJobInformation cancelImport(final ProjectEntity project, final UUID jobId)
+			throws BadImportJobException, BadStateException {
+		final ImportJobEntity job = getImportJobEntity(project, jobId);
+		if (job.getStatus().isFinished()) {
+			throw new BadStateException(BadStateException.IMPORT_FINISHED, "The import has already ended!");
+		}
+
+		cancel(job);
+		return toInformation(job);
+	}
+
+	/**
+	 * Cancels all import jobs of the given project that have not ended yet.
+	 *
+	 * @param project The project.
+	 */
+	@Transactional
+	public void cancelImports(final ProjectEntity project) {
+		for (final ImportJobEntity job : project.getImportJobs()) {
+			if (!job.getStatus().isFinished()) {
+				cancel(job);
+			}
+		}
+	}
+
+	/**
+	 * Repeats jobs that have been interrupted by a shutdown.
+	 * Removes data stored partially by the interrupted run before the jobs are queued again.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void recoverImports() {
+		final List<UUID> jobIds = transactionTemplate.execute(status -> {
+			final List<UUID> interrupted = new ArrayList<>();
+
+			for (final ImportJobEntity job : importJobRepository.findAllByStatusInOrderByIdAsc(ACTIVE_STATUSES)) {
+				if (progresses.containsKey(job.getJobId())) {
+					continue;
+				}
+
+				// The data set is only marked as stored if the import has been committed
+				final DataSetEntity dataSet = job.getProject().getOriginalData().getDataSet();
+				if (dataSet != null && dataSet.isStoredData()) {
+					end(job, null, ImportJobStatus.FINISHED, null, null);
+					continue;
+				}
+
+				try {
+					if (job.getDataSetId() != null) {
+						databaseService.deleteDataSetTables(List.of(job.getDataSetId()));
+						job.setDataSetId(null);
+					}
+					databaseService.deleteOriginalDataset(job.getProject());
+					job.setStatus(ImportJobStatus.QUEUED);
+					interrupted.add(job.getJobId());
+				} catch (final ApiException e) {
+					log.warn("Failed to clean up the interrupted import job with ID {}", job.getJobId(), e);
+					end(job, null, ImportJobStatus.FAILED, e.getErrorCode(), e.getMessage());
+				}
+			}
+
+			return interrupted;
+		});
+
+		if (jobIds != null && !jobIds.isEmpty()) {
+			log.info("Repeating {} interrupted import jobs", jobIds.size());
+			jobIds.forEach(this::submit);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		// Interrupting the threads could break the shared database connection,
+		// running jobs are repeated after the restart
+		executor.shutdown();
+	}
+
+	/**
+	 * Submits the job after the current transaction has been committed, so the job is visible to the executing thread.
+	 *
+	 * @param jobId The ID of the job.
+	 */
+	private void submitAfterCommit(final UUID jobId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			submit(jobId);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				submit(jobId);
+			}
+		});
+	}
+
+	/**
+	 * Queues the job with the given ID.
+	 * If the queue is full, the job is marked as failed.
+	 *
+	 * @param jobId The ID of the job.
+	 */
+	private void submit(final UUID jobId) {
+		final ImportProgress progress = new ImportProgress(
+				dataSetId -> importJobRepository.updateDataSetIdByJobId(jobId, dataSetId));
+		progresses.put(jobId, progress);
+
+		final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+		try {
+			executor.execute(() -> {
+				if (contextMap != null) {
+					MDC.setContextMap(contextMap);
+				}
+				try {
+					run(jobId, progress);
+				} finally {
+					progresses.remove(jobId);
+					MDC.clear();
+				}
+			});
+		} catch (final RejectedExecutionException e) {
+			progresses.remove(jobId);
+			log.warn("Import job with ID {} has been rejected", jobId, e);
+			transactionTemplate.executeWithoutResult(status -> importJobRepository.findByJobId(jobId).ifPresent(
+					job -> end(job, progress, ImportJobStatus.FAILED, null,
+					           "Too many imports are running, please try again later!")));
+		}
+	}
+
+	/**
+	 * Executes the job with the given ID.
+	 * The import is executed in a single transaction, the status changes are committed separately.
+	 *
+	 * @param jobId    The ID of the job.
+	 * @param progress The progress of the job.
+	 */
+	private void run(final UUID jobId, final ImportProgress progress) {
+		final Boolean started = transactionTemplate.execute(status -> {
+			final ImportJobEntity job = importJobRepository.findByJobId(jobId).orElse(null);
+			if (job == null || job.getStatus() != ImportJobStatus.QUEUED) {
+				return false;
+			}
+			if (progress.isCanceled()) {
+				end(job, progress, ImportJobStatus.CANCELED, null, null);
+				return false;
+			}
+
+			job.setStatus(ImportJobStatus.RUNNING);
+			return true;
+		});
+		if (started == null || !started) {
+			return;
+		}
+
+		log.debug("Started import job with ID {}", jobId);
+
+		ApiException error;
+		try {
+			error = transactionTemplate.execute(status -> {
+				try {
+					doImport(importJobRepository.findByJobId(jobId).orElseThrow(), progress);
+					return null;
+				} catch (final ApiException e) {
+					status.setRollbackOnly();
+					return e;
+				}
+			});
+		} catch (final RuntimeException e) {
+			log.error("Import job with ID {} failed unexpectedly", jobId, e);
+			error = new InternalErrorException(InternalErrorException.IMPORT_FAILED,
+			                                   "The import failed unexpectedly: " + e.getMessage());
+		}
+
+		final ApiException finalError = error;
+		transactionTemplate.executeWithoutResult(status -> {
+			final ImportJobEntity job = importJobRepository.findByJobId(jobId).orElse(null);
+			if (job == null) {
+				// The project has been deleted in the meantime
+				cleanUp(null, progress);
+				return;
+			}
+
+			if (finalError == null) {
+				end(job, progress, ImportJobStatus.FINISHED, null, null);
+			} else {
+				cleanUp(job.getProject(), progress);
+				if (progress.isCanceled()) {
+					end(job, progress, ImportJobStatus.CANCELED, null, null);
+				} else {
+					end(job, progress, ImportJobStatus.FAILED, finalError.getErrorCode(), finalError.getMessage());
+				}
+			}
+		});
+
+		log.debug("Ended import job with ID {}", jobId);
+	}
+
+	/**
+	 * Reads and stores the data set and executes the follow-up actions of the job.
+	 *
+	 * @param job      The job.
+	 * @param progress The progress of the job.
+	 * @throws ApiException If any step of the import failed.
+	 */
+	private void doImport(final ImportJobEntity job, final ImportProgress progress) throws ApiException {
+		final ProjectEntity project = job.getProject();
+		databaseService.storeOriginalDataset(project, progress);
+
+		if (job.isConfirmDataSet()) {
+			databaseService.confirmDataSet(project);
+
+			if (job.isStartPipeline()) {
+				final PipelineEntity pipeline = project.getPipelines().get(0);
+				pipeline.setRunAllStages(true);
+				processService.start(pipeline);
+			}
+		}
+	}
+
+	/**
+	 * Removes the partially stored data set of a failed or canceled job.
+	 *
+	 * @param project  The project of the job. Null if the project has been deleted.
+	 * @param progress The progress of the job.
+	 */
+	private void cleanUp(@Nullable final ProjectEntity project, final ImportProgress progress) {
+		try {
+			if (progress.getDataSetId() != null) {
+				databaseService.deleteDataSetTables(List.of(progress.getDataSetId()));
+			}
+			if (project != null) {
+				databaseService.deleteOriginalDataset(project);
+			}
+		} catch (final ApiException e) {
+			log.warn("Failed to remove the partially stored data set", e);
+		}
+	}
+
+	/**
+	 * Requests the given job to stop.
+	 * Jobs not tracked by this instance are canceled immediately.
+	 *
+	 * @param job The job.
+	 */
+	private void cancel(final ImportJobEntity job) {
+		final ImportProgress progress = progresses.get(job.getJobId());
+		if (progress != null) {
+			progress.cancel();
+		} else {
+			end(job, null, ImportJobStatus.CANCELED, null, null);
+		}
+
+		log.debug("Canceled import job with ID {}", job.getJobId());
+	}
+
+	/**
+	 * Sets the final status of the job and persists the progress.
+	 *
+	 * @param job          The job.
+	 * @param progress     The progress of the job. Null if the job has not been started.
+	 * @param status       The final status.
+	 * @param errorCode    The error code if the job failed.
+	 * @param errorMessage The error message if the job failed.
+	 */
+	private void end(final ImportJobEntity job, @Nullable final ImportProgress progress,
+	                 final ImportJobStatus status, @Nullable final String errorCode,
+	                 @Nullable final String errorMessage) {
+		if (progress != null) {
+			job.setBytesRead(progress.getBytesRead());
+			job.setRowsStored(status == ImportJobStatus.FINISHED ? progress.getRowsStored() : 0);
+			job.setErrorsFound(progress.getErrorsFound());
+		}
+		job.setStatus(status);
+		job.setErrorCode(errorCode);
+		job.setErrorMessage(errorMessage != null && errorMessage.length() > 1024
+		                    ? errorMessage.substring(0, 1024)
+		                    : errorMessage);
+		job.setFinishedAt(new Timestamp(System.currentTimeMillis()));
+	}
+
+	private ImportJobEntity getImportJobEntity(final ProjectEntity project, final UUID jobId)
+			throws BadImportJobException {
+		final Optional<ImportJobEntity> job = importJobRepository.findByJobId(jobId);
+		if (job.isEmpty() || !job.get().getProject().getId().equals(project.getId())) {
+			throw new BadImportJobException(BadImportJobException.NOT_FOUND,
+			                                "Import job with ID " + jobId + " not found");
+		}
+
+		return job.get();
+	}
+
+	/**
+	 * Creates the DTO for the given job.
+	 * Uses the in-memory progress if the job is currently running.
+	 *
+	 * @param job The job.
+	 * @return The DTO.
+	 */
+	private ImportJobInformation toInformation(final ImportJobEntity job) {
+		final ImportJobInformation information = new ImportJobInformation(
+				job.getJobId().toString(), job.getStatus(), job.getTotalBytes(), job.getBytesRead(),
+				job.getRowsStored(), job.getErrorsFound(), job.getErrorCode(), job.getErrorMessage());
+
+		final ImportProgress progress = progresses.get(job.getJobId());
+		if (progress != null && !job.getStatus().isFinished()) {
+			information.setBytesRead(progress.getBytesRead());
+			information.setRowsStored(progress.getRowsStored());
+			information.setErrorsFound(progress.getErrorsFound());
+		}
+
+		return information;
+	}
+}
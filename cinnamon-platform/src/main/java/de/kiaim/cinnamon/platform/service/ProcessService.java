@@ -13,11 +13,14 @@ import de.kiaim.cinnamon.model.dto.ErrorRequest;
 import de.kiaim.cinnamon.model.dto.ExternalProcessResponse;
 import de.kiaim.cinnamon.model.enumeration.ProcessStatus;
 import de.kiaim.cinnamon.model.enumeration.StageStatus;
+import de.kiaim.cinnamon.model.serialization.DataSetBinaryCodec;
 import de.kiaim.cinnamon.model.serialization.mapper.JsonMapper;
+import de.kiaim.cinnamon.model.spring.CustomMediaType;
 import de.kiaim.cinnamon.model.status.synthetization.SynthetizationStatus;
 import de.kiaim.cinnamon.platform.config.SerializationConfig;
 import de.kiaim.cinnamon.platform.exception.*;
 import de.kiaim.cinnamon.platform.model.configuration.*;
+import de.kiaim.cinnamon.platform.model.dto.PipelineInformation;
 import de.kiaim.cinnamon.platform.model.entity.*;
 import de.kiaim.cinnamon.platform.model.enumeration.DataSetSelector;
 import de.kiaim.cinnamon.platform.model.enumeration.HoldOutSelector;
@@ -25,16 +28,17 @@ import de.kiaim.cinnamon.platform.model.TransformationResult;
 import de.kiaim.cinnamon.model.configuration.data.file.CsvFileConfiguration;
 import de.kiaim.cinnamon.model.configuration.data.file.FileType;
 import de.kiaim.cinnamon.platform.model.mapper.ExecutionStepMapper;
+import de.kiaim.cinnamon.platform.model.mapper.PipelineMapper;
 import de.kiaim.cinnamon.platform.processor.CsvProcessor;
 import de.kiaim.cinnamon.platform.processor.DataProcessor;
 import de.kiaim.cinnamon.platform.repository.BackgroundProcessRepository;
+import de.kiaim.cinnamon.platform.repository.DataSetRepository;
 import de.kiaim.cinnamon.platform.repository.ExecutionStepRepository;
 import de.kiaim.cinnamon.platform.repository.ProjectRepository;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ConnectTimeoutException;
 import io.netty.handler.timeout.ReadTimeoutException;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
@@ -65,7 +69,9 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Service class for managing processes.
@@ -82,12 +88,17 @@ public class ProcessService {
 	 */
 	private static final long DELAY_START_NEXT = 1;
 
+	/**
+	 * If the data sets of a project are archived when the last stage of the pipeline has finished.
+	 */
+	private final boolean archiveEnabled;
 	private final boolean sslEnabled;
 	private final int port;
 	private final String contextPath;
 
 	private final ObjectMapper jsonMapper;
 	private final ObjectMapper yamlMapper;
+	private final DataSetBinaryCodec dataSetBinaryCodec = new DataSetBinaryCodec();
 
 	private final CinnamonConfiguration cinnamonConfiguration;
 
@@ -95,10 +106,12 @@ public class ProcessService {
 	private final TransactionTemplate transactionTemplate;
 
 	private final BackgroundProcessRepository backgroundProcessRepository;
+	private final DataSetRepository dataSetRepository;
 	private final ExecutionStepRepository executionStepRepository;
 	private final ProjectRepository projectRepository;
 
 	private final ExecutionStepMapper executionStepMapper;
+	private final PipelineMapper pipelineMapper;
 
 	private final CsvProcessor csvProcessor;
 	private final DatabaseService databaseService;
@@ -106,30 +119,35 @@ public class ProcessService {
 	private final DataSetService dataSetService;
 	private final ExternalConfigurationService externalConfigurationService;
 	private final ExternalServerInstanceService externalServerInstanceService;
+	private final ExternalRequestExecutor externalRequestExecutor;
 	private final HttpService httpService;
 	private final StepService stepService;
 
 	public ProcessService(final SerializationConfig serializationConfig,
+	                      @Value("${cinnamon.archive.enabled}") final boolean archiveEnabled,
 	                      @Value("${server.ssl.enabled:false}") final boolean sslEnabled,
 	                      @Value("${server.port}") final int port,
 	                      @Value("${server.servlet.context-path:}") final String contextPath,
 	                      final CinnamonConfiguration cinnamonConfiguration,
 	                      final TaskScheduler taskScheduler, final TransactionTemplate transactionTemplate,
 	                      final BackgroundProcessRepository backgroundProcessRepository,
+	                      final DataSetRepository dataSetRepository,
 	                      final ExecutionStepRepository executionStepRepository,
 	                      final ProjectRepository projectRepository,
-	                      final ExecutionStepMapper executionStepMapper,
+	                      final ExecutionStepMapper executionStepMapper, final PipelineMapper pipelineMapper,
 	                      final CsvProcessor csvProcessor,
 	                      final DatabaseService databaseService, final DataProcessorService dataProcessorService,
 	                      final DataSetService dataSetService,
 	                      final ExternalConfigurationService externalConfigurationService,
 	                      final ExternalServerInstanceService externalServerInstanceService,
+	                      final ExternalRequestExecutor externalRequestExecutor,
 	                      final HttpService httpService, final StepService stepService
 
 	) {
 		this.jsonMapper = serializationConfig.jsonMapper();
 		this.yamlMapper = serializationConfig.yamlMapper();
 
+		this.archiveEnabled = archiveEnabled;
 		this.sslEnabled = sslEnabled;
 		this.port = port;
 		this.contextPath = contextPath;
@@ -137,19 +155,42 @@ public class ProcessService {
 		this.taskScheduler = taskScheduler;
 		this.transactionTemplate = transactionTemplate;
 		this.backgroundProcessRepository = backgroundProcessRepository;
+		this.dataSetRepository = dataSetRepository;
 		this.executionStepRepository = executionStepRepository;
 		this.projectRepository = projectRepository;
 		this.executionStepMapper = executionStepMapper;
+		this.pipelineMapper = pipelineMapper;
 		this.csvProcessor = csvProcessor;
 		this.databaseService = databaseService;
 		this.dataProcessorService = dataProcessorService;
 		this.dataSetService = dataSetService;
 		this.externalConfigurationService = externalConfigurationService;
 		this.externalServerInstanceService = externalServerInstanceService;
+		this.externalRequestExecutor = externalRequestExecutor;
 		this.httpService = httpService;
 		this.stepService = stepService;
 	}
 
+	/**
+	 * Updates the process status of the pipeline of the given user's project and returns it as a DTO.
+	 * The stages, processes and data sets of the pipeline are fetched upfront to avoid a query per process.
+	 *
+	 * @param email The email of the user.
+	 * @return The DTO of the updated pipeline.
+	 * @throws InternalInvalidStateException If a running process has no server instance assigned.
+	 */
+	@Transactional
+	public PipelineInformation getPipelineInformation(final String email) throws InternalInvalidStateException {
+		final ProjectEntity project = projectRepository.findWithPipelinesByUserEmail(email)
+		                                               .orElseThrow(() -> new RuntimeException("No project"));
+
+		final PipelineEntity pipeline = project.getPipelines().get(0);
+		final List<ExecutionStepEntity> stages = executionStepRepository.findAllWithProcessesByPipeline(pipeline);
+		dataSetRepository.findAllProcessedBy(stages);
+
+		return pipelineMapper.toDto(getPipeline(project));
+	}
+
 	/**
 	 * Updates and returns the process status of the pipeline.
 	 * If a process is running, the status of that process will be fetched from the external server.
@@ -718,8 +759,12 @@ public class ProcessService {
 
 							}
 							case DATA_SET -> {
-								String jsonString = IOUtils.toString(value.getInputStream(), StandardCharsets.UTF_8);
-								DataSet dataSet = jsonMapper.readValue(jsonString, DataSet.class);
+								final DataSet dataSet;
+								try (final InputStream inputStream = openResultStream(value)) {
+									dataSet = CustomMediaType.isCinnamonDataSet(value.getContentType())
+									          ? dataSetBinaryCodec.read(inputStream)
+									          : jsonMapper.readValue(inputStream, DataSet.class);
+								}
 
 								TransformationResult transformationResult = new TransformationResult(dataSet,
 								                                                                     new ArrayList<>());
@@ -913,22 +958,26 @@ public class ProcessService {
 			                                     .clientConnector(new ReactorClientHttpConnector(client))
 			                                     .baseUrl(serverUrl)
 			                                     .build();
-			webClient.method(ese.getCancelHttpMethod().asHttpMethod())
-			         .uri(cancelEndpoint)
-			         .body(BodyInserters.fromFormData(formData))
-			         .retrieve()
-			         .onStatus(HttpStatusCode::isError,
-			                   b -> {
-				                   log.warn("Failed to cancel the process on the external module! Got status of {}",
-				                            b.statusCode());
-				                   return null;
-			                   })
-			         .toBodilessEntity()
-			         .onErrorComplete(throwable -> {
-						 log.warn("Failed to cancel the process on the external module!", throwable);
-				         return true;
-			         })
-			         .block();
+			final var request = webClient.method(ese.getCancelHttpMethod().asHttpMethod())
+			                             .uri(cancelEndpoint)
+			                             .body(BodyInserters.fromFormData(formData))
+			                             .retrieve()
+			                             .onStatus(HttpStatusCode::isError,
+			                                       b -> {
+				                                       log.warn("Failed to cancel the process on the external module! " +
+				                                                "Got status of {}", b.statusCode());
+				                                       return null;
+			                                       })
+			                             .toBodilessEntity()
+			                             .onErrorComplete(throwable -> {
+				                             log.warn("Failed to cancel the process on the external module!", throwable);
+				                             return true;
+			                             });
+			try {
+				externalRequestExecutor.block(request);
+			} catch (final RejectedExecutionException e) {
+				log.warn("Failed to cancel the process on the external module! Too many requests are running.");
+			}
 		}
 
 		backgroundProcess.setExternalProcessStatus(ProcessStatus.CANCELED);
@@ -1057,9 +1106,40 @@ public class ProcessService {
 			executionStep.setCurrentProcessIndex(null);
 			executionStep.setStatus(StageStatus.FINISHED);
 			log.debug("Finished stage '{}'", executionStep.getStage().getStageName());
+
+			final PipelineEntity pipeline = executionStep.getPipeline();
+			if (archiveEnabled && executionStep.getStageIndex() == pipeline.getStages().size() - 1) {
+				archiveDataSets(pipeline);
+			}
 		}
 	}
 
+	/**
+	 * Archives the original data set and the data sets created by the processes of the given pipeline.
+	 * The data sets are rarely modified after the pipeline has finished, but can still be viewed and exported.
+	 *
+	 * @param pipeline The finished pipeline.
+	 * @throws InternalDataSetPersistenceException If a data set could not be archived.
+	 * @throws InternalIOException                 If the data configuration of a data set could not be loaded.
+	 */
+	private void archiveDataSets(final PipelineEntity pipeline)
+			throws InternalDataSetPersistenceException, InternalIOException {
+		final DataSetEntity originalDataSet = pipeline.getProject().getOriginalData().getDataSet();
+		if (originalDataSet != null) {
+			databaseService.archiveDataSet(originalDataSet);
+		}
+
+		for (final ExecutionStepEntity stage : pipeline.getStages()) {
+			for (final ExternalProcessEntity process : stage.getProcesses()) {
+				if (process instanceof DataProcessingEntity dataProcessing && dataProcessing.getDataSet() != null) {
+					databaseService.archiveDataSet(dataProcessing.getDataSet());
+				}
+			}
+		}
+
+		log.debug("Archived the data sets of the finished pipeline");
+	}
+
 	/**
 	 * Fetches the staus of the given process from the external server.
 	 *
@@ -1086,21 +1166,23 @@ public class ProcessService {
 		// Do the request
 		try {
 			final WebClient webClient = WebClient.builder().baseUrl(serverUrl).build();
-			final var response = webClient.get()
-			                              .uri(url)
-			                              .retrieve()
-			                              .onStatus(HttpStatusCode::isError,
-			                                        errorResponse -> errorResponse.toEntity(String.class)
-			                                                                      .map(httpService::buildErrorResponse))
-			                              .bodyToMono(String.class)
-			                              .block();
-			externalProcess.setStatus(response);
+			final var request = webClient.get()
+			                             .uri(url)
+			                             .retrieve()
+			                             .onStatus(HttpStatusCode::isError,
+			                                       errorResponse -> errorResponse.toEntity(String.class)
+			                                                                     .map(httpService::buildErrorResponse))
+			                             .bodyToMono(String.class);
+			externalProcess.setStatus(externalRequestExecutor.block(request));
 		} catch (final RequestRuntimeException e) {
 			final String message = httpService.buildError(e, "fetch the status");
 			throw new InternalRequestException(InternalRequestException.PROCESS_STATUS, message);
 		} catch (WebClientRequestException e) {
 			var message = "Failed to fetch the status! " + e.getMessage();
 			throw new InternalRequestException(InternalRequestException.PROCESS_STATUS, message);
+		} catch (final RejectedExecutionException e) {
+			throw new InternalRequestException(InternalRequestException.PROCESS_STATUS,
+			                                   "Failed to fetch the status! Too many requests are running.");
 		}
 	}
 
@@ -1216,15 +1298,15 @@ public class ProcessService {
 			                                     .clientConnector(new ReactorClientHttpConnector(client))
 			                                     .baseUrl(serverUrl)
 			                                     .build();
-			final var response = webClient.post()
-			                              .uri(url)
-			                              .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
-			                              .retrieve()
-			                              .onStatus(HttpStatusCode::isError,
-			                                        errorResponse -> errorResponse.toEntity(String.class)
-			                                                                      .map(httpService::buildErrorResponse))
-			                              .bodyToMono(ExternalProcessResponse.class)
-			                              .block();
+			final var request = webClient.post()
+			                             .uri(url)
+			                             .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
+			                             .retrieve()
+			                             .onStatus(HttpStatusCode::isError,
+			                                       errorResponse -> errorResponse.toEntity(String.class)
+			                                                                     .map(httpService::buildErrorResponse))
+			                             .bodyToMono(ExternalProcessResponse.class);
+			final var response = externalRequestExecutor.block(request);
 
 			if (response == null) {
 				throw new InternalRequestException(InternalRequestException.PROCESS_START, "Failed to read response!");
@@ -1246,6 +1328,9 @@ public class ProcessService {
 				message += e.getMessage();
 			}
 			throw new InternalRequestException(InternalRequestException.PROCESS_START, message);
+		} catch (final RejectedExecutionException e) {
+			throw new InternalRequestException(InternalRequestException.PROCESS_START,
+			                                   "Failed to start the process! Too many requests are running.");
 		}
 	}
 
@@ -1273,6 +1358,9 @@ public class ProcessService {
 			case JSON -> {
 				addDataSetJson(bodyBuilder, stepInputConfiguration, dataSet);
 			}
+			case BINARY -> {
+				addDataSetBinary(bodyBuilder, stepInputConfiguration, dataSet);
+			}
 			default -> {
 				throw new InternalMissingHandlingException(
 						InternalMissingHandlingException.STEP_INPUT_ENCODING,
@@ -1299,6 +1387,23 @@ public class ProcessService {
 		}
 	}
 
+	public void addDataSetBinary(final MultipartBodyBuilder bodyBuilder,
+	                             final StepInputConfiguration stepInputConfiguration, final DataSet dataSet)
+			throws InternalIOException {
+		try {
+			final byte[] dataSetBytes = dataSetBinaryCodec.encode(dataSet);
+			bodyBuilder.part(stepInputConfiguration.getPartName(), new ByteArrayResource(dataSetBytes) {
+				@Override
+				public String getFilename() {
+					return stepInputConfiguration.getFileName();
+				}
+			}).contentType(CustomMediaType.APPLICATION_X_CINNAMON_DATA_SET);
+		} catch (final IOException e) {
+			throw new InternalIOException(InternalIOException.DATA_SET_SERIALIZATION,
+			                              "Could not convert dataset to the binary format!", e);
+		}
+	}
+
 	public void addDataSetFile(final MultipartBodyBuilder bodyBuilder,
 	                           final StepInputConfiguration stepInputConfiguration, final DataSet dataSet)
 			throws InternalIOException, InternalMissingHandlingException {
@@ -1480,4 +1585,25 @@ public class ProcessService {
 		var algorithmDefinition = externalConfigurationService.fetchAlgorithmDefinition(configName, algorithmDefinitionUrl);
 		return algorithmDefinition.getUrl();
 	}
+
+	/**
+	 * Opens the content of a result file.
+	 * Gzip-compressed files are detected by their magic number and decompressed transparently.
+	 *
+	 * @param file The result file.
+	 * @return Stream of the uncompressed content.
+	 * @throws IOException If reading the file failed.
+	 */
+	private InputStream openResultStream(final MultipartFile file) throws IOException {
+		final BufferedInputStream inputStream = new BufferedInputStream(file.getInputStream());
+		inputStream.mark(2);
+		final int first = inputStream.read();
+		final int second = inputStream.read();
+		inputStream.reset();
+
+		if (first == (GZIPInputStream.GZIP_MAGIC & 0xFF) && second == (GZIPInputStream.GZIP_MAGIC >> 8)) {
+			return new GZIPInputStream(inputStream);
+		}
+		return inputStream;
+	}
 }
@@ -1,8 +1,10 @@
 package de.kiaim.cinnamon.platform.service;
 
 import de.kiaim.cinnamon.model.configuration.project.ProjectConfigurationDTO;
+import de.kiaim.cinnamon.platform.config.ProjectLogContextCache;
 import de.kiaim.cinnamon.platform.exception.*;
 import de.kiaim.cinnamon.platform.model.configuration.CinnamonConfiguration;
+import de.kiaim.cinnamon.platform.model.dto.StatusInformation;
 import de.kiaim.cinnamon.platform.model.configuration.Stage;
 import de.kiaim.cinnamon.platform.model.configuration.Job;
 import de.kiaim.cinnamon.platform.model.entity.*;
@@ -24,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProjectService {
 
 	private final CinnamonConfiguration cinnamonConfiguration;
+	private final ProjectLogContextCache projectLogContextCache;
 
 	private final ProjectRepository projectRepository;
 	private final UserRepository userRepository;
@@ -31,23 +34,28 @@ public class ProjectService {
 	private final ProjectConfigurationMapper projectConfigurationMapper;
 
 	private final DatabaseService databaseService;
+	private final ImportJobService importJobService;
 	private final ProcessService processService;
 	private final StepService stepService;
 
 	public ProjectService(
 			final CinnamonConfiguration cinnamonConfiguration,
+			final ProjectLogContextCache projectLogContextCache,
 			final ProjectRepository projectRepository,
 			final UserRepository userRepository,
 			final ProjectConfigurationMapper projectConfigurationMapper,
 			final DatabaseService databaseService,
+			final ImportJobService importJobService,
 			final ProcessService processService,
 			final StepService stepService
 	) {
 		this.cinnamonConfiguration = cinnamonConfiguration;
+		this.projectLogContextCache = projectLogContextCache;
 		this.projectRepository = projectRepository;
 		this.userRepository = userRepository;
 		this.projectConfigurationMapper = projectConfigurationMapper;
 		this.databaseService = databaseService;
+		this.importJobService = importJobService;
 		this.processService = processService;
 		this.stepService = stepService;
 	}
@@ -97,6 +105,7 @@ public class ProjectService {
 		user.setProject(project);
 		// TODO change if projects are decoupled form users
 		project.getProjectConfiguration().setProjectName(user.getEmail());
+		projectLogContextCache.invalidateUser(user.getEmail());
 
 		log.debug("Created project for user '{}'", user.getEmail());
 		return userRepository.save(user).getProject();
@@ -178,9 +187,33 @@ public class ProjectService {
 		return user2.getProject();
 	}
 
+	/**
+	 * Returns the status of the project of the given user.
+	 *
+	 * @param email The email of the user.
+	 * @return The status.
+	 */
+	public StatusInformation getProjectStatus(final String email) {
+		return projectRepository.findStatusByUserEmail(email).orElseThrow(() -> new RuntimeException("No project"));
+	}
+
+	/**
+	 * Returns a DTO of the project configuration of the given user's project.
+	 *
+	 * @param email The email of the user.
+	 * @return The DTO of the project configuration.
+	 */
+	@Transactional(readOnly = true)
+	public ProjectConfigurationDTO exportProjectConfiguration(final String email) {
+		final ProjectEntity project = projectRepository.findByUserEmail(email)
+		                                               .orElseThrow(() -> new RuntimeException("No project"));
+		return exportProjectConfiguration(project);
+	}
+
 	/**
 	 * Deletes the project of the given user.
 	 * If a pipeline in the project is running, the process is stopped.
+	 * Running imports are canceled.
 	 *
 	 * @param user The user.
 	 * @throws InternalDataSetPersistenceException If the data set could not be deleted due to an internal error.
@@ -193,6 +226,8 @@ public class ProjectService {
 			final ProjectEntity p = getProject(user);
 			resetEntireProject(p);
 			user.setProject(null);
+			projectLogContextCache.invalidateProject(p.getId());
+			projectLogContextCache.invalidateUser(user.getEmail());
 			log.debug("Deleted project for user '{}'", user.getEmail());
 		}
 	}
@@ -284,6 +319,19 @@ public class ProjectService {
 		return projectConfigurationMapper.toDto(project.getProjectConfiguration());
 	}
 
+	/**
+	 * Updates the configuration of the given user's project.
+	 *
+	 * @param email         The email of the user.
+	 * @param configuration The new configuration.
+	 */
+	@Transactional
+	public void updateProjectConfiguration(final String email, final ProjectConfigurationDTO configuration) {
+		final ProjectEntity project = projectRepository.findByUserEmail(email)
+		                                               .orElseThrow(() -> new RuntimeException("No project"));
+		updateProjectConfiguration(project, configuration);
+	}
+
 	/**
 	 * Updates the project configuration.
 	 *
@@ -293,11 +341,13 @@ public class ProjectService {
 	@Transactional
 	public void updateProjectConfiguration(final ProjectEntity project, final ProjectConfigurationDTO configuration) {
 		projectConfigurationMapper.updateEntity(project.getProjectConfiguration(), configuration);
+		projectLogContextCache.invalidateProject(project.getId());
 	}
 
 	/**
 	 * Resets all data inside the given project.
 	 * If a pipeline in the project is running, the process is stopped.
+	 * Running imports are canceled.
 	 *
 	 * @param project The project to reset.
 	 * @throws InternalDataSetPersistenceException If the data set could not be deleted due to an internal error.
@@ -306,6 +356,7 @@ public class ProjectService {
 	@Transactional
 	public void resetEntireProject(final ProjectEntity project)
 			throws InternalDataSetPersistenceException, InternalInvalidStateException {
+		importJobService.cancelImports(project);
 		processService.deletePipeline(project);
 		databaseService.deleteOriginalData(project);
 	}
@@ -1,15 +1,18 @@
 package de.kiaim.cinnamon.platform.service;
 
 import de.kiaim.cinnamon.model.dto.ModuleReportContent;
+import de.kiaim.cinnamon.model.enumeration.ProcessStatus;
 import de.kiaim.cinnamon.platform.exception.InternalIOException;
 import de.kiaim.cinnamon.platform.exception.InternalMissingHandlingException;
-import de.kiaim.cinnamon.platform.exception.InternalRequestException;
 import de.kiaim.cinnamon.platform.exception.RequestRuntimeException;
 import de.kiaim.cinnamon.platform.model.configuration.*;
 import de.kiaim.cinnamon.platform.model.entity.ExecutionStepEntity;
 import de.kiaim.cinnamon.platform.model.entity.ExternalProcessEntity;
+import de.kiaim.cinnamon.platform.model.entity.LobWrapperEntity;
 import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
 import de.kiaim.cinnamon.platform.model.enumeration.StepInputEncoding;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.lang.Nullable;
@@ -17,49 +20,88 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Service class for functionalities regarding the report.
  *
  * @author Daniel Preciado-Marquez
  */
+@Log4j2
 @Service
 public class ReportService {
 
+	/**
+	 * Maximum number of report contents kept in the cache.
+	 */
+	private static final int REPORT_CACHE_SIZE = 1000;
+
 	private final CinnamonConfiguration cinnamonConfiguration;
+	private final WebClient webClient;
 
 	private final DataProcessorService dataProcessorService;
 	private final ExternalServerInstanceService externalServerInstanceService;
+	private final ExternalRequestExecutor externalRequestExecutor;
 	private final HttpService httpService;
 
+	/**
+	 * Report contents of finished processes.
+	 * The results of a finished process do not change, so the content can be reused until the process is restarted.
+	 */
+	private final Map<ReportKey, ModuleReportContent> reportCache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<ReportKey, ModuleReportContent> eldest) {
+			return size() > REPORT_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * Identifies the report content of a finished process.
+	 * Result files are replaced when a process is restarted, so their IDs identify the results of one run.
+	 *
+	 * @param endpoint      Index of the endpoint of the process.
+	 * @param configuration The configuration of the process.
+	 * @param resultFiles   IDs of the result files mapped by the file name.
+	 */
+	private record ReportKey(int endpoint, @Nullable String configuration, Map<String, Long> resultFiles) {
+	}
+
 	public ReportService(final CinnamonConfiguration cinnamonConfiguration,
+	                     @Qualifier("multiFormatWebClient") final WebClient webClient,
 	                     final DataProcessorService dataProcessorService,
 	                     final ExternalServerInstanceService externalServerInstanceService,
+	                     final ExternalRequestExecutor externalRequestExecutor,
 	                     final HttpService httpService) {
 		this.cinnamonConfiguration = cinnamonConfiguration;
+		this.webClient = webClient;
 		this.dataProcessorService = dataProcessorService;
 		this.externalServerInstanceService = externalServerInstanceService;
+		this.externalRequestExecutor = externalRequestExecutor;
 		this.httpService = httpService;
 	}
 
 	/**
 	 * Fetches the report content for all jobs in the pipeline.
 	 * The map contains one entry for each job, where the name of the job is used as the key.
+	 * The requests to the external servers are made concurrently.
+	 * If fetching the content of a job fails, the content is null.
 	 *
 	 * @param project The project to fetch the data for.
 	 * @return Map containing the report data for each job.
 	 * @throws InternalIOException              If converting the request data into JSON failed.
 	 * @throws InternalMissingHandlingException If generating the request content failed.
-	 * @throws InternalRequestException         If making the request failed.
 	 */
 	@Transactional
 	public Map<String, ModuleReportContent> fetchReportData(final ProjectEntity project)
-			throws InternalIOException, InternalMissingHandlingException, InternalRequestException {
+			throws InternalIOException, InternalMissingHandlingException {
 		final Map<String, ModuleReportContent> reportData = new HashMap<>();
+		final List<Mono<Map.Entry<String, ModuleReportContent>>> requests = new ArrayList<>();
 
 		for (final ExecutionStepEntity executionStep : project.getPipelines().get(0).getStages()) {
 			for (final ExternalProcessEntity externalProcess : executionStep.getProcesses()) {
@@ -68,44 +110,66 @@ public class ReportService {
 					continue;
 				}
 
-				if (externalProcess.isSkip()) {
-					reportData.put(job.getName(), null);
-				} else {
-					reportData.put(job.getName(), fetchReportData(externalProcess));
+				reportData.put(job.getName(), null);
+				if (!externalProcess.isSkip()) {
+					requests.add(fetchReportData(externalProcess).map(content -> Map.entry(job.getName(), content)));
 				}
 			}
 		}
 
+		List<Map.Entry<String, ModuleReportContent>> contents = null;
+		try {
+			contents = externalRequestExecutor.block(Flux.merge(requests).collectList());
+		} catch (final RejectedExecutionException e) {
+			log.warn("Failed to fetch the report data! Too many requests are running.");
+		}
+		if (contents != null) {
+			for (final var content : contents) {
+				reportData.put(content.getKey(), content.getValue());
+			}
+		}
+
 		return reportData;
 	}
 
 	/**
 	 * Fetches the report content for the given external process.
+	 * The body is created immediately, so the request can be executed outside the transaction.
+	 * Failed requests are logged and result in an empty Mono.
 	 *
 	 * @param externalProcess The external process.
-	 * @return The report data for the job.
+	 * @return Mono containing the report data for the job. Empty if no report data is available.
 	 * @throws InternalIOException              If converting the request data into JSON failed.
 	 * @throws InternalMissingHandlingException If generating the request content failed.
-	 * @throws InternalRequestException         If making the request failed.
 	 */
-	@Nullable
-	private ModuleReportContent fetchReportData(final ExternalProcessEntity externalProcess)
-			throws InternalIOException, InternalMissingHandlingException, InternalRequestException {
+	private Mono<ModuleReportContent> fetchReportData(final ExternalProcessEntity externalProcess)
+			throws InternalIOException, InternalMissingHandlingException {
 		final ExternalEndpoint endpoint = cinnamonConfiguration.getExternalServerEndpoints()
 		                                                       .get(externalProcess.getEndpoint());
 		final ExternalServer server = endpoint.getServer();
 
 		final String urlPath = server.getReportEndpoint();
 		if (urlPath == null) {
-			return null;
+			return Mono.empty();
+		}
+
+		final ReportKey reportKey = getReportKey(externalProcess);
+		if (reportKey != null) {
+			final ModuleReportContent cachedContent;
+			synchronized (reportCache) {
+				cachedContent = reportCache.get(reportKey);
+			}
+			if (cachedContent != null) {
+				return Mono.just(cachedContent);
+			}
 		}
 
 		final ExternalServerInstance instance = externalServerInstanceService.findAvailableExternalServerInstance(
 				server, true);
 		if (instance == null) {
-			throw new InternalRequestException(InternalRequestException.NO_INSTANCE_AVAILABLE,
-			                                   "No available external server instance found for '" + server.getName() +
-			                                   "'!");
+			log.warn("Failed to fetch the report data for '{}'! No available external server instance found!",
+			         server.getName());
+			return Mono.empty();
 		}
 
 		final String serverUrl = instance.getUrl();
@@ -126,24 +190,55 @@ public class ReportService {
 			httpService.addFile(result.getValue().getLob(), result.getKey(), partName, bodyBuilder);
 		}
 
-		try {
-			final WebClient webClient = WebClient.builder().baseUrl(serverUrl).build();
-			return webClient.post()
-			                .uri(urlPath)
-			                .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
-			                .retrieve()
-			                .onStatus(HttpStatusCode::isError,
-			                          errorResponse -> errorResponse.toEntity(String.class)
-			                                                        .map(httpService::buildErrorResponse))
-			                .bodyToMono(ModuleReportContent.class)
-			                .block();
-		} catch (final RequestRuntimeException e) {
-			final String message = httpService.buildError(e, "fetch the report data");
-			throw new InternalRequestException(InternalRequestException.REPORT_DATA, message);
-		} catch (WebClientRequestException e) {
-			var message = "Failed to fetch the report data for '" + server.getName() + "'! " + e.getMessage();
-			throw new InternalRequestException(InternalRequestException.REPORT_DATA, message);
-		}
+		return webClient.post()
+		                .uri(UriComponentsBuilder.fromUriString(serverUrl).path(urlPath).build().toUri())
+		                .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
+		                .retrieve()
+		                .onStatus(HttpStatusCode::isError,
+		                          errorResponse -> errorResponse.toEntity(String.class)
+		                                                        .map(httpService::buildErrorResponse))
+		                .bodyToMono(ModuleReportContent.class)
+		                .timeout(Duration.ofMillis(server.getReportTimeout()))
+		                .doOnNext(content -> {
+			                if (reportKey != null) {
+				                synchronized (reportCache) {
+					                reportCache.put(reportKey, content);
+				                }
+			                }
+		                })
+		                .onErrorResume(e -> {
+			                if (e instanceof RequestRuntimeException requestRuntimeException) {
+				                log.warn(httpService.buildError(requestRuntimeException,
+				                                                "fetch the report data for '" + server.getName() + "'"));
+			                } else {
+				                log.warn("Failed to fetch the report data for '{}'!", server.getName(), e);
+			                }
+			                return Mono.empty();
+		                });
 	}
 
+	/**
+	 * Creates the key for caching the report content of the given process.
+	 *
+	 * @param externalProcess The external process.
+	 * @return The key or null if the content should not be cached.
+	 */
+	@Nullable
+	private ReportKey getReportKey(final ExternalProcessEntity externalProcess) {
+		if (externalProcess.getExternalProcessStatus() != ProcessStatus.FINISHED) {
+			return null;
+		}
+
+		final Map<String, Long> resultFiles = new HashMap<>();
+		for (final Map.Entry<String, LobWrapperEntity> resultFile : externalProcess.getResultFiles().entrySet()) {
+			final Long id = resultFile.getValue().getId();
+			if (id == null) {
+				return null;
+			}
+			resultFiles.put(resultFile.getKey(), id);
+		}
+
+		return new ReportKey(externalProcess.getEndpoint(), externalProcess.getConfigurationString(),
+		                     Map.copyOf(resultFiles));
+	}
 }
@@ -1,12 +1,25 @@
 package de.kiaim.cinnamon.platform.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
 import de.kiaim.cinnamon.model.enumeration.ProcessStatus;
+import de.kiaim.cinnamon.platform.config.SerializationConfig;
 import de.kiaim.cinnamon.platform.exception.*;
+import de.kiaim.cinnamon.platform.helper.DescriptiveStatistics;
+import de.kiaim.cinnamon.platform.helper.ETagHelper;
 import de.kiaim.cinnamon.platform.model.dto.StatisticsResponse;
 import de.kiaim.cinnamon.platform.model.entity.BackgroundProcessEntity;
+import de.kiaim.cinnamon.platform.model.entity.DataSetEntity;
+import de.kiaim.cinnamon.platform.model.entity.LobWrapperEntity;
 import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
 import de.kiaim.cinnamon.platform.model.configuration.CinnamonConfiguration;
 import de.kiaim.cinnamon.platform.model.dto.DataSetSource;
+import de.kiaim.cinnamon.platform.model.enumeration.HoldOutSelector;
+import de.kiaim.cinnamon.platform.model.enumeration.RowSelector;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,29 +29,78 @@ import org.springframework.transaction.annotation.Transactional;
  * @author Daniel Preciado-Marquez
  */
 @Service
+@Log4j2
 public class StatisticsService {
 
+	/**
+	 * Name of the result file containing the statistics.
+	 */
+	public static final String METRICS_FILE = "metrics.json";
+
+	/**
+	 * If the statistics are calculated inside the platform.
+	 * Data sets not supported by {@link DescriptiveStatistics} are always processed by the external server.
+	 */
+	private final boolean inProcess;
+
+	/**
+	 * Maximum number of rows of data sets for which the statistics are calculated inside the platform.
+	 */
+	private final int inProcessMaxRows;
+
 	private final CinnamonConfiguration cinnamonConfiguration;
+	private final ObjectMapper jsonMapper;
 
+	private final DatabaseService databaseService;
 	private final DataSetService dataSetService;
 	private final ProcessService processService;
 	private final ProjectService projectService;
 
 	public StatisticsService(
+			@Value("${cinnamon.statistics.in-process}") final boolean inProcess,
+			@Value("${cinnamon.statistics.in-process-max-rows}") final int inProcessMaxRows,
 			final CinnamonConfiguration cinnamonConfiguration,
+			final SerializationConfig serializationConfig,
+			final DatabaseService databaseService,
 			final DataSetService dataSetService,
 			final ProcessService processService,
 			final ProjectService projectService
 	) {
+		this.inProcess = inProcess;
+		this.inProcessMaxRows = inProcessMaxRows;
 		this.cinnamonConfiguration = cinnamonConfiguration;
+		this.jsonMapper = serializationConfig.jsonMapper();
+		this.databaseService = databaseService;
 		this.dataSetService = dataSetService;
 		this.processService = processService;
 		this.projectService = projectService;
 	}
 
+	/**
+	 * Returns the ETag of the statistics for the given data set source.
+	 *
+	 * @param project       The project containing the data set.
+	 * @param dataSetSource The source of the data set.
+	 * @return The ETag or null if the statistics have not been calculated yet.
+	 */
+	@Nullable
+	public String getStatisticsETag(final ProjectEntity project, final DataSetSource dataSetSource)
+			throws BadDataSetIdException, BadStepNameException, InternalApplicationConfigurationException,
+			       BadStateException, InternalInvalidStateException, InternalMissingHandlingException {
+		final var dataset = dataSetService.getDataSetEntityOrThrow(project, dataSetSource);
+		final BackgroundProcessEntity statisticsProcess = dataset.getStatisticsProcess();
+		if (statisticsProcess.getExternalProcessStatus() != ProcessStatus.FINISHED) {
+			return null;
+		}
+
+		final LobWrapperEntity metrics = statisticsProcess.getResultFiles().get(METRICS_FILE);
+		return metrics == null ? null : ETagHelper.forResult(dataset, metrics);
+	}
+
 	/**
 	 * Calculates statistics for the given data set source.
 	 * If statistics have already been calculated, return the existing statistics.
+	 * Statistics of supported data sets are calculated directly, otherwise the external process is started.
 	 *
 	 * @return The Statistics.
 	 */
@@ -57,13 +119,24 @@ public class StatisticsService {
 		final BackgroundProcessEntity statisticsProcess = dataset.getStatisticsProcess();
 		if (statisticsProcess.getExternalProcessStatus() == ProcessStatus.FINISHED) {
 			return new StatisticsResponse(ProcessStatus.FINISHED,
-			                              statisticsProcess.getResultFiles().get("metrics.json").getLobString());
+			                              statisticsProcess.getResultFiles().get(METRICS_FILE).getLobString());
 		} else {
 			if (statisticsProcess.getExternalProcessStatus() == ProcessStatus.NOT_STARTED ||
 			    statisticsProcess.getExternalProcessStatus() == ProcessStatus.ERROR ||
 			    statisticsProcess.getExternalProcessStatus() == ProcessStatus.CANCELED ||
 			    statisticsProcess.getExternalProcessStatus() == ProcessStatus.OUTDATED) {
 
+				if (isInProcessSupported(dataset)) {
+					final String statistics = calculateStatistics(dataset);
+
+					statisticsProcess.reset();
+					statisticsProcess.getResultFiles().put(METRICS_FILE, new LobWrapperEntity(statistics));
+					statisticsProcess.setExternalProcessStatus(ProcessStatus.FINISHED);
+					projectService.saveProject(project);
+
+					return new StatisticsResponse(ProcessStatus.FINISHED, statistics);
+				}
+
 				try {
 					statisticsProcess.setEndpoint(cinnamonConfiguration.getStatisticsEndpoint());
 					processService.startOrScheduleBackendProcess(statisticsProcess);
@@ -79,6 +152,50 @@ public class StatisticsService {
 		}
 	}
 
+	/**
+	 * Calculates the descriptive statistics of the given data set in a single pass over the stored rows.
+	 * The result has the same structure as the metrics.json created by the external process.
+	 *
+	 * @param dataSet The data set.
+	 * @return The statistics as JSON.
+	 * @throws InternalDataSetPersistenceException If the data could not be read.
+	 * @throws InternalIOException                 If the data configuration could not be read or the statistics could not be serialized.
+	 */
+	public String calculateStatistics(final DataSetEntity dataSet)
+			throws InternalDataSetPersistenceException, InternalIOException {
+		final long start = System.currentTimeMillis();
+
+		final DescriptiveStatistics statistics = new DescriptiveStatistics(dataSet.getDataConfiguration());
+		databaseService.streamDataSet(dataSet, HoldOutSelector.NOT_HOLD_OUT, statistics::accept);
+
+		try {
+			final String result = jsonMapper.writeValueAsString(statistics.toMetrics());
+			log.debug("Calculated statistics of {} rows in {} ms", statistics.getRowCount(),
+			          System.currentTimeMillis() - start);
+			return result;
+		} catch (final JsonProcessingException e) {
+			throw new InternalIOException(InternalIOException.STATISTICS_SERIALIZATION,
+			                              "Failed to serialize the statistics!", e);
+		}
+	}
+
+	/**
+	 * Checks if the statistics of the given data set are calculated inside the platform.
+	 *
+	 * @param dataSet The data set.
+	 * @return True if the statistics should be calculated by {@link #calculateStatistics(DataSetEntity)}.
+	 * @throws InternalDataSetPersistenceException If the rows could not be counted.
+	 */
+	private boolean isInProcessSupported(final DataSetEntity dataSet) throws InternalDataSetPersistenceException {
+		final DataConfiguration dataConfiguration = dataSet.getDataConfiguration();
+		if (!inProcess || dataConfiguration == null || !DescriptiveStatistics.isSupported(dataConfiguration)) {
+			return false;
+		}
+
+		return databaseService.countEntries(dataSet.getId(), HoldOutSelector.NOT_HOLD_OUT, RowSelector.ALL, null)
+		       <= inProcessMaxRows;
+	}
+
 	public StatisticsResponse cancelStatistics(final ProjectEntity project, final DataSetSource dataSetSource) throws BadStateException, BadStepNameException, InternalApplicationConfigurationException, BadDataSetIdException, InternalInvalidStateException, InternalMissingHandlingException {
 		final var dataset = dataSetService.getDataSetEntityOrThrow(project, dataSetSource);
 		if (!dataset.isStoredData()) {
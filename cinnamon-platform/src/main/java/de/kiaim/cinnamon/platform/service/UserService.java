@@ -1,5 +1,6 @@
 package de.kiaim.cinnamon.platform.service;
 
+import de.kiaim.cinnamon.platform.config.CredentialCache;
 import de.kiaim.cinnamon.platform.exception.*;
 import de.kiaim.cinnamon.platform.model.dto.ConfirmUserRequest;
 import de.kiaim.cinnamon.platform.model.entity.UserEntity;
@@ -22,14 +23,17 @@ public class UserService implements UserDetailsService {
 
 	private final UserRepository userRepository;
 
+	private final CredentialCache credentialCache;
+
 	private final PasswordEncoder passwordEncoder;
 
 	private final ProjectService projectService;
 
 	@Autowired
-	public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-	                   final ProjectService projectService) {
+	public UserService(UserRepository userRepository, final CredentialCache credentialCache,
+	                   PasswordEncoder passwordEncoder, final ProjectService projectService) {
 		this.userRepository = userRepository;
+		this.credentialCache = credentialCache;
 		this.passwordEncoder = passwordEncoder;
 		this.projectService = projectService;
 	}
@@ -57,6 +61,7 @@ public class UserService implements UserDetailsService {
 			log.debug("Creating new user with email '{}'", email);
 		} else {
 			userEntity = user.get();
+			credentialCache.invalidate(userEntity.getPassword());
 		}
 		userEntity.setEmail(email);
 		userEntity.setPassword(passwordEncoder.encode(rawPassword));
@@ -93,6 +98,7 @@ public class UserService implements UserDetailsService {
 	public void deleteUser(final UserEntity user)
 			throws InternalDataSetPersistenceException, InternalInvalidStateException {
 		deleteUserData(user);
+		credentialCache.invalidate(user.getPassword());
 		userRepository.delete(user);
 		log.debug("Deleting user with email '{}'", user.getEmail());
 	}
@@ -5,14 +5,13 @@ import de.kiaim.cinnamon.platform.exception.*;
 import de.kiaim.cinnamon.platform.model.dto.PipelineInformation;
 import de.kiaim.cinnamon.platform.model.dto.ProjectExportParameter;
 import de.kiaim.cinnamon.platform.model.dto.WorkflowInformation;
-import de.kiaim.cinnamon.platform.model.entity.PipelineEntity;
-import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
-import de.kiaim.cinnamon.platform.model.entity.UserEntity;
-import de.kiaim.cinnamon.platform.model.entity.WorkflowEntity;
+import de.kiaim.cinnamon.platform.model.entity.*;
 import de.kiaim.cinnamon.platform.model.mapper.PipelineMapper;
+import de.kiaim.cinnamon.platform.repository.DataTransformationErrorRepository;
 import de.kiaim.cinnamon.platform.repository.WorkflowRepository;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,8 +19,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.sql.Timestamp;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -36,6 +34,7 @@ public class WorkflowService {
 	public static final long DEFAULT_EXPIRATION_DAYS = 2L;
 	public static final int GEN_WORKFLOW_ID_MAX_RETRIES = 10;
 
+	private final DataTransformationErrorRepository dataTransformationErrorRepository;
 	private final WorkflowRepository workflowRepository;
 
 	private final PipelineMapper pipelineMapper;
@@ -43,22 +42,27 @@ public class WorkflowService {
 	private final ConfigurationService configurationService;
 	private final DatabaseService databaseService;
 	private final ExportService exportService;
+	private final ImportJobService importJobService;
 	private final ProcessService processService;
 	private final ProjectService projectService;
 	private final UserService userService;
 
-	public WorkflowService(final WorkflowRepository workflowRepository,
+	public WorkflowService(final DataTransformationErrorRepository dataTransformationErrorRepository,
+	                       final WorkflowRepository workflowRepository,
 	                       final PipelineMapper pipelineMapper,
 	                       final ConfigurationService configurationService,
 	                       final DatabaseService databaseService, ExportService exportService,
+	                       final ImportJobService importJobService,
 	                       final ProcessService processService,
 	                       final ProjectService projectService,
 	                       final UserService userService) {
+		this.dataTransformationErrorRepository = dataTransformationErrorRepository;
 		this.workflowRepository = workflowRepository;
 		this.pipelineMapper = pipelineMapper;
 		this.configurationService = configurationService;
 		this.databaseService = databaseService;
 		this.exportService = exportService;
+		this.importJobService = importJobService;
 		this.processService = processService;
 		this.projectService = projectService;
 		this.userService = userService;
@@ -66,11 +70,12 @@ public class WorkflowService {
 
 	/**
 	 * Starts a new workflow.
+	 * The data set is imported in the background, the pipeline is started once the import has finished.
 	 *
 	 * @param userEmail         The email of the user.
 	 * @param dataFile          File containing the data to be anonymized.
 	 * @param configurationFile File containing all required configurations.
-	 * @return The ID of the started workflow.
+	 * @return The status of the started workflow.
 	 * @throws BadAlgorithmException                     If one of the algorithms is not available.
 	 * @throws BadArgumentException                      If the given configurations are invalid.
 	 * @throws BadConfigurationFileException             If the configuration file is not a valid YAML file.
@@ -100,8 +105,8 @@ public class WorkflowService {
 	 * @throws InternalRequestException                  If the request to the external server for starting the process failed.
 	 */
 	@Transactional
-	public UUID startWorkflow(final String userEmail, MultipartFile dataFile,
-	                          final MultipartFile configurationFile)
+	public WorkflowInformation startWorkflow(final String userEmail, MultipartFile dataFile,
+	                                         final MultipartFile configurationFile)
 			throws BadAlgorithmException, BadArgumentException, BadConfigurationFileException,
 					       BadConfigurationNameException, BadDataConfigurationException, BadDatasetException,
 					       BadDataSetIdException, BadFileException, BadStateException, BadStepNameException,
@@ -130,16 +135,12 @@ public class WorkflowService {
 		if (retrievedDataFile != null)
 			dataFile = retrievedDataFile.getSecond();
 		databaseService.storeFile(project, dataFile);
-		databaseService.storeOriginalDataset(project);
-		databaseService.confirmDataSet(project);
 
-		// 4. Start the workflow
-		final PipelineEntity pipeline = project.getPipelines().get(0);
-		pipeline.setRunAllStages(true);
-		processService.start(pipeline);
+		// 4. Import the data and start the workflow in the background
+		importJobService.startImport(project, true, true);
 
-		// 5. Return the pipeline
-		return workflow.getWorkflowId();
+		// 5. Return the status before the import starts
+		return toWorkflowInformation(workflow);
 	}
 
 	/**
@@ -157,8 +158,7 @@ public class WorkflowService {
 	public WorkflowInformation getWorkflowStatus(final String userEmail, final String workflowId)
 			throws BadArgumentException, BadUserException, BadWorkflowException, InternalInvalidStateException {
 		final WorkflowEntity workflow = getWorkflowEntity(userEmail, workflowId);
-		final PipelineInformation pipeline = pipelineMapper.toDto(processService.getPipeline(workflow.getProject()));
-		return new WorkflowInformation(workflow.getWorkflowId().toString(), pipeline);
+		return toWorkflowInformation(workflow);
 	}
 
 	/**
@@ -175,8 +175,7 @@ public class WorkflowService {
 	public WorkflowInformation getWorkflowStatus(final String userEmail, final UUID workflowId)
 			throws BadUserException, BadWorkflowException, InternalInvalidStateException {
 		final WorkflowEntity workflow = getWorkflowEntity(userEmail, workflowId);
-		final PipelineInformation pipeline = pipelineMapper.toDto(processService.getPipeline(workflow.getProject()));
-		return new WorkflowInformation(workflow.getWorkflowId().toString(), pipeline);
+		return toWorkflowInformation(workflow);
 	}
 
 	/**
@@ -234,13 +233,55 @@ public class WorkflowService {
 	}
 
 	/**
-	 * Returns all workflows that have expired.
+	 * Deletes the workflows with the given IDs.
+	 * The dataset tables of all workflows are dropped with a single statement
+	 * and the transformation errors are deleted with a single statement before the entities are removed.
 	 *
-	 * @return List of expired workflows.
+	 * @param workflowIds The IDs of the workflows to delete.
+	 * @throws InternalDataSetPersistenceException If the datasets could not be deleted due to an internal error.
+	 * @throws InternalInvalidStateException       If a process to be canceled has no server instance assigned.
 	 */
-	public List<WorkflowEntity> getExpiredWorkflows() {
-		final Timestamp expirationDate = new Timestamp(System.currentTimeMillis());
-		return workflowRepository.findAllByExpirationDateBefore(expirationDate);
+	@Transactional
+	public void deleteWorkflows(final Collection<Long> workflowIds)
+			throws InternalDataSetPersistenceException, InternalInvalidStateException {
+		final List<WorkflowEntity> workflows = new ArrayList<>(workflowIds.size());
+		workflowRepository.findAllById(workflowIds).forEach(workflows::add);
+
+		final Set<Long> dataSetIds = new HashSet<>();
+		for (final WorkflowEntity workflow : workflows) {
+			final ProjectEntity project = workflow.getProject();
+			if (project.getOriginalData().getDataSet() != null) {
+				dataSetIds.add(project.getOriginalData().getDataSet().getId());
+			}
+
+			for (final ExecutionStepEntity stage : project.getPipelines().get(0).getStages()) {
+				for (final ExternalProcessEntity process : stage.getProcesses()) {
+					if (process instanceof DataProcessingEntity dataProcessing && dataProcessing.getDataSet() != null) {
+						dataSetIds.add(dataProcessing.getDataSet().getId());
+					}
+				}
+			}
+		}
+
+		databaseService.deleteDataSetTables(dataSetIds);
+		dataTransformationErrorRepository.deleteAllByDataSetIdIn(dataSetIds);
+
+		for (final WorkflowEntity workflow : workflows) {
+			deleteWorkflow(workflow);
+		}
+	}
+
+	/**
+	 * Returns the IDs of workflows that have expired.
+	 * The IDs are ordered, so the next IDs can be fetched by passing the last ID.
+	 *
+	 * @param expirationDate The timestamp to check against.
+	 * @param lastId         Only IDs greater than this ID are returned.
+	 * @param limit          Maximum number of IDs to return.
+	 * @return List of IDs of expired workflows.
+	 */
+	public List<Long> getExpiredWorkflowIds(final Timestamp expirationDate, final long lastId, final int limit) {
+		return workflowRepository.findExpiredWorkflowIds(expirationDate, lastId, PageRequest.of(0, limit));
 	}
 
 	/**
@@ -282,6 +323,21 @@ public class WorkflowService {
 		return workflow;
 	}
 
+	/**
+	 * Creates the status of the given workflow.
+	 *
+	 * @param workflow The workflow.
+	 * @return The status of the workflow.
+	 * @throws InternalInvalidStateException If fetching the status from the external module failed.
+	 */
+	private WorkflowInformation toWorkflowInformation(final WorkflowEntity workflow)
+			throws InternalInvalidStateException {
+		final ProjectEntity project = workflow.getProject();
+		final PipelineInformation pipeline = pipelineMapper.toDto(processService.getPipeline(project));
+		return new WorkflowInformation(workflow.getWorkflowId().toString(),
+		                               importJobService.getLatestImportJob(project), pipeline);
+	}
+
 	/**
 	 * Generates a unique workflow ID.
 	 *
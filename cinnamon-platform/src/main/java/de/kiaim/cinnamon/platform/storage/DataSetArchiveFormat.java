@@ -0,0 +1,140 @@
+package de.kiaim.cinnamon.platform.storage;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import de.kiaim.cinnamon.model.serialization.exception.BinaryFormatException;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Constants and helpers shared by {@link DataSetArchiveWriter} and {@link DataSetArchiveReader}.
+ * The layout of an archive is:
+ * <pre>
+ * header: magic "CDA", version (byte), number of rows (int), rows per block (int),
+ *         length of the data configuration (int), data configuration as JSON
+ * index:  for each block, for the hold-out flags and each column: offset, compressed length, raw length (ints)
+ * data:   the deflate-compressed column blocks
+ * </pre>
+ * A column block starts with a null flag (byte) followed by a null bitmap if the flag is set.
+ * The values of the cells that are not null follow:
+ * Booleans as bitmap, integers and dates (epoch day) as zig-zag encoded varints of the difference to the previous value,
+ * date times as the difference of the epoch second and the nanos, decimals as floats
+ * and strings as dictionary and indices if at most half of the values are distinct, otherwise as UTF-8.
+ * The block of the hold-out flags is a bitmap.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+final class DataSetArchiveFormat {
+
+	/**
+	 * Version of the format.
+	 */
+	static final int VERSION = 1;
+
+	static final byte[] MAGIC = {'C', 'D', 'A'};
+
+	static final int NO_NULLS = 0;
+	static final int WITH_NULLS = 1;
+
+	static final int PLAIN = 0;
+	static final int DICTIONARY = 1;
+
+	/**
+	 * Number of ints describing a single column block in the index.
+	 */
+	static final int INDEX_ENTRY_SIZE = 3;
+
+	private DataSetArchiveFormat() {
+	}
+
+	/**
+	 * Returns the data types of all columns.
+	 *
+	 * @param dataConfiguration The data configuration.
+	 * @return The data types.
+	 * @throws BinaryFormatException If a column has no data type.
+	 */
+	static List<DataType> getTypes(final DataConfiguration dataConfiguration) throws BinaryFormatException {
+		final List<DataType> types = new ArrayList<>();
+		for (final ColumnConfiguration columnConfiguration : dataConfiguration.getConfigurations()) {
+			final DataType type = columnConfiguration.getType();
+			if (type == null || type == DataType.UNDEFINED) {
+				throw new BinaryFormatException("Column '" + columnConfiguration.getName() + "' has no data type!");
+			}
+			types.add(type);
+		}
+		return types;
+	}
+
+	static void writeVarLong(final DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	static long readVarLong(final ByteBuffer in) throws BinaryFormatException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final int b = readUnsignedByte(in);
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new BinaryFormatException("Malformed variable length integer!");
+	}
+
+	/**
+	 * Reads a non-negative varint not greater than the given maximum.
+	 */
+	static int readLength(final ByteBuffer in, final int max) throws BinaryFormatException {
+		final long value = readVarLong(in);
+		if (value < 0 || value > max) {
+			throw new BinaryFormatException("Invalid length " + value + "!");
+		}
+		return (int) value;
+	}
+
+	static int readUnsignedByte(final ByteBuffer in) throws BinaryFormatException {
+		try {
+			return in.get() & 0xFF;
+		} catch (final BufferUnderflowException e) {
+			throw new BinaryFormatException("Unexpected end of the archive!");
+		}
+	}
+
+	static void readFully(final ByteBuffer in, final byte[] bytes) throws BinaryFormatException {
+		if (in.remaining() < bytes.length) {
+			throw new BinaryFormatException("Unexpected end of the archive!");
+		}
+		in.get(bytes);
+	}
+
+	static long zigZag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static long unZigZag(final long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static int bitmapLength(final int size) {
+		return (size + 7) >>> 3;
+	}
+
+	static void setBit(final byte[] bitmap, final int index) {
+		bitmap[index >>> 3] |= (byte) (1 << (index & 7));
+	}
+
+	static boolean isSet(final byte[] bitmap, final int index) {
+		return (bitmap[index >>> 3] & (1 << (index & 7))) != 0;
+	}
+}
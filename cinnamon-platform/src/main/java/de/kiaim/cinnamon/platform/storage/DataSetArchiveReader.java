@@ -0,0 +1,425 @@
+package de.kiaim.cinnamon.platform.storage;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.*;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import de.kiaim.cinnamon.model.serialization.exception.BinaryFormatException;
+import de.kiaim.cinnamon.model.serialization.mapper.JsonMapper;
+import de.kiaim.cinnamon.platform.model.enumeration.HoldOutSelector;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static de.kiaim.cinnamon.platform.storage.DataSetArchiveFormat.*;
+
+/**
+ * Reads rows from an archive created by the {@link DataSetArchiveWriter}.
+ * Only the blocks of the requested columns containing selected rows are decompressed and decoded.
+ * The hold-out flags are decoded once when they are required first.
+ * The last decoded block of every column is kept, so consecutive reads of adjacent rows do not decode blocks twice.
+ * Instances are not thread-safe.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public class DataSetArchiveReader {
+
+	/**
+	 * Consumer of the rows read from the archive.
+	 */
+	@FunctionalInterface
+	public interface RowConsumer {
+		/**
+		 * Receives a row.
+		 *
+		 * @param rowIndex The index of the row in the data set.
+		 * @param data     The values of the requested columns in the requested order.
+		 */
+		void accept(int rowIndex, List<Data> data);
+	}
+
+	private final byte[] archive;
+	private final DataConfiguration dataConfiguration;
+	private final List<DataType> types;
+	private final int numberRows;
+	private final int blockSize;
+	private final int numberBlocks;
+	private final int[] index;
+	private final int dataOffset;
+
+	@Nullable
+	private BitSet holdOut = null;
+
+	private final int[] cachedBlockIndices;
+	private final Data[][] cachedBlocks;
+
+	/**
+	 * Parses the header of the given archive.
+	 *
+	 * @param archive The archive.
+	 * @throws BinaryFormatException If the bytes are not a valid archive.
+	 */
+	public DataSetArchiveReader(final byte[] archive) throws BinaryFormatException {
+		this.archive = archive;
+		final ByteBuffer in = ByteBuffer.wrap(archive);
+
+		final byte[] magic = new byte[MAGIC.length];
+		readFully(in, magic);
+		if (!Arrays.equals(magic, MAGIC)) {
+			throw new BinaryFormatException("The content is not a data set archive!");
+		}
+
+		final int version = readUnsignedByte(in);
+		if (version != VERSION) {
+			throw new BinaryFormatException("Unsupported version " + version + " of the data set archive format!");
+		}
+
+		final byte[] configuration;
+		try {
+			numberRows = in.getInt();
+			blockSize = in.getInt();
+			configuration = new byte[in.getInt()];
+		} catch (final RuntimeException e) {
+			throw new BinaryFormatException("Invalid header of the data set archive!");
+		}
+		if (numberRows < 0 || blockSize < 1) {
+			throw new BinaryFormatException("Invalid header of the data set archive!");
+		}
+
+		readFully(in, configuration);
+		try {
+			dataConfiguration = JsonMapper.jsonMapper().readValue(configuration, DataConfiguration.class);
+		} catch (final IOException e) {
+			throw new BinaryFormatException("Invalid data configuration in the data set archive!");
+		}
+		types = getTypes(dataConfiguration);
+
+		numberBlocks = (int) (((long) numberRows + blockSize - 1) / blockSize);
+		final long indexLength = (long) numberBlocks * (types.size() + 1) * INDEX_ENTRY_SIZE;
+		if (indexLength * 4 > in.remaining()) {
+			throw new BinaryFormatException("Unexpected end of the archive!");
+		}
+		index = new int[(int) indexLength];
+		in.asIntBuffer().get(index);
+		dataOffset = in.position() + index.length * 4;
+
+		cachedBlockIndices = new int[types.size()];
+		Arrays.fill(cachedBlockIndices, -1);
+		cachedBlocks = new Data[types.size()][];
+	}
+
+	/**
+	 * @return The data configuration of the archived data set.
+	 */
+	public DataConfiguration getDataConfiguration() {
+		return dataConfiguration;
+	}
+
+	/**
+	 * @return The total number of rows.
+	 */
+	public int getNumberRows() {
+		return numberRows;
+	}
+
+	/**
+	 * @return The number of rows per block.
+	 */
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * Checks if the row with the given index is part of the hold-out split.
+	 *
+	 * @param rowIndex The index of the row.
+	 * @return If the row is a hold-out row.
+	 * @throws BinaryFormatException If the hold-out flags could not be decoded.
+	 */
+	public boolean isHoldOut(final int rowIndex) throws BinaryFormatException {
+		return getHoldOut().get(rowIndex);
+	}
+
+	/**
+	 * Counts the rows matching the given selectors.
+	 *
+	 * @param holdOutSelector Which hold-out rows should be counted.
+	 * @param rowFilter       Additional filter on the row index. Null if all rows should be counted.
+	 * @return The number of matching rows.
+	 * @throws BinaryFormatException If the hold-out flags could not be decoded.
+	 */
+	public int count(final HoldOutSelector holdOutSelector, @Nullable final IntPredicate rowFilter)
+			throws BinaryFormatException {
+		if (holdOutSelector == HoldOutSelector.ALL && rowFilter == null) {
+			return numberRows;
+		}
+
+		int count = 0;
+		for (int rowIndex = 0; rowIndex < numberRows; rowIndex++) {
+			if (isSelected(rowIndex, holdOutSelector, rowFilter)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Passes the selected rows ordered by the row index to the consumer.
+	 * Skips the given number of matching rows and stops after the given number of rows have been passed.
+	 *
+	 * @param columns         Indices of the columns to be read in the order they should be returned.
+	 * @param holdOutSelector Which hold-out rows should be selected.
+	 * @param rowFilter       Additional filter on the row index. Null if all rows should be selected.
+	 * @param startRow        The number of matching rows to skip.
+	 * @param maxRows         The maximum number of rows to read.
+	 * @param rowConsumer     Consumer receiving the rows.
+	 * @throws BinaryFormatException If a block could not be decoded.
+	 */
+	public void read(final List<Integer> columns, final HoldOutSelector holdOutSelector,
+	                 @Nullable final IntPredicate rowFilter, final int startRow, final int maxRows,
+	                 final RowConsumer rowConsumer) throws BinaryFormatException {
+		for (final int column : columns) {
+			if (column < 0 || column >= types.size()) {
+				throw new IllegalArgumentException("The archive does not contain a column with index " + column + "!");
+			}
+		}
+
+		final boolean selectAll = holdOutSelector == HoldOutSelector.ALL && rowFilter == null;
+		int skipped = 0;
+		int read = 0;
+
+		for (int block = 0; block < numberBlocks && read < maxRows; block++) {
+			final int firstRow = block * blockSize;
+			final int lastRow = Math.min(firstRow + blockSize, numberRows);
+
+			// Without selectors, blocks before the start can be skipped without looking at the rows
+			if (selectAll && skipped + (lastRow - firstRow) <= startRow) {
+				skipped += lastRow - firstRow;
+				continue;
+			}
+
+			for (int rowIndex = firstRow; rowIndex < lastRow && read < maxRows; rowIndex++) {
+				if (!isSelected(rowIndex, holdOutSelector, rowFilter)) {
+					continue;
+				}
+				if (skipped < startRow) {
+					skipped++;
+					continue;
+				}
+
+				final List<Data> data = new ArrayList<>(columns.size());
+				for (final int column : columns) {
+					data.add(getBlock(column, block)[rowIndex - firstRow]);
+				}
+				rowConsumer.accept(rowIndex, data);
+				read++;
+			}
+		}
+	}
+
+	private boolean isSelected(final int rowIndex, final HoldOutSelector holdOutSelector,
+	                           @Nullable final IntPredicate rowFilter) throws BinaryFormatException {
+		final boolean matchesHoldOut = switch (holdOutSelector) {
+			case ALL -> true;
+			case HOLD_OUT -> getHoldOut().get(rowIndex);
+			case NOT_HOLD_OUT -> !getHoldOut().get(rowIndex);
+		};
+		return matchesHoldOut && (rowFilter == null || rowFilter.test(rowIndex));
+	}
+
+	private BitSet getHoldOut() throws BinaryFormatException {
+		if (holdOut == null) {
+			final BitSet flags = new BitSet(numberRows);
+			for (int block = 0; block < numberBlocks; block++) {
+				final int firstRow = block * blockSize;
+				final int size = Math.min(blockSize, numberRows - firstRow);
+				final ByteBuffer in = inflate(block, 0);
+
+				final byte[] bits = new byte[bitmapLength(size)];
+				readFully(in, bits);
+				for (int i = 0; i < size; i++) {
+					if (isSet(bits, i)) {
+						flags.set(firstRow + i);
+					}
+				}
+			}
+			holdOut = flags;
+		}
+		return holdOut;
+	}
+
+	private Data[] getBlock(final int column, final int block) throws BinaryFormatException {
+		if (cachedBlockIndices[column] != block) {
+			final int size = Math.min(blockSize, numberRows - block * blockSize);
+			cachedBlocks[column] = readColumn(inflate(block, column + 1), size, types.get(column));
+			cachedBlockIndices[column] = block;
+		}
+		return cachedBlocks[column];
+	}
+
+	/**
+	 * Decompresses the given block of the given column. Column 0 contains the hold-out flags.
+	 */
+	private ByteBuffer inflate(final int block, final int column) throws BinaryFormatException {
+		final int entry = (block * (types.size() + 1) + column) * INDEX_ENTRY_SIZE;
+		final int offset = index[entry];
+		final int compressedLength = index[entry + 1];
+		final int rawLength = index[entry + 2];
+
+		if (offset < 0 || compressedLength < 0 || rawLength < 0 ||
+		    (long) dataOffset + offset + compressedLength > archive.length) {
+			throw new BinaryFormatException("Invalid block in the data set archive!");
+		}
+
+		final Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(archive, dataOffset + offset, compressedLength);
+			final byte[] raw = new byte[rawLength];
+			int length = 0;
+			while (length < rawLength) {
+				final int inflated = inflater.inflate(raw, length, rawLength - length);
+				if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+					break;
+				}
+				length += inflated;
+			}
+			if (length != rawLength) {
+				throw new BinaryFormatException("Invalid block in the data set archive!");
+			}
+			return ByteBuffer.wrap(raw);
+		} catch (final DataFormatException e) {
+			throw new BinaryFormatException("Invalid block in the data set archive!");
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private Data[] readColumn(final ByteBuffer in, final int size, final DataType type) throws BinaryFormatException {
+		final Data[] values = new Data[size];
+
+		final byte[] nulls;
+		final int nullFlag = readUnsignedByte(in);
+		if (nullFlag == WITH_NULLS) {
+			nulls = new byte[bitmapLength(size)];
+			readFully(in, nulls);
+		} else if (nullFlag == NO_NULLS) {
+			nulls = null;
+		} else {
+			throw new BinaryFormatException("Invalid null flag " + nullFlag + "!");
+		}
+
+		switch (type) {
+			case BOOLEAN -> {
+				final byte[] bits = new byte[bitmapLength(size)];
+				readFully(in, bits);
+				for (int i = 0; i < size; i++) {
+					values[i] = new BooleanData(isNull(nulls, i) ? null : isSet(bits, i));
+				}
+			}
+			case DATE -> {
+				long previous = 0;
+				for (int i = 0; i < size; i++) {
+					LocalDate value = null;
+					if (!isNull(nulls, i)) {
+						previous += unZigZag(readVarLong(in));
+						value = LocalDate.ofEpochDay(previous);
+					}
+					values[i] = new DateData(value);
+				}
+			}
+			case DATE_TIME -> {
+				long previous = 0;
+				for (int i = 0; i < size; i++) {
+					LocalDateTime value = null;
+					if (!isNull(nulls, i)) {
+						previous += unZigZag(readVarLong(in));
+						final int nanos = readLength(in, 999_999_999);
+						value = LocalDateTime.ofEpochSecond(previous, nanos, ZoneOffset.UTC);
+					}
+					values[i] = new DateTimeData(value);
+				}
+			}
+			case DECIMAL -> {
+				for (int i = 0; i < size; i++) {
+					Float value = null;
+					if (!isNull(nulls, i)) {
+						if (in.remaining() < Float.BYTES) {
+							throw new BinaryFormatException("Unexpected end of the archive!");
+						}
+						value = in.getFloat();
+					}
+					values[i] = new DecimalData(value);
+				}
+			}
+			case INTEGER -> {
+				long previous = 0;
+				for (int i = 0; i < size; i++) {
+					Integer value = null;
+					if (!isNull(nulls, i)) {
+						previous += unZigZag(readVarLong(in));
+						value = (int) previous;
+					}
+					values[i] = new IntegerData(value);
+				}
+			}
+			case STRING, TEXT -> readStrings(in, values, nulls, type);
+		}
+
+		return values;
+	}
+
+	private void readStrings(final ByteBuffer in, final Data[] values, @Nullable final byte[] nulls,
+	                         final DataType type) throws BinaryFormatException {
+		final int mode = readUnsignedByte(in);
+
+		final String[] dictionary;
+		if (mode == DICTIONARY) {
+			dictionary = new String[readLength(in, values.length)];
+			for (int i = 0; i < dictionary.length; i++) {
+				dictionary[i] = readString(in);
+			}
+		} else if (mode == PLAIN) {
+			dictionary = null;
+		} else {
+			throw new BinaryFormatException("Invalid string encoding " + mode + "!");
+		}
+
+		for (int i = 0; i < values.length; i++) {
+			String value = null;
+			if (!isNull(nulls, i)) {
+				if (dictionary == null) {
+					value = readString(in);
+				} else {
+					final int entry = readLength(in, Integer.MAX_VALUE);
+					if (entry >= dictionary.length) {
+						throw new BinaryFormatException("Invalid dictionary index " + entry + "!");
+					}
+					value = dictionary[entry];
+				}
+			}
+
+			values[i] = type == DataType.STRING ? new StringData(value) : new TextData(value);
+		}
+	}
+
+	private static String readString(final ByteBuffer in) throws BinaryFormatException {
+		final byte[] bytes = new byte[readLength(in, in.remaining())];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static boolean isNull(@Nullable final byte[] nulls, final int index) {
+		return nulls != null && isSet(nulls, index);
+	}
+}
@@ -0,0 +1,289 @@
+package de.kiaim.cinnamon.platform.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.Data;
+import de.kiaim.cinnamon.model.data.DataRow;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import de.kiaim.cinnamon.model.serialization.exception.BinaryFormatException;
+import de.kiaim.cinnamon.model.serialization.mapper.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static de.kiaim.cinnamon.platform.storage.DataSetArchiveFormat.*;
+
+/**
+ * Writes the rows of a data set into the compressed columnar archive format described in {@link DataSetArchiveFormat}.
+ * The rows are collected into blocks, every column of a block is encoded and compressed separately,
+ * so a reader can decode single columns of single blocks.
+ * The rows must be written ordered by their row index.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public class DataSetArchiveWriter {
+
+	private final ObjectMapper jsonMapper = JsonMapper.jsonMapper();
+	private final Deflater deflater = new Deflater();
+
+	private final DataConfiguration dataConfiguration;
+	private final List<DataType> types;
+	private final int blockSize;
+
+	private final List<DataRow> blockRows = new ArrayList<>();
+	private final List<Boolean> blockHoldOut = new ArrayList<>();
+
+	private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+	private final List<Integer> index = new ArrayList<>();
+	private int numberRows = 0;
+
+	/**
+	 * Creates a new writer.
+	 *
+	 * @param dataConfiguration The data configuration of the rows.
+	 * @param blockSize         Number of rows per block.
+	 * @throws BinaryFormatException If a column has no data type.
+	 */
+	public DataSetArchiveWriter(final DataConfiguration dataConfiguration, final int blockSize)
+			throws BinaryFormatException {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("The block size must be positive!");
+		}
+		this.dataConfiguration = dataConfiguration;
+		this.types = getTypes(dataConfiguration);
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Adds the given row to the archive.
+	 *
+	 * @param dataRow The row.
+	 * @param holdOut If the row is part of the hold-out split.
+	 * @throws IOException If the row does not match the data configuration.
+	 */
+	public void write(final DataRow dataRow, final boolean holdOut) throws IOException {
+		if (dataRow.getData().size() != types.size()) {
+			throw new BinaryFormatException("Row has " + dataRow.getData().size() + " values but the data set has " +
+			                                types.size() + " columns!");
+		}
+
+		blockRows.add(dataRow);
+		blockHoldOut.add(holdOut);
+		numberRows++;
+
+		if (blockRows.size() >= blockSize) {
+			writeBlock();
+		}
+	}
+
+	/**
+	 * Writes the remaining rows and returns the archive.
+	 * The writer must not be used afterward.
+	 *
+	 * @return The encoded archive.
+	 * @throws IOException If the rows could not be encoded.
+	 */
+	public byte[] finish() throws IOException {
+		if (!blockRows.isEmpty()) {
+			writeBlock();
+		}
+		deflater.end();
+
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.size() + index.size() * 4 + 1024);
+		final DataOutputStream out = new DataOutputStream(outputStream);
+
+		out.write(MAGIC);
+		out.writeByte(VERSION);
+		out.writeInt(numberRows);
+		out.writeInt(blockSize);
+		final byte[] configuration = jsonMapper.writeValueAsBytes(dataConfiguration);
+		out.writeInt(configuration.length);
+		out.write(configuration);
+
+		for (final int value : index) {
+			out.writeInt(value);
+		}
+		data.writeTo(out);
+
+		out.flush();
+		return outputStream.toByteArray();
+	}
+
+	private void writeBlock() throws IOException {
+		final int size = blockRows.size();
+
+		final byte[] holdOut = new byte[bitmapLength(size)];
+		for (int i = 0; i < size; i++) {
+			if (blockHoldOut.get(i)) {
+				setBit(holdOut, i);
+			}
+		}
+		writeCompressed(holdOut);
+
+		for (int column = 0; column < types.size(); column++) {
+			final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+			try {
+				writeColumn(new DataOutputStream(raw), column, types.get(column));
+			} catch (final ClassCastException e) {
+				throw new BinaryFormatException("Column " + column + " contains values not of type '" +
+				                                types.get(column) + "'!");
+			}
+			writeCompressed(raw.toByteArray());
+		}
+
+		blockRows.clear();
+		blockHoldOut.clear();
+	}
+
+	private void writeCompressed(final byte[] raw) {
+		final int offset = data.size();
+
+		deflater.reset();
+		deflater.setInput(raw);
+		deflater.finish();
+
+		final byte[] buffer = new byte[Math.max(64, raw.length / 2)];
+		while (!deflater.finished()) {
+			final int length = deflater.deflate(buffer);
+			data.write(buffer, 0, length);
+		}
+
+		index.add(offset);
+		index.add(data.size() - offset);
+		index.add(raw.length);
+	}
+
+	private void writeColumn(final DataOutputStream out, final int column, final DataType type) throws IOException {
+		final int size = blockRows.size();
+		final Object[] values = new Object[size];
+		byte[] nulls = null;
+
+		for (int i = 0; i < size; i++) {
+			final Data data = blockRows.get(i).getData().get(column);
+			values[i] = data == null ? null : data.getValue();
+			if (values[i] == null) {
+				if (nulls == null) {
+					nulls = new byte[bitmapLength(size)];
+				}
+				setBit(nulls, i);
+			}
+		}
+
+		if (nulls == null) {
+			out.writeByte(NO_NULLS);
+		} else {
+			out.writeByte(WITH_NULLS);
+			out.write(nulls);
+		}
+
+		switch (type) {
+			case BOOLEAN -> {
+				final byte[] bits = new byte[bitmapLength(size)];
+				for (int i = 0; i < size; i++) {
+					if (Boolean.TRUE.equals(values[i])) {
+						setBit(bits, i);
+					}
+				}
+				out.write(bits);
+			}
+			case DATE -> {
+				long previous = 0;
+				for (final Object value : values) {
+					if (value != null) {
+						final long epochDay = ((LocalDate) value).toEpochDay();
+						writeVarLong(out, zigZag(epochDay - previous));
+						previous = epochDay;
+					}
+				}
+			}
+			case DATE_TIME -> {
+				long previous = 0;
+				for (final Object value : values) {
+					if (value != null) {
+						final LocalDateTime dateTime = (LocalDateTime) value;
+						final long epochSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+						writeVarLong(out, zigZag(epochSecond - previous));
+						writeVarLong(out, dateTime.getNano());
+						previous = epochSecond;
+					}
+				}
+			}
+			case DECIMAL -> {
+				for (final Object value : values) {
+					if (value != null) {
+						out.writeFloat((Float) value);
+					}
+				}
+			}
+			case INTEGER -> {
+				long previous = 0;
+				for (final Object value : values) {
+					if (value != null) {
+						final long integer = (Integer) value;
+						writeVarLong(out, zigZag(integer - previous));
+						previous = integer;
+					}
+				}
+			}
+			case STRING, TEXT -> writeStrings(out, values);
+		}
+	}
+
+	/**
+	 * Writes the strings as dictionary if at most half of the values are distinct, otherwise as plain strings.
+	 */
+	private void writeStrings(final DataOutputStream out, final Object[] values) throws IOException {
+		final int maxDictionarySize = values.length / 2;
+		final Map<String, Integer> dictionary = new HashMap<>();
+		final List<String> entries = new ArrayList<>();
+		int count = 0;
+
+		for (final Object value : values) {
+			if (value != null) {
+				count++;
+				if (dictionary.putIfAbsent((String) value, entries.size()) == null) {
+					entries.add((String) value);
+					if (entries.size() > maxDictionarySize) {
+						break;
+					}
+				}
+			}
+		}
+
+		if (count > 0 && entries.size() <= count / 2) {
+			out.writeByte(DICTIONARY);
+			writeVarLong(out, entries.size());
+			for (final String entry : entries) {
+				writeString(out, entry);
+			}
+			for (final Object value : values) {
+				if (value != null) {
+					writeVarLong(out, dictionary.get((String) value));
+				}
+			}
+		} else {
+			out.writeByte(PLAIN);
+			for (final Object value : values) {
+				if (value != null) {
+					writeString(out, (String) value);
+				}
+			}
+		}
+	}
+
+	private static void writeString(final DataOutputStream out, final String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(out, bytes.length);
+		out.write(bytes);
+	}
+}
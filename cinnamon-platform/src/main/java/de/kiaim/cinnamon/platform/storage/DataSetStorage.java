@@ -0,0 +1,130 @@
+package de.kiaim.cinnamon.platform.storage;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.DataRow;
+import de.kiaim.cinnamon.platform.exception.BadDataConfigurationException;
+import de.kiaim.cinnamon.platform.exception.InternalDataSetPersistenceException;
+import de.kiaim.cinnamon.platform.helper.DataschemeGenerator;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage for the rows of data sets.
+ * The implementation is selected by the property {@code cinnamon.data-set-storage.type}.
+ * Independent of the implementation, the rows of a data set can be queried with plain SQL
+ * through the relation returned by {@link #getRelation(long, DataConfiguration)}.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+public interface DataSetStorage {
+
+	/**
+	 * Returns the relation containing the rows of the given data set that can be used in the FROM clause of a query.
+	 * The relation contains a column for each attribute named after the attribute,
+	 * the column {@link DataschemeGenerator#HOLD_OUT_FLAG_NAME} and the column {@link DataschemeGenerator#ROW_INDEX_NAME}.
+	 *
+	 * @param dataSetId         The ID of the data set.
+	 * @param dataConfiguration The data configuration of the data set.
+	 * @return The relation.
+	 */
+	String getRelation(long dataSetId, DataConfiguration dataConfiguration);
+
+	/**
+	 * Prepares the storage for the rows of the given data set.
+	 *
+	 * @param dataSetId         The ID of the data set.
+	 * @param dataConfiguration The data configuration of the data set.
+	 * @throws BadDataConfigurationException If the data configuration contains an undefined data type.
+	 * @throws SQLException                  If executing the statement failed.
+	 */
+	void create(long dataSetId, DataConfiguration dataConfiguration)
+			throws BadDataConfigurationException, SQLException;
+
+	/**
+	 * Opens a writer for inserting rows into the given data set.
+	 * The storage must have been created with {@link #create(long, DataConfiguration)}.
+	 *
+	 * @param dataSetId         The ID of the data set.
+	 * @param dataConfiguration The data configuration of the data set.
+	 * @return The writer, must be closed after all rows have been written.
+	 * @throws SQLException If preparing the statement failed.
+	 */
+	RowWriter openWriter(long dataSetId, DataConfiguration dataConfiguration) throws SQLException;
+
+	/**
+	 * Sets the hold-out flag of all rows of the given data set.
+	 *
+	 * @param dataSetId The ID of the data set.
+	 * @param holdOut   Flag value.
+	 * @throws SQLException If executing the statement failed.
+	 */
+	void setHoldOut(long dataSetId, boolean holdOut) throws SQLException;
+
+	/**
+	 * Sets the hold-out flag of the given rows of the given data set.
+	 *
+	 * @param dataSetId  The ID of the data set.
+	 * @param rowIndices The indices of the rows to update.
+	 * @param holdOut    Flag value.
+	 * @throws SQLException If executing the statement failed.
+	 */
+	void setHoldOut(long dataSetId, List<Integer> rowIndices, boolean holdOut) throws SQLException;
+
+	/**
+	 * Creates an index on the given column of the given data set.
+	 *
+	 * @param dataSetId         The ID of the data set.
+	 * @param dataConfiguration The data configuration of the data set.
+	 * @param column            The column to be indexed.
+	 * @throws SQLException If executing the statement failed.
+	 */
+	void createIndex(long dataSetId, DataConfiguration dataConfiguration, ColumnConfiguration column)
+			throws SQLException;
+
+	/**
+	 * Removes the rows of the given data sets.
+	 * Data sets without stored rows are ignored.
+	 *
+	 * @param dataSetIds The IDs of the data sets.
+	 * @throws SQLException If executing the statement failed.
+	 */
+	void delete(Collection<Long> dataSetIds) throws SQLException;
+
+	/**
+	 * Checks if rows of the given data set are stored.
+	 *
+	 * @param dataSetId The ID of the data set.
+	 * @return If the data set is stored.
+	 * @throws SQLException If executing the statement failed.
+	 */
+	boolean exists(long dataSetId) throws SQLException;
+
+	/**
+	 * Writer inserting rows into a data set.
+	 */
+	interface RowWriter extends AutoCloseable {
+
+		/**
+		 * Inserts the given row.
+		 * Missing values are stored as null, additional values are ignored.
+		 * The hold-out flag of the row is initialized with false.
+		 *
+		 * @param dataRow  The row.
+		 * @param rowIndex The index of the row.
+		 * @throws InternalDataSetPersistenceException If a value has an undefined data type.
+		 * @throws SQLException                        If executing the statement failed.
+		 */
+		void write(DataRow dataRow, int rowIndex) throws InternalDataSetPersistenceException, SQLException;
+
+		/**
+		 * Inserts all pending rows and releases the statement.
+		 *
+		 * @throws SQLException If executing the statement failed.
+		 */
+		@Override
+		void close() throws SQLException;
+	}
+}
@@ -0,0 +1,278 @@
+package de.kiaim.cinnamon.platform.storage;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.Data;
+import de.kiaim.cinnamon.model.data.DataRow;
+import de.kiaim.cinnamon.platform.exception.BadDataConfigurationException;
+import de.kiaim.cinnamon.platform.exception.InternalDataSetPersistenceException;
+import de.kiaim.cinnamon.platform.helper.DataSetQueryGenerator;
+import de.kiaim.cinnamon.platform.helper.DataschemeGenerator;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the rows of all data sets in a single table, so creating and deleting data sets requires no DDL
+ * and the number of tables does not grow with the number of data sets.
+ * The values of a row are encoded as an array of strings.
+ * The relation of a data set is a subquery casting the values to the types of the attributes.
+ * Indices on single attributes are not supported, the rows are only indexed by the data set ID and the row index.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Service
+@ConditionalOnProperty(name = "cinnamon.data-set-storage.type", havingValue = "shared")
+@Log4j2
+public class SharedTableDataSetStorage implements DataSetStorage {
+
+	/**
+	 * Name of the table containing the rows of all data sets.
+	 */
+	public static final String TABLE_NAME = "data_set_row";
+
+	private static final String DATA_SET_ID_NAME = "data_set_id";
+	private static final String VALUES_NAME = "row_values";
+
+	private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(
+			"yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+	private final Connection connection;
+	private final DataschemeGenerator dataschemeGenerator;
+
+	/**
+	 * Number of rows inserted with a single batch.
+	 */
+	private final int batchSize;
+
+	public SharedTableDataSetStorage(final DataSource dataSource, final DataschemeGenerator dataschemeGenerator,
+	                                 @Value("${cinnamon.data-set-storage.batch-size}") final int batchSize)
+			throws SQLException {
+		this.connection = DataSourceUtils.getConnection(dataSource);
+		this.dataschemeGenerator = dataschemeGenerator;
+		this.batchSize = batchSize;
+
+		executeStatement("CREATE TABLE IF NOT EXISTS " + TABLE_NAME + " (" +
+		                 DATA_SET_ID_NAME + " bigint NOT NULL, " +
+		                 DataschemeGenerator.ROW_INDEX_NAME + " integer NOT NULL, " +
+		                 DataschemeGenerator.HOLD_OUT_FLAG_NAME + " boolean NOT NULL, " +
+		                 VALUES_NAME + " character varying ARRAY, " +
+		                 "PRIMARY KEY (" + DATA_SET_ID_NAME + ", " + DataschemeGenerator.ROW_INDEX_NAME + "));");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The relation is a subquery selecting the rows of the data set from the shared table.
+	 */
+	@Override
+	public String getRelation(final long dataSetId, final DataConfiguration dataConfiguration) {
+		final List<String> columns = new ArrayList<>();
+		for (int i = 0; i < dataConfiguration.getConfigurations().size(); i++) {
+			final ColumnConfiguration column = dataConfiguration.getConfigurations().get(i);
+
+			String type;
+			try {
+				type = dataschemeGenerator.getColumnType(column);
+			} catch (final BadDataConfigurationException e) {
+				// Data sets with undefined columns cannot be created, so there are no values to be cast
+				type = "character varying";
+			}
+
+			columns.add("CAST(r." + VALUES_NAME + "[" + (i + 1) + "] AS " + type + ") AS " +
+			            DataSetQueryGenerator.quoteIdentifier(column.getName()));
+		}
+		columns.add("r." + DataschemeGenerator.HOLD_OUT_FLAG_NAME);
+		columns.add("r." + DataschemeGenerator.ROW_INDEX_NAME);
+
+		return "(SELECT " + String.join(", ", columns) + " FROM " + TABLE_NAME + " r WHERE r." + DATA_SET_ID_NAME +
+		       " = " + dataSetId + ")";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Removes rows left over from a previous data set with the same ID.
+	 */
+	@Override
+	public void create(final long dataSetId, final DataConfiguration dataConfiguration)
+			throws BadDataConfigurationException, SQLException {
+		for (final ColumnConfiguration column : dataConfiguration.getConfigurations()) {
+			dataschemeGenerator.getColumnType(column);
+		}
+
+		delete(List.of(dataSetId));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The rows are inserted in batches.
+	 */
+	@Override
+	public RowWriter openWriter(final long dataSetId, final DataConfiguration dataConfiguration)
+			throws SQLException {
+		final int numberColumns = dataConfiguration.getConfigurations().size();
+		final PreparedStatement insertStatement = connection.prepareStatement(
+				"INSERT INTO " + TABLE_NAME + " (" + DATA_SET_ID_NAME + ", " + DataschemeGenerator.ROW_INDEX_NAME +
+				", " + DataschemeGenerator.HOLD_OUT_FLAG_NAME + ", " + VALUES_NAME + ") VALUES (?, ?, false, ?)");
+
+		return new RowWriter() {
+
+			private int pendingRows = 0;
+
+			@Override
+			public void write(final DataRow dataRow, final int rowIndex)
+					throws InternalDataSetPersistenceException, SQLException {
+				// Missing values stay null
+				final String[] values = new String[numberColumns];
+				final int numberValuesCapped = Math.min(dataRow.getData().size(), numberColumns);
+				for (int i = 0; i < numberValuesCapped; i++) {
+					values[i] = convertDataToString(dataRow.getData().get(i));
+				}
+
+				insertStatement.setLong(1, dataSetId);
+				insertStatement.setInt(2, rowIndex);
+				insertStatement.setArray(3, connection.createArrayOf("varchar", values));
+				insertStatement.addBatch();
+
+				pendingRows++;
+				if (pendingRows >= batchSize) {
+					insertStatement.executeBatch();
+					pendingRows = 0;
+				}
+			}
+
+			@Override
+			public void close() throws SQLException {
+				try {
+					if (pendingRows > 0) {
+						insertStatement.executeBatch();
+					}
+				} finally {
+					insertStatement.close();
+				}
+			}
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setHoldOut(final long dataSetId, final boolean holdOut) throws SQLException {
+		final String query =
+				"UPDATE " + TABLE_NAME +
+				" SET " + DataschemeGenerator.HOLD_OUT_FLAG_NAME + " = ?" +
+				" WHERE " + DATA_SET_ID_NAME + " = ?";
+
+		try (final PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setQueryTimeout(20);
+			statement.setBoolean(1, holdOut);
+			statement.setLong(2, dataSetId);
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setHoldOut(final long dataSetId, final List<Integer> rowIndices, final boolean holdOut)
+			throws SQLException {
+		if (rowIndices.isEmpty()) {
+			return;
+		}
+
+		final String placeholders = String.join(",", Collections.nCopies(rowIndices.size(), "?"));
+		final String query =
+				"UPDATE " + TABLE_NAME +
+				" SET " + DataschemeGenerator.HOLD_OUT_FLAG_NAME + " = ?" +
+				" WHERE " + DATA_SET_ID_NAME + " = ?" +
+				" AND " + DataschemeGenerator.ROW_INDEX_NAME + " IN (" + placeholders + ")";
+
+		try (final PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setQueryTimeout(20);
+			statement.setBoolean(1, holdOut);
+			statement.setLong(2, dataSetId);
+
+			for (int i = 0; i < rowIndices.size(); i++) {
+				statement.setInt(i + 3, rowIndices.get(i));
+			}
+
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Not supported, queries on single attributes always scan all rows of the data set.
+	 */
+	@Override
+	public void createIndex(final long dataSetId, final DataConfiguration dataConfiguration,
+	                        final ColumnConfiguration column) {
+		log.debug("Indices on single columns are not supported by the shared table storage");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void delete(final Collection<Long> dataSetIds) throws SQLException {
+		if (dataSetIds.isEmpty()) {
+			return;
+		}
+
+		final String ids = dataSetIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+		executeStatement("DELETE FROM " + TABLE_NAME + " WHERE " + DATA_SET_ID_NAME + " IN (" + ids + ");");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Data sets without rows are treated as not stored.
+	 */
+	@Override
+	public boolean exists(final long dataSetId) throws SQLException {
+		final String query = "SELECT 1 FROM " + TABLE_NAME + " WHERE " + DATA_SET_ID_NAME + " = ? LIMIT 1";
+
+		try (final PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setLong(1, dataSetId);
+			try (final ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next();
+			}
+		}
+	}
+
+	private void executeStatement(final String query) throws SQLException {
+		try (final Statement statement = connection.createStatement()) {
+			statement.setQueryTimeout(20);
+			statement.execute(query);
+		}
+	}
+
+	@Nullable
+	private String convertDataToString(final Data data) throws InternalDataSetPersistenceException {
+		if (data.getValue() == null) {
+			return null;
+		}
+
+		return switch (data.getDataType()) {
+			case BOOLEAN, DATE, DECIMAL, INTEGER, TEXT, STRING -> data.getValue().toString();
+			case DATE_TIME -> data.asDateTime().format(DATE_TIME_FORMATTER);
+			case UNDEFINED -> {
+				log.error("Undefined data type can not be persisted!");
+				throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.DATA_TYPE_STORE,
+				                                              "Undefined data type can not be persisted!");
+			}
+		};
+	}
+}
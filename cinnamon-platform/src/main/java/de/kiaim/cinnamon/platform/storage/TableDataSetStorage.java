@@ -0,0 +1,243 @@
+package de.kiaim.cinnamon.platform.storage;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.Data;
+import de.kiaim.cinnamon.model.data.DataRow;
+import de.kiaim.cinnamon.platform.exception.BadDataConfigurationException;
+import de.kiaim.cinnamon.platform.exception.InternalDataSetPersistenceException;
+import de.kiaim.cinnamon.platform.helper.DataSetQueryGenerator;
+import de.kiaim.cinnamon.platform.helper.DataschemeGenerator;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Stores each data set in a dedicated table with a typed column for each attribute.
+ *
+ * @author Daniel Preciado-Marquez
+ */
+@Service
+@ConditionalOnProperty(name = "cinnamon.data-set-storage.type", havingValue = "table", matchIfMissing = true)
+@Log4j2
+public class TableDataSetStorage implements DataSetStorage {
+
+	private final Connection connection;
+	private final DataschemeGenerator dataschemeGenerator;
+
+	public TableDataSetStorage(final DataSource dataSource, final DataschemeGenerator dataschemeGenerator) {
+		this.connection = DataSourceUtils.getConnection(dataSource);
+		this.dataschemeGenerator = dataschemeGenerator;
+	}
+
+	/**
+	 * Returns the table name for a corresponding DataSet with the given id.
+	 *
+	 * @param dataSetId ID of the DataSet.
+	 * @return Name of the corresponding table.
+	 */
+	public String getTableName(final long dataSetId) {
+		return "dataset_" + String.format("%08d", dataSetId);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The relation is the table of the data set.
+	 */
+	@Override
+	public String getRelation(final long dataSetId, final DataConfiguration dataConfiguration) {
+		return getTableName(dataSetId);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Creates the table of the data set.
+	 */
+	@Override
+	public void create(final long dataSetId, final DataConfiguration dataConfiguration)
+			throws BadDataConfigurationException, SQLException {
+		executeStatement(dataschemeGenerator.createSchema(dataConfiguration, getTableName(dataSetId)));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public RowWriter openWriter(final long dataSetId, final DataConfiguration dataConfiguration)
+			throws SQLException {
+		final String tableName = getTableName(dataSetId);
+		final int numberColumns = dataConfiguration.getConfigurations().size();
+		final Statement insertStatement = connection.createStatement();
+
+		return new RowWriter() {
+			@Override
+			public void write(final DataRow dataRow, final int rowIndex)
+					throws InternalDataSetPersistenceException, SQLException {
+				final List<String> stringRow = new ArrayList<>();
+
+				// Add values from the dataset, account for rows containing too many values
+				final int numberValuesCapped = Math.min(dataRow.getData().size(), numberColumns);
+				for (int i = 0; i < numberValuesCapped; i++) {
+					stringRow.add(convertDataToString(dataRow.getData().get(i)));
+				}
+
+				// Fill missing values with null values to account for rows containing too few values
+				for (int i = numberValuesCapped; i < numberColumns; i++) {
+					stringRow.add("null");
+				}
+
+				// Add initial value for is_hold_out flag
+				stringRow.add(Boolean.FALSE.toString());
+
+				// Add row number for row_number
+				stringRow.add(String.valueOf(rowIndex));
+
+				insertStatement.execute("INSERT INTO " + tableName + " VALUES (" + String.join(",", stringRow) + ")");
+			}
+
+			@Override
+			public void close() throws SQLException {
+				insertStatement.close();
+			}
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setHoldOut(final long dataSetId, final boolean holdOut) throws SQLException {
+		final String query =
+				"UPDATE " + getTableName(dataSetId) +
+				" SET " + DataschemeGenerator.HOLD_OUT_FLAG_NAME + " = ?";
+
+		try (final PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setQueryTimeout(20);
+			statement.setBoolean(1, holdOut);
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setHoldOut(final long dataSetId, final List<Integer> rowIndices, final boolean holdOut)
+			throws SQLException {
+		if (rowIndices.isEmpty()) {
+			return;
+		}
+
+		final String placeholders = String.join(",", Collections.nCopies(rowIndices.size(), "?"));
+		final String query =
+				"UPDATE " + getTableName(dataSetId) +
+				" SET " + DataschemeGenerator.HOLD_OUT_FLAG_NAME + " = ?" +
+				" WHERE " + DataschemeGenerator.ROW_INDEX_NAME + " IN (" + placeholders + ")";
+
+		try (final PreparedStatement statement = connection.prepareStatement(query)) {
+			statement.setQueryTimeout(20);
+			statement.setBoolean(1, holdOut);
+
+			for (int i = 0; i < rowIndices.size(); i++) {
+				statement.setInt(i + 2, rowIndices.get(i));
+			}
+
+			statement.executeUpdate();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void createIndex(final long dataSetId, final DataConfiguration dataConfiguration,
+	                        final ColumnConfiguration column) throws SQLException {
+		final String tableName = getTableName(dataSetId);
+		executeStatement("CREATE INDEX IF NOT EXISTS " + tableName + "_column_" + column.getIndex() + " ON " +
+		                 tableName + " (" + DataSetQueryGenerator.quoteIdentifier(column.getName()) + ");");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * Drops the tables with a single statement.
+	 */
+	@Override
+	public void delete(final Collection<Long> dataSetIds) throws SQLException {
+		if (dataSetIds.isEmpty()) {
+			return;
+		}
+
+		final StringJoiner tableNames = new StringJoiner(", ");
+		for (final Long dataSetId : dataSetIds) {
+			tableNames.add(getTableName(dataSetId));
+		}
+
+		executeStatement("DROP TABLE IF EXISTS " + tableNames + ";");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean exists(final long dataSetId) throws SQLException {
+		final String tableName = getTableName(dataSetId);
+		final var metaData = connection.getMetaData();
+
+		try (final ResultSet resultSet = metaData.getTables(null, null, tableName, new String[]{"TABLE"})) {
+			if (resultSet.next()) {
+				return true;
+			}
+		}
+
+		try (final ResultSet resultSet = metaData.getTables(null, null, tableName.toUpperCase(),
+		                                                    new String[]{"TABLE"})) {
+			if (resultSet.next()) {
+				return true;
+			}
+		}
+
+		try (final ResultSet resultSet = metaData.getTables(null, null, tableName.toLowerCase(),
+		                                                    new String[]{"TABLE"})) {
+			return resultSet.next();
+		}
+	}
+
+	private void executeStatement(final String query) throws SQLException {
+		try (final Statement statement = connection.createStatement()) {
+			statement.setQueryTimeout(20);
+			statement.execute(query);
+		}
+	}
+
+	private String convertDataToString(final Data data) throws InternalDataSetPersistenceException {
+		if (data.getValue() == null) {
+			return "null";
+		}
+
+		return switch (data.getDataType()) {
+			case BOOLEAN -> data.getValue().toString();
+			case DATE -> "'" + data.getValue() + "'";
+			case DATE_TIME ->
+					"'" + data.asDateTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS")) + "'";
+			case DECIMAL -> data.getValue().toString();
+			case INTEGER -> data.getValue().toString();
+			case TEXT -> "'" + data.getValue().toString().replace("'", "''") + "'";
+			case STRING -> "'" + data.getValue().toString().replace("'", "''") + "'";
+			case UNDEFINED -> {
+				log.error("Undefined data type can not be persisted!");
+				throw new InternalDataSetPersistenceException(InternalDataSetPersistenceException.DATA_TYPE_STORE,
+				                                              "Undefined data type can not be persisted!");
+			}
+		};
+	}
+}
@@ -0,0 +1,177 @@
+package de.kiaim.cinnamon.test.model.data;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DateFormatConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DateTimeFormatConfiguration;
+import de.kiaim.cinnamon.model.data.*;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import de.kiaim.cinnamon.model.exception.DataBuildingException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the exception-free estimation of the data builders with the previous estimation,
+ * that parsed every value and relied on exceptions for rejecting a data type.
+ */
+public class DataBuilderEstimationTest {
+
+	private static final List<String> DATE_FORMATS = List.of(
+			"EEEE, MMMM d, yyyy",
+			"yyyy-MM-dd",
+			"yyyy:MM:dd",
+			"yyyy.MM.dd",
+			"dd-MM-yyyy",
+			"dd:MM:yyyy",
+			"dd.MM.yyyy",
+			"dd/MM/yyyy",
+			"MM-dd-yyyy",
+			"MM.dd.yyyy",
+			"MM:dd:yyyy",
+			"MM/dd/yyyy"
+	);
+
+	private static final List<String> DATE_TIME_FORMATS = List.of(
+			"E, y-M-d 'at' h:m:s a z",
+			"E yyyy.MM.dd 'at' hh:mm:ss a zzz",
+			"yyyy-MM-dd hh:mm:ss",
+			"yyyy-MM-dd'T'HH:mm:ss.SSSSSS",
+			"yyyy-MM-dd'T'HH:mm:ss",
+			"yyyy-MM-dd'T'HH:mm:ssXXX",
+			"yyyy-MM-dd'T'HH:mm:ss.SSS'Z'"
+	);
+
+	private static final List<String> VALUES = List.of(
+			"", " ", "0", "1", "-1", "+1", "-", "+", "--1", "007", "2147483647", "2147483648", "-2147483648",
+			"-2147483649", "99999999999", "١٢٣", "1_000", "0x1A", "12abc",
+			"000000000001", "+00000000042", "-00000000000000000007", "0000000002147483647", "0000000002147483648",
+			"-00000000002147483648", "-00000000002147483649",
+			"1.5", "-1.5", ".5", "5.", "1e10", "1E-5", "1.5f", "2d", "NaN", "Infinity", "-Infinity", "0x1p3",
+			" 1.5 ", "1,5", "1.2.3", "e5", "303.23 €",
+			"yes", "no", "YES", "True", "FALSE", "y", "n",
+			"2023-11-20", "1905-08-23", "2023-02-30", "2023-13-01", "20.11.2023", "11/20/2023", "20/11/2023",
+			"2023:11:20", "2023.11.20", "Monday, November 20, 2023", "2018", "1973-06", "2023-11-20 ",
+			"2017-01-01T08:15:00", "2017-01-01T25:15:00", "2015-02-07T13:28:17-05:00", "2017-01-01T00:00:00.000Z",
+			"2017-01-01T00:00:00.123456", "2023-11-20 11:30:00", "2023-11-20 13:30:00",
+			"Tonisha Swift", "a".repeat(300)
+	);
+
+	@Test
+	public void estimationMatchesPreviousEstimation() {
+		final List<String> values = new ArrayList<>(VALUES);
+		final Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			values.add(Integer.toString(random.nextInt()));
+			values.add(Long.toString(random.nextLong()));
+			values.add(Float.toString(random.nextFloat() * random.nextInt(100000)));
+			values.add(LocalDate.ofEpochDay(random.nextInt(40000) - 20000)
+			                    .format(DateTimeFormatter.ofPattern(DATE_FORMATS.get(1 + random.nextInt(11)))));
+			values.add(String.format("%04d-%02d-%02d", random.nextInt(3000), random.nextInt(15), random.nextInt(35)));
+		}
+
+		for (final String value : values) {
+			assertEquals(previousEstimation(value), estimation(value), "Estimation differs for value '" + value + "'");
+		}
+	}
+
+	@Test
+	public void integerValuesMatchParseInt() {
+		for (final String value : VALUES) {
+			Integer expected;
+			try {
+				expected = Integer.parseInt(value);
+			} catch (final NumberFormatException ignored) {
+				expected = null;
+			}
+
+			Integer actual;
+			try {
+				actual = new IntegerData.IntegerDataBuilder().setValue(value, List.of()).build().getValue();
+			} catch (final DataBuildingException ignored) {
+				actual = null;
+			}
+
+			assertEquals(expected, actual, "Parsed integer differs for value '" + value + "'");
+		}
+	}
+
+	/**
+	 * Estimates the type and format with the builders.
+	 *
+	 * @param value The raw value.
+	 * @return String representation of the estimation.
+	 */
+	private String estimation(final String value) {
+		final List<DataBuilder> builders = List.of(new IntegerData.IntegerDataBuilder(),
+		                                           new DecimalData.DecimalDataBuilder(),
+		                                           new BooleanData.BooleanDataBuilder(),
+		                                           new DateData.DateDataBuilder(),
+		                                           new DateTimeData.DateTimeDataBuilder());
+		for (final DataBuilder builder : builders) {
+			final ColumnConfiguration estimation = builder.estimateColumnConfiguration(value);
+			if (estimation.getType() != DataType.UNDEFINED) {
+				if (estimation.getType() == DataType.DATE) {
+					return "DATE " + estimation.getConfiguration(DateFormatConfiguration.class).getDateFormatter();
+				} else if (estimation.getType() == DataType.DATE_TIME) {
+					return "DATE_TIME " +
+					       estimation.getConfiguration(DateTimeFormatConfiguration.class).getDateTimeFormatter();
+				}
+				return estimation.getType().name();
+			}
+		}
+		return DataType.UNDEFINED.name();
+	}
+
+	/**
+	 * Estimates the type and format by parsing the value and catching the exceptions.
+	 *
+	 * @param value The raw value.
+	 * @return String representation of the estimation.
+	 */
+	private String previousEstimation(final String value) {
+		try {
+			Integer.parseInt(value);
+			return DataType.INTEGER.name();
+		} catch (final NumberFormatException ignored) {
+		}
+
+		try {
+			Float.parseFloat(value);
+			return DataType.DECIMAL.name();
+		} catch (final NumberFormatException ignored) {
+		}
+
+		try {
+			new BooleanData.BooleanDataBuilder().setValue(value, List.of());
+			return DataType.BOOLEAN.name();
+		} catch (final DataBuildingException ignored) {
+		}
+
+		final DateData.DateDataBuilder dateBuilder = new DateData.DateDataBuilder();
+		for (final String format : DATE_FORMATS) {
+			try {
+				LocalDate.parse(value, dateBuilder.buildFormatter(format));
+				return "DATE " + format;
+			} catch (final DateTimeParseException ignored) {
+			}
+		}
+
+		for (final String format : DATE_TIME_FORMATS) {
+			try {
+				LocalDateTime.parse(value, DateTimeFormatter.ofPattern(format));
+				return "DATE_TIME " + format;
+			} catch (final DateTimeParseException ignored) {
+			}
+		}
+
+		return DataType.UNDEFINED.name();
+	}
+}
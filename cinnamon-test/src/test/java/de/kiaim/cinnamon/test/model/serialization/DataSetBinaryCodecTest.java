@@ -0,0 +1,238 @@
+package de.kiaim.cinnamon.test.model.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.*;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import de.kiaim.cinnamon.model.serialization.DataSetBinaryCodec;
+import de.kiaim.cinnamon.model.serialization.exception.BinaryFormatException;
+import de.kiaim.cinnamon.model.serialization.mapper.JsonMapper;
+import de.kiaim.cinnamon.test.util.DataConfigurationTestHelper;
+import de.kiaim.cinnamon.test.util.DataSetTestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataSetBinaryCodecTest {
+
+	private static final List<DataType> TYPES = Arrays.stream(DataType.values())
+	                                                  .filter(type -> type != DataType.UNDEFINED)
+	                                                  .toList();
+
+	private final DataSetBinaryCodec codec = new DataSetBinaryCodec();
+
+	@Test
+	public void roundTrip() throws IOException {
+		final DataSet dataSet = DataSetTestHelper.generateDataSet(true);
+		assertEquals(dataSet, codec.decode(codec.encode(dataSet)));
+	}
+
+	@Test
+	public void roundTripEmpty() throws IOException {
+		final DataSet dataSet = new DataSet(new ArrayList<>(), DataConfigurationTestHelper.generateDataConfiguration());
+		assertEquals(dataSet, codec.decode(codec.encode(dataSet)));
+	}
+
+	@Test
+	public void roundTripRandom() throws IOException {
+		final Random random = new Random(42);
+
+		for (final int chunkSize : new int[]{1, 7, 64, DataSetBinaryCodec.DEFAULT_CHUNK_SIZE}) {
+			final DataSetBinaryCodec chunkedCodec = new DataSetBinaryCodec(chunkSize);
+			for (final double nullProbability : new double[]{0.0, 0.3, 1.0}) {
+				final DataSet dataSet = generateDataSet(random, 500, nullProbability, 20);
+				assertEquals(dataSet, chunkedCodec.decode(chunkedCodec.encode(dataSet)),
+				             "Round trip failed for chunk size " + chunkSize + " and null probability " +
+				             nullProbability);
+			}
+		}
+	}
+
+	@Test
+	public void roundTripExtremeValues() throws IOException {
+		final DataConfiguration dataConfiguration = generateDataConfiguration();
+		final List<DataRow> rows = new ArrayList<>();
+		rows.add(new DataRow(new ArrayList<>(List.of(
+				new BooleanData(false),
+				new DateTimeData(LocalDateTime.MIN),
+				new DecimalData(Float.NaN),
+				new IntegerData(Integer.MIN_VALUE),
+				new TextData(""),
+				new StringData("😀 äöü"),
+				new DateData(LocalDate.MIN)))));
+		rows.add(new DataRow(new ArrayList<>(List.of(
+				new BooleanData(true),
+				new DateTimeData(LocalDateTime.MAX),
+				new DecimalData(-0.0f),
+				new IntegerData(Integer.MAX_VALUE),
+				new TextData("x".repeat(100_000)),
+				new StringData(""),
+				new DateData(LocalDate.MAX)))));
+		rows.add(new DataRow(new ArrayList<>(List.of(
+				new BooleanData(null),
+				new DateTimeData(null),
+				new DecimalData(Float.NEGATIVE_INFINITY),
+				new IntegerData(0),
+				new TextData(null),
+				new StringData(null),
+				new DateData(LocalDate.EPOCH)))));
+		final DataSet dataSet = new DataSet(rows, dataConfiguration);
+
+		assertEquals(dataSet, codec.decode(codec.encode(dataSet)));
+	}
+
+	@Test
+	public void invalidContent() {
+		assertThrows(BinaryFormatException.class, () -> codec.decode("{\"data\": []}".getBytes()));
+	}
+
+	@Test
+	public void undefinedType() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.addColumnConfiguration(new ColumnConfiguration(0, "undefined", DataType.UNDEFINED, null,
+		                                                                 new ArrayList<>()));
+		final DataSet dataSet = new DataSet(new ArrayList<>(), dataConfiguration);
+
+		assertThrows(BinaryFormatException.class, () -> codec.encode(dataSet));
+	}
+
+	@Test
+	public void mismatchingType() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.addColumnConfiguration(new ColumnConfiguration(0, "integer", DataType.INTEGER, null,
+		                                                                 new ArrayList<>()));
+		final DataSet dataSet = new DataSet(List.of(new DataRow(List.of(new StringData("42")))), dataConfiguration);
+
+		assertThrows(BinaryFormatException.class, () -> codec.encode(dataSet));
+	}
+
+	/**
+	 * Compares the size and the time for encoding and decoding with JSON.
+	 */
+	@Test
+	public void smallerThanJson() throws IOException {
+		final DataSet dataSet = generateDataSet(new Random(7), 1_000, 0.05, 200);
+
+		final byte[] json = JsonMapper.jsonMapper().writeValueAsBytes(dataSet);
+		final byte[] binary = codec.encode(dataSet);
+
+		assertTrue(binary.length < json.length,
+		           "Binary format is not compact! JSON: " + json.length + ", binary: " + binary.length);
+	}
+
+	/**
+	 * Compares the size and the encoding and decoding speed of the binary format with JSON.
+	 * Only runs if the system property {@code cinnamon.test.benchmark} is set to true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "cinnamon.test.benchmark", matches = "true")
+	public void compareWithJson() throws IOException {
+		final ObjectMapper jsonMapper = JsonMapper.jsonMapper();
+		final DataSet dataSet = generateDataSet(new Random(7), 50_000, 0.05, 200);
+
+		// Warm up
+		for (int i = 0; i < 3; i++) {
+			jsonMapper.readValue(jsonMapper.writeValueAsBytes(dataSet), DataSet.class);
+			codec.decode(codec.encode(dataSet));
+		}
+
+		long start = System.nanoTime();
+		final byte[] json = jsonMapper.writeValueAsBytes(dataSet);
+		final long jsonEncode = System.nanoTime() - start;
+		start = System.nanoTime();
+		final DataSet jsonDecoded = jsonMapper.readValue(json, DataSet.class);
+		final long jsonDecode = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		final byte[] binary = codec.encode(dataSet);
+		final long binaryEncode = System.nanoTime() - start;
+		start = System.nanoTime();
+		final DataSet binaryDecoded = codec.decode(binary);
+		final long binaryDecode = System.nanoTime() - start;
+
+		System.out.printf("JSON:   %d bytes, encode %d ms, decode %d ms%n", json.length, jsonEncode / 1_000_000,
+		                  jsonDecode / 1_000_000);
+		System.out.printf("Binary: %d bytes, encode %d ms, decode %d ms%n", binary.length, binaryEncode / 1_000_000,
+		                  binaryDecode / 1_000_000);
+
+		assertEquals(jsonDecoded.getDataRows().size(), binaryDecoded.getDataRows().size());
+		assertTrue(binary.length < json.length,
+		           "Binary format is not compact! JSON: " + json.length + ", binary: " + binary.length);
+		assertTrue(binaryDecode < jsonDecode,
+		           "Binary format is not faster! JSON: " + jsonDecode + " ns, binary: " + binaryDecode + " ns");
+	}
+
+	private DataConfiguration generateDataConfiguration() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		for (int i = 0; i < TYPES.size(); i++) {
+			final DataType type = TYPES.get(i);
+			dataConfiguration.addColumnConfiguration(new ColumnConfiguration(i, "column" + i + "_" + type.name(), type,
+			                                                                 type.getDefaultScale(),
+			                                                                 new ArrayList<>()));
+		}
+		return dataConfiguration;
+	}
+
+	/**
+	 * Generates a data set containing a column for every data type.
+	 *
+	 * @param random          Source of the values.
+	 * @param numberRows      Number of rows.
+	 * @param nullProbability Probability of a value being null.
+	 * @param distinctStrings Number of distinct values in the string column.
+	 * @return The data set.
+	 */
+	private DataSet generateDataSet(final Random random, final int numberRows, final double nullProbability,
+	                                final int distinctStrings) {
+		final List<DataRow> rows = new ArrayList<>();
+		for (int i = 0; i < numberRows; i++) {
+			final List<Data> row = new ArrayList<>();
+			for (final DataType type : TYPES) {
+				row.add(random.nextDouble() < nullProbability
+				        ? generateNull(type)
+				        : generateValue(random, type, distinctStrings));
+			}
+			rows.add(new DataRow(row));
+		}
+		return new DataSet(rows, generateDataConfiguration());
+	}
+
+	private Data generateValue(final Random random, final DataType type, final int distinctStrings) {
+		return switch (type) {
+			case BOOLEAN -> new BooleanData(random.nextBoolean());
+			case DATE -> new DateData(LocalDate.ofEpochDay(random.nextInt(-100_000, 100_000)));
+			case DATE_TIME -> new DateTimeData(LocalDateTime.of(random.nextInt(1900, 2100), random.nextInt(1, 13),
+			                                                    random.nextInt(1, 29), random.nextInt(24),
+			                                                    random.nextInt(60), random.nextInt(60),
+			                                                    random.nextInt(1_000_000) * 1000));
+			case DECIMAL -> new DecimalData(random.nextFloat() * 2000 - 1000);
+			case INTEGER -> new IntegerData(random.nextInt());
+			case TEXT -> new TextData("Text " + random.nextLong() + " with ümlauts");
+			case STRING -> new StringData("value_" + random.nextInt(distinctStrings));
+			case UNDEFINED -> throw new IllegalArgumentException();
+		};
+	}
+
+	private Data generateNull(final DataType type) {
+		return switch (type) {
+			case BOOLEAN -> new BooleanData(null);
+			case DATE -> new DateData(null);
+			case DATE_TIME -> new DateTimeData(null);
+			case DECIMAL -> new DecimalData(null);
+			case INTEGER -> new IntegerData(null);
+			case TEXT -> new TextData(null);
+			case STRING -> new StringData(null);
+			case UNDEFINED -> throw new IllegalArgumentException();
+		};
+	}
+}
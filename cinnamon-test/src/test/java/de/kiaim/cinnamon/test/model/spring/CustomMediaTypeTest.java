@@ -0,0 +1,18 @@
+package de.kiaim.cinnamon.test.model.spring;
+
+import de.kiaim.cinnamon.model.spring.CustomMediaType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomMediaTypeTest {
+
+	@Test
+	public void isCinnamonDataSet() {
+		assertTrue(CustomMediaType.isCinnamonDataSet(CustomMediaType.APPLICATION_X_CINNAMON_DATA_SET_VALUE));
+		assertTrue(CustomMediaType.isCinnamonDataSet("application/x-cinnamon-data-set; version=1"));
+		assertFalse(CustomMediaType.isCinnamonDataSet("application/json"));
+		assertFalse(CustomMediaType.isCinnamonDataSet("not a media type"));
+		assertFalse(CustomMediaType.isCinnamonDataSet(null));
+	}
+}
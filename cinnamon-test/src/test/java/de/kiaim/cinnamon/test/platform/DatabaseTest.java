@@ -5,16 +5,22 @@ import de.kiaim.cinnamon.platform.exception.InternalApplicationConfigurationExce
 import de.kiaim.cinnamon.platform.exception.InternalDataSetPersistenceException;
 import de.kiaim.cinnamon.platform.exception.InternalInvalidStateException;
 import de.kiaim.cinnamon.platform.model.configuration.ExternalConfiguration;
+import de.kiaim.cinnamon.platform.model.entity.ImportJobEntity;
 import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
 import de.kiaim.cinnamon.platform.model.entity.UserEntity;
 import de.kiaim.cinnamon.platform.repository.DataSetRepository;
 import de.kiaim.cinnamon.platform.repository.DataTransformationErrorRepository;
+import de.kiaim.cinnamon.platform.repository.ImportJobRepository;
 import de.kiaim.cinnamon.platform.repository.UserRepository;
 import de.kiaim.cinnamon.platform.service.DatabaseService;
 import de.kiaim.cinnamon.platform.service.ProjectService;
 import de.kiaim.cinnamon.platform.service.StepService;
 import de.kiaim.cinnamon.platform.service.UserService;
 import de.kiaim.cinnamon.test.util.TestDatabaseExtension;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +34,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,11 +43,16 @@ public class DatabaseTest extends ContextRequiredTest {
 
 	public static final String CONFIGURATION_NAME = "anonymization";
 	public static final Long PROJECT_SEED = 123L;
+	public static final long IMPORT_TIMEOUT_MILLIS = 30_000L;
 
 	@Autowired
 	DataSource dataSource;
 	private Connection connection;
 
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
 	@Autowired
 	private JdbcTemplate jdbcTemplate;
 	@Autowired
@@ -51,6 +63,8 @@ public class DatabaseTest extends ContextRequiredTest {
 	@Autowired
 	DataSetRepository dataSetRepository;
 	@Autowired
+	protected ImportJobRepository importJobRepository;
+	@Autowired
 	UserRepository userRepository;
 
 	@Autowired
@@ -131,6 +145,50 @@ public class DatabaseTest extends ContextRequiredTest {
 		assertEquals(config, bpc.getConfiguration(), "The configuration has not been stored correctly!");
 	}
 
+	/**
+	 * Counts the SQL statements executed by the given action.
+	 * Clears the persistence context beforehand, so entities loaded by the test are not reused.
+	 *
+	 * @param action The action.
+	 * @return The number of prepared statements.
+	 */
+	protected long countStatements(final ThrowingRunnable action) throws Exception {
+		final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		final boolean statisticsEnabled = statistics.isStatisticsEnabled();
+		statistics.setStatisticsEnabled(true);
+
+		try {
+			entityManager.flush();
+			entityManager.clear();
+
+			final long before = statistics.getPrepareStatementCount();
+			action.run();
+			return statistics.getPrepareStatementCount() - before;
+		} finally {
+			statistics.setStatisticsEnabled(statisticsEnabled);
+		}
+	}
+
+	/**
+	 * Waits until the import job with the given ID has ended.
+	 *
+	 * @param jobId The ID of the job.
+	 * @return The ended job.
+	 */
+	protected ImportJobEntity awaitImportJob(final UUID jobId) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + IMPORT_TIMEOUT_MILLIS;
+		while (true) {
+			final ImportJobEntity job = importJobRepository.findByJobId(jobId).orElseThrow();
+			if (job.getStatus().isFinished()) {
+				return job;
+			}
+			if (System.currentTimeMillis() > deadline) {
+				return fail("Import job has not ended in time! Status: " + job.getStatus());
+			}
+			Thread.sleep(20);
+		}
+	}
+
 	protected boolean existsDataSet(final long dataSetId) {
 		return dataSetRepository.existsById(dataSetId);
 	}
@@ -237,4 +295,8 @@ public class DatabaseTest extends ContextRequiredTest {
 		}
 	}
 
+	@FunctionalInterface
+	protected interface ThrowingRunnable {
+		void run() throws Exception;
+	}
 }
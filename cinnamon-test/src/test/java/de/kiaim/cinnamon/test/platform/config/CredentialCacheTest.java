@@ -0,0 +1,112 @@
+package de.kiaim.cinnamon.test.platform.config;
+
+import de.kiaim.cinnamon.platform.config.CredentialCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredentialCacheTest {
+
+	private static final String PASSWORD = "changeme";
+
+	private final BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder();
+
+	@Test
+	void verified() {
+		final CredentialCache cache = new CredentialCache(60_000);
+		final String encoded = bCryptPasswordEncoder.encode(PASSWORD);
+
+		assertFalse(cache.isVerified(PASSWORD, encoded));
+		cache.put(PASSWORD, encoded);
+		assertTrue(cache.isVerified(PASSWORD, encoded));
+		assertFalse(cache.isVerified("wrong_" + PASSWORD, encoded));
+	}
+
+	@Test
+	void wrongPasswordNotCached() {
+		final CredentialCache cache = new CredentialCache(60_000);
+		final PasswordEncoder encoder = cache.wrap(bCryptPasswordEncoder);
+		final String encoded = encoder.encode(PASSWORD);
+
+		assertFalse(encoder.matches("wrong_" + PASSWORD, encoded));
+		assertFalse(cache.isVerified("wrong_" + PASSWORD, encoded));
+		assertTrue(encoder.matches(PASSWORD, encoded));
+		assertTrue(cache.isVerified(PASSWORD, encoded));
+		assertFalse(encoder.matches("wrong_" + PASSWORD, encoded));
+	}
+
+	@Test
+	void passwordChanged() {
+		final CredentialCache cache = new CredentialCache(60_000);
+		final PasswordEncoder encoder = cache.wrap(bCryptPasswordEncoder);
+		final String encoded = encoder.encode(PASSWORD);
+		assertTrue(encoder.matches(PASSWORD, encoded));
+
+		// The entry is bound to the stored hash
+		final String newEncoded = encoder.encode("new_" + PASSWORD);
+		assertFalse(cache.isVerified(PASSWORD, newEncoded));
+		assertFalse(encoder.matches(PASSWORD, newEncoded));
+	}
+
+	@Test
+	void invalidated() {
+		final CredentialCache cache = new CredentialCache(60_000);
+		final String encoded = bCryptPasswordEncoder.encode(PASSWORD);
+
+		cache.put(PASSWORD, encoded);
+		cache.invalidate(encoded);
+		assertFalse(cache.isVerified(PASSWORD, encoded));
+
+		cache.put(PASSWORD, encoded);
+		cache.invalidateAll();
+		assertFalse(cache.isVerified(PASSWORD, encoded));
+	}
+
+	@Test
+	void expired() throws InterruptedException {
+		final CredentialCache cache = new CredentialCache(50);
+		final String encoded = bCryptPasswordEncoder.encode(PASSWORD);
+
+		cache.put(PASSWORD, encoded);
+		assertTrue(cache.isVerified(PASSWORD, encoded));
+		Thread.sleep(100);
+		assertFalse(cache.isVerified(PASSWORD, encoded));
+	}
+
+	@Test
+	void disabled() {
+		final CredentialCache cache = new CredentialCache(0);
+		final String encoded = bCryptPasswordEncoder.encode(PASSWORD);
+
+		cache.put(PASSWORD, encoded);
+		assertFalse(cache.isVerified(PASSWORD, encoded));
+	}
+
+	/**
+	 * Compares the number of password verifications per second on a single thread with and without the cache.
+	 * Only runs if the system property {@code cinnamon.test.benchmark} is set to true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "cinnamon.test.benchmark", matches = "true")
+	void throughput() {
+		final String encoded = bCryptPasswordEncoder.encode(PASSWORD);
+		final PasswordEncoder cachedEncoder = new CredentialCache(60_000).wrap(bCryptPasswordEncoder);
+
+		final double uncached = verificationsPerSecond(bCryptPasswordEncoder, encoded, 20);
+		final double cached = verificationsPerSecond(cachedEncoder, encoded, 20_000);
+
+		System.out.printf("Password verifications per second: uncached %.0f, cached %.0f%n", uncached, cached);
+		assertTrue(cached > 100 * uncached, "Cache is not faster! Uncached: " + uncached + ", cached: " + cached);
+	}
+
+	private double verificationsPerSecond(final PasswordEncoder encoder, final String encoded, final int iterations) {
+		final long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			assertTrue(encoder.matches(PASSWORD, encoded));
+		}
+		return iterations / ((System.nanoTime() - start) / 1e9);
+	}
+}
@@ -0,0 +1,91 @@
+package de.kiaim.cinnamon.test.platform.config;
+
+import de.kiaim.cinnamon.model.configuration.project.ProjectConfigurationDTO;
+import de.kiaim.cinnamon.platform.config.ProjectLogContextFilter;
+import de.kiaim.cinnamon.platform.model.entity.BackgroundProcessEntity;
+import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
+import de.kiaim.cinnamon.test.platform.DatabaseTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProjectLogContextFilterTest extends DatabaseTest {
+
+	@Autowired private EntityManager entityManager;
+	@Autowired private ProjectLogContextFilter projectLogContextFilter;
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	public void userContextCached() throws Exception {
+		final ProjectEntity project = getTestProject();
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(testUser, null, testUser.getAuthorities()));
+
+		final Map<String, String> first = filter("/api/project");
+		assertEquals(String.valueOf(project.getId()), first.get("projectId"));
+		assertEquals(testUser.getEmail(), first.get("projectName"));
+
+		assertEquals(0, countStatements(() -> filter("/api/project")),
+		             "Cached context should not query the database!");
+
+		// Renaming the project invalidates the context
+		final ProjectEntity currentProject = getTestProject();
+		final ProjectConfigurationDTO configuration = projectService.exportProjectConfiguration(currentProject);
+		configuration.setProjectName("renamed");
+		projectService.updateProjectConfiguration(currentProject, configuration);
+		entityManager.flush();
+
+		assertEquals("renamed", filter("/api/project").get("projectName"));
+	}
+
+	@Test
+	public void processContextCached() throws Exception {
+		final ProjectEntity project = getTestProject();
+		final BackgroundProcessEntity process = project.getPipelines().get(0).getStages().get(0).getProcesses().get(0);
+		final UUID processId = UUID.randomUUID();
+		process.setUuid(processId);
+		entityManager.flush();
+
+		final String path = "/api/process/" + processId + "/callback";
+		assertTrue(countStatements(() -> assertEquals(String.valueOf(project.getId()),
+		                                              filter(path).get("projectId"))) > 0);
+		assertEquals(0, countStatements(() -> assertEquals(String.valueOf(project.getId()),
+		                                                   filter(path).get("projectId"))),
+		             "Cached context should not query the database!");
+	}
+
+	/**
+	 * Runs the filter and returns the MDC values visible for the request.
+	 *
+	 * @param path The request path.
+	 * @return Copy of the MDC.
+	 */
+	private Map<String, String> filter(final String path) throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		final Map<String, String> context = new HashMap<>();
+		projectLogContextFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			final Map<String, String> mdc = MDC.getCopyOfContextMap();
+			if (mdc != null) {
+				context.putAll(mdc);
+			}
+		});
+		return context;
+	}
+}
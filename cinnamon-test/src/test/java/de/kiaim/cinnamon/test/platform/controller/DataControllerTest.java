@@ -10,16 +10,20 @@ import de.kiaim.cinnamon.model.enumeration.DataSourceType;
 import de.kiaim.cinnamon.model.enumeration.DataType;
 import de.kiaim.cinnamon.platform.exception.ApiException;
 import de.kiaim.cinnamon.platform.model.dto.DataConfigurationEstimation;
+import de.kiaim.cinnamon.platform.model.dto.ImportJobInformation;
 import de.kiaim.cinnamon.platform.model.entity.DataSetEntity;
+import de.kiaim.cinnamon.platform.model.entity.ImportJobEntity;
 import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
 import de.kiaim.cinnamon.platform.model.entity.UserEntity;
 import de.kiaim.cinnamon.platform.model.enumeration.HoldOutSelector;
+import de.kiaim.cinnamon.platform.model.enumeration.ImportJobStatus;
 import de.kiaim.cinnamon.platform.model.enumeration.Mode;
 import de.kiaim.cinnamon.platform.model.enumeration.RowSelector;
 import de.kiaim.cinnamon.model.configuration.data.file.FhirFileConfiguration;
 import de.kiaim.cinnamon.model.configuration.data.file.FileConfiguration;
 import de.kiaim.cinnamon.platform.repository.DataSetRepository;
 import de.kiaim.cinnamon.platform.service.ProjectService;
+import de.kiaim.cinnamon.platform.service.UserService;
 import de.kiaim.cinnamon.test.util.*;
 import de.kiaim.cinnamon.test.platform.ControllerTest;
 import mockwebserver3.MockResponse;
@@ -37,11 +41,18 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.oneOf;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -53,6 +64,8 @@ class DataControllerTest extends ControllerTest {
 
 	@Autowired DataSetRepository dataSetRepository;
 
+	@Autowired UserService userService;
+
 	private MockWebServer mockBackEnd;
 
 	@BeforeEach
@@ -535,6 +548,117 @@ class DataControllerTest extends ControllerTest {
 		assertFalse(deletedDataSet.isPresent(), "Dataset should have been deleted!");
 	}
 
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void importData() throws Exception {
+		postFile(false, false);
+
+		final ImportJobInformation job = startImport("test_user", "changeme", true);
+		assertEquals(ImportJobStatus.QUEUED, job.getStatus(), "Job should be queued!");
+
+		final ImportJobEntity importJob = awaitImportJob(UUID.fromString(job.getJobId()));
+		assertEquals(ImportJobStatus.FINISHED, importJob.getStatus(), "Import failed: " + importJob.getErrorMessage());
+
+		mockMvc.perform(get("/api/data/import/" + job.getJobId()))
+		       .andExpect(status().isOk())
+		       .andExpect(jsonPath("status").value(ImportJobStatus.FINISHED.name()))
+		       .andExpect(jsonPath("rowsStored").value(2))
+		       .andExpect(jsonPath("bytesRead").value(job.getTotalBytes()))
+		       .andExpect(jsonPath("errorsFound").value(0));
+
+		final DataSetEntity dataSetEntity = dataSetRepository.findById(importJob.getDataSetId()).orElseThrow();
+		assertEquals(2, countEntries(dataSetEntity.getId()), "Number of entries wrong!");
+		assertTrue(dataSetEntity.isStoredData(), "Flag that the data is stored should be true!");
+		assertTrue(dataSetEntity.isConfirmedData(), "Flag that the data is confirmed should be true!");
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void importDataConcurrently() throws Exception {
+		final UserEntity user = userService.save("test_user_import", "changeme");
+		projectService.createProject(user);
+
+		postFile(false, false);
+		postFile(false, "test_user_import");
+
+		final ImportJobInformation first = startImport("test_user", "changeme", false);
+		final ImportJobInformation second = startImport("test_user_import", "changeme", false);
+
+		final ImportJobEntity firstJob = awaitImportJob(UUID.fromString(first.getJobId()));
+		final ImportJobEntity secondJob = awaitImportJob(UUID.fromString(second.getJobId()));
+
+		assertEquals(ImportJobStatus.FINISHED, firstJob.getStatus(), "Import failed: " + firstJob.getErrorMessage());
+		assertEquals(ImportJobStatus.FINISHED, secondJob.getStatus(), "Import failed: " + secondJob.getErrorMessage());
+		assertNotEquals(firstJob.getDataSetId(), secondJob.getDataSetId(), "Imports must use separate data sets!");
+		assertEquals(2, countEntries(firstJob.getDataSetId()), "Number of entries wrong!");
+		assertEquals(2, countEntries(secondJob.getDataSetId()), "Number of entries wrong!");
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void importDataAlreadyRunning() throws Exception {
+		postLargeFile(200_000);
+
+		final ImportJobInformation job = startImport("test_user", "changeme", false);
+
+		final DataConfiguration configuration = DataConfigurationTestHelper.generateDataConfiguration();
+		mockMvc.perform(multipart("/api/data/import")
+				                .param("configuration", objectMapper.writeValueAsString(configuration)))
+		       .andExpect(status().isBadRequest())
+		       .andExpect(errorCode("PLATFORM_1_8_12"));
+
+		mockMvc.perform(delete("/api/data/import/" + job.getJobId()))
+		       .andExpect(status().isOk());
+		awaitImportJob(UUID.fromString(job.getJobId()));
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void cancelImport() throws Exception {
+		postLargeFile(200_000);
+
+		final ImportJobInformation job = startImport("test_user", "changeme", false);
+
+		// Wait until the import is storing rows
+		final long deadline = System.currentTimeMillis() + IMPORT_TIMEOUT_MILLIS;
+		ImportJobInformation progress;
+		do {
+			assertTrue(System.currentTimeMillis() < deadline, "Import has not started storing rows in time!");
+			Thread.sleep(20);
+			final String response = mockMvc.perform(get("/api/data/import/" + job.getJobId()))
+			                               .andExpect(status().isOk())
+			                               .andReturn().getResponse().getContentAsString();
+			progress = jsonMapper.readValue(response, ImportJobInformation.class);
+		} while (progress.getRowsStored() == 0 && !progress.getStatus().isFinished());
+		assertEquals(ImportJobStatus.RUNNING, progress.getStatus(), "Import should be running!");
+		assertTrue(progress.getBytesRead() > 0, "Read bytes should be reported!");
+
+		mockMvc.perform(delete("/api/data/import/" + job.getJobId()))
+		       .andExpect(status().isOk());
+
+		final ImportJobEntity importJob = awaitImportJob(UUID.fromString(job.getJobId()));
+		assertEquals(ImportJobStatus.CANCELED, importJob.getStatus(), "Import should have been canceled!");
+		assertEquals(0, importJob.getRowsStored(), "Canceled imports must not report stored rows!");
+		assertNotNull(importJob.getDataSetId(), "Data set ID should have been recorded!");
+		assertFalse(existsTable(importJob.getDataSetId()), "Partially stored table should have been removed!");
+		assertFalse(existsDataSet(importJob.getDataSetId()), "Data set should have been removed!");
+
+		mockMvc.perform(delete("/api/data/import/" + job.getJobId()))
+		       .andExpect(status().isBadRequest())
+		       .andExpect(errorCode("PLATFORM_1_8_15"));
+	}
+
+	@Test
+	void getImportNotFound() throws Exception {
+		mockMvc.perform(get("/api/data/import/" + UUID.randomUUID()))
+		       .andExpect(status().isNotFound())
+		       .andExpect(errorCode("PLATFORM_1_18_1"));
+	}
+
 	@Test
 	void storeDataAndUpdateConfig() throws Exception {
 		postFileAndFileConfiguration();
@@ -707,6 +831,36 @@ class DataControllerTest extends ControllerTest {
 				       "dataConfigurationInfo: {numberColumns:  6, numberNumericColumns: 2, numberCategoricalColumns: 2, numberDateColumns: 2}}"));
 	}
 
+	@Test
+	void getDataInfoNotModified() throws Exception {
+		postData(false);
+
+		final String eTag = mockMvc.perform(get("/api/data/info")
+				                                    .param("selector", "original"))
+		                           .andExpect(status().isOk())
+		                           .andExpect(header().string("Cache-Control", "no-cache, private"))
+		                           .andReturn().getResponse().getHeader("ETag");
+		assertNotNull(eTag, "ETag is missing!");
+
+		mockMvc.perform(get("/api/data/info")
+				                .param("selector", "original")
+				                .header("If-None-Match", eTag))
+		       .andExpect(status().isNotModified())
+		       .andExpect(content().string(""));
+
+		// Creating the hold-out split changes the info
+		mockMvc.perform(post("/api/data/hold-out")
+				                .param("holdOutPercentage", "0.5"))
+		       .andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/data/info")
+				                .param("selector", "original")
+				                .header("If-None-Match", eTag))
+		       .andExpect(status().isOk())
+		       .andExpect(header().string("ETag", not(eTag)))
+		       .andExpect(jsonPath("hasHoldOutSplit").value(true));
+	}
+
 	@Test
 	void getDataInfoNoData() throws Exception {
 		mockMvc.perform(get("/api/data/info")
@@ -730,6 +884,35 @@ class DataControllerTest extends ControllerTest {
 		       .andExpect(content().string(DataSetTestHelper.generateDataAsYaml()));
 	}
 
+	@Test
+	void loadDataNotModified() throws Exception {
+		postData(false);
+
+		final String eTag = mockMvc.perform(get("/api/data/data")
+				                                    .param("selector", "original"))
+		                           .andExpect(status().isOk())
+		                           .andReturn().getResponse().getHeader("ETag");
+		assertNotNull(eTag, "ETag is missing!");
+
+		mockMvc.perform(get("/api/data/data")
+				                .param("selector", "original")
+				                .header("If-None-Match", eTag))
+		       .andExpect(status().isNotModified())
+		       .andExpect(content().string(""));
+
+		// Deleting and storing the data set again creates a new data set
+		mockMvc.perform(delete("/api/project/reset")
+				                .contentType(MediaType.APPLICATION_JSON_VALUE))
+		       .andExpect(status().isOk());
+		postData(false);
+
+		mockMvc.perform(get("/api/data/data")
+				                .param("selector", "original")
+				                .header("If-None-Match", eTag))
+		       .andExpect(status().isOk())
+		       .andExpect(header().string("ETag", not(eTag)));
+	}
+
 	@Test
 	void loadDataNoDataSet() throws Exception {
 		mockMvc.perform(MockMvcRequestBuilders.get("/api/data/data")
@@ -1022,6 +1205,69 @@ class DataControllerTest extends ControllerTest {
 				       "{'data':[[false,'2023-11-20','2023-11-20T12:50:27.123456',2.4,24,'Bye World!']],'transformationErrors':[],'rowNumbers':[1],'page':2,'perPage':1,total:3,'totalPages':3}"));
 	}
 
+	@Test
+	void loadTransformationResultPageNotModified() throws Exception {
+		postData();
+
+		final var firstResponse = mockMvc.perform(get("/api/data/transformationResult/page")
+				                                          .param("selector", "original")
+				                                          .param("page", "1")
+				                                          .param("perPage", "10"))
+		                                 .andExpect(status().isOk())
+		                                 .andReturn().getResponse();
+		final String eTag = firstResponse.getHeader("ETag");
+		assertNotNull(eTag, "ETag is missing!");
+		assertTrue(eTag.startsWith("W/"), "ETag must be weak to allow compression!");
+
+		mockMvc.perform(get("/api/data/transformationResult/page")
+				                .param("selector", "original")
+				                .param("page", "1")
+				                .param("perPage", "10")
+				                .header("If-None-Match", eTag))
+		       .andExpect(status().isNotModified())
+		       .andExpect(header().string("ETag", eTag))
+		       .andExpect(content().string(""));
+	}
+
+	/**
+	 * Checks that repeated page views with conditional requests do not transfer the page again.
+	 */
+	@Test
+	void loadTransformationResultPageRepeatedViews() throws Exception {
+		postData();
+
+		final int views = 5;
+		final String eTag = mockMvc.perform(get("/api/data/transformationResult/page")
+				                                    .param("selector", "original")
+				                                    .param("page", "1")
+				                                    .param("perPage", "10"))
+		                           .andReturn().getResponse().getHeader("ETag");
+
+		long unconditionalBytes = 0;
+		for (int i = 0; i < views; i++) {
+			unconditionalBytes += mockMvc.perform(get("/api/data/transformationResult/page")
+					                                      .param("selector", "original")
+					                                      .param("page", "1")
+					                                      .param("perPage", "10"))
+			                             .andExpect(status().isOk())
+			                             .andReturn().getResponse().getContentAsByteArray().length;
+		}
+
+		long conditionalBytes = 0;
+		for (int i = 0; i < views; i++) {
+			conditionalBytes += mockMvc.perform(get("/api/data/transformationResult/page")
+					                                    .param("selector", "original")
+					                                    .param("page", "1")
+					                                    .param("perPage", "10")
+					                                    .header("If-None-Match", eTag))
+			                           .andExpect(status().isNotModified())
+			                           .andReturn().getResponse().getContentAsByteArray().length;
+		}
+
+		assertTrue(unconditionalBytes > 0);
+		assertEquals(0, conditionalBytes, "Not modified responses should not contain a body!");
+	}
+
 	@Test
 	void loadTransformationResultPageAlternateDat() throws Exception {
 		postDataAlternative();
@@ -1130,6 +1376,131 @@ class DataControllerTest extends ControllerTest {
 				       "{'data':[[42],[24]],'transformationErrors':[],'rowNumbers':[0,1],'page':1,'perPage':10,total:2,'totalPages':1}"));
 	}
 
+	@Test
+	void loadTransformationResultPageFilter() throws Exception {
+		postData();
+
+		mockMvc.perform(get("/api/data/transformationResult/page")
+				                .param("selector", "original")
+				                .param("page", "1")
+				                .param("perPage", "10")
+				                .param("query", "filters: [{column: column4_integer, operator: GREATER_THAN, value: '30'}]"))
+		       .andExpect(status().isOk())
+		       .andExpect(content().json(
+				       "{'data':[[true,'2023-11-20','2023-11-20T12:50:27.123456',4.2,42,'Hello World!']],'transformationErrors':[],'rowNumbers':[0],'page':1,'perPage':10,total:1,'totalPages':1}"));
+	}
+
+	@Test
+	void loadTransformationResultPageFilterPerDataType() throws Exception {
+		postData();
+
+		final Map<String, List<Integer>> expectedRows = new LinkedHashMap<>();
+		expectedRows.put("{column: 'column0_boolean', operator: 'EQUALS', value: 'false'}", List.of(1));
+		expectedRows.put("{column: 'column1_date', operator: 'LESS_THAN_OR_EQUALS', value: '2023-11-20'}", List.of(0, 1, 2));
+		expectedRows.put("{column: 'column1_date', operator: 'GREATER_THAN', value: '2023-11-20'}", List.of());
+		expectedRows.put("{column: 'column2_date_time', operator: 'IS_NULL'}", List.of(2));
+		expectedRows.put("{column: 'column2_date_time', operator: 'BETWEEN', values: ['2023-11-20T00:00:00', '2023-11-21T00:00:00']}", List.of(0, 1));
+		expectedRows.put("{column: 'column3_decimal', operator: 'LESS_THAN', value: '3'}", List.of(1));
+		expectedRows.put("{column: 'column3_decimal', operator: 'EQUALS', value: '4.2'}", List.of(0, 2));
+		expectedRows.put("{column: 'column4_integer', operator: 'IN', values: ['24', '42']}", List.of(0, 1));
+		expectedRows.put("{column: 'column4_integer', operator: 'NOT_EQUALS', value: '24'}", List.of(0));
+		expectedRows.put("{column: 'column5_string', operator: 'STARTS_WITH', value: 'hello'}", List.of(0, 2));
+		expectedRows.put("{column: 'column5_string', operator: 'CONTAINS', value: 'E WOR'}", List.of(1));
+
+		for (final var entry : expectedRows.entrySet()) {
+			mockMvc.perform(get("/api/data/transformationResult/page")
+					                .param("selector", "original")
+					                .param("page", "1")
+					                .param("perPage", "10")
+					                .param("query", "filters: [" + entry.getKey() + "]"))
+			       .andExpect(status().isOk())
+			       .andExpect(jsonPath("rowNumbers").value(entry.getValue()))
+			       .andExpect(jsonPath("total").value(entry.getValue().size()));
+		}
+	}
+
+	@Test
+	void loadTransformationResultPageSort() throws Exception {
+		postData();
+
+		mockMvc.perform(get("/api/data/transformationResult/page")
+				                .param("selector", "original")
+				                .param("page", "1")
+				                .param("perPage", "10")
+				                .param("query", "sort: [{column: column4_integer, direction: DESC}]"))
+		       .andExpect(status().isOk())
+		       .andExpect(jsonPath("rowNumbers").value(List.of(0, 1, 2)));
+
+		mockMvc.perform(get("/api/data/transformationResult/page")
+				                .param("selector", "original")
+				                .param("page", "1")
+				                .param("perPage", "10")
+				                .param("query", "sort: [{column: column3_decimal}, {column: column2_date_time, direction: DESC}]"))
+		       .andExpect(status().isOk())
+		       .andExpect(jsonPath("rowNumbers").value(List.of(1, 0, 2)));
+
+		// Pages are stable for equal values
+		mockMvc.perform(get("/api/data/transformationResult/page")
+				                .param("selector", "original")
+				                .param("page", "2")
+				                .param("perPage", "1")
+				                .param("query", "sort: [{column: column0_boolean, direction: DESC}]"))
+		       .andExpect(status().isOk())
+		       .andExpect(jsonPath("rowNumbers").value(List.of(2)))
+		       .andExpect(jsonPath("total").value(3));
+	}
+
+	@Test
+	void loadTransformationResultPageSearch() throws Exception {
+		postData();
+
+		mockMvc.perform(get("/api/data/transformationResult/page")
+				                .param("selector", "original")
+				                .param("page", "1")
+				                .param("perPage", "10")
+				                .param("columns", "column4_integer")
+				                .param("formatErrorEncoding", "$value")
+				                .param("query", "search: HELLO"))
+		       .andExpect(status().isOk())
+		       .andExpect(content().json(
+				       "{'data':[[42],['forty two']],'transformationErrors':[{'index':1,'dataTransformationErrors':[{'index':0,'errorType':'FORMAT_ERROR',rawValue:'forty two'}]}],'rowNumbers':[0,2],'page':1,'perPage':10,total:2,'totalPages':1}"));
+	}
+
+	@Test
+	void loadTransformationResultPageSqlInjection() throws Exception {
+		final long dataSetId = postData();
+
+		for (final String search : List.of("' OR '1'='1", "%' OR 1=1; --",
+		                                   "'; DROP TABLE dataset_" + String.format("%08d", dataSetId) + "; --")) {
+			mockMvc.perform(get("/api/data/transformationResult/page")
+					                .param("selector", "original")
+					                .param("page", "1")
+					                .param("perPage", "10")
+					                .param("query", jsonMapper.writeValueAsString(Map.of("search", search))))
+			       .andExpect(status().isOk())
+			       .andExpect(jsonPath("total").value(0));
+		}
+
+		mockMvc.perform(get("/api/data/transformationResult/page")
+				                .param("selector", "original")
+				                .param("page", "1")
+				                .param("perPage", "10")
+				                .param("query", "filters: [{column: column4_integer, operator: EQUALS, value: '1 OR 1=1'}]"))
+		       .andExpect(status().isBadRequest())
+		       .andExpect(errorCode("PLATFORM_1_10_2"));
+
+		mockMvc.perform(get("/api/data/transformationResult/page")
+				                .param("selector", "original")
+				                .param("page", "1")
+				                .param("perPage", "10")
+				                .param("query", "sort: [{column: 'row_index\" DESC, (SELECT 1)--'}]"))
+		       .andExpect(status().isBadRequest())
+		       .andExpect(errorCode("PLATFORM_1_1_1"));
+
+		assertTrue(existsTable(dataSetId), "Table must not be deleted!");
+		assertEquals(3, countEntries(dataSetId), "Rows must not be modified!");
+	}
+
 	@Test
 	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
@@ -1227,4 +1598,40 @@ class DataControllerTest extends ControllerTest {
 		             "Type of first column does not match!");
 	}
 
+	/**
+	 * Starts an import for the given user with the test data configuration.
+	 */
+	private ImportJobInformation startImport(final String user, final String password,
+	                                         final boolean confirm) throws Exception {
+		final DataConfiguration configuration = DataConfigurationTestHelper.generateDataConfiguration();
+		final String response = mockMvc.perform(multipart("/api/data/import")
+				                                        .with(httpBasic(user, password))
+				                                        .param("configuration",
+				                                               objectMapper.writeValueAsString(configuration))
+				                                        .param("confirm", String.valueOf(confirm)))
+		                               .andExpect(status().isAccepted())
+		                               .andReturn().getResponse().getContentAsString();
+		return jsonMapper.readValue(response, ImportJobInformation.class);
+	}
+
+	/**
+	 * Uploads a CSV file containing the rows of the test file repeatedly.
+	 */
+	private void postLargeFile(final int rows) throws Exception {
+		final String[] lines = ResourceHelper.loadCsvFileAsString().split("\r\n");
+		final StringBuilder csv = new StringBuilder(lines[0]).append("\r\n");
+		for (int i = 0; i < rows; i++) {
+			csv.append(lines[1 + i % (lines.length - 1)]).append("\r\n");
+		}
+
+		mockMvc.perform(multipart("/api/data/file")
+				                .file(new MockMultipartFile("file", "file.csv", null,
+				                                            csv.toString().getBytes(StandardCharsets.UTF_8))))
+		       .andExpect(status().isOk());
+
+		final FileConfiguration fileConfiguration = FileConfigurationTestHelper.generateFileConfiguration();
+		mockMvc.perform(multipart("/api/data/file/configuration")
+				                .param("fileConfiguration", objectMapper.writeValueAsString(fileConfiguration)))
+		       .andExpect(status().isOk());
+	}
 }
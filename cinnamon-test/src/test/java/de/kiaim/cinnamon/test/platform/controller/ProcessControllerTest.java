@@ -95,6 +95,21 @@ public class ProcessControllerTest extends ControllerTest {
 		       .andExpect(jsonPath("currentStageIndex").isEmpty());
 	}
 
+	@Test
+	public void getPipelineQueryCount() throws Exception {
+		postData(false);
+		configure();
+
+		// Populates the log context cache
+		mockMvc.perform(get("/api/process")).andExpect(status().isOk());
+
+		// The number of statements must not depend on the number of stages and processes
+		final long statements = countStatements(() -> mockMvc.perform(get("/api/process"))
+		                                                     .andExpect(status().isOk())
+		                                                     .andExpect(jsonPath("stages[0].processes[1].step").value(SYNTH_JOB)));
+		assertTrue(statements <= 8, "Fetching the pipeline executed " + statements + " statements");
+	}
+
 	@Test
 	public void getPipelineStarted() throws Exception {
 		postData(false);
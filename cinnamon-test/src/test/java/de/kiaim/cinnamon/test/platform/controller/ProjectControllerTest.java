@@ -11,6 +11,7 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithUserDetails;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -55,6 +56,17 @@ public class ProjectControllerTest extends ControllerTest {
 				.andExpect(jsonPath("$.currentStep").value("WELCOME"));
 	}
 
+	@Test
+	public void getStatusQueryCount() throws Exception {
+		// Populates the log context cache
+		mockMvc.perform(get("/api/project/status")).andExpect(status().isOk());
+
+		final long statements = countStatements(() -> mockMvc.perform(get("/api/project/status"))
+		                                                     .andExpect(status().isOk())
+		                                                     .andExpect(jsonPath("currentStep").value(Step.WELCOME.name())));
+		assertTrue(statements <= 1, "Fetching the status executed " + statements + " statements");
+	}
+
 	@Test
 	public void confirm() throws Exception {
 		mockMvc.perform(post("/api/project/step")
@@ -97,6 +109,16 @@ public class ProjectControllerTest extends ControllerTest {
 		                                 """));
 	}
 
+	@Test
+	public void getProjectConfigurationQueryCount() throws Exception {
+		// Populates the log context cache
+		mockMvc.perform(get("/api/project/configuration")).andExpect(status().isOk());
+
+		final long statements = countStatements(() -> mockMvc.perform(get("/api/project/configuration"))
+		                                                     .andExpect(status().isOk()));
+		assertTrue(statements <= 4, "Fetching the configuration executed " + statements + " statements");
+	}
+
 	@Test
 	public void putProjectConfiguration() throws Exception {
 		var dto = ProjectConfigurationTestHelper.generateProjectConfigurationDTO();
@@ -2,14 +2,17 @@ package de.kiaim.cinnamon.test.platform.controller;
 
 import de.kiaim.cinnamon.model.dto.ExternalProcessResponse;
 import de.kiaim.cinnamon.model.enumeration.ProcessStatus;
+import de.kiaim.cinnamon.platform.service.StatisticsService;
 import de.kiaim.cinnamon.test.platform.ControllerTest;
 import de.kiaim.cinnamon.test.util.WithMockWebServer;
 import mockwebserver3.MockResponse;
 import mockwebserver3.MockWebServer;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -20,6 +23,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WithUserDetails("test_user")
 public class StatisticsControllerTest extends ControllerTest {
 
+	@Autowired
+	private StatisticsService statisticsService;
+
 	private MockWebServer mockBackEnd;
 
 	@Test
@@ -90,4 +96,59 @@ public class StatisticsControllerTest extends ControllerTest {
 		assertEquals(ProcessStatus.FINISHED, process.getExternalProcessStatus(), "Unexpected status!");
 		assertNull(process.getServerInstance(), "Unexpected server instance!");
 	}
+
+	@Test
+	public void getStatisticsInProcess() throws Exception {
+		postData(false);
+
+		ReflectionTestUtils.setField(statisticsService, "inProcess", true);
+		try {
+			mockMvc.perform(get("/api/statistics")
+					                .param("selector", "original"))
+			       .andExpect(status().isOk())
+			       .andExpect(jsonPath("status").value("FINISHED"))
+			       .andExpect(jsonPath("statistics").isString());
+		} finally {
+			ReflectionTestUtils.setField(statisticsService, "inProcess", false);
+		}
+
+		assertEquals(0, mockBackEnd.getRequestCount(), "No request should have been made!");
+
+		final var updateTestProject = getTestProject();
+		assertNotNull(updateTestProject.getOriginalData().getDataSet());
+		final var process = updateTestProject.getOriginalData().getDataSet().getStatisticsProcess();
+		assertEquals(ProcessStatus.FINISHED, process.getExternalProcessStatus(), "Unexpected status!");
+		assertTrue(process.getResultFiles().containsKey(StatisticsService.METRICS_FILE));
+	}
+
+	@Test
+	public void getStatisticsNotModified() throws Exception {
+		postData(false);
+
+		ReflectionTestUtils.setField(statisticsService, "inProcess", true);
+		try {
+			// The ETag is only available after the statistics have been calculated
+			mockMvc.perform(get("/api/statistics")
+					                .param("selector", "original"))
+			       .andExpect(status().isOk())
+			       .andExpect(header().doesNotExist("ETag"));
+		} finally {
+			ReflectionTestUtils.setField(statisticsService, "inProcess", false);
+		}
+
+		final String eTag = mockMvc.perform(get("/api/statistics")
+				                                    .param("selector", "original"))
+		                           .andExpect(status().isOk())
+		                           .andExpect(jsonPath("status").value("FINISHED"))
+		                           .andReturn().getResponse().getHeader("ETag");
+		assertNotNull(eTag, "ETag is missing!");
+
+		mockMvc.perform(get("/api/statistics")
+				                .param("selector", "original")
+				                .header("If-None-Match", eTag))
+		       .andExpect(status().isNotModified())
+		       .andExpect(content().string(""));
+
+		assertEquals(0, mockBackEnd.getRequestCount(), "No request should have been made!");
+	}
 }
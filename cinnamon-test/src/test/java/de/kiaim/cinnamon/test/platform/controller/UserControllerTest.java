@@ -15,6 +15,7 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -40,6 +41,37 @@ public class UserControllerTest extends ControllerTest {
 		       .andExpect(status().isUnauthorized());
 	}
 
+	@Test
+	public void loginAfterPasswordChange() throws Exception {
+		final String mail = getTestUser().getUsername();
+
+		// Login twice, so the credentials are cached
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(get("/api/user/login").with(httpBasic(mail, "changeme")))
+			       .andExpect(status().isOk());
+		}
+
+		userService.save(mail, "$tr0ngPa$$w0rd");
+
+		mockMvc.perform(get("/api/user/login").with(httpBasic(mail, "changeme")))
+		       .andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/user/login").with(httpBasic(mail, "$tr0ngPa$$w0rd")))
+		       .andExpect(status().isOk());
+	}
+
+	@Test
+	public void loginAfterDelete() throws Exception {
+		final String mail = getTestUser().getUsername();
+
+		mockMvc.perform(get("/api/user/login").with(httpBasic(mail, "changeme")))
+		       .andExpect(status().isOk());
+
+		userService.deleteUser(userService.getUserByEmail(mail));
+
+		mockMvc.perform(get("/api/user/login").with(httpBasic(mail, "changeme")))
+		       .andExpect(status().isUnauthorized());
+	}
+
 	@Test
 	public void register() throws Exception {
 		String mail = "new_" + getTestUser().getUsername();
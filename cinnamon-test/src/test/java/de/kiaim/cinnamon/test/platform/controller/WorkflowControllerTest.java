@@ -6,6 +6,8 @@ import de.kiaim.cinnamon.model.status.synthetization.SynthetizationStatus;
 import de.kiaim.cinnamon.model.status.synthetization.SynthetizationStepStatus;
 import de.kiaim.cinnamon.platform.model.dto.WorkflowInformation;
 import de.kiaim.cinnamon.platform.model.entity.DataProcessingEntity;
+import de.kiaim.cinnamon.platform.model.entity.ImportJobEntity;
+import de.kiaim.cinnamon.platform.model.enumeration.ImportJobStatus;
 import de.kiaim.cinnamon.platform.model.enumeration.StepOutputEncoding;
 import de.kiaim.cinnamon.platform.repository.ProjectRepository;
 import de.kiaim.cinnamon.platform.service.ExternalConfigurationService;
@@ -20,6 +22,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,6 +47,8 @@ public class WorkflowControllerTest extends ControllerTest {
 
 	@Autowired private ExternalConfigurationService externalConfigurationService;
 
+	@Autowired private TransactionTemplate transactionTemplate;
+
 	@BeforeEach
 	public void setup() {
 		externalConfigurationService.setCachedAvailableAlgorithms("anonymization",
@@ -96,6 +104,8 @@ public class WorkflowControllerTest extends ControllerTest {
 	}
 
 	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
 	public void testWorkflow() throws Exception {
 		// Prepare the data file
 		var data = ResourceHelper.loadCsvFile();
@@ -106,7 +116,6 @@ public class WorkflowControllerTest extends ControllerTest {
 
 		// Prepare responses of external modules
 		enqueueAnonStartResponse();
-		enqueueAnonStatusResponse();
 
 		String expectedJson = """
 		                      {
@@ -156,19 +165,32 @@ public class WorkflowControllerTest extends ControllerTest {
 			throw new RuntimeException(e);
 		}
 
-		// Send the request
+		// Send the request, the data is imported in the background
 		var result = mockMvc.perform(multipart("/api/workflow").file(datafile).file(configurationFile))
 		                    .andExpect(status().isAccepted())
 		                    .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-		                    .andExpect(jsonPath("pipeline").value(expectedPipeline))
+		                    .andExpect(jsonPath("importJob.status").value(ImportJobStatus.QUEUED.name()))
+		                    .andExpect(jsonPath("pipeline.currentStageIndex").isEmpty())
 		                    .andReturn();
-		result.getResponse().getContentAsString();
 		WorkflowInformation workflowInformation = jsonMapper.readValue(result.getResponse().getContentAsString(),
 		                                                               WorkflowInformation.class);
 		String workflowId = workflowInformation.getWorkflowId();
 
+		// The pipeline is started after the import
+		final ImportJobEntity importJob = awaitImportJob(
+				UUID.fromString(workflowInformation.getImportJob().getJobId()));
+		assertEquals(ImportJobStatus.FINISHED, importJob.getStatus(),
+		             "Import has not finished successfully: " + importJob.getErrorMessage());
+		assertEquals(2, importJob.getRowsStored(), "Number of stored rows wrong!");
 		verifyProcessStartRequest("/algorithmA");
+
+		enqueueAnonStatusResponse();
+		mockMvc.perform(get("/api/workflow/" + workflowId))
+		       .andExpect(status().isOk())
+		       .andExpect(jsonPath("importJob.status").value(ImportJobStatus.FINISHED.name()))
+		       .andExpect(jsonPath("pipeline").value(expectedPipeline));
 		verifyProcessStatusRequest();
+
 		verifyWorkflow(workflowId, 0, true);
 		finish(workflowId, 0, 0, "/start_synthetization_process/ctgan");
 		verifyWorkflow(workflowId, 0, true);
@@ -251,9 +273,11 @@ public class WorkflowControllerTest extends ControllerTest {
 	}
 
 	private void finish(String workflowId, int stageIndex, int processIndex, String nextAlgorithm) throws Exception {
-		var updateTestProject = getTestUser().getWorkflow(UUID.fromString(workflowId)).getProject();
-
-		var process = updateTestProject.getPipelines().get(0).getStageByIndex(stageIndex).getProcess(processIndex);
+		var process = transactionTemplate.execute(status -> {
+			var updateTestProject = getTestUser().getWorkflow(UUID.fromString(workflowId)).getProject();
+			return updateTestProject.getPipelines().get(0).getStageByIndex(stageIndex).getProcess(processIndex);
+		});
+		assertNotNull(process, "Process not found!");
 		assertNotNull(process.getUuid(), "No UUID has been assigned to the process!");
 		String id = process.getUuid().toString();
 
@@ -300,29 +324,31 @@ public class WorkflowControllerTest extends ControllerTest {
 
 	private void deleteWorkflow(String workflowId) throws Exception {
 		var datasetIds = new ArrayList<Long>();
-		var project = getTestUser().getWorkflow(UUID.fromString(workflowId)).getProject();
+		var projectId = transactionTemplate.execute(status -> {
+			var project = getTestUser().getWorkflow(UUID.fromString(workflowId)).getProject();
 
-		if (project.getOriginalData().getDataSet() != null) {
-			datasetIds.add(project.getOriginalData().getDataSet().getId());
-		}
+			if (project.getOriginalData().getDataSet() != null) {
+				datasetIds.add(project.getOriginalData().getDataSet().getId());
+			}
 
-		final var firstStage = project.getPipelines().get(0).getStageByIndex(0);
-		for (final var process : firstStage.getProcesses()) {
-			if (process instanceof DataProcessingEntity p) {
-				if (p.getDataSet() != null) {
-					datasetIds.add(p.getDataSet().getId());
+			final var firstStage = project.getPipelines().get(0).getStageByIndex(0);
+			for (final var process : firstStage.getProcesses()) {
+				if (process instanceof DataProcessingEntity p) {
+					if (p.getDataSet() != null) {
+						datasetIds.add(p.getDataSet().getId());
+					}
 				}
 			}
-		}
 
-		var projectId = project.getId();
+			return project.getId();
+		});
 
 		mockMvc.perform(delete("/api/workflow/" + workflowId))
 		       .andExpect(status().isOk());
 
 		// Test if cleanup was successful
-		var user = getTestUser();
-		assertTrue(user.getWorkflows().isEmpty(), "Workflow has not been deleted!");
+		var hasWorkflows = transactionTemplate.execute(status -> !getTestUser().getWorkflows().isEmpty());
+		assertEquals(Boolean.FALSE, hasWorkflows, "Workflow has not been deleted!");
 		assertFalse(projectRepository.existsById(projectId), "Project has not been deleted!");
 
 		for (var datasetId : datasetIds) {
@@ -0,0 +1,99 @@
+package de.kiaim.cinnamon.test.platform.cronjob;
+
+import de.kiaim.cinnamon.model.enumeration.TransformationErrorType;
+import de.kiaim.cinnamon.platform.cronjob.DeleteExpiredWorkflows;
+import de.kiaim.cinnamon.platform.model.entity.*;
+import de.kiaim.cinnamon.platform.repository.WorkflowRepository;
+import de.kiaim.cinnamon.platform.service.DatabaseService;
+import de.kiaim.cinnamon.test.platform.DatabaseTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeleteExpiredWorkflowsTest extends DatabaseTest {
+
+	private static final int NUMBER_WORKFLOWS = 200;
+
+	@Autowired private DatabaseService databaseService;
+	@Autowired private DeleteExpiredWorkflows deleteExpiredWorkflows;
+	@Autowired private EntityManager entityManager;
+	@Autowired private WorkflowRepository workflowRepository;
+
+	@Test
+	public void deleteExpiredWorkflows() throws Exception {
+		final long now = System.currentTimeMillis();
+
+		final List<Long> dataSetIds = new ArrayList<>();
+		for (int i = 0; i < NUMBER_WORKFLOWS; i++) {
+			dataSetIds.add(createWorkflow(new Timestamp(now - TimeUnit.HOURS.toMillis(1))));
+		}
+		final Long activeDataSetId = createWorkflow(new Timestamp(now + TimeUnit.DAYS.toMillis(1)));
+
+		entityManager.flush();
+		entityManager.clear();
+
+		final long start = System.currentTimeMillis();
+		final int deleted = deleteExpiredWorkflows.deleteExpiredWorkflows();
+		final long duration = System.currentTimeMillis() - start;
+
+		assertEquals(NUMBER_WORKFLOWS, deleted);
+		assertTrue(duration < TimeUnit.SECONDS.toMillis(30), "Deleting the workflows took " + duration + " ms");
+
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(1, workflowRepository.count());
+		for (final Long dataSetId : dataSetIds) {
+			assertFalse(existsTable(dataSetId), "Table of the dataset " + dataSetId + " has not been deleted!");
+			assertFalse(existsDataSet(dataSetId), "Dataset " + dataSetId + " has not been deleted!");
+			assertEquals(0, dataTransformationErrorRepository.countByDataSetId(dataSetId));
+		}
+
+		assertTrue(existsTable(activeDataSetId));
+		assertTrue(existsDataSet(activeDataSetId));
+		assertEquals(1, dataTransformationErrorRepository.countByDataSetId(activeDataSetId));
+
+		// Nothing is left for a subsequent run
+		assertEquals(0, deleteExpiredWorkflows.deleteExpiredWorkflows());
+	}
+
+	/**
+	 * Creates a workflow with an original dataset containing one transformation error.
+	 *
+	 * @param expirationDate The expiration date of the workflow.
+	 * @return The ID of the dataset.
+	 */
+	private Long createWorkflow(final Timestamp expirationDate) throws Exception {
+		final UserEntity user = getTestUser();
+		final ProjectEntity project = projectService.createProject(System.currentTimeMillis());
+
+		final DataSetEntity dataSet = new DataSetEntity(project.getOriginalData());
+		final DataTransformationErrorEntity error = new DataTransformationErrorEntity();
+		error.setDataSet(dataSet);
+		error.setErrorType(TransformationErrorType.FORMAT_ERROR);
+		dataSet.getDataTransformationErrors().add(error);
+
+		final WorkflowEntity workflow = new WorkflowEntity();
+		workflow.setWorkflowId(UUID.randomUUID());
+		workflow.setExpirationDate(expirationDate);
+		workflow.setProject(project);
+		user.addWorkflow(workflow);
+		workflowRepository.save(workflow);
+		entityManager.flush();
+
+		// Use the connection of the service, so the table is visible for the deletion
+		databaseService.executeStatement(
+				"CREATE TABLE " + databaseService.getTableName(dataSet.getId()) + " (id INTEGER);");
+		dataSet.setStoredData(true);
+
+		return dataSet.getId();
+	}
+}
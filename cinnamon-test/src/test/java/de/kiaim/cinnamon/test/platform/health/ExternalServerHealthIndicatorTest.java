@@ -8,17 +8,21 @@ import mockwebserver3.MockResponse;
 import mockwebserver3.MockWebServer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @WithMockWebServer
 public class ExternalServerHealthIndicatorTest extends ContextRequiredTest {
 
+	private static final long HEALTH_TIMEOUT = 1000;
+
 	@Autowired private CinnamonConfiguration cinnamonConfiguration;
 
 	private MockWebServer mockBackEnd;
@@ -27,6 +31,7 @@ public class ExternalServerHealthIndicatorTest extends ContextRequiredTest {
 	static void dynamicProperties(DynamicPropertyRegistry registry) {
 		registry.add("cinnamon.external-server.synthetization-server.healthEndpoint", () -> "");
 		registry.add("cinnamon.external-server.anonymization-server.healthEndpoint", () -> "/health");
+		registry.add("cinnamon.external-server.anonymization-server.healthTimeout", () -> HEALTH_TIMEOUT);
 	}
 
 	@Test
@@ -37,8 +42,8 @@ public class ExternalServerHealthIndicatorTest extends ContextRequiredTest {
 				                    .body("{\"status\": \"UP\"}")
 				                    .build());
 
-		var indicator = new ExternalServerHealthIndicator(cinnamonConfiguration.getExternalServer().get("anonymization-server"));
-		var health = indicator.health();
+		var indicator = createIndicator("anonymization-server");
+		var health = check(indicator);
 		assertEquals("UP", health.getStatus().getCode());
 	}
 
@@ -50,8 +55,8 @@ public class ExternalServerHealthIndicatorTest extends ContextRequiredTest {
 				                    .body("{\"status\": \"DOWN\"}")
 				                    .build());
 
-		var indicator = new ExternalServerHealthIndicator(cinnamonConfiguration.getExternalServer().get("anonymization-server"));
-		var health = indicator.health();
+		var indicator = createIndicator("anonymization-server");
+		var health = check(indicator);
 		assertEquals("DOWN", health.getStatus().getCode());
 	}
 
@@ -63,8 +68,8 @@ public class ExternalServerHealthIndicatorTest extends ContextRequiredTest {
 				                    .body("NOT FOUND")
 				                    .build());
 
-		var indicator = new ExternalServerHealthIndicator(cinnamonConfiguration.getExternalServer().get("anonymization-server"));
-		var health = indicator.health();
+		var indicator = createIndicator("anonymization-server");
+		var health = check(indicator);
 		assertEquals("DOWN", health.getStatus().getCode());
 	}
 
@@ -76,8 +81,8 @@ public class ExternalServerHealthIndicatorTest extends ContextRequiredTest {
 				                    .body("NOT FOUND")
 				                    .build());
 
-		var indicator = new ExternalServerHealthIndicator(cinnamonConfiguration.getExternalServer().get("synthetization-server"));
-		var health = indicator.health();
+		var indicator = createIndicator("synthetization-server");
+		var health = check(indicator);
 		assertEquals("UNKNOWN", health.getStatus().getCode());
 	}
 
@@ -85,9 +90,94 @@ public class ExternalServerHealthIndicatorTest extends ContextRequiredTest {
 	public void testHealthDownNoConnection() throws IOException {
 		mockBackEnd.shutdown();
 
-		var indicator = new ExternalServerHealthIndicator(cinnamonConfiguration.getExternalServer().get("anonymization-server"));
-		var health = indicator.health();
+		var indicator = createIndicator("anonymization-server");
+		var health = check(indicator);
 		assertEquals("DOWN", health.getStatus().getCode());
 	}
 
+	@Test
+	public void testHealthNotChecked() {
+		var indicator = createIndicator("anonymization-server");
+		var health = indicator.health().block();
+		assertNotNull(health);
+		assertEquals("UNKNOWN", health.getStatus().getCode());
+		assertEquals(0, mockBackEnd.getRequestCount());
+	}
+
+	@Test
+	public void testHealthHangingServer() {
+		mockBackEnd.enqueue(new MockResponse.Builder()
+				                    .addHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+				                    .code(200)
+				                    .body("{\"status\": \"UP\"}")
+				                    .headersDelay(10 * HEALTH_TIMEOUT, TimeUnit.MILLISECONDS)
+				                    .build());
+
+		var indicator = createIndicator("anonymization-server");
+		indicator.checkIfDue();
+
+		// The health is served from the last result while the check is pending
+		var start = System.currentTimeMillis();
+		var health = indicator.health().block();
+		var duration = System.currentTimeMillis() - start;
+		assertNotNull(health);
+		assertEquals("UNKNOWN", health.getStatus().getCode());
+		assertTrue(duration < HEALTH_TIMEOUT, "Health request took " + duration + " ms");
+
+		// No overlapping check is started while the background check is running
+		health = check(indicator);
+		assertEquals("UNKNOWN", health.getStatus().getCode());
+
+		// The background check is bounded by the health timeout
+		health = awaitCheck(indicator, 5 * HEALTH_TIMEOUT);
+		duration = System.currentTimeMillis() - start;
+		assertEquals("DOWN", health.getStatus().getCode());
+		assertTrue(duration < 5 * HEALTH_TIMEOUT, "Health check took " + duration + " ms");
+		assertEquals(1, mockBackEnd.getRequestCount());
+	}
+
+	@Test
+	public void testHealthCached() {
+		mockBackEnd.enqueue(new MockResponse.Builder()
+				                    .addHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+				                    .code(200)
+				                    .body("{\"status\": \"UP\"}")
+				                    .build());
+
+		var indicator = createIndicator("anonymization-server");
+		check(indicator);
+		assertEquals(1, mockBackEnd.getRequestCount());
+
+		// The next check is not due yet
+		indicator.checkIfDue();
+		var health = indicator.health().block();
+		assertNotNull(health);
+		assertEquals("UP", health.getStatus().getCode());
+		assertEquals(1, mockBackEnd.getRequestCount());
+	}
+
+	private ExternalServerHealthIndicator createIndicator(final String serverName) {
+		return new ExternalServerHealthIndicator(cinnamonConfiguration.getExternalServer().get(serverName),
+		                                         cinnamonConfiguration.getHealthCheck());
+	}
+
+	private Health awaitCheck(final ExternalServerHealthIndicator indicator, final long timeout) {
+		final long deadline = System.currentTimeMillis() + timeout;
+		Health health = indicator.health().block();
+		while (health != null && "UNKNOWN".equals(health.getStatus().getCode()) &&
+		       System.currentTimeMillis() < deadline) {
+			assertDoesNotThrow(() -> Thread.sleep(10));
+			health = indicator.health().block();
+		}
+		assertNotNull(health);
+		return health;
+	}
+
+	private Health check(final ExternalServerHealthIndicator indicator) {
+		indicator.check().block();
+		final Health health = indicator.health().block();
+		assertNotNull(health);
+		return health;
+	}
+
 }
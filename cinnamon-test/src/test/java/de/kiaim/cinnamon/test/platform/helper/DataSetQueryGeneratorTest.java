@@ -0,0 +1,192 @@
+package de.kiaim.cinnamon.test.platform.helper;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.platform.exception.BadColumnNameException;
+import de.kiaim.cinnamon.platform.exception.BadQueryException;
+import de.kiaim.cinnamon.platform.helper.DataSetQueryGenerator;
+import de.kiaim.cinnamon.platform.helper.DataSetQueryGenerator.SqlCondition;
+import de.kiaim.cinnamon.platform.model.dto.ColumnFilter;
+import de.kiaim.cinnamon.platform.model.dto.ColumnSort;
+import de.kiaim.cinnamon.platform.model.dto.DataSetQuery;
+import de.kiaim.cinnamon.platform.model.enumeration.FilterOperator;
+import de.kiaim.cinnamon.platform.model.enumeration.SortDirection;
+import de.kiaim.cinnamon.test.util.DataConfigurationTestHelper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSetQueryGeneratorTest {
+
+	private final DataSetQueryGenerator generator = new DataSetQueryGenerator();
+	private final DataConfiguration dataConfiguration = DataConfigurationTestHelper.generateDataConfiguration();
+
+	@Test
+	void createConditionEmpty() {
+		final SqlCondition condition = assertDoesNotThrow(
+				() -> generator.createCondition(dataConfiguration, new DataSetQuery()));
+		assertNull(condition);
+	}
+
+	@Test
+	void createConditionPerDataType() {
+		final DataSetQuery query = query(
+				new ColumnFilter("column0_boolean", FilterOperator.EQUALS, "TRUE", List.of()),
+				new ColumnFilter("column1_date", FilterOperator.GREATER_THAN, "2023-11-20", List.of()),
+				new ColumnFilter("column2_date_time", FilterOperator.LESS_THAN_OR_EQUALS, "2023-11-20T12:50:27",
+				                 List.of()),
+				new ColumnFilter("column3_decimal", FilterOperator.BETWEEN, null, List.of("1.5", "4.2")),
+				new ColumnFilter("column4_integer", FilterOperator.IN, null, List.of("24", "42")),
+				new ColumnFilter("column5_string", FilterOperator.NOT_EQUALS, "Bye World!", List.of()));
+
+		final SqlCondition condition = assertDoesNotThrow(() -> generator.createCondition(dataConfiguration, query));
+
+		assertNotNull(condition);
+		assertEquals("\"column0_boolean\" = ? AND \"column1_date\" > ? AND \"column2_date_time\" <= ? AND " +
+		             "\"column3_decimal\" BETWEEN ? AND ? AND \"column4_integer\" IN (?,?) AND " +
+		             "\"column5_string\" <> ?", condition.sql());
+		assertEquals(List.of(true, Date.valueOf(LocalDate.of(2023, 11, 20)),
+		                     Timestamp.valueOf(LocalDateTime.of(2023, 11, 20, 12, 50, 27)), new BigDecimal("1.5"),
+		                     new BigDecimal("4.2"), 24, 42, "Bye World!"), condition.parameters());
+	}
+
+	@Test
+	void createConditionNull() {
+		final DataSetQuery query = query(new ColumnFilter("column1_date", FilterOperator.IS_NULL, null, List.of()),
+		                                 new ColumnFilter("column4_integer", FilterOperator.IS_NOT_NULL, null,
+		                                                  List.of()));
+
+		final SqlCondition condition = assertDoesNotThrow(() -> generator.createCondition(dataConfiguration, query));
+
+		assertNotNull(condition);
+		assertEquals("\"column1_date\" IS NULL AND \"column4_integer\" IS NOT NULL", condition.sql());
+		assertTrue(condition.parameters().isEmpty());
+	}
+
+	@Test
+	void createConditionSearch() {
+		final DataSetQuery query = new DataSetQuery();
+		query.setSearch("100%_\\");
+
+		final SqlCondition condition = assertDoesNotThrow(() -> generator.createCondition(dataConfiguration, query));
+
+		assertNotNull(condition);
+		assertEquals("(\"column5_string\" ILIKE ? ESCAPE '\\')", condition.sql());
+		assertEquals(List.of("%100\\%\\_\\\\%"), condition.parameters(), "Wildcards must be escaped!");
+	}
+
+	@Test
+	void createConditionStartsWith() {
+		final DataSetQuery query = query(
+				new ColumnFilter("column5_string", FilterOperator.STARTS_WITH, "Hello", List.of()));
+
+		final SqlCondition condition = assertDoesNotThrow(() -> generator.createCondition(dataConfiguration, query));
+
+		assertNotNull(condition);
+		assertEquals("\"column5_string\" ILIKE ? ESCAPE '\\'", condition.sql());
+		assertEquals(List.of("Hello%"), condition.parameters());
+	}
+
+	@Test
+	void createConditionInjectionInValue() {
+		final String value = "x' OR '1'='1'; DROP TABLE dataset_00000001; --";
+		final DataSetQuery query = query(new ColumnFilter("column5_string", FilterOperator.EQUALS, value, List.of()));
+
+		final SqlCondition condition = assertDoesNotThrow(() -> generator.createCondition(dataConfiguration, query));
+
+		assertNotNull(condition);
+		assertEquals("\"column5_string\" = ?", condition.sql(), "Values must not be part of the SQL!");
+		assertEquals(List.of(value), condition.parameters());
+	}
+
+	@Test
+	void createConditionInjectionInColumn() {
+		final DataSetQuery query = query(
+				new ColumnFilter("column5_string\" = 'a' OR 1=1; --", FilterOperator.IS_NULL, null, List.of()));
+
+		final var exception = assertThrows(BadColumnNameException.class,
+		                                   () -> generator.createCondition(dataConfiguration, query));
+		assertEquals("PLATFORM_1_1_1", exception.getErrorCode(), "Unexpected error code!");
+	}
+
+	@Test
+	void createConditionInvalidValue() {
+		for (final ColumnFilter filter : List.of(
+				new ColumnFilter("column0_boolean", FilterOperator.EQUALS, "yes", List.of()),
+				new ColumnFilter("column1_date", FilterOperator.EQUALS, "20.11.2023", List.of()),
+				new ColumnFilter("column2_date_time", FilterOperator.EQUALS, "2023-11-20", List.of()),
+				new ColumnFilter("column3_decimal", FilterOperator.EQUALS, "1 OR 1=1", List.of()),
+				new ColumnFilter("column4_integer", FilterOperator.EQUALS, "4.2", List.of()))) {
+			final var exception = assertThrows(BadQueryException.class,
+			                                   () -> generator.createCondition(dataConfiguration, query(filter)),
+			                                   "Value '" + filter.getValue() + "' should be invalid for column '" +
+			                                   filter.getColumn() + "'!");
+			assertEquals("PLATFORM_1_10_2", exception.getErrorCode(), "Unexpected error code!");
+		}
+	}
+
+	@Test
+	void createConditionInvalidOperator() {
+		for (final ColumnFilter filter : List.of(
+				new ColumnFilter("column0_boolean", FilterOperator.GREATER_THAN, "true", List.of()),
+				new ColumnFilter("column4_integer", FilterOperator.CONTAINS, "4", List.of()),
+				new ColumnFilter("column4_integer", FilterOperator.EQUALS, null, List.of()),
+				new ColumnFilter("column4_integer", FilterOperator.BETWEEN, null, List.of("1")),
+				new ColumnFilter("column4_integer", FilterOperator.IN, null, List.of()))) {
+			final var exception = assertThrows(BadQueryException.class,
+			                                   () -> generator.createCondition(dataConfiguration, query(filter)),
+			                                   "Filter " + filter.getOperator() + " should be invalid for column '" +
+			                                   filter.getColumn() + "'!");
+			assertEquals("PLATFORM_1_10_2", exception.getErrorCode(), "Unexpected error code!");
+		}
+	}
+
+	@Test
+	void createOrderBy() {
+		final DataSetQuery query = new DataSetQuery();
+		query.setSort(List.of(new ColumnSort("column4_integer", SortDirection.DESC),
+		                      new ColumnSort("column5_string", SortDirection.ASC)));
+
+		final String orderBy = assertDoesNotThrow(() -> generator.createOrderBy(dataConfiguration, query));
+		assertEquals("\"column4_integer\" DESC NULLS LAST, \"column5_string\" ASC NULLS LAST, \"row_index\" ASC",
+		             orderBy);
+	}
+
+	@Test
+	void createOrderByDuplicateColumn() {
+		final DataSetQuery query = new DataSetQuery();
+		query.setSort(List.of(new ColumnSort("column4_integer", SortDirection.DESC),
+		                      new ColumnSort("column4_integer", SortDirection.ASC)));
+
+		final var exception = assertThrows(BadQueryException.class,
+		                                   () -> generator.createOrderBy(dataConfiguration, query));
+		assertEquals("PLATFORM_1_10_3", exception.getErrorCode(), "Unexpected error code!");
+	}
+
+	@Test
+	void getIndexableColumns() {
+		final DataSetQuery query = query(new ColumnFilter("column4_integer", FilterOperator.EQUALS, "1", List.of()));
+		query.setSort(List.of(new ColumnSort("column1_date", SortDirection.ASC)));
+		query.setSearch("World");
+
+		assertEquals(Set.of(1, 4), generator.getIndexableColumns(dataConfiguration, query));
+	}
+
+	@Test
+	void quoteIdentifier() {
+		assertEquals("\"a\"\"b\"", DataSetQueryGenerator.quoteIdentifier("a\"b"));
+	}
+
+	private DataSetQuery query(final ColumnFilter... filters) {
+		final DataSetQuery query = new DataSetQuery();
+		query.setFilters(List.of(filters));
+		return query;
+	}
+}
@@ -0,0 +1,213 @@
+package de.kiaim.cinnamon.test.platform.helper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.*;
+import de.kiaim.cinnamon.model.enumeration.DataScale;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import de.kiaim.cinnamon.platform.helper.DescriptiveStatistics;
+import de.kiaim.cinnamon.test.util.DataConfigurationTestHelper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the statistics with the metrics.json created by the evaluation module for the same data.
+ */
+class DescriptiveStatisticsTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void numericAndCategoricalAttributes() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.getConfigurations().addAll(List.of(
+				new ColumnConfiguration(0, "age", DataType.INTEGER, DataScale.RATIO, new ArrayList<>()),
+				new ColumnConfiguration(1, "sex", DataType.STRING, DataScale.NOMINAL, new ArrayList<>()),
+				new ColumnConfiguration(2, "smoker", DataType.BOOLEAN, DataScale.NOMINAL, new ArrayList<>())
+		));
+
+		final Integer[] ages = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, null};
+		final String[] sexes = {"m", "f", "m", "m", "f", "", "d", "m", "f", null, "x"};
+
+		final DescriptiveStatistics statistics = new DescriptiveStatistics(dataConfiguration);
+		for (int i = 0; i < ages.length; i++) {
+			statistics.accept(new DataRow(List.of(new IntegerData(ages[i]), new StringData(sexes[i]),
+			                                      new BooleanData(i % 3 == 0))));
+		}
+
+		final JsonNode metrics = objectMapper.valueToTree(statistics.toMetrics());
+		assertEquals("Resemblance Metrics", metrics.at("/resemblance/display_name").asText());
+		assertEquals(3, metrics.at("/resemblance/attributes").size());
+
+		// Integer attribute
+		final JsonNode age = metrics.at("/resemblance/attributes/0");
+		assertEquals("age", age.at("/attribute_information/name").asText());
+		assertEquals(0, age.at("/attribute_information/index").asInt());
+		assertEquals("INTEGER", age.at("/attribute_information/type").asText());
+		assertEquals("RATIO", age.at("/attribute_information/scale").asText());
+		assertEquals(List.of("mean", "standard_deviation", "minimum", "maximum", "missing_values_count"),
+		             fieldNames(age.get("important_metrics")));
+		assertEquals(List.of("variance", "fifth_percentile", "q1", "median", "q3", "ninety_fifth_percentile"),
+		             fieldNames(age.get("details")));
+		assertEquals(List.of("histogram"), fieldNames(age.get("plot")));
+
+		assertEquals("Mean", age.at("/important_metrics/mean/display_name").asText());
+		assertFalse(age.at("/important_metrics/mean/description").asText().isEmpty());
+		assertFalse(age.at("/important_metrics/mean/interpretation").asText().isEmpty());
+		assertFalse(age.at("/important_metrics/mean/values").has("synthetic"));
+
+		assertEquals(5.5, age.at("/important_metrics/mean/values/real").asDouble(), 1e-12);
+		assertEquals(3.0276503540974917, age.at("/important_metrics/standard_deviation/values/real").asDouble(), 1e-12);
+		assertEquals(1.0, age.at("/important_metrics/minimum/values/real").asDouble());
+		assertEquals(10.0, age.at("/important_metrics/maximum/values/real").asDouble());
+		assertEquals(1, age.at("/important_metrics/missing_values_count/values/real").asInt());
+		assertEquals(9.166666666666666, age.at("/details/variance/values/real").asDouble(), 1e-12);
+		assertEquals(1.45, age.at("/details/fifth_percentile/values/real").asDouble(), 1e-12);
+		assertEquals(3.25, age.at("/details/q1/values/real").asDouble(), 1e-12);
+		assertEquals(5.5, age.at("/details/median/values/real").asDouble(), 1e-12);
+		assertEquals(7.75, age.at("/details/q3/values/real").asDouble(), 1e-12);
+		assertEquals(9.55, age.at("/details/ninety_fifth_percentile/values/real").asDouble(), 1e-12);
+
+		// Bins estimated by numpy's 'auto' method
+		final JsonNode histogram = age.at("/plot/histogram/real");
+		assertEquals("age", histogram.get("x_axis").asText());
+		assertEquals("Percentage", histogram.get("y_axis").asText());
+		assertEquals(List.of("1.00 | 2.50", "2.50 | 4.00", "4.00 | 5.50", "5.50 | 7.00", "7.00 | 8.50", "8.50 | 10.00"),
+		             histogram.get("frequencies").findValuesAsText("label"));
+		assertEquals(List.of(20.0, 10.0, 20.0, 10.0, 20.0, 20.0),
+		             histogram.get("frequencies").findValues("value").stream().map(JsonNode::asDouble).toList());
+		assertEquals(0, histogram.at("/frequencies/0/color_index").asInt());
+
+		// String attribute
+		final JsonNode sex = metrics.at("/resemblance/attributes/1");
+		assertEquals(List.of("mode", "missing_values_count", "distinct_values"),
+		             fieldNames(sex.get("important_metrics")));
+		assertTrue(sex.get("details").isEmpty());
+		assertEquals("m", sex.at("/important_metrics/mode/values/real").asText());
+		assertEquals(2, sex.at("/important_metrics/missing_values_count/values/real").asInt());
+		assertEquals(4, sex.at("/important_metrics/distinct_values/values/real").asInt());
+
+		// Percentages are relative to all rows including the missing values
+		final JsonNode frequencyPlot = sex.at("/plot/frequency_plot/real");
+		assertEquals(List.of("m", "f", "d", "x"), frequencyPlot.get("frequencies").findValuesAsText("label"));
+		assertEquals(4.0 / 11 * 100, frequencyPlot.at("/frequencies/0/value").asDouble(), 1e-12);
+		assertEquals(1.0 / 11 * 100, frequencyPlot.at("/frequencies/3/value").asDouble(), 1e-12);
+
+		// Boolean attribute
+		final JsonNode smoker = metrics.at("/resemblance/attributes/2");
+		assertEquals("False", smoker.at("/important_metrics/mode/values/real").asText());
+		assertEquals(List.of("False", "True"),
+		             smoker.at("/plot/frequency_plot/real/frequencies").findValuesAsText("label"));
+	}
+
+	@Test
+	void topCategories() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.getConfigurations().add(
+				new ColumnConfiguration(0, "category", DataType.STRING, DataScale.NOMINAL, new ArrayList<>()));
+
+		final DescriptiveStatistics statistics = new DescriptiveStatistics(dataConfiguration);
+		for (int i = 0; i < 30; i++) {
+			for (int j = 0; j <= i; j++) {
+				statistics.accept(new DataRow(List.of(new StringData("c" + i))));
+			}
+		}
+
+		final JsonNode metrics = objectMapper.valueToTree(statistics.toMetrics());
+		final JsonNode frequencies = metrics.at("/resemblance/attributes/0/plot/frequency_plot/real/frequencies");
+		assertEquals(DescriptiveStatistics.TOP_CATEGORIES + 1, frequencies.size());
+		assertEquals("c29", frequencies.at("/0/label").asText());
+		assertEquals("Other", frequencies.at("/25/label").asText());
+		assertEquals((1 + 2 + 3 + 4 + 5) / 465.0 * 100, frequencies.at("/25/value").asDouble(), 1e-12);
+		assertEquals(30, metrics.at("/resemblance/attributes/0/important_metrics/distinct_values/values/real").asInt());
+	}
+
+	@Test
+	void dateAttribute() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.getConfigurations().add(
+				new ColumnConfiguration(0, "birthdate", DataType.DATE, DataScale.DATE, new ArrayList<>()));
+
+		final DescriptiveStatistics statistics = new DescriptiveStatistics(dataConfiguration);
+		statistics.accept(new DataRow(List.of(new DateData(LocalDate.of(2023, 1, 1)))));
+		statistics.accept(new DataRow(List.of(new DateData(LocalDate.of(2023, 1, 3)))));
+		statistics.accept(new DataRow(List.of(new DateData(null))));
+
+		final JsonNode metrics = objectMapper.valueToTree(statistics.toMetrics());
+		final JsonNode date = metrics.at("/resemblance/attributes/0");
+		assertEquals("2023-01-02", date.at("/important_metrics/mean/values/real").asText());
+		assertEquals("1 Days", date.at("/important_metrics/standard_deviation/values/real").asText());
+		assertEquals("2 Days", date.at("/details/variance/values/real").asText());
+		assertEquals("2023-01-01", date.at("/important_metrics/minimum/values/real").asText());
+		assertEquals("2023-01-03", date.at("/important_metrics/maximum/values/real").asText());
+		assertEquals(1, date.at("/important_metrics/missing_values_count/values/real").asInt());
+		assertTrue(date.at("/plot/histogram/real/frequencies/0/label").asText().startsWith("2023-01-01 | "));
+	}
+
+	@Test
+	void dateTimeAttribute() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.getConfigurations().add(
+				new ColumnConfiguration(0, "admission", DataType.DATE_TIME, DataScale.INTERVAL, new ArrayList<>()));
+
+		final DescriptiveStatistics statistics = new DescriptiveStatistics(dataConfiguration);
+		statistics.accept(new DataRow(List.of(new DateTimeData(LocalDateTime.of(2023, 1, 1, 8, 0)))));
+		statistics.accept(new DataRow(List.of(new DateTimeData(LocalDateTime.of(2023, 1, 1, 12, 0)))));
+		statistics.accept(new DataRow(List.of(new DateTimeData(null))));
+
+		final JsonNode metrics = objectMapper.valueToTree(statistics.toMetrics());
+		final JsonNode dateTime = metrics.at("/resemblance/attributes/0");
+		assertEquals("2023-01-01 10:00:00", dateTime.at("/important_metrics/mean/values/real").asText());
+		assertEquals("3 Hours", dateTime.at("/important_metrics/standard_deviation/values/real").asText());
+		assertEquals("2023-01-01 08:00:00", dateTime.at("/important_metrics/minimum/values/real").asText());
+		assertEquals("2023-01-01 12:00:00", dateTime.at("/important_metrics/maximum/values/real").asText());
+		assertEquals(1, dateTime.at("/important_metrics/missing_values_count/values/real").asInt());
+		assertTrue(dateTime.at("/plot/histogram/real/frequencies/0/label").asText()
+		                   .startsWith("2023-01-01 08:00:00 | "));
+	}
+
+	@Test
+	void missingValuesOnly() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.getConfigurations().addAll(List.of(
+				new ColumnConfiguration(0, "decimal", DataType.DECIMAL, DataScale.RATIO, new ArrayList<>()),
+				new ColumnConfiguration(1, "string", DataType.STRING, DataScale.NOMINAL, new ArrayList<>())
+		));
+
+		final DescriptiveStatistics statistics = new DescriptiveStatistics(dataConfiguration);
+		statistics.accept(new DataRow(Arrays.asList(new DecimalData(null), new StringData(null))));
+
+		final JsonNode metrics = objectMapper.valueToTree(statistics.toMetrics());
+		assertEquals("NA", metrics.at("/resemblance/attributes/0/important_metrics/mean/values/real").asText());
+		assertEquals("NaN", metrics.at("/resemblance/attributes/0/details/median/values/real").asText());
+		assertTrue(metrics.at("/resemblance/attributes/0/plot/histogram/real/frequencies").isEmpty());
+		assertFalse(metrics.at("/resemblance/attributes/1/important_metrics").has("mode"));
+		assertEquals(0, metrics.at("/resemblance/attributes/1/important_metrics/distinct_values/values/real").asInt());
+	}
+
+	@Test
+	void unsupportedAttributes() {
+		assertTrue(DescriptiveStatistics.isSupported(DataConfigurationTestHelper.generateDataConfiguration()));
+
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.getConfigurations().add(
+				new ColumnConfiguration(0, "text", DataType.TEXT, DataScale.NOMINAL, new ArrayList<>()));
+		assertFalse(DescriptiveStatistics.isSupported(dataConfiguration));
+		assertThrows(IllegalArgumentException.class, () -> new DescriptiveStatistics(dataConfiguration));
+	}
+
+	private List<String> fieldNames(final JsonNode node) {
+		final List<String> names = new ArrayList<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+}
@@ -7,6 +7,7 @@ import de.kiaim.cinnamon.model.data.*;
 import de.kiaim.cinnamon.model.enumeration.DataScale;
 import de.kiaim.cinnamon.model.enumeration.DataType;
 import de.kiaim.cinnamon.platform.PlatformApplication;
+import de.kiaim.cinnamon.platform.exception.BadDatasetException;
 import de.kiaim.cinnamon.platform.model.TransformationResult;
 import de.kiaim.cinnamon.platform.model.dto.DataConfigurationEstimation;
 import de.kiaim.cinnamon.platform.model.entity.FileCompatibilityEntity;
@@ -19,8 +20,10 @@ import de.kiaim.cinnamon.test.util.DataSetTestHelper;
 import de.kiaim.cinnamon.test.util.FileConfigurationTestHelper;
 import de.kiaim.cinnamon.test.util.ResourceHelper;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -41,6 +44,9 @@ public class CSVProcessingTests {
 	@Autowired
 	CsvProcessor csvProcessor;
 
+	@Value("${cinnamon.estimation.max-sample-bytes}")
+	int maxSampleBytes;
+
 	@Test
 	void estimateFileConfigurationRecordSeparatorCR() {
 		String csvData = "id,name,deathdate,smoker,price\r650390,Tonisha Swift,1975-05-08,no,303.23 €";
@@ -130,6 +136,95 @@ public class CSVProcessingTests {
 		assertEquals(";", csvConfig.getColumnSeparator());
 	}
 
+	@Test
+	void estimateFileConfigurationColumnSeparatorTab() {
+		String csvData =
+				"650390\tTonisha Swift\t1975-05-08\tno\t303.23 €\n" +
+				"208589\tWilson Maggio\t1994-02-28\tno\t23623.18 €\n" +
+				"452159\tHintz, Bill\t1987-05-17\tno\t38.41 €\n";
+		final LobWrapperEntity lobWrapper = new LobWrapperEntity(csvData);
+		final FileCompatibilityEntity fileCompatibility = getFileCompatibility();
+
+		var estimation = assertDoesNotThrow(
+				() -> csvProcessor.estimateFileConfiguration(lobWrapper, fileCompatibility));
+
+		var csvConfig = estimation.getEstimation().getCsvFileConfiguration();
+		assertNotNull(csvConfig);
+		assertEquals("\t", csvConfig.getColumnSeparator());
+	}
+
+	@Test
+	void estimateFileConfigurationColumnSeparatorQuotedDelimiters() {
+		String csvData =
+				"""
+				650390;"Swift, Tonisha, Dr., PhD";1975-05-08;no
+				208589;"Maggio, Wilson, Prof.";1994-02-28;no
+				452159;"Hintz, Bill, Jr., Esq.";1987-05-17;no
+				""";
+		final LobWrapperEntity lobWrapper = new LobWrapperEntity(csvData);
+		final FileCompatibilityEntity fileCompatibility = getFileCompatibility();
+
+		var estimation = assertDoesNotThrow(
+				() -> csvProcessor.estimateFileConfiguration(lobWrapper, fileCompatibility));
+
+		var csvConfig = estimation.getEstimation().getCsvFileConfiguration();
+		assertNotNull(csvConfig);
+		assertEquals(";", csvConfig.getColumnSeparator());
+		assertEquals('"', csvConfig.getQuoteChar());
+	}
+
+	@Test
+	void estimateFileConfigurationQuotedRecordSeparator() {
+		String csvData =
+				"""
+				"id","name","birthdate"
+				650390,"Tonisha
+				Swift, Ms.",1975-05-08
+				208589,"Wilson ""Will"" Maggio",1994-02-28
+				""";
+		final LobWrapperEntity lobWrapper = new LobWrapperEntity(csvData);
+		final FileCompatibilityEntity fileCompatibility = getFileCompatibility();
+
+		var estimation = assertDoesNotThrow(
+				() -> csvProcessor.estimateFileConfiguration(lobWrapper, fileCompatibility));
+
+		var csvConfig = estimation.getEstimation().getCsvFileConfiguration();
+		assertNotNull(csvConfig);
+		assertEquals(",", csvConfig.getColumnSeparator());
+		assertEquals("\n", csvConfig.getLineSeparator());
+		assertEquals('"', csvConfig.getQuoteChar());
+		assertTrue(csvConfig.getHasHeader());
+	}
+
+	@Test
+	void estimateFileConfigurationReadsOnlyPrefix() {
+		final long[] bytesRead = {0};
+		final InputStream hugeFile = generateHugeCsvStream(bytesRead);
+
+		var csvConfig = assertDoesNotThrow(() -> csvProcessor.estimateCsvFileConfiguration(hugeFile));
+
+		assertEquals(";", csvConfig.getColumnSeparator());
+		assertEquals("\n", csvConfig.getLineSeparator());
+		assertEquals(maxSampleBytes + 1, bytesRead[0], "Estimation should only read the sample!");
+	}
+
+	/**
+	 * Measures the duration of estimating the configuration of a huge CSV file.
+	 * Only runs if the system property {@code cinnamon.test.benchmark} is set to true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "cinnamon.test.benchmark", matches = "true")
+	void estimateFileConfigurationBenchmark() {
+		final long[] bytesRead = {0};
+		final InputStream hugeFile = generateHugeCsvStream(bytesRead);
+
+		final long start = System.nanoTime();
+		assertDoesNotThrow(() -> csvProcessor.estimateCsvFileConfiguration(hugeFile));
+		final long duration = System.nanoTime() - start;
+
+		System.out.printf("Estimation of a 2 GB file: %d ms, %d bytes read%n", duration / 1_000_000, bytesRead[0]);
+	}
+
 	@Test
 	void estimateFileConfigurationQuoteCharNone() {
 		String csvData =
@@ -518,6 +613,42 @@ public class CSVProcessingTests {
 		assertArrayEquals(expectedConfidences, estimation.getConfidences());
 	}
 
+	@Test
+	void testEstimationWideFile() {
+		final int numberColumns = 1000;
+		final StringBuilder csvData = new StringBuilder();
+		for (int row = 0; row < 100; row++) {
+			for (int column = 0; column < numberColumns; column++) {
+				if (column > 0) {
+					csvData.append(',');
+				}
+				switch (column % 4) {
+					case 0 -> csvData.append(row * column);
+					case 1 -> csvData.append(row).append(".5");
+					case 2 -> csvData.append(LocalDate.of(2000, 1, 1).plusDays(row + column));
+					default -> csvData.append("value").append(row);
+				}
+			}
+			csvData.append('\n');
+		}
+		final FileConfigurationEntity fileConfiguration = FileConfigurationTestHelper.generateFileConfiguration(
+				FileType.CSV, false);
+
+		final InputStream stream = new ByteArrayInputStream(csvData.toString().getBytes(StandardCharsets.UTF_8));
+		final DataConfigurationEstimation estimation = assertDoesNotThrow(
+				() -> csvProcessor.estimateDataConfiguration(stream, fileConfiguration,
+				                                             DatatypeEstimationAlgorithm.MOST_ESTIMATED));
+
+		final List<ColumnConfiguration> configurations = estimation.getDataConfiguration().getConfigurations();
+		assertEquals(numberColumns, configurations.size());
+		final DataType[] expectedTypes = {DataType.INTEGER, DataType.DECIMAL, DataType.DATE, DataType.STRING};
+		for (int column = 0; column < numberColumns; column++) {
+			assertEquals(column, configurations.get(column).getIndex());
+			assertEquals(expectedTypes[column % 4], configurations.get(column).getType());
+			assertEquals(1.0f, estimation.getConfidences()[column]);
+		}
+	}
+
 	@Test
 	void testWrite() throws IOException {
 		ByteArrayOutputStream stream = new ByteArrayOutputStream();
@@ -544,6 +675,142 @@ public class CSVProcessingTests {
 		assertEquals(expectedContent, content);
 	}
 
+	@Test
+	void readConcurrentlyTrickyQuoting() {
+		final String csvData = generateCsvData(500, "\r\n", false) + "\r\n\r\n" +
+		                       generateCsvData(500, "\n", false);
+		assertReadConcurrentlyEquals(csvData, true, 64);
+		assertReadConcurrentlyEquals(csvData, false, 64);
+		assertReadConcurrentlyEquals(csvData, true, 1);
+	}
+
+	@Test
+	void readConcurrentlyAmbiguous() {
+		// Whitespaces after a quoted value are ignored by the parser, but cannot be handled when splitting
+		final String csvData = generateCsvData(200, "\n", false) + "1,\"Ambiguous\"  ,2000-01-01,no,0 €\n" +
+		                       generateCsvData(200, "\n", false);
+		assertReadConcurrentlyEquals(csvData, true, 64);
+	}
+
+	@Test
+	void readConcurrentlyLongRecord() {
+		final String csvData = generateCsvData(100, "\n", false) + "1,\"" + "Long\n".repeat(1000) +
+		                       "\",2000-01-01,no,0 €\n" + generateCsvData(100, "\n", false);
+		assertReadConcurrentlyEquals(csvData, true, 64);
+	}
+
+	@Test
+	void readConcurrentlyInvalidRow() {
+		final String csvData = generateCsvData(300, "\n", false) + "1,Too,Many,Values,In,Row\n" +
+		                       generateCsvData(300, "\n", false);
+		final FileConfigurationEntity fileConfiguration = FileConfigurationTestHelper.generateFileConfiguration(
+				FileType.CSV, true);
+
+		final BadDatasetException sequential = assertThrows(BadDatasetException.class, () -> csvProcessor.read(
+				toStream(csvData), fileConfiguration, getDataConfiguration(), 1, 64));
+		final BadDatasetException concurrent = assertThrows(BadDatasetException.class, () -> csvProcessor.read(
+				toStream(csvData), fileConfiguration, getDataConfiguration(), 4, 64));
+
+		assertEquals(sequential.getMessage(), concurrent.getMessage());
+		assertTrue(concurrent.getMessage().contains("301"), "Row index wrong: " + concurrent.getMessage());
+	}
+
+	/**
+	 * Measures the throughput of reading a CSV file with 1, 2, 4 and 8 threads.
+	 * Only runs if the system property {@code cinnamon.test.benchmark} is set to true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "cinnamon.test.benchmark", matches = "true")
+	void readConcurrentlyBenchmark() {
+		final byte[] csvData = generateCsvData(1_000_000, "\n", true).getBytes(StandardCharsets.UTF_8);
+		final FileConfigurationEntity fileConfiguration = FileConfigurationTestHelper.generateFileConfiguration(
+				FileType.CSV, true);
+
+		for (final int parallelism : List.of(1, 2, 4, 8)) {
+			// Warm up
+			assertDoesNotThrow(() -> csvProcessor.read(new ByteArrayInputStream(csvData), fileConfiguration,
+			                                           getDataConfiguration(), parallelism, 4 * 1024 * 1024));
+
+			final long start = System.nanoTime();
+			final TransformationResult result = assertDoesNotThrow(
+					() -> csvProcessor.read(new ByteArrayInputStream(csvData), fileConfiguration,
+					                        getDataConfiguration(), parallelism, 4 * 1024 * 1024));
+			final long duration = System.nanoTime() - start;
+
+			assertEquals(1_000_000, result.getDataSet().getDataRows().size());
+			System.out.printf("%d threads: %d ms, %.1f MB/s%n", parallelism, duration / 1_000_000,
+			                  csvData.length / (duration / 1e9) / 1_000_000);
+		}
+	}
+
+	/**
+	 * Creates a stream of a 2 GB CSV file without materializing the data.
+	 *
+	 * @param bytesRead Counter for the number of bytes read from the stream.
+	 * @return The stream.
+	 */
+	private InputStream generateHugeCsvStream(final long[] bytesRead) {
+		final byte[] row = "650390;\"Swift;\nTonisha\";1975-05-08;no\n".getBytes(StandardCharsets.UTF_8);
+		final long size = 2L * 1024 * 1024 * 1024;
+		return new InputStream() {
+			@Override
+			public int read() {
+				return bytesRead[0] >= size ? -1 : row[(int) (bytesRead[0]++ % row.length)];
+			}
+		};
+	}
+
+	/**
+	 * Reads the given CSV data sequentially and concurrently and asserts the results are equal.
+	 *
+	 * @param csvData   The CSV data.
+	 * @param hasHeader If the data contains a header.
+	 * @param chunkSize The chunk size used for the concurrent reading.
+	 */
+	private void assertReadConcurrentlyEquals(final String csvData, final boolean hasHeader, final int chunkSize) {
+		final FileConfigurationEntity fileConfiguration = FileConfigurationTestHelper.generateFileConfiguration(
+				FileType.CSV, hasHeader);
+
+		final TransformationResult sequential = assertDoesNotThrow(
+				() -> csvProcessor.read(toStream(csvData), fileConfiguration, getDataConfiguration(), 1, chunkSize));
+		final TransformationResult concurrent = assertDoesNotThrow(
+				() -> csvProcessor.read(toStream(csvData), fileConfiguration, getDataConfiguration(), 4, chunkSize));
+
+		assertFalse(sequential.getTransformationErrors().isEmpty(), "Test data should contain errors!");
+		assertEquals(sequential, concurrent);
+	}
+
+	/**
+	 * Generates CSV data matching {@link #getDataConfiguration()} with a header.
+	 * Contains quoted delimiters, quoted line breaks, escaped quotes and invalid values.
+	 *
+	 * @param numberRows     The number of rows.
+	 * @param lineSeparator  The line separator.
+	 * @param onlyValidRows  If only rows without quotes and invalid values should be generated.
+	 * @return The CSV data.
+	 */
+	private static String generateCsvData(final int numberRows, final String lineSeparator,
+	                                      final boolean onlyValidRows) {
+		final StringBuilder builder = new StringBuilder("id,name,birthdate,smoker,price").append(lineSeparator);
+		for (int i = 0; i < numberRows; i++) {
+			final String name = onlyValidRows ? "Name " + i : switch (i % 5) {
+				case 0 -> "\"Doe, Jane\"";
+				case 1 -> "\"Multi" + lineSeparator + "Line\"";
+				case 2 -> "\"Say \"\"Hello\"\"\"";
+				case 3 -> "\"\"";
+				default -> "Plain " + i;
+			};
+			final String birthdate = !onlyValidRows && i % 7 == 0 ? "invalid" : "1990-01-" + (10 + i % 18);
+			builder.append(i).append(',').append(name).append(',').append(birthdate).append(',')
+			       .append(i % 2 == 0 ? "yes" : "no").append(',').append(i % 100).append(".50 €").append(lineSeparator);
+		}
+		return builder.toString();
+	}
+
+	private static InputStream toStream(final String csvData) {
+		return new ByteArrayInputStream(csvData.getBytes(StandardCharsets.UTF_8));
+	}
+
 	private static FileCompatibilityEntity getFileCompatibility() {
 		FileCompatibilityEntity compatibility = new FileCompatibilityEntity();
 		compatibility.getCompatibleFileTypes().add(FileType.CSV);
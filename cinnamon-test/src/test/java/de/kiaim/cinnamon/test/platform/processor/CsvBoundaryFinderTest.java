@@ -0,0 +1,64 @@
+package de.kiaim.cinnamon.test.platform.processor;
+
+import de.kiaim.cinnamon.platform.processor.CsvBoundaryFinder;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvBoundaryFinderTest {
+
+	@Test
+	void scan() {
+		final byte[] data = "a,b\nc,d\n".getBytes(StandardCharsets.UTF_8);
+		final CsvBoundaryFinder finder = new CsvBoundaryFinder(',', '"');
+		assertEquals(8, finder.scan(data, 0, data.length));
+		assertFalse(finder.isAmbiguous());
+	}
+
+	@Test
+	void scanQuotedLineBreak() {
+		final byte[] data = "a,\"b\nc\"\"\n\"\nd".getBytes(StandardCharsets.UTF_8);
+		final CsvBoundaryFinder finder = new CsvBoundaryFinder(',', '"');
+		assertEquals(11, finder.scan(data, 0, data.length));
+	}
+
+	@Test
+	void scanAcrossCalls() {
+		final byte[] data = "a,\"b\nc\"\nd".getBytes(StandardCharsets.UTF_8);
+		final CsvBoundaryFinder finder = new CsvBoundaryFinder(',', '"');
+		assertEquals(-1, finder.scan(data, 0, 5));
+		assertEquals(8, finder.scan(data, 5, data.length));
+	}
+
+	@Test
+	void scanQuoteInsideValue() {
+		final byte[] data = "a\"b,c\nd".getBytes(StandardCharsets.UTF_8);
+		final CsvBoundaryFinder finder = new CsvBoundaryFinder(',', '"');
+		assertEquals(6, finder.scan(data, 0, data.length));
+	}
+
+	@Test
+	void scanWithoutQuote() {
+		final byte[] data = "\"a\n\"b\n".getBytes(StandardCharsets.UTF_8);
+		final CsvBoundaryFinder finder = new CsvBoundaryFinder(',', null);
+		assertEquals(6, finder.scan(data, 0, data.length));
+	}
+
+	@Test
+	void scanAmbiguous() {
+		final byte[] data = "\"a\" ,b\nc\n".getBytes(StandardCharsets.UTF_8);
+		final CsvBoundaryFinder finder = new CsvBoundaryFinder(',', '"');
+		assertEquals(-1, finder.scan(data, 0, data.length));
+		assertTrue(finder.isAmbiguous());
+	}
+
+	@Test
+	void isSupported() {
+		assertTrue(CsvBoundaryFinder.isSupported(';', '\''));
+		assertFalse(CsvBoundaryFinder.isSupported('§', '"'));
+		assertFalse(CsvBoundaryFinder.isSupported(',', ','));
+		assertThrows(IllegalArgumentException.class, () -> new CsvBoundaryFinder('\n', '"'));
+	}
+}
@@ -18,6 +18,8 @@ import de.kiaim.cinnamon.model.configuration.data.file.FileType;
 import de.kiaim.cinnamon.platform.processor.XlsxProcessor;
 import de.kiaim.cinnamon.test.util.DataSetTestHelper;
 import de.kiaim.cinnamon.test.util.FileConfigurationTestHelper;
+import org.dhatim.fastexcel.Workbook;
+import org.dhatim.fastexcel.Worksheet;
 import org.dhatim.fastexcel.reader.Cell;
 import org.dhatim.fastexcel.reader.ReadableWorkbook;
 import org.dhatim.fastexcel.reader.Row;
@@ -112,6 +114,55 @@ public class XLSXProcessingTests {
     }
 
 
+    @Test
+    void testReadLargeWorkbook() throws IOException {
+        final int numberRows = 100_000;
+        final List<DataRow> expectedRows = new ArrayList<>();
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (final Workbook workbook = new Workbook(outputStream, "Cinnamon", "1.0")) {
+            final Worksheet worksheet = workbook.newWorksheet("dataset");
+            final List<String> columnNames = getDataConfiguration().getColumnNames();
+            for (int columnIndex = 0; columnIndex < columnNames.size(); columnIndex++) {
+                worksheet.value(0, columnIndex, columnNames.get(columnIndex));
+            }
+
+            for (int rowIndex = 0; rowIndex < numberRows; rowIndex++) {
+                final LocalDate birthdate = LocalDate.of(1950, 1, 1).plusDays(rowIndex % 20000);
+                final boolean smoker = rowIndex % 3 == 0;
+
+                worksheet.value(rowIndex + 1, 0, rowIndex);
+                worksheet.value(rowIndex + 1, 1, "Name " + rowIndex);
+                worksheet.value(rowIndex + 1, 2, birthdate);
+                worksheet.style(rowIndex + 1, 2).format("yyyy-MM-dd").set();
+                worksheet.value(rowIndex + 1, 3, Boolean.toString(smoker));
+                worksheet.value(rowIndex + 1, 4, rowIndex + " €");
+
+                expectedRows.add(new DataRow(List.of(new IntegerData(rowIndex),
+                                                     new StringData("Name " + rowIndex),
+                                                     new DateData(birthdate),
+                                                     new BooleanData(smoker),
+                                                     new StringData(rowIndex + " €"))));
+            }
+        }
+        final byte[] data = outputStream.toByteArray();
+
+        FileConfigurationEntity fileConfiguration = FileConfigurationTestHelper.generateFileConfiguration(FileType.XLSX, true);
+        DataConfiguration config = getDataConfiguration();
+
+        int numberColumns = assertDoesNotThrow(
+            () -> xlsxProcessor.getNumberColumns(new ByteArrayInputStream(data), fileConfiguration)
+        );
+        assertEquals(config.getConfigurations().size(), numberColumns);
+
+        TransformationResult actualResult = assertDoesNotThrow(
+            () -> xlsxProcessor.read(new ByteArrayInputStream(data), fileConfiguration, config)
+        );
+
+        assertEquals(new TransformationResult(new DataSet(expectedRows, getDataConfiguration()), new ArrayList<>()),
+                     actualResult);
+    }
+
     private TransformationResult testReadMethodOfXlsxProcessor_getExpectedTransformationResult() {
         List<DataRow> dataRows =
             List.of(
@@ -0,0 +1,42 @@
+package de.kiaim.cinnamon.test.platform.service;
+
+import de.kiaim.cinnamon.platform.service.DataSetIndexService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DataSetIndexServiceTest {
+
+	@Test
+	void recordUsage() {
+		final DataSetIndexService indexService = new DataSetIndexService(2, 0);
+
+		assertEquals(Set.of(), indexService.recordUsage(1, List.of(1, 2)));
+		assertEquals(Set.of(1), indexService.recordUsage(1, List.of(1)));
+		assertEquals(Set.of(), indexService.recordUsage(1, List.of(1)), "Columns must be indexed only once!");
+		assertEquals(Set.of(2), indexService.recordUsage(1, List.of(2, 3)));
+		assertEquals(Set.of(), indexService.recordUsage(2, List.of(1)), "Data sets must be counted separately!");
+	}
+
+	@Test
+	void recordUsageDisabled() {
+		final DataSetIndexService indexService = new DataSetIndexService(0, 0);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(Set.of(), indexService.recordUsage(1, List.of(1)));
+		}
+	}
+
+	@Test
+	void forget() {
+		final DataSetIndexService indexService = new DataSetIndexService(2, 0);
+
+		assertEquals(Set.of(), indexService.recordUsage(1, List.of(1)));
+		indexService.forget(1);
+		assertEquals(Set.of(), indexService.recordUsage(1, List.of(1)), "Counters must be reset!");
+		assertEquals(Set.of(1), indexService.recordUsage(1, List.of(1)));
+	}
+}
@@ -12,26 +12,31 @@ import de.kiaim.cinnamon.platform.exception.ApiException;
 import de.kiaim.cinnamon.platform.exception.BadConfigurationNameException;
 import de.kiaim.cinnamon.platform.exception.InternalApplicationConfigurationException;
 import de.kiaim.cinnamon.platform.model.TransformationResult;
-import de.kiaim.cinnamon.platform.model.dto.DataSetSource;
+import de.kiaim.cinnamon.platform.model.dto.*;
 import de.kiaim.cinnamon.platform.model.entity.*;
-import de.kiaim.cinnamon.platform.model.enumeration.HoldOutSelector;
-import de.kiaim.cinnamon.platform.model.enumeration.Mode;
+import de.kiaim.cinnamon.platform.model.enumeration.*;
 import de.kiaim.cinnamon.platform.service.DatabaseService;
 import de.kiaim.cinnamon.platform.service.ProjectService;
 import de.kiaim.cinnamon.test.platform.DatabaseTest;
 import de.kiaim.cinnamon.test.util.FileConfigurationTestHelper;
 import de.kiaim.cinnamon.test.util.ResourceHelper;
+import de.kiaim.cinnamon.test.util.TestDatabaseExtension;
 import de.kiaim.cinnamon.test.util.TransformationResultTestHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.transaction.TestTransaction;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class DatabaseServiceTest extends DatabaseTest {
 
@@ -41,6 +46,9 @@ class DatabaseServiceTest extends DatabaseTest {
 	@Autowired
 	ProjectService projectService;
 
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
 	@BeforeEach
 	public void setUp() throws IOException, ApiException {
 		projectService.setMode(testProject, Mode.EXPERT);
@@ -127,6 +135,133 @@ class DatabaseServiceTest extends DatabaseTest {
 		             "Transformation errors have not been removed!");
 	}
 
+	@Test
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void archiveAndExport() {
+		final TransformationResult transformationResult = TransformationResultTestHelper.generateTransformationResult(true);
+		long dataSetId = assertDoesNotThrow(() -> databaseService.storeOriginalTransformationResult(transformationResult, testProject));
+		assertDoesNotThrow(() -> databaseService.archiveDataSet(testProject.getOriginalData().getDataSet()));
+
+		final ProjectEntity project = commitAndReload();
+		final DataSetEntity dataSetEntity = project.getOriginalData().getDataSet();
+
+		assertFalse(existsTable(dataSetId), "Table should be deleted!");
+		assertNotNull(dataSetEntity.getArchive(), "Archive has not been created!");
+		assertTrue(dataSetEntity.isStoredData(), "Flag that the data is stored should be true!");
+
+		final DataSet export = assertDoesNotThrow(
+				() -> databaseService.exportDataSet(project, new ArrayList<>(), HoldOutSelector.ALL, DataSetSource.Original()));
+		assertEquals(transformationResult.getDataSet(), export, "Data sets do not match!");
+
+		assertEquals(3, assertDoesNotThrow(() -> databaseService.countEntries(dataSetId)), "Number of entries wrong!");
+		assertEquals(1, assertDoesNotThrow(
+				() -> databaseService.countEntries(dataSetId, HoldOutSelector.ALL, RowSelector.ERRORS, null)),
+		             "Number of invalid rows wrong!");
+
+		final TransformationResultPage page = assertDoesNotThrow(
+				() -> databaseService.exportTransformationResultPage(dataSetEntity, RowSelector.ALL, 2, 2,
+				                                                     new LoadDataRequest(), null));
+		assertEquals(3, page.getTotal(), "Number of rows wrong!");
+		assertEquals(List.of(2), page.getRowNumbers(), "Wrong rows in the page!");
+		assertFalse(existsTable(dataSetId), "Table should not be restored for pages without queries!");
+
+		assertDoesNotThrow(() -> databaseService.deleteOriginalData(project));
+
+		assertNull(dataSetEntity.getArchive(), "Archive should be deleted!");
+		assertFalse(dataSetEntity.isStoredData(), "Flag that the data is stored should be false!");
+	}
+
+	@Test
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void archiveAndRestore() {
+		final TransformationResult transformationResult = TransformationResultTestHelper.generateTransformationResult(false);
+		long dataSetId = assertDoesNotThrow(() -> databaseService.storeOriginalTransformationResult(transformationResult, testProject));
+
+		assertDoesNotThrow(() -> databaseService.archiveDataSet(testProject.getOriginalData().getDataSet()));
+
+		final DataSetEntity dataSetEntity = commitAndReload().getOriginalData().getDataSet();
+		assertFalse(existsTable(dataSetId), "Table should be deleted!");
+
+		final TransformationResultPage page = assertDoesNotThrow(
+				() -> databaseService.exportTransformationResultPage(dataSetEntity, RowSelector.ALL, 1, 10,
+				                                                     new LoadDataRequest(), createRestoringQuery()));
+
+		assertEquals(1, page.getTotal(), "Number of matching rows wrong!");
+		assertEquals(List.of(1), page.getRowNumbers(), "Wrong row matched!");
+		assertTrue(existsTable(dataSetId), "Table has not been restored!");
+		assertNull(dataSetEntity.getArchive(), "Archive should be removed after restoring!");
+		assertEquals(2, countEntries(dataSetId), "Number of entries wrong!");
+	}
+
+	@Test
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void archiveRolledBack() {
+		final TransformationResult transformationResult = TransformationResultTestHelper.generateTransformationResult(false);
+		long dataSetId = assertDoesNotThrow(() -> databaseService.storeOriginalTransformationResult(transformationResult, testProject));
+		commitAndReload();
+
+		assertDoesNotThrow(() -> databaseService.archiveDataSet(getTestProject().getOriginalData().getDataSet()));
+		TestTransaction.flagForRollback();
+		TestTransaction.end();
+		TestTransaction.start();
+
+		assertTrue(existsTable(dataSetId), "Table must not be deleted if the archive has been rolled back!");
+		assertNull(getTestProject().getOriginalData().getDataSet().getArchive(), "Archive should be rolled back!");
+		assertEquals(2, countEntries(dataSetId), "Number of entries wrong!");
+	}
+
+	@Test
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void restoreRolledBack() {
+		final TransformationResult transformationResult = TransformationResultTestHelper.generateTransformationResult(false);
+		long dataSetId = assertDoesNotThrow(() -> databaseService.storeOriginalTransformationResult(transformationResult, testProject));
+
+		assertDoesNotThrow(() -> databaseService.archiveDataSet(testProject.getOriginalData().getDataSet()));
+		final DataSetEntity archived = commitAndReload().getOriginalData().getDataSet();
+
+		assertDoesNotThrow(() -> databaseService.exportTransformationResultPage(archived, RowSelector.ALL, 1, 10,
+		                                                                        new LoadDataRequest(),
+		                                                                        createRestoringQuery()));
+		TestTransaction.flagForRollback();
+		TestTransaction.end();
+		TestTransaction.start();
+
+		final DataSetEntity dataSetEntity = getTestProject().getOriginalData().getDataSet();
+		assertNotNull(dataSetEntity.getArchive(), "Archive should be kept if the restore has been rolled back!");
+
+		final TransformationResultPage page = assertDoesNotThrow(
+				() -> databaseService.exportTransformationResultPage(dataSetEntity, RowSelector.ALL, 1, 10,
+				                                                     new LoadDataRequest(), createRestoringQuery()));
+
+		assertEquals(1, page.getTotal(), "Number of matching rows wrong!");
+		assertNull(dataSetEntity.getArchive(), "Archive should be removed after restoring!");
+		assertEquals(2, countEntries(dataSetId), "Rows of the rolled back restore should be replaced!");
+	}
+
+	/**
+	 * Commits the current test transaction and starts a new one.
+	 * Tables of archived data sets are deleted after the commit.
+	 *
+	 * @return The reloaded test project.
+	 */
+	private ProjectEntity commitAndReload() {
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		TestTransaction.start();
+		return getTestProject();
+	}
+
+	/**
+	 * Creates a query that cannot be answered by the archive.
+	 *
+	 * @return The query.
+	 */
+	private DataSetQuery createRestoringQuery() {
+		final DataSetQuery query = new DataSetQuery();
+		query.setFilters(List.of(new ColumnFilter("column4_integer", FilterOperator.EQUALS, "24", List.of())));
+		return query;
+	}
+
 	@Test
 	void storeConfiguration() {
 		final String config = """
@@ -308,6 +443,54 @@ class DatabaseServiceTest extends DatabaseTest {
 		assertFalse(exists, "Table does exist!");
 	}
 
+	/**
+	 * Measures the latency of paged views on a data set with 5M rows.
+	 * Only runs on PostgreSQL if the system property {@code cinnamon.test.benchmark} is set to true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "cinnamon.test.benchmark", matches = "true")
+	void exportTransformationResultPageBenchmark() {
+		assumeTrue(activeDatabase != TestDatabaseExtension.TestDatabase.H2, "Benchmark requires PostgreSQL");
+
+		final TransformationResult transformationResult = TransformationResultTestHelper.generateTransformationResult(false);
+		final UserEntity user = getTestUser();
+		final ProjectEntity project = projectService.getProject(user);
+
+		assertDoesNotThrow(() -> databaseService.storeOriginalTransformationResult(transformationResult, project));
+		final DataSetEntity dataSet = project.getOriginalData().getDataSet();
+		final String tableName = databaseService.getTableName(dataSet.getId());
+
+		jdbcTemplate.execute("INSERT INTO " + tableName + " SELECT i % 2 = 0, DATE '2000-01-01' + i % 10000, " +
+		                     "TIMESTAMP '2000-01-01' + i * INTERVAL '1 second', (i % 100000) / 100.0, i % 1000000, " +
+		                     "'value_' || i % 1000, FALSE, i FROM generate_series(2, 5000001) AS i");
+		jdbcTemplate.execute("ANALYZE " + tableName);
+
+		final DataSetQuery filter = new DataSetQuery();
+		filter.setFilters(List.of(new ColumnFilter("column4_integer", FilterOperator.EQUALS, "4242", List.of())));
+		final DataSetQuery sort = new DataSetQuery();
+		sort.setSort(List.of(new ColumnSort("column3_decimal", SortDirection.DESC)));
+		final DataSetQuery search = new DataSetQuery();
+		search.setSearch("value_42");
+
+		final long unfiltered = measurePage(dataSet, null, 5_000_002);
+		// The index is created by the third query using the column
+		final long filteredUnindexed = measurePage(dataSet, filter, 5);
+		measurePage(dataSet, filter, 5);
+		measurePage(dataSet, filter, 5);
+		final long filteredIndexed = measurePage(dataSet, filter, 5);
+		final long sorted = measurePage(dataSet, sort, 5_000_002);
+		final long searched = measurePage(dataSet, search, 55_000);
+
+		System.out.printf("Unfiltered:          %d ms%n", unfiltered / 1_000_000);
+		System.out.printf("Filtered, unindexed: %d ms%n", filteredUnindexed / 1_000_000);
+		System.out.printf("Filtered, indexed:   %d ms%n", filteredIndexed / 1_000_000);
+		System.out.printf("Sorted:              %d ms%n", sorted / 1_000_000);
+		System.out.printf("Search:              %d ms%n", searched / 1_000_000);
+
+		assertTrue(filteredIndexed < filteredUnindexed,
+		           "Index is not used! Unindexed: " + filteredUnindexed + " ns, indexed: " + filteredIndexed + " ns");
+	}
+
 	@Test
 	void markProcessOutdated() throws InternalApplicationConfigurationException {
 		ProjectEntity project =  projectService.createProject(123L);
@@ -337,4 +520,15 @@ class DatabaseServiceTest extends DatabaseTest {
 		assertEquals(ProcessStatus.SKIPPED, process21.getExternalProcessStatus());
 		assertEquals(ProcessStatus.OUTDATED, process22.getExternalProcessStatus());
 	}
+
+	private long measurePage(final DataSetEntity dataSet, @Nullable final DataSetQuery query, final int expectedTotal) {
+		final long start = System.nanoTime();
+		final TransformationResultPage page = assertDoesNotThrow(
+				() -> databaseService.exportTransformationResultPage(dataSet, RowSelector.ALL, 1, 100,
+				                                                     new LoadDataRequest(), query));
+		final long duration = System.nanoTime() - start;
+
+		assertEquals(expectedTotal, page.getTotal(), "Number of matching rows does not match!");
+		return duration;
+	}
 }
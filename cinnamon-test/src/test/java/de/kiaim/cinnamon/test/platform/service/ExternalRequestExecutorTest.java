@@ -0,0 +1,183 @@
+package de.kiaim.cinnamon.test.platform.service;
+
+import com.sun.net.httpserver.HttpServer;
+import de.kiaim.cinnamon.platform.exception.RequestRuntimeException;
+import de.kiaim.cinnamon.platform.service.ExternalRequestExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalRequestExecutorTest {
+
+	/**
+	 * Response delay of the stub server in the benchmark.
+	 */
+	private static final long DELAY_MS = 200;
+
+	private ExternalRequestExecutor externalRequestExecutor;
+
+	@AfterEach
+	public void shutdown() {
+		if (externalRequestExecutor != null) {
+			externalRequestExecutor.shutdown();
+		}
+	}
+
+	@Test
+	public void blockReturnsResponse() {
+		externalRequestExecutor = new ExternalRequestExecutor(1, 1);
+
+		assertEquals("response", externalRequestExecutor.block(Mono.just("response")));
+		assertNull(externalRequestExecutor.block(Mono.empty()));
+	}
+
+	@Test
+	public void blockRethrowsRequestException() {
+		externalRequestExecutor = new ExternalRequestExecutor(1, 1);
+		final RequestRuntimeException exception = new RequestRuntimeException(null);
+
+		final var thrown = assertThrows(RequestRuntimeException.class,
+		                                () -> externalRequestExecutor.block(Mono.error(exception)));
+		assertSame(exception, thrown);
+	}
+
+	@Test
+	public void blockRejectsWhenFull() throws Exception {
+		externalRequestExecutor = new ExternalRequestExecutor(1, 1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final Mono<String> slowRequest = Mono.fromCallable(() -> {
+			release.await();
+			return "response";
+		});
+
+		final ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			final Future<String> running = callers.submit(() -> externalRequestExecutor.block(slowRequest));
+			final Future<String> queued = callers.submit(() -> externalRequestExecutor.block(slowRequest));
+			for (int i = 0; i < 100 && externalRequestExecutor.getPendingCount() < 2; i++) {
+				Thread.sleep(20);
+			}
+			assertEquals(2, externalRequestExecutor.getPendingCount());
+
+			assertThrows(RejectedExecutionException.class, () -> externalRequestExecutor.block(slowRequest));
+
+			release.countDown();
+			assertEquals("response", running.get(5, TimeUnit.SECONDS));
+			assertEquals("response", queued.get(5, TimeUnit.SECONDS));
+		} finally {
+			callers.shutdownNow();
+		}
+	}
+
+	/**
+	 * Sends 1000 concurrent requests to a stub server delaying each response
+	 * from a simulated servlet pool of 200 threads, directly and through the executor.
+	 * Measures the throughput of the external requests and
+	 * how long requests without external I/O submitted afterward wait for a servlet thread.
+	 * Only runs if the system property {@code cinnamon.test.benchmark} is set to true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "cinnamon.test.benchmark", matches = "true")
+	public void concurrentRequestsBenchmark() throws Exception {
+		final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1000);
+		final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+		server.setExecutor(serverExecutor);
+		server.createContext("/status", exchange -> {
+			try {
+				Thread.sleep(DELAY_MS);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			final byte[] body = "RUNNING".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		server.start();
+
+		final ConnectionProvider connectionProvider = ConnectionProvider.builder("benchmark")
+		                                                                .maxConnections(1000)
+		                                                                .pendingAcquireMaxCount(-1)
+		                                                                .build();
+		final WebClient webClient = WebClient.builder()
+		                                     .clientConnector(new ReactorClientHttpConnector(
+				                                     HttpClient.create(connectionProvider)))
+		                                     .baseUrl("http://localhost:" + server.getAddress().getPort())
+		                                     .build();
+		externalRequestExecutor = new ExternalRequestExecutor(50, 50);
+
+		try {
+			final long direct = runRequests(webClient, false);
+			final long bounded = runRequests(webClient, true);
+			assertTrue(bounded < direct,
+			           "Requests without external I/O should not wait for the external requests! Direct: " +
+			           direct + " ms, bounded: " + bounded + " ms");
+		} finally {
+			server.stop(0);
+			serverExecutor.shutdownNow();
+			connectionProvider.dispose();
+		}
+	}
+
+	/**
+	 * Sends 1000 requests to the stub server from a pool of 200 threads, followed by 100 requests without I/O.
+	 *
+	 * @param webClient The client for the stub server.
+	 * @param bounded   If the requests are executed by the {@link ExternalRequestExecutor}.
+	 * @return The maximum time in milliseconds a request without I/O waited for a thread.
+	 */
+	private long runRequests(final WebClient webClient, final boolean bounded) throws Exception {
+		final ExecutorService servletPool = Executors.newFixedThreadPool(200);
+		final AtomicInteger completed = new AtomicInteger();
+		final AtomicInteger rejected = new AtomicInteger();
+		final AtomicLong maxWait = new AtomicLong();
+		final List<Future<?>> futures = new ArrayList<>();
+
+		final long start = System.nanoTime();
+		try {
+			for (int i = 0; i < 1000; i++) {
+				futures.add(servletPool.submit(() -> {
+					final Mono<String> request = webClient.get().uri("/status").retrieve().bodyToMono(String.class);
+					try {
+						assertEquals("RUNNING", bounded ? externalRequestExecutor.block(request) : request.block());
+						completed.incrementAndGet();
+					} catch (final RejectedExecutionException e) {
+						rejected.incrementAndGet();
+					}
+				}));
+			}
+			for (int i = 0; i < 100; i++) {
+				final long submitted = System.nanoTime();
+				futures.add(servletPool.submit(
+						() -> maxWait.accumulateAndGet((System.nanoTime() - submitted) / 1_000_000, Math::max)));
+			}
+			for (final Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			servletPool.shutdownNow();
+		}
+		final double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("%s: %d completed, %d rejected, %.0f requests per second, max wait without I/O %d ms%n",
+		                  bounded ? "Bounded executor" : "Direct", completed.get(), rejected.get(),
+		                  completed.get() / seconds, maxWait.get());
+		assertEquals(1000, completed.get() + rejected.get());
+		return maxWait.get();
+	}
+}
@@ -4,6 +4,7 @@ import de.kiaim.cinnamon.platform.model.configuration.ExternalHost;
 import de.kiaim.cinnamon.platform.model.configuration.ExternalServer;
 import de.kiaim.cinnamon.platform.model.configuration.ExternalServerInstance;
 import de.kiaim.cinnamon.platform.repository.BackgroundProcessRepository;
+import de.kiaim.cinnamon.platform.service.ExternalRequestExecutor;
 import de.kiaim.cinnamon.platform.service.ExternalServerInstanceService;
 import mockwebserver3.MockResponse;
 import mockwebserver3.MockWebServer;
@@ -154,7 +155,7 @@ public class ExternalServerInstanceServiceTest {
 		when(repo.countByServerInstanceIn(eq(Set.of(esi1.getId())))).thenReturn(count1);
 		when(repo.countByServerInstanceIn(eq(Set.of(esi2.getId())))).thenReturn(count2);
 		when(repo.countByServerInstanceIn(eq(Set.of(esi3.getId())))).thenReturn(count3);
-		return new ExternalServerInstanceService(repo);
+		return new ExternalServerInstanceService(repo, new ExternalRequestExecutor(3, 3));
 	}
 
 	private void enqueueStatusCheck(final MockWebServer mockBackEnd, final int httpStatus, final String status) {
@@ -0,0 +1,115 @@
+package de.kiaim.cinnamon.test.platform.service;
+
+import de.kiaim.cinnamon.platform.model.entity.DataSetEntity;
+import de.kiaim.cinnamon.platform.model.entity.ImportJobEntity;
+import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
+import de.kiaim.cinnamon.platform.model.enumeration.ImportJobStatus;
+import de.kiaim.cinnamon.platform.repository.DataSetRepository;
+import de.kiaim.cinnamon.platform.service.DatabaseService;
+import de.kiaim.cinnamon.platform.service.ImportJobService;
+import de.kiaim.cinnamon.test.platform.DatabaseTest;
+import de.kiaim.cinnamon.test.util.DataConfigurationTestHelper;
+import de.kiaim.cinnamon.test.util.FileConfigurationTestHelper;
+import de.kiaim.cinnamon.test.util.ResourceHelper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportJobServiceTest extends DatabaseTest {
+
+	@Autowired
+	DataSetRepository dataSetRepository;
+
+	@Autowired
+	DatabaseService databaseService;
+
+	@Autowired
+	ImportJobService importJobService;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void recoverImports() throws Exception {
+		storeFileAndConfiguration();
+
+		// Simulate an import interrupted by a shutdown after the rows have been stored
+		final Long interruptedDataSetId = transactionTemplate.execute(status -> {
+			status.setRollbackOnly();
+			return assertDoesNotThrow(() -> databaseService.storeOriginalDataset(getTestProject()));
+		});
+		assertNotNull(interruptedDataSetId);
+		assertTrue(existsTable(interruptedDataSetId), "Table of the interrupted import should exist!");
+		assertFalse(existsDataSet(interruptedDataSetId), "Data set of the interrupted import should not exist!");
+
+		final UUID jobId = UUID.randomUUID();
+		transactionTemplate.executeWithoutResult(status -> {
+			final ImportJobEntity job = new ImportJobEntity();
+			job.setJobId(jobId);
+			job.setStatus(ImportJobStatus.RUNNING);
+			job.setDataSetId(interruptedDataSetId);
+			job.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+			job.setProject(getTestProject());
+			importJobRepository.save(job);
+		});
+
+		importJobService.recoverImports();
+
+		final ImportJobEntity job = awaitImportJob(jobId);
+		assertEquals(ImportJobStatus.FINISHED, job.getStatus(), "Import failed: " + job.getErrorMessage());
+		assertEquals(2, job.getRowsStored(), "Number of stored rows wrong!");
+		assertFalse(existsTable(interruptedDataSetId), "Table of the interrupted import should have been removed!");
+
+		assertNotNull(job.getDataSetId());
+		final DataSetEntity dataSet = dataSetRepository.findById(job.getDataSetId()).orElseThrow();
+		assertTrue(dataSet.isStoredData(), "Flag that the data is stored should be true!");
+		assertEquals(2, countEntries(dataSet.getId()), "Number of entries wrong!");
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void recoverImportsAlreadyStored() {
+		final UUID jobId = UUID.randomUUID();
+		storeFileAndConfiguration();
+		transactionTemplate.executeWithoutResult(status -> {
+			final ProjectEntity project = getTestProject();
+			assertDoesNotThrow(() -> databaseService.storeOriginalDataset(project));
+
+			final ImportJobEntity job = new ImportJobEntity();
+			job.setJobId(jobId);
+			job.setStatus(ImportJobStatus.RUNNING);
+			job.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+			job.setProject(project);
+			importJobRepository.save(job);
+		});
+
+		importJobService.recoverImports();
+
+		final ImportJobEntity job = importJobRepository.findByJobId(jobId).orElseThrow();
+		assertEquals(ImportJobStatus.FINISHED, job.getStatus(), "Committed imports must not be repeated!");
+	}
+
+	private void storeFileAndConfiguration() {
+		transactionTemplate.executeWithoutResult(status -> {
+			final ProjectEntity project = getTestProject();
+			assertDoesNotThrow(() -> {
+				databaseService.storeFileConfiguration(project,
+				                                       FileConfigurationTestHelper.generateFileConfiguration());
+				databaseService.storeFile(project, ResourceHelper.loadCsvFile());
+				databaseService.storeOriginalDataConfiguration(
+						DataConfigurationTestHelper.generateDataConfiguration(), project);
+			});
+		});
+	}
+}
@@ -9,11 +9,13 @@ import de.kiaim.cinnamon.platform.model.configuration.CinnamonConfiguration;
 import de.kiaim.cinnamon.platform.model.configuration.Stage;
 import de.kiaim.cinnamon.platform.model.entity.*;
 import de.kiaim.cinnamon.platform.model.mapper.ExecutionStepMapper;
+import de.kiaim.cinnamon.platform.model.mapper.PipelineMapper;
 import de.kiaim.cinnamon.platform.repository.ExecutionStepRepository;
 import de.kiaim.cinnamon.platform.repository.ProjectRepository;
 import de.kiaim.cinnamon.platform.service.*;
 import de.kiaim.cinnamon.platform.processor.CsvProcessor;
 import de.kiaim.cinnamon.platform.repository.BackgroundProcessRepository;
+import de.kiaim.cinnamon.platform.repository.DataSetRepository;
 import de.kiaim.cinnamon.test.platform.ContextRequiredTest;
 import de.kiaim.cinnamon.test.util.WithMockWebServer;
 import mockwebserver3.MockResponse;
@@ -34,6 +36,7 @@ import static org.mockito.Mockito.mock;
 @WithMockWebServer
 public class ProcessServiceTest extends ContextRequiredTest {
 
+	@Value("${cinnamon.archive.enabled}") private boolean archiveEnabled;
 	@Value("${server.ssl.enabled:false}") private boolean sslEnabled;
 	@Value("${server.port}") private int port;
 	@Value("${server.servlet.context-path:}") private String contextPath;
@@ -42,9 +45,11 @@ public class ProcessServiceTest extends ContextRequiredTest {
 	@Autowired private TaskScheduler taskScheduler;
 	@Autowired private TransactionTemplate transactionTemplate;
 	@Autowired private ExecutionStepMapper executionStepMapper;
+	@Autowired private PipelineMapper pipelineMapper;
 	@Autowired private DataProcessorService dataProcessorService;
 	@Autowired private DataSetService dataSetService;
 	@Autowired private ExternalConfigurationService externalConfigurationService;
+	@Autowired private ExternalRequestExecutor externalRequestExecutor;
 	@Autowired private HttpService httpService;
 	@Autowired private StepService stepService = mock(StepService.class);
 
@@ -56,6 +61,7 @@ public class ProcessServiceTest extends ContextRequiredTest {
 	@BeforeEach
 	void setUpMockWebServer() {
 		BackgroundProcessRepository backgroundProcessRepository = mock(BackgroundProcessRepository.class);
+		DataSetRepository dataSetRepository = mock(DataSetRepository.class);
 		ExecutionStepRepository executionStepRepository = mock(ExecutionStepRepository.class);
 
 		CsvProcessor csvProcessor = mock(CsvProcessor.class);
@@ -66,12 +72,14 @@ public class ProcessServiceTest extends ContextRequiredTest {
 		cinnamonConfiguration.getExternalServer()
 		                     .get("anonymization-server")
 		                     .setInstanceHostPort(mockBackEnd.getPort());
-		this.processService = new ProcessService(serializationConfig, sslEnabled, port, contextPath,
+		this.processService = new ProcessService(serializationConfig, archiveEnabled, sslEnabled, port, contextPath,
 		                                         cinnamonConfiguration, taskScheduler, transactionTemplate,
-		                                         backgroundProcessRepository, executionStepRepository,
-		                                         projectRepository, executionStepMapper, csvProcessor, databaseService,
+		                                         backgroundProcessRepository, dataSetRepository,
+		                                         executionStepRepository, projectRepository, executionStepMapper,
+		                                         pipelineMapper, csvProcessor, databaseService,
 		                                         dataProcessorService, dataSetService, externalConfigurationService,
-		                                         externalServerInstanceService, httpService, stepService);
+		                                         externalServerInstanceService, externalRequestExecutor, httpService,
+		                                         stepService);
 
 		if (jsonMapper == null) {
 			jsonMapper = serializationConfig.jsonMapper();
@@ -0,0 +1,134 @@
+package de.kiaim.cinnamon.test.platform.service;
+
+import de.kiaim.cinnamon.model.dto.ModuleReportContent;
+import de.kiaim.cinnamon.model.enumeration.ProcessStatus;
+import de.kiaim.cinnamon.platform.model.entity.ExecutionStepEntity;
+import de.kiaim.cinnamon.platform.model.entity.ExternalProcessEntity;
+import de.kiaim.cinnamon.platform.model.entity.LobWrapperEntity;
+import de.kiaim.cinnamon.platform.model.entity.ProjectEntity;
+import de.kiaim.cinnamon.platform.service.ReportService;
+import de.kiaim.cinnamon.test.platform.DatabaseTest;
+import de.kiaim.cinnamon.test.util.WithMockWebServer;
+import jakarta.persistence.EntityManager;
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@WithMockWebServer
+public class ReportServiceTest extends DatabaseTest {
+
+	private static final long DELAY = 1000;
+
+	@Autowired private EntityManager entityManager;
+	@Autowired private ReportService reportService;
+
+	private MockWebServer mockBackEnd;
+
+	@Test
+	public void fetchReportDataConcurrently() throws Exception {
+		final ProjectEntity project = finishProcesses();
+		mockBackEnd.setDispatcher(new ReportDispatcher(null));
+
+		final long start = System.currentTimeMillis();
+		final Map<String, ModuleReportContent> reportData = reportService.fetchReportData(project);
+		final long duration = System.currentTimeMillis() - start;
+
+		// Anonymization, synthetization and risk evaluation provide report content
+		assertEquals(3, mockBackEnd.getRequestCount());
+		assertTrue(duration < 2 * DELAY, "Requests have not been executed concurrently! Took " + duration + " ms");
+
+		assertEquals("anonymization", reportData.get("anonymization").getConfigDescription());
+		assertEquals("report", reportData.get("synthetization").getConfigDescription());
+		assertEquals("report", reportData.get("risk_evaluation").getConfigDescription());
+		assertTrue(reportData.containsKey("technical_evaluation"));
+		assertNull(reportData.get("technical_evaluation"));
+		assertFalse(reportData.containsKey("risk_evaluation_o"));
+	}
+
+	@Test
+	public void fetchReportDataPartially() throws Exception {
+		final ProjectEntity project = finishProcesses();
+		mockBackEnd.setDispatcher(new ReportDispatcher("/api/anonymization/report"));
+
+		final Map<String, ModuleReportContent> reportData = reportService.fetchReportData(project);
+
+		assertNull(reportData.get("anonymization"));
+		assertEquals("report", reportData.get("synthetization").getConfigDescription());
+		assertEquals("report", reportData.get("risk_evaluation").getConfigDescription());
+	}
+
+	@Test
+	public void fetchReportDataCached() throws Exception {
+		final ProjectEntity project = finishProcesses();
+		mockBackEnd.setDispatcher(new ReportDispatcher(null));
+
+		reportService.fetchReportData(project);
+		assertEquals(3, mockBackEnd.getRequestCount());
+
+		final Map<String, ModuleReportContent> reportData = reportService.fetchReportData(project);
+		assertEquals(3, mockBackEnd.getRequestCount(), "No request should have been made!");
+		assertEquals("anonymization", reportData.get("anonymization").getConfigDescription());
+
+		// Restarting a process invalidates the content
+		final ExternalProcessEntity anonymization = project.getPipelines().get(0).getStages().get(0)
+		                                                   .getProcesses().get(0);
+		anonymization.reset();
+		anonymization.setExternalProcessStatus(ProcessStatus.FINISHED);
+		anonymization.getResultFiles().put("result.json", new LobWrapperEntity("{}"));
+		entityManager.flush();
+
+		reportService.fetchReportData(project);
+		assertEquals(4, mockBackEnd.getRequestCount());
+	}
+
+	private ProjectEntity finishProcesses() {
+		final ProjectEntity project = getTestProject();
+		for (final ExecutionStepEntity executionStep : project.getPipelines().get(0).getStages()) {
+			for (final ExternalProcessEntity externalProcess : executionStep.getProcesses()) {
+				externalProcess.setExternalProcessStatus(ProcessStatus.FINISHED);
+				externalProcess.getResultFiles().put("result.json", new LobWrapperEntity("{}"));
+			}
+		}
+		entityManager.flush();
+		return project;
+	}
+
+	/**
+	 * Responds to report requests after a delay.
+	 */
+	private static class ReportDispatcher extends Dispatcher {
+
+		private final String failingPath;
+
+		private ReportDispatcher(final String failingPath) {
+			this.failingPath = failingPath;
+		}
+
+		@Override
+		public MockResponse dispatch(final RecordedRequest recordedRequest) {
+			final String path = recordedRequest.getPath();
+			if (path != null && path.equals(failingPath)) {
+				return new MockResponse.Builder()
+						.code(500)
+						.build();
+			}
+
+			final String description = "/api/anonymization/report".equals(path) ? "anonymization" : "report";
+			return new MockResponse.Builder()
+					.addHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+					.code(200)
+					.body("{\"configDescription\": \"" + description + "\", \"glossar\": null}")
+					.headersDelay(DELAY, TimeUnit.MILLISECONDS)
+					.build();
+		}
+	}
+}
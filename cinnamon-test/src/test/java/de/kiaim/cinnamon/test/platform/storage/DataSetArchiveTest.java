@@ -0,0 +1,404 @@
+package de.kiaim.cinnamon.test.platform.storage;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.ColumnConfiguration;
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.*;
+import de.kiaim.cinnamon.model.enumeration.DataType;
+import de.kiaim.cinnamon.model.serialization.DataSetBinaryCodec;
+import de.kiaim.cinnamon.model.serialization.exception.BinaryFormatException;
+import de.kiaim.cinnamon.platform.model.enumeration.HoldOutSelector;
+import de.kiaim.cinnamon.platform.storage.DataSetArchiveReader;
+import de.kiaim.cinnamon.platform.storage.DataSetArchiveWriter;
+import de.kiaim.cinnamon.test.util.DataConfigurationTestHelper;
+import de.kiaim.cinnamon.test.util.DataSetTestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataSetArchiveTest {
+
+	private static final List<DataType> TYPES = Arrays.stream(DataType.values())
+	                                                  .filter(type -> type != DataType.UNDEFINED)
+	                                                  .toList();
+
+	@Test
+	public void roundTrip() throws IOException {
+		final DataSet dataSet = DataSetTestHelper.generateDataSet(true);
+		final boolean[] holdOut = {false, true, false};
+
+		final DataSetArchiveReader reader = new DataSetArchiveReader(archive(dataSet, holdOut, 2));
+
+		assertEquals(dataSet.getDataConfiguration(), reader.getDataConfiguration());
+		assertEquals(3, reader.getNumberRows());
+		assertEquals(dataSet.getDataRows(), readAll(reader, HoldOutSelector.ALL, null));
+		for (int i = 0; i < holdOut.length; i++) {
+			assertEquals(holdOut[i], reader.isHoldOut(i), "Wrong hold-out flag for row " + i);
+		}
+	}
+
+	@Test
+	public void roundTripEmpty() throws IOException {
+		final DataSet dataSet = new DataSet(new ArrayList<>(), DataConfigurationTestHelper.generateDataConfiguration());
+
+		final DataSetArchiveReader reader = new DataSetArchiveReader(archive(dataSet, new boolean[0], 8));
+
+		assertEquals(0, reader.getNumberRows());
+		assertEquals(0, reader.count(HoldOutSelector.HOLD_OUT, null));
+		assertEquals(List.of(), readAll(reader, HoldOutSelector.ALL, null));
+	}
+
+	@Test
+	public void roundTripRandom() throws IOException {
+		final Random random = new Random(42);
+
+		for (final int blockSize : new int[]{1, 7, 64, 8192}) {
+			for (final double nullProbability : new double[]{0.0, 0.3, 1.0}) {
+				final DataSet dataSet = generateDataSet(random, 500, nullProbability, 20);
+				final boolean[] holdOut = generateHoldOut(random, 500);
+
+				final DataSetArchiveReader reader = new DataSetArchiveReader(archive(dataSet, holdOut, blockSize));
+
+				final String message = "Round trip failed for block size " + blockSize + " and null probability " +
+				                       nullProbability;
+				assertEquals(dataSet.getDataRows(), readAll(reader, HoldOutSelector.ALL, null), message);
+				for (int i = 0; i < holdOut.length; i++) {
+					assertEquals(holdOut[i], reader.isHoldOut(i), message);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void roundTripExtremeValues() throws IOException {
+		final DataConfiguration dataConfiguration = generateDataConfiguration();
+		final List<DataRow> rows = new ArrayList<>();
+		rows.add(new DataRow(new ArrayList<>(List.of(
+				new BooleanData(false),
+				new DateTimeData(LocalDateTime.MIN),
+				new DecimalData(Float.NaN),
+				new IntegerData(Integer.MIN_VALUE),
+				new TextData(""),
+				new StringData("😀 äöü"),
+				new DateData(LocalDate.MIN)))));
+		rows.add(new DataRow(new ArrayList<>(List.of(
+				new BooleanData(true),
+				new DateTimeData(LocalDateTime.MAX),
+				new DecimalData(-0.0f),
+				new IntegerData(Integer.MAX_VALUE),
+				new TextData("x".repeat(100_000)),
+				new StringData(""),
+				new DateData(LocalDate.MAX)))));
+		rows.add(new DataRow(new ArrayList<>(List.of(
+				new BooleanData(null),
+				new DateTimeData(null),
+				new DecimalData(Float.NEGATIVE_INFINITY),
+				new IntegerData(Integer.MIN_VALUE),
+				new TextData(null),
+				new StringData(null),
+				new DateData(LocalDate.EPOCH)))));
+		final DataSet dataSet = new DataSet(rows, dataConfiguration);
+
+		final DataSetArchiveReader reader = new DataSetArchiveReader(archive(dataSet, new boolean[3], 8));
+
+		assertEquals(rows, readAll(reader, HoldOutSelector.ALL, null));
+	}
+
+	@Test
+	public void readColumnsAndPage() throws IOException {
+		final DataSet dataSet = generateDataSet(new Random(1), 100, 0.1, 10);
+		final DataSetArchiveReader reader = new DataSetArchiveReader(archive(dataSet, new boolean[100], 16));
+
+		final List<Integer> rowIndices = new ArrayList<>();
+		final List<List<Data>> rows = new ArrayList<>();
+		reader.read(List.of(4, 0), HoldOutSelector.ALL, null, 30, 20, (rowIndex, data) -> {
+			rowIndices.add(rowIndex);
+			rows.add(data);
+		});
+
+		assertEquals(IntStream.range(30, 50).boxed().toList(), rowIndices, "Wrong rows selected!");
+		for (int i = 0; i < rows.size(); i++) {
+			final List<Data> expected = dataSet.getDataRows().get(30 + i).getData();
+			assertEquals(List.of(expected.get(4), expected.get(0)), rows.get(i), "Wrong values in row " + (30 + i));
+		}
+	}
+
+	@Test
+	public void readSelectedRows() throws IOException {
+		final Random random = new Random(2);
+		final DataSet dataSet = generateDataSet(random, 300, 0.1, 10);
+		final boolean[] holdOut = generateHoldOut(random, 300);
+		final DataSetArchiveReader reader = new DataSetArchiveReader(archive(dataSet, holdOut, 32));
+		final IntPredicate evenRows = rowIndex -> rowIndex % 2 == 0;
+
+		final List<Integer> expectedIndices = IntStream.range(0, 300)
+		                                               .filter(i -> !holdOut[i] && evenRows.test(i))
+		                                               .boxed()
+		                                               .toList();
+		assertEquals(expectedIndices.size(), reader.count(HoldOutSelector.NOT_HOLD_OUT, evenRows));
+
+		final List<Integer> rowIndices = new ArrayList<>();
+		reader.read(List.of(1), HoldOutSelector.NOT_HOLD_OUT, evenRows, 10, 25, (rowIndex, data) -> {
+			rowIndices.add(rowIndex);
+			assertEquals(dataSet.getDataRows().get(rowIndex).getData().get(1), data.get(0),
+			             "Wrong value in row " + rowIndex);
+		});
+		assertEquals(expectedIndices.subList(10, 35), rowIndices, "Wrong rows selected!");
+
+		final long holdOutRows = IntStream.range(0, 300).filter(i -> holdOut[i]).count();
+		assertEquals(holdOutRows, reader.count(HoldOutSelector.HOLD_OUT, null));
+	}
+
+	@Test
+	public void invalidContent() {
+		assertThrows(BinaryFormatException.class,
+		             () -> new DataSetArchiveReader("{\"data\": []}".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void truncatedContent() throws IOException {
+		final byte[] archive = archive(DataSetTestHelper.generateDataSet(true), new boolean[3], 2);
+		final byte[] truncated = Arrays.copyOf(archive, archive.length - 10);
+
+		final DataSetArchiveReader reader = new DataSetArchiveReader(truncated);
+		assertThrows(BinaryFormatException.class, () -> readAll(reader, HoldOutSelector.ALL, null));
+	}
+
+	@Test
+	public void undefinedType() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.addColumnConfiguration(new ColumnConfiguration(0, "undefined", DataType.UNDEFINED, null,
+		                                                                 new ArrayList<>()));
+
+		assertThrows(BinaryFormatException.class, () -> new DataSetArchiveWriter(dataConfiguration, 8));
+	}
+
+	@Test
+	public void mismatchingType() throws BinaryFormatException {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		dataConfiguration.addColumnConfiguration(new ColumnConfiguration(0, "integer", DataType.INTEGER, null,
+		                                                                 new ArrayList<>()));
+		final DataSetArchiveWriter writer = new DataSetArchiveWriter(dataConfiguration, 1);
+
+		assertThrows(BinaryFormatException.class,
+		             () -> writer.write(new DataRow(List.of(new StringData("42"))), false));
+	}
+
+	/**
+	 * Compares the size of the archive with CSV and the binary data set format
+	 * and measures the time for scanning all columns, a single column and a page.
+	 * Only runs if the system property {@code cinnamon.test.benchmark} is set to true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "cinnamon.test.benchmark", matches = "true")
+	public void compressionAndScanBenchmark() throws IOException {
+		final int numberRows = 500_000;
+		final Random random = new Random(7);
+		final DataSet dataSet = generateRealisticDataSet(random, numberRows);
+		final boolean[] holdOut = generateHoldOut(random, numberRows);
+		final List<Integer> allColumns = IntStream.range(0, dataSet.getDataConfiguration().getConfigurations().size())
+		                                          .boxed()
+		                                          .toList();
+
+		final long csvSize = dataSet.getDataRows().stream()
+		                            .mapToLong(row -> String.join(",", row.getData().stream()
+		                                                                  .map(data -> String.valueOf(data.getValue()))
+		                                                                  .toList())
+		                                                    .getBytes(StandardCharsets.UTF_8).length + 1)
+		                            .sum();
+		final DataSetBinaryCodec codec = new DataSetBinaryCodec();
+		final byte[] binary = codec.encode(dataSet);
+
+		long start = System.nanoTime();
+		final byte[] archive = archive(dataSet, holdOut, 8192);
+		final long archiveDuration = System.nanoTime() - start;
+
+		// Warm up
+		for (int i = 0; i < 3; i++) {
+			codec.decode(binary);
+			new DataSetArchiveReader(archive).read(allColumns, HoldOutSelector.ALL, null, 0, numberRows,
+			                                       (rowIndex, data) -> {});
+		}
+
+		start = System.nanoTime();
+		codec.decode(binary);
+		final long binaryScan = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		final int[] counter = new int[1];
+		new DataSetArchiveReader(archive).read(allColumns, HoldOutSelector.ALL, null, 0, numberRows,
+		                                       (rowIndex, data) -> counter[0]++);
+		final long fullScan = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		new DataSetArchiveReader(archive).read(List.of(2), HoldOutSelector.NOT_HOLD_OUT, null, 0, numberRows,
+		                                       (rowIndex, data) -> {});
+		final long columnScan = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		new DataSetArchiveReader(archive).read(allColumns, HoldOutSelector.ALL, null, numberRows / 2, 100,
+		                                       (rowIndex, data) -> {});
+		final long pageRead = System.nanoTime() - start;
+
+		System.out.printf("CSV:              %d bytes%n", csvSize);
+		System.out.printf("Binary format:    %d bytes, decode %d ms%n", binary.length, binaryScan / 1_000_000);
+		System.out.printf("Archive:          %d bytes (%.1f%% of CSV), write %d ms%n", archive.length,
+		                  100.0 * archive.length / csvSize, archiveDuration / 1_000_000);
+		System.out.printf("Full scan:        %d ms%n", fullScan / 1_000_000);
+		System.out.printf("Single column:    %d ms%n", columnScan / 1_000_000);
+		System.out.printf("Page of 100 rows: %.3f ms%n", pageRead / 1_000_000.0);
+
+		assertEquals(numberRows, counter[0]);
+		assertTrue(archive.length < binary.length,
+		           "Archive is not compressed! Binary: " + binary.length + ", archive: " + archive.length);
+		assertTrue(columnScan < fullScan,
+		           "Single column is not faster! Full: " + fullScan + " ns, column: " + columnScan + " ns");
+	}
+
+	private byte[] archive(final DataSet dataSet, final boolean[] holdOut, final int blockSize) throws IOException {
+		final DataSetArchiveWriter writer = new DataSetArchiveWriter(dataSet.getDataConfiguration(), blockSize);
+		for (int i = 0; i < dataSet.getDataRows().size(); i++) {
+			writer.write(dataSet.getDataRows().get(i), holdOut[i]);
+		}
+		return writer.finish();
+	}
+
+	private List<DataRow> readAll(final DataSetArchiveReader reader, final HoldOutSelector holdOutSelector,
+	                              final IntPredicate rowFilter) throws BinaryFormatException {
+		final List<Integer> columns = IntStream.range(0, reader.getDataConfiguration().getConfigurations().size())
+		                                       .boxed()
+		                                       .toList();
+		final List<DataRow> rows = new ArrayList<>();
+		reader.read(columns, holdOutSelector, rowFilter, 0, Integer.MAX_VALUE,
+		            (rowIndex, data) -> rows.add(new DataRow(data)));
+		return rows;
+	}
+
+	private boolean[] generateHoldOut(final Random random, final int numberRows) {
+		final boolean[] holdOut = new boolean[numberRows];
+		for (int i = 0; i < numberRows; i++) {
+			holdOut[i] = random.nextDouble() < 0.2;
+		}
+		return holdOut;
+	}
+
+	private DataConfiguration generateDataConfiguration() {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		for (int i = 0; i < TYPES.size(); i++) {
+			final DataType type = TYPES.get(i);
+			dataConfiguration.addColumnConfiguration(new ColumnConfiguration(i, "column" + i + "_" + type.name(), type,
+			                                                                 type.getDefaultScale(),
+			                                                                 new ArrayList<>()));
+		}
+		return dataConfiguration;
+	}
+
+	/**
+	 * Generates a data set containing a column for every data type.
+	 *
+	 * @param random          Source of the values.
+	 * @param numberRows      Number of rows.
+	 * @param nullProbability Probability of a value being null.
+	 * @param distinctStrings Number of distinct values in the string column.
+	 * @return The data set.
+	 */
+	private DataSet generateDataSet(final Random random, final int numberRows, final double nullProbability,
+	                                final int distinctStrings) {
+		final List<DataRow> rows = new ArrayList<>();
+		for (int i = 0; i < numberRows; i++) {
+			final List<Data> row = new ArrayList<>();
+			for (final DataType type : TYPES) {
+				row.add(random.nextDouble() < nullProbability
+				        ? generateNull(type)
+				        : generateValue(random, type, distinctStrings));
+			}
+			rows.add(new DataRow(row));
+		}
+		return new DataSet(rows, generateDataConfiguration());
+	}
+
+	/**
+	 * Generates a data set resembling patient records:
+	 * Sequential IDs, birthdates, increasing admission times, a categorical sex and ZIP code,
+	 * diagnoses from a small catalog, weights and a flag.
+	 *
+	 * @param random     Source of the values.
+	 * @param numberRows Number of rows.
+	 * @return The data set.
+	 */
+	private DataSet generateRealisticDataSet(final Random random, final int numberRows) {
+		final DataConfiguration dataConfiguration = new DataConfiguration();
+		final List<DataType> types = List.of(DataType.INTEGER, DataType.DATE, DataType.STRING, DataType.STRING,
+		                                     DataType.DATE_TIME, DataType.TEXT, DataType.DECIMAL, DataType.BOOLEAN);
+		final List<String> names = List.of("id", "birthdate", "sex", "zip", "admission", "diagnosis", "weight",
+		                                   "smoker");
+		for (int i = 0; i < types.size(); i++) {
+			dataConfiguration.addColumnConfiguration(new ColumnConfiguration(i, names.get(i), types.get(i),
+			                                                                 types.get(i).getDefaultScale(),
+			                                                                 new ArrayList<>()));
+		}
+
+		final List<String> diagnoses = IntStream.range(0, 80)
+		                                        .mapToObj(i -> "Diagnosis " + (char) ('A' + i % 26) + (i * 7 % 100))
+		                                        .toList();
+		LocalDateTime admission = LocalDateTime.of(2015, 1, 1, 8, 0);
+
+		final List<DataRow> rows = new ArrayList<>();
+		for (int i = 0; i < numberRows; i++) {
+			admission = admission.plusSeconds(random.nextInt(600));
+			rows.add(new DataRow(new ArrayList<>(List.of(
+					new IntegerData(100_000 + i),
+					new DateData(random.nextDouble() < 0.02
+					             ? null
+					             : LocalDate.of(1930, 1, 1).plusDays(random.nextInt(30_000))),
+					new StringData(random.nextBoolean() ? "female" : "male"),
+					new StringData(String.valueOf(10_000 + random.nextInt(500) * 37)),
+					new DateTimeData(admission),
+					new TextData(diagnoses.get((int) Math.abs(random.nextGaussian() * 15) % diagnoses.size())),
+					new DecimalData(Math.round((50 + random.nextGaussian() * 15 + 30) * 10) / 10.0f),
+					new BooleanData(random.nextDouble() < 0.25)))));
+		}
+
+		return new DataSet(rows, dataConfiguration);
+	}
+
+	private Data generateValue(final Random random, final DataType type, final int distinctStrings) {
+		return switch (type) {
+			case BOOLEAN -> new BooleanData(random.nextBoolean());
+			case DATE -> new DateData(LocalDate.ofEpochDay(random.nextInt(-100_000, 100_000)));
+			case DATE_TIME -> new DateTimeData(LocalDateTime.of(random.nextInt(1900, 2100), random.nextInt(1, 13),
+			                                                    random.nextInt(1, 29), random.nextInt(24),
+			                                                    random.nextInt(60), random.nextInt(60),
+			                                                    random.nextInt(1_000_000) * 1000));
+			case DECIMAL -> new DecimalData(random.nextFloat() * 2000 - 1000);
+			case INTEGER -> new IntegerData(random.nextInt());
+			case TEXT -> new TextData("Text " + random.nextLong() + " with ümlauts");
+			case STRING -> new StringData("value_" + random.nextInt(distinctStrings));
+			case UNDEFINED -> throw new IllegalArgumentException();
+		};
+	}
+
+	private Data generateNull(final DataType type) {
+		return switch (type) {
+			case BOOLEAN -> new BooleanData(null);
+			case DATE -> new DateData(null);
+			case DATE_TIME -> new DateTimeData(null);
+			case DECIMAL -> new DecimalData(null);
+			case INTEGER -> new IntegerData(null);
+			case TEXT -> new TextData(null);
+			case STRING -> new StringData(null);
+			case UNDEFINED -> throw new IllegalArgumentException();
+		};
+	}
+}
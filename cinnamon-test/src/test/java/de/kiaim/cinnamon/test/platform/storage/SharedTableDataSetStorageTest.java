@@ -0,0 +1,205 @@
+package de.kiaim.cinnamon.test.platform.storage;
+
+import de.kiaim.cinnamon.model.configuration.data.attributes.DataConfiguration;
+import de.kiaim.cinnamon.model.data.DataRow;
+import de.kiaim.cinnamon.model.data.DataSet;
+import de.kiaim.cinnamon.platform.helper.DataschemeGenerator;
+import de.kiaim.cinnamon.platform.model.TransformationResult;
+import de.kiaim.cinnamon.platform.model.dto.*;
+import de.kiaim.cinnamon.platform.model.entity.DataSetEntity;
+import de.kiaim.cinnamon.platform.model.enumeration.FilterOperator;
+import de.kiaim.cinnamon.platform.model.enumeration.HoldOutSelector;
+import de.kiaim.cinnamon.platform.model.enumeration.RowSelector;
+import de.kiaim.cinnamon.platform.service.DatabaseService;
+import de.kiaim.cinnamon.platform.storage.DataSetStorage;
+import de.kiaim.cinnamon.platform.storage.SharedTableDataSetStorage;
+import de.kiaim.cinnamon.platform.storage.TableDataSetStorage;
+import de.kiaim.cinnamon.test.platform.DatabaseTest;
+import de.kiaim.cinnamon.test.util.DataConfigurationTestHelper;
+import de.kiaim.cinnamon.test.util.DataSetTestHelper;
+import de.kiaim.cinnamon.test.util.TestDatabaseExtension;
+import de.kiaim.cinnamon.test.util.TransformationResultTestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@TestPropertySource(properties = "cinnamon.data-set-storage.type=shared")
+class SharedTableDataSetStorageTest extends DatabaseTest {
+
+	@Autowired
+	DataSource dataSource;
+
+	@Autowired
+	DatabaseService databaseService;
+
+	@Autowired
+	DataSetStorage dataSetStorage;
+
+	@Autowired
+	DataschemeGenerator dataschemeGenerator;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Test
+	void storageSelected() {
+		assertInstanceOf(SharedTableDataSetStorage.class, dataSetStorage, "Wrong storage selected!");
+	}
+
+	@Test
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void storeAndDelete() {
+		final TransformationResult transformationResult = TransformationResultTestHelper.generateTransformationResult(false);
+
+		final long dataSetId = assertDoesNotThrow(
+				() -> databaseService.storeOriginalTransformationResult(transformationResult, testProject));
+
+		assertTrue(existsTable(dataSetId), "Rows could not be found!");
+		assertEquals(2, countEntries(dataSetId), "Number of entries wrong!");
+
+		final DataSet export = assertDoesNotThrow(
+				() -> databaseService.exportDataSet(testProject, new ArrayList<>(), HoldOutSelector.ALL,
+				                                    DataSetSource.Original()));
+		assertEquals(transformationResult.getDataSet(), export, "Data sets do not match!");
+
+		assertDoesNotThrow(() -> databaseService.deleteOriginalData(testProject));
+
+		assertFalse(existsTable(dataSetId), "Rows should be deleted!");
+	}
+
+	@Test
+	@DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+	void exportTransformationResultPage() {
+		final TransformationResult transformationResult = TransformationResultTestHelper.generateTransformationResult(true);
+		assertDoesNotThrow(() -> databaseService.storeOriginalTransformationResult(transformationResult, testProject));
+		final DataSetEntity dataSet = testProject.getOriginalData().getDataSet();
+
+		final int invalidRows = assertDoesNotThrow(
+				() -> databaseService.countEntries(dataSet.getId(), HoldOutSelector.ALL, RowSelector.ERRORS, null));
+		assertEquals(1, invalidRows, "Number of invalid rows wrong!");
+
+		final DataSetQuery query = new DataSetQuery();
+		query.setFilters(List.of(new ColumnFilter("column4_integer", FilterOperator.EQUALS, "24", List.of())));
+		final TransformationResultPage page = assertDoesNotThrow(
+				() -> databaseService.exportTransformationResultPage(dataSet, RowSelector.ALL, 1, 10,
+				                                                     new LoadDataRequest(), query));
+
+		assertEquals(1, page.getTotal(), "Number of matching rows wrong!");
+		assertEquals(List.of(1), page.getRowNumbers(), "Wrong row matched!");
+	}
+
+	/**
+	 * Compares the table per data set with the shared table by creating and deleting 5000 data sets.
+	 * Measures the durations, the size of the system catalog and the planning time of queries.
+	 * Only runs on PostgreSQL if the system property {@code cinnamon.test.benchmark} is set to true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "cinnamon.test.benchmark", matches = "true")
+	void createAndDeleteBenchmark() throws Exception {
+		assumeTrue(activeDatabase != TestDatabaseExtension.TestDatabase.H2, "Benchmark requires PostgreSQL");
+
+		final int numberDataSets = 5000;
+		final long firstId = 1_000_000L;
+		final DataConfiguration dataConfiguration = DataConfigurationTestHelper.generateDataConfiguration();
+		final List<DataRow> dataRows = DataSetTestHelper.generateDataRows(false);
+
+		final List<DataSetStorage> storages = List.of(new TableDataSetStorage(dataSource, dataschemeGenerator),
+		                                              dataSetStorage);
+		for (final DataSetStorage storage : storages) {
+			final long relationsBefore = countRelations();
+			final long catalogSizeBefore = getCatalogSize();
+
+			final long createStart = System.nanoTime();
+			for (long dataSetId = firstId; dataSetId < firstId + numberDataSets; dataSetId++) {
+				storage.create(dataSetId, dataConfiguration);
+				try (final DataSetStorage.RowWriter writer = storage.openWriter(dataSetId, dataConfiguration)) {
+					for (int rowIndex = 0; rowIndex < dataRows.size(); rowIndex++) {
+						writer.write(dataRows.get(rowIndex), rowIndex);
+					}
+				}
+			}
+			final long createDuration = System.nanoTime() - createStart;
+
+			final long relations = countRelations() - relationsBefore;
+			final long catalogSize = getCatalogSize() - catalogSizeBefore;
+			final double planningTime = measurePlanningTime(storage, dataConfiguration, firstId, numberDataSets);
+
+			final long deleteStart = System.nanoTime();
+			final List<Long> chunk = new ArrayList<>();
+			for (long dataSetId = firstId; dataSetId < firstId + numberDataSets; dataSetId++) {
+				chunk.add(dataSetId);
+				if (chunk.size() == 50) {
+					storage.delete(chunk);
+					chunk.clear();
+				}
+			}
+			storage.delete(chunk);
+			final long deleteDuration = System.nanoTime() - deleteStart;
+
+			System.out.println(storage.getClass().getSimpleName());
+			System.out.printf("  Create:          %d ms%n", createDuration / 1_000_000);
+			System.out.printf("  Delete:          %d ms%n", deleteDuration / 1_000_000);
+			System.out.printf("  New relations:   %d%n", relations);
+			System.out.printf("  Catalog growth:  %d kB%n", catalogSize / 1024);
+			System.out.printf("  Planning time:   %.3f ms%n", planningTime);
+		}
+	}
+
+	/**
+	 * Counts the relations in the system catalog.
+	 */
+	private long countRelations() {
+		final Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_catalog.pg_class", Long.class);
+		return count != null ? count : 0;
+	}
+
+	/**
+	 * Returns the size in bytes of the catalog tables describing relations, columns and types.
+	 */
+	private long getCatalogSize() {
+		final Long size = jdbcTemplate.queryForObject(
+				"SELECT pg_total_relation_size('pg_catalog.pg_class') + " +
+				"pg_total_relation_size('pg_catalog.pg_attribute') + pg_total_relation_size('pg_catalog.pg_type')",
+				Long.class);
+		return size != null ? size : 0;
+	}
+
+	/**
+	 * Measures the average planning time of a filtered query on randomly selected data sets.
+	 *
+	 * @return The planning time in milliseconds.
+	 */
+	private double measurePlanningTime(final DataSetStorage storage, final DataConfiguration dataConfiguration,
+	                                   final long firstId, final int numberDataSets) throws SQLException {
+		final Random random = new Random(42);
+		final int numberQueries = 200;
+
+		double planningTime = 0;
+		for (int i = 0; i < numberQueries; i++) {
+			final long dataSetId = firstId + random.nextInt(numberDataSets);
+			final List<String> plan = jdbcTemplate.queryForList(
+					"EXPLAIN (SUMMARY) SELECT * FROM " + storage.getRelation(dataSetId, dataConfiguration) +
+					" d WHERE d.\"column4_integer\" = 42 ORDER BY d.row_index", String.class);
+
+			final String planningLine = plan.stream()
+			                                .filter(line -> line.startsWith("Planning Time:"))
+			                                .findFirst()
+			                                .orElseThrow(() -> new SQLException("No planning time in " + plan));
+			planningTime += Double.parseDouble(planningLine.replaceAll("[^0-9.]", ""));
+		}
+
+		return planningTime / numberQueries;
+	}
+}